@@ -0,0 +1,133 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Gerador de carga para os endpoints de colaborador (vazão e latências p50/p99)
+// Execução (Java 21, sem compilação prévia):
+//   java benchmark/CargaColaboradores.java [urlBase] [usuariosSimultaneos] [duracaoSegundos]
+// Cada usuário virtual alterna entre consulta por matrícula, performance e listagem paginada
+public class CargaColaboradores {
+
+    private static final Pattern MATRICULA = Pattern.compile("\"matricula\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+
+    public static void main(String[] args) throws Exception {
+        String urlBase = args.length > 0 ? args[0] : "http://localhost:8080";
+        int usuarios = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int duracaoSegundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<String> matriculas = buscarMatriculas(cliente, urlBase);
+        if (matriculas.isEmpty()) {
+            System.err.println("Nenhum colaborador cadastrado em " + urlBase + "; cadastre colaboradores antes da carga");
+            System.exit(1);
+        }
+
+        // Aquecimento: JIT e pool de conexões prontos antes da medição
+        executar(cliente, urlBase, matriculas, usuarios, Duration.ofSeconds(Math.max(5, duracaoSegundos / 5)));
+
+        Resultado resultado = executar(cliente, urlBase, matriculas, usuarios, Duration.ofSeconds(duracaoSegundos));
+        resultado.imprimir(usuarios, duracaoSegundos);
+    }
+
+    private static List<String> buscarMatriculas(HttpClient cliente, String urlBase) throws Exception {
+        HttpResponse<String> resposta = cliente.send(
+                HttpRequest.newBuilder(URI.create(urlBase + "/api/v1/colaborador?tamanho=100")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        List<String> matriculas = new ArrayList<>();
+        var busca = MATRICULA.matcher(resposta.body());
+        while (busca.find()) {
+            matriculas.add(busca.group(1));
+        }
+        return matriculas;
+    }
+
+    private static Resultado executar(HttpClient cliente, String urlBase, List<String> matriculas,
+                                      int usuarios, Duration duracao) throws InterruptedException {
+
+        long fim = System.nanoTime() + duracao.toNanos();
+        var latencias = new ConcurrentLinkedQueue<long[]>();
+        var erros = new LongAdder();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < usuarios; i++) {
+                executor.submit(() -> {
+                    // Latências de cada usuário em um array próprio, sem contenção durante a medição
+                    long[] amostras = new long[1024];
+                    int quantidade = 0;
+
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(sortearEndpoint(urlBase, matriculas))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+
+                        long inicio = System.nanoTime();
+                        try {
+                            int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                erros.increment();
+                            }
+                        } catch (Exception e) {
+                            erros.increment();
+                        }
+
+                        if (quantidade == amostras.length) {
+                            amostras = Arrays.copyOf(amostras, quantidade * 2);
+                        }
+                        amostras[quantidade++] = System.nanoTime() - inicio;
+                    }
+
+                    latencias.add(Arrays.copyOf(amostras, quantidade));
+                    return null;
+                });
+            }
+        }
+
+        long[] todas = latencias.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(todas, erros.sum());
+    }
+
+    private static URI sortearEndpoint(String urlBase, List<String> matriculas) {
+        var aleatorio = ThreadLocalRandom.current();
+        String matricula = matriculas.get(aleatorio.nextInt(matriculas.size()));
+
+        return URI.create(switch (aleatorio.nextInt(3)) {
+            case 0 -> urlBase + "/api/v1/colaborador/" + matricula;
+            case 1 -> urlBase + "/api/v1/colaborador/" + matricula + "/performance";
+            default -> urlBase + "/api/v1/colaborador?tamanho=20";
+        });
+    }
+
+    private record Resultado(long[] latenciasOrdenadas, long erros) {
+
+        void imprimir(int usuarios, int duracaoSegundos) {
+            int total = latenciasOrdenadas.length;
+            System.out.printf("usuarios=%d duracao=%ds requisicoes=%d erros=%d%n", usuarios, duracaoSegundos, total, erros);
+            System.out.printf("vazao=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    (double) total / duracaoSegundos, percentil(0.50), percentil(0.99), percentil(1.0));
+        }
+
+        private double percentil(double quantil) {
+            if (latenciasOrdenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(quantil * latenciasOrdenadas.length) - 1;
+            return latenciasOrdenadas[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
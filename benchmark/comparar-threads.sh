@@ -0,0 +1,35 @@
+#!/usr/bin/env sh
+# Compara vazão e p99 dos endpoints de colaborador entre threads de plataforma e virtual threads
+# Uso: benchmark/comparar-threads.sh [usuariosSimultaneos] [duracaoSegundos]
+# Requer o SQL Server configurado (ver README) com colaboradores cadastrados
+set -eu
+
+USUARIOS="${1:-200}"
+DURACAO="${2:-30}"
+PORTA="${PORTA:-8080}"
+URL="http://localhost:${PORTA}"
+
+cd "$(dirname "$0")/.."
+./gradlew -q bootJar
+JAR="$(ls build/libs/*.jar | grep -v plain | head -n 1)"
+
+executar_modo() {
+  MODO="$1"
+  VIRTUAL="$2"
+
+  java -jar "$JAR" --server.port="$PORTA" --spring.threads.virtual.enabled="$VIRTUAL" > "build/benchmark-${MODO}.log" 2>&1 &
+  PID=$!
+
+  until curl -sf "${URL}/actuator/health" > /dev/null; do
+    sleep 1
+  done
+
+  echo "== ${MODO}"
+  java benchmark/CargaColaboradores.java "$URL" "$USUARIOS" "$DURACAO"
+
+  kill "$PID"
+  wait "$PID" 2> /dev/null || true
+}
+
+executar_modo plataforma false
+executar_modo virtual true
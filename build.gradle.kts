@@ -3,6 +3,7 @@ plugins {
 	id("org.springframework.boot") version "3.4.11"
 	id("io.spring.dependency-management") version "1.1.7"
 	id("jacoco")
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.case"
@@ -30,10 +31,14 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("com.github.ben-manes.caffeine:jcache")
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
 	runtimeOnly("com.microsoft.sqlserver:mssql-jdbc")
 	implementation("io.micrometer:micrometer-registry-prometheus")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("net.jqwik:jqwik:1.9.2")
+	testRuntimeOnly("com.h2database:h2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
@@ -100,6 +105,27 @@ tasks.named<JacocoCoverageVerification>("jacocoTestCoverageVerification") {
 	}))
 }
 
+// Configura os benchmarks JMH (src/jmh): ./gradlew jmh
+// Resultados em JSON (ns/op e taxa de alocação do profiler gc) em build/reports/jmh/results.json
+// Para rodar apenas alguns benchmarks: ./gradlew jmh -Pjmh.includes=ColaboradorResponseSerializacao
+jmh {
+	jmhVersion = "1.37"
+	warmupIterations = 3
+	warmup = "2s"
+	iterations = 5
+	timeOnIteration = "2s"
+	fork = 1
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+	includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf())
+}
+
+// Garante que os benchmarks continuem compilando a cada build (sem executá-los)
+tasks.named("check") {
+	dependsOn(tasks.named("jmhClasses"))
+}
+
 // Faz a tarefa 'build' depender da verificação
 tasks.named("build") {
 	dependsOn(tasks.named("jacocoTestCoverageVerification"))
@@ -0,0 +1,97 @@
+-- Migração das colunas id de tb_avaliacao_comportamental e tb_entrega: IDENTITY -> SEQUENCE
+-- Necessária para bancos criados com a versão anterior do Script-BD.sql (id BIGINT IDENTITY(1,1))
+-- O SQL Server não permite remover a propriedade IDENTITY de uma coluna, então cada tabela é recriada
+-- sem IDENTITY, preservando os ids existentes, e a sequence passa a entregar ids a partir do próximo livre
+-- Executar com a aplicação parada. O script pode ser executado mais de uma vez (só migra o que ainda for IDENTITY)
+
+USE AvaliacaoColaboradores;
+GO
+
+SET XACT_ABORT ON;
+GO
+
+-- Avaliação comportamental
+IF COLUMNPROPERTY(OBJECT_ID(N'[dbo].[tb_avaliacao_comportamental]'), 'id', 'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+
+    CREATE TABLE tb_avaliacao_comportamental_migracao (
+        id BIGINT NOT NULL,
+        nota_ambiente_colaborativo FLOAT(53),
+        nota_aprendizado FLOAT(53),
+        nota_tomada_decisao FLOAT(53),
+        nota_autonomia FLOAT(53),
+        matricula UNIQUEIDENTIFIER NOT NULL,
+        PRIMARY KEY (id)
+    );
+
+    INSERT INTO tb_avaliacao_comportamental_migracao
+        (id, nota_ambiente_colaborativo, nota_aprendizado, nota_tomada_decisao, nota_autonomia, matricula)
+    SELECT id, nota_ambiente_colaborativo, nota_aprendizado, nota_tomada_decisao, nota_autonomia, matricula
+    FROM tb_avaliacao_comportamental WITH (TABLOCKX);
+
+    DROP TABLE tb_avaliacao_comportamental;
+    EXEC sp_rename N'tb_avaliacao_comportamental_migracao', N'tb_avaliacao_comportamental';
+
+    ALTER TABLE tb_avaliacao_comportamental
+    ADD CONSTRAINT FK_avaliacao_colaborador
+    FOREIGN KEY (matricula)
+    REFERENCES tb_colaborador (matricula);
+
+    ALTER TABLE tb_avaliacao_comportamental
+    ADD CONSTRAINT UQ_avaliacao_matricula UNIQUE (matricula);
+
+    COMMIT TRANSACTION;
+END;
+GO
+
+-- Entregas
+IF COLUMNPROPERTY(OBJECT_ID(N'[dbo].[tb_entrega]'), 'id', 'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+
+    CREATE TABLE tb_entrega_migracao (
+        id BIGINT NOT NULL,
+        descricao NVARCHAR(255),
+        nota FLOAT(53),
+        matricula UNIQUEIDENTIFIER NOT NULL,
+        PRIMARY KEY (id)
+    );
+
+    INSERT INTO tb_entrega_migracao (id, descricao, nota, matricula)
+    SELECT id, descricao, nota, matricula
+    FROM tb_entrega WITH (TABLOCKX);
+
+    DROP TABLE tb_entrega;
+    EXEC sp_rename N'tb_entrega_migracao', N'tb_entrega';
+
+    ALTER TABLE tb_entrega
+    ADD CONSTRAINT FK_entrega_colaborador
+    FOREIGN KEY (matricula)
+    REFERENCES tb_colaborador (matricula);
+
+    COMMIT TRANSACTION;
+END;
+GO
+
+-- Sequences continuando após o maior id de cada tabela (INCREMENT BY = allocationSize das entidades)
+-- O otimizador pooled do Hibernate trata cada valor da sequence como o FIM do bloco: o valor V entrega os ids
+-- V - 49 .. V. Por isso a sequence começa em MAX(id) + 50 (o allocationSize): o primeiro bloco é MAX(id) + 1 ..
+-- MAX(id) + 50. Começar em MAX(id) + 1 repetiria ids existentes (e geraria ids <= 0 em tabelas com menos de 49 linhas)
+-- Se a sequence já existir (ex: criada pelo Hibernate com START WITH 1), ela é reiniciada
+-- Regra verificada em SequenceMigracaoTest; ao mudar o allocationSize (ALOCACAO_IDS), mude também o 50 abaixo
+DECLARE @inicioAvaliacao NVARCHAR(20) = CAST((SELECT ISNULL(MAX(id), 0) + 50 FROM tb_avaliacao_comportamental) AS NVARCHAR(20));
+
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = N'seq_avaliacao_comportamental')
+    EXEC (N'CREATE SEQUENCE seq_avaliacao_comportamental AS BIGINT START WITH ' + @inicioAvaliacao + N' INCREMENT BY 50');
+ELSE
+    EXEC (N'ALTER SEQUENCE seq_avaliacao_comportamental RESTART WITH ' + @inicioAvaliacao + N' INCREMENT BY 50');
+GO
+
+DECLARE @inicioEntrega NVARCHAR(20) = CAST((SELECT ISNULL(MAX(id), 0) + 50 FROM tb_entrega) AS NVARCHAR(20));
+
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = N'seq_entrega')
+    EXEC (N'CREATE SEQUENCE seq_entrega AS BIGINT START WITH ' + @inicioEntrega + N' INCREMENT BY 50');
+ELSE
+    EXEC (N'ALTER SEQUENCE seq_entrega RESTART WITH ' + @inicioEntrega + N' INCREMENT BY 50');
+GO
@@ -24,11 +24,25 @@ BEGIN
 END;
 GO
 
+-- Sequences dos ids de avaliao e entrega (INCREMENT BY = allocationSize das entidades)
+-- Bancos criados com as colunas IDENTITY devem executar sql/Migracao-Identity-Sequence.sql
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = N'seq_avaliacao_comportamental')
+BEGIN
+    CREATE SEQUENCE seq_avaliacao_comportamental AS BIGINT START WITH 1 INCREMENT BY 50;
+END;
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = N'seq_entrega')
+BEGIN
+    CREATE SEQUENCE seq_entrega AS BIGINT START WITH 1 INCREMENT BY 50;
+END;
+GO
+
 -- Tabela de Avaliao Comportamental
 IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_avaliacao_comportamental]') AND type in (N'U'))
 BEGIN
     CREATE TABLE tb_avaliacao_comportamental (
-        id BIGINT IDENTITY(1,1) NOT NULL,
+        id BIGINT NOT NULL,
         nota_ambiente_colaborativo FLOAT(53),
         nota_aprendizado FLOAT(53),
         nota_tomada_decisao FLOAT(53),
@@ -43,7 +57,7 @@ GO
 IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_entrega]') AND type in (N'U'))
 BEGIN
     CREATE TABLE tb_entrega (
-        id BIGINT IDENTITY(1,1) NOT NULL,
+        id BIGINT NOT NULL,
         descricao NVARCHAR(255),
         nota FLOAT(53),
         matricula UNIQUEIDENTIFIER NOT NULL,
@@ -72,4 +86,123 @@ BEGIN
     FOREIGN KEY (matricula) 
     REFERENCES tb_colaborador (matricula);
 END;
-GO
\ No newline at end of file
+GO
+
+-- ndice da listagem paginada ordenada por nome (keyset em nome + matrcula)
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = N'IX_colaborador_nome_matricula' AND object_id = OBJECT_ID(N'[dbo].[tb_colaborador]'))
+BEGIN
+    CREATE INDEX IX_colaborador_nome_matricula ON tb_colaborador (nome, matricula);
+END;
+GO
+
+-- Coluna de verso (bloqueio otimista e ETag das consultas) das tabelas de colaborador, avaliao e entrega
+-- Tambm adiciona a coluna em bancos criados com a verso anterior deste script (registros existentes com verso 0)
+IF COL_LENGTH(N'dbo.tb_colaborador', N'versao') IS NULL
+BEGIN
+    ALTER TABLE tb_colaborador ADD versao BIGINT NOT NULL CONSTRAINT DF_colaborador_versao DEFAULT 0;
+END;
+GO
+
+IF COL_LENGTH(N'dbo.tb_avaliacao_comportamental', N'versao') IS NULL
+BEGIN
+    ALTER TABLE tb_avaliacao_comportamental ADD versao BIGINT NOT NULL CONSTRAINT DF_avaliacao_versao DEFAULT 0;
+END;
+GO
+
+IF COL_LENGTH(N'dbo.tb_entrega', N'versao') IS NULL
+BEGIN
+    ALTER TABLE tb_entrega ADD versao BIGINT NOT NULL CONSTRAINT DF_entrega_versao DEFAULT 0;
+END;
+GO
+
+-- Contador de entregas do colaborador: o limite de 4 entregas  garantido por um UPDATE condicional nesta coluna
+IF COL_LENGTH(N'dbo.tb_colaborador', N'quantidade_entregas') IS NULL
+BEGIN
+    ALTER TABLE tb_colaborador ADD quantidade_entregas INT NOT NULL CONSTRAINT DF_colaborador_quantidade_entregas DEFAULT 0;
+    EXEC(N'UPDATE c SET quantidade_entregas = (SELECT COUNT(*) FROM tb_entrega e WHERE e.matricula = c.matricula) FROM tb_colaborador c');
+END;
+GO
+
+-- Tabela materializada de performance (mantida pelas escritas de entregas e avaliaes)
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_performance_colaborador]') AND type in (N'U'))
+BEGIN
+    CREATE TABLE tb_performance_colaborador (
+        matricula UNIQUEIDENTIFIER NOT NULL,
+        avaliacao_realizada BIT NOT NULL,
+        media_comportamental NUMERIC(5,2),
+        quantidade_entregas INT NOT NULL,
+        soma_notas_entregas NUMERIC(20,10) NOT NULL,
+        media_entregas NUMERIC(5,2),
+        nota_final NUMERIC(5,2),
+        elegivel BIT NOT NULL,
+        PRIMARY KEY (matricula)
+    );
+END;
+GO
+
+-- Importao de CSV de entregas e avaliaes (checkpoint por importao e relatrio de erros por linha)
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_importacao]') AND type in (N'U'))
+BEGIN
+    CREATE TABLE tb_importacao (
+        id UNIQUEIDENTIFIER NOT NULL,
+        nome_arquivo NVARCHAR(255) NOT NULL,
+        caminho_arquivo NVARCHAR(1000) NOT NULL,
+        status VARCHAR(20) NOT NULL,
+        posicao_arquivo BIGINT NOT NULL,
+        linhas_processadas BIGINT NOT NULL,
+        linhas_importadas BIGINT NOT NULL,
+        linhas_com_erro BIGINT NOT NULL,
+        mensagem_falha NVARCHAR(1000),
+        data_criacao DATETIME2 NOT NULL,
+        data_atualizacao DATETIME2 NOT NULL,
+        PRIMARY KEY (id)
+    );
+END;
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = N'seq_importacao_erro')
+BEGIN
+    CREATE SEQUENCE seq_importacao_erro AS BIGINT START WITH 1 INCREMENT BY 50;
+END;
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_importacao_erro]') AND type in (N'U'))
+BEGIN
+    CREATE TABLE tb_importacao_erro (
+        id BIGINT NOT NULL,
+        id_importacao UNIQUEIDENTIFIER NOT NULL,
+        linha BIGINT NOT NULL,
+        mensagem NVARCHAR(1000) NOT NULL,
+        PRIMARY KEY (id)
+    );
+
+    CREATE INDEX IX_importacao_erro_importacao_linha ON tb_importacao_erro (id_importacao, linha);
+END;
+GO
+
+-- Relatrio de performance gerado em segundo plano (checkpoint por lote de colaboradores)
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[tb_relatorio_performance]') AND type in (N'U'))
+BEGIN
+    CREATE TABLE tb_relatorio_performance (
+        id UNIQUEIDENTIFIER NOT NULL,
+        cargo NVARCHAR(255),
+        chave NVARCHAR(1000) NOT NULL,
+        caminho_arquivo NVARCHAR(1000) NOT NULL,
+        status VARCHAR(20) NOT NULL,
+        total_colaboradores BIGINT NOT NULL,
+        colaboradores_processados BIGINT NOT NULL,
+        ultima_matricula UNIQUEIDENTIFIER,
+        tamanho_arquivo BIGINT NOT NULL,
+        data_inicio_execucao DATETIME2,
+        processados_inicio_execucao BIGINT NOT NULL,
+        mensagem_falha NVARCHAR(1000),
+        data_conclusao DATETIME2,
+        data_criacao DATETIME2 NOT NULL,
+        data_atualizacao DATETIME2 NOT NULL,
+        PRIMARY KEY (id)
+    );
+
+    -- Reaproveitamento de solicitaes idnticas (status + data de criao) e retomada na subida (status)
+    CREATE INDEX IX_relatorio_performance_status_criacao ON tb_relatorio_performance (status, data_criacao);
+END;
+GO
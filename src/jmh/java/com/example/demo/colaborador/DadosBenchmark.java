@@ -0,0 +1,50 @@
+package com.example.demo.colaborador;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.UUID;
+
+// Massa de dados dos benchmarks: colaboradores com avaliação e entregas com notas de 0 a 10 (1 casa decimal)
+// Semente fixa para que execuções diferentes meçam exatamente os mesmos dados
+public final class DadosBenchmark {
+
+    private static final String[] CARGOS = {"Desenvolvedor", "Analista", "Arquiteto", "Gerente"};
+
+    private DadosBenchmark() {
+    }
+
+    public static Random aleatorio() {
+        return new Random(42);
+    }
+
+    public static ColaboradorEntity colaborador(Random aleatorio, int quantidadeEntregas) {
+        var colaborador = new ColaboradorEntity(
+                new UUID(aleatorio.nextLong(), aleatorio.nextLong()),
+                "Colaborador " + aleatorio.nextInt(100_000),
+                LocalDate.of(2015, 1, 1).plusDays(aleatorio.nextInt(3650)),
+                CARGOS[aleatorio.nextInt(CARGOS.length)]);
+
+        colaborador.setAvaliacaoComportamento(avaliacao(aleatorio));
+
+        for (long id = 1; id <= quantidadeEntregas; id++) {
+            var entrega = new EntregaEntity(id, "Entrega " + id, colaborador);
+            entrega.setNota(nota(aleatorio));
+            colaborador.adicionarEntrega(entrega);
+        }
+
+        return colaborador;
+    }
+
+    public static AvaliacaoComportamentoEntity avaliacao(Random aleatorio) {
+        return new AvaliacaoComportamentoEntity(aleatorio.nextLong(1, Long.MAX_VALUE),
+                nota(aleatorio), nota(aleatorio), nota(aleatorio), nota(aleatorio));
+    }
+
+    public static Double nota(Random aleatorio) {
+        return aleatorio.nextInt(101) / 10.0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.colaborador.avaliacao.service;
+
+import com.example.demo.colaborador.DadosBenchmark;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Custo por chamada da média das 4 notas e da montagem do DTO da avaliação comportamental (formataRespostaDTO)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AvaliacaoComportamentoServiceBenchmark {
+
+    private AvaliacaoComportamentoService avaliacaoComportamentoService;
+
+    private AvaliacaoComportamentoEntity avaliacao;
+
+    @Setup
+    public void preparar() {
+        avaliacaoComportamentoService = new AvaliacaoComportamentoService(null, null, null,
+                new FormulaPerformanceService(PesosFormula.SEM_PESO));
+        avaliacao = DadosBenchmark.avaliacao(DadosBenchmark.aleatorio());
+    }
+
+    @Benchmark
+    public AvaliacaoComportamentoResponse formataRespostaDTO() {
+        return avaliacaoComportamentoService.formataRespostaDTO(avaliacao);
+    }
+}
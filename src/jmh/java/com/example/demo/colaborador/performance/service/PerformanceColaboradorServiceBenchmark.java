@@ -0,0 +1,55 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.DadosBenchmark;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.repository.PerformanceColaboradorProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Custo por colaborador do cálculo da nota final (médias com 2 casas HALF_UP) a partir da linha agregada
+// É o cálculo executado a cada escrita de entregas/avaliação e na reconstrução dos registros de performance
+// Com a fórmula sem peso e com uma fórmula ponderada: a fórmula compilada deve ter o mesmo custo nos dois casos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PerformanceColaboradorServiceBenchmark {
+
+    @Param({"sem-peso", "ponderada"})
+    private String formula;
+
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    private PerformanceColaboradorProjection performance;
+
+    @Setup
+    public void preparar() {
+        var pesos = formula.equals("sem-peso")
+                ? PesosFormula.SEM_PESO
+                : new PesosFormula(new BigDecimal("2"), new BigDecimal("1.5"), BigDecimal.ONE, new BigDecimal("0.5"),
+                new BigDecimal("0.6"), new BigDecimal("0.4"));
+        performanceColaboradorService = new PerformanceColaboradorService(null, null, null, null, null,
+                new FormulaPerformanceService(pesos));
+
+        var aleatorio = DadosBenchmark.aleatorio();
+        performance = new PerformanceColaboradorProjection(UUID.randomUUID(), "Colaborador", "Desenvolvedor", 1L,
+                DadosBenchmark.nota(aleatorio), DadosBenchmark.nota(aleatorio),
+                DadosBenchmark.nota(aleatorio), DadosBenchmark.nota(aleatorio),
+                10L, 0.1 + 0.2 + 7.3 + 8.4 + 9.9 + 6.1 + 5.5 + 7.7 + 8.8 + 9.0);
+    }
+
+    @Benchmark
+    public PerformanceColaboradorEntity calcularRegistro() {
+        return performanceColaboradorService.calcularRegistro(performance);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.colaborador.resource.json;
+
+import com.example.demo.colaborador.DadosBenchmark;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
+import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo da serialização Jackson da listagem de colaboradores (ColaboradorPaginaResponse)
+// ObjectMapper com a mesma configuração padrão do Spring Boot (módulos de data, datas em ISO-8601)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColaboradorResponseSerializacaoBenchmark {
+
+    // Consulta por matrícula, página padrão (20) e página máxima (100) da listagem
+    @Param({"1", "20", "100"})
+    private int quantidadeColaboradores;
+
+    @Param({"5"})
+    private int entregasPorColaborador;
+
+    private ObjectWriter escritor;
+
+    private ColaboradorPaginaResponse pagina;
+
+    @Setup
+    public void preparar() {
+        escritor = Jackson2ObjectMapperBuilder.json().build().writerFor(ColaboradorPaginaResponse.class);
+
+        var aleatorio = DadosBenchmark.aleatorio();
+        var formula = FormulaPerformance.compilar(PesosFormula.SEM_PESO, 1);
+        List<ColaboradorResponse> colaboradores = new ArrayList<>(quantidadeColaboradores);
+
+        for (int i = 0; i < quantidadeColaboradores; i++) {
+            var colaborador = DadosBenchmark.colaborador(aleatorio, entregasPorColaborador);
+            var avaliacao = colaborador.getAvaliacaoComportamento();
+
+            var media = NotaCentesimos.paraBigDecimal(formula.mediaComportamental(
+                    avaliacao.getNotaAvaliacaoComportamental(), avaliacao.getNotaAprendizado(),
+                    avaliacao.getNotaTomadaDecisao(), avaliacao.getNotaAutonomia()));
+
+            colaboradores.add(new ColaboradorResponse(
+                    colaborador.getMatricula(),
+                    colaborador.getNome(),
+                    colaborador.getDataAdmissao(),
+                    colaborador.getCargo(),
+                    new AvaliacaoComportamentoResponse(avaliacao.getNotaAvaliacaoComportamental(),
+                            avaliacao.getNotaAprendizado(), avaliacao.getNotaTomadaDecisao(),
+                            avaliacao.getNotaAutonomia(), media),
+                    colaborador.getEntregas().stream()
+                            .map(entrega -> new EntregaResponse(entrega.getId(), entrega.getDescricao(), entrega.getNota()))
+                            .toList()));
+        }
+
+        pagina = new ColaboradorPaginaResponse(colaboradores, "Q29sYWJvcmFkb3IKMDAwMDAwMDAtMDAwMC0wMDAw");
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return escritor.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.colaborador.DadosBenchmark;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.resource.json.ColaboradorPerformanceResponse;
+import com.example.demo.colaborador.resource.json.ColaboradorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Custo por chamada do mapeamento Entity -> DTO da consulta de colaboradores (formatarJsonDTO)
+// e da consulta de performance final a partir do registro materializado (calcularPerformanceFinal)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColaboradorServiceBenchmark {
+
+    // Entregas por colaborador: o mínimo para a performance, um caso típico e um colaborador com histórico longo
+    @Param({"2", "10", "50"})
+    private int quantidadeEntregas;
+
+    private ColaboradorService colaboradorService;
+
+    private ColaboradorEntity colaborador;
+
+    private String matricula;
+
+    @Setup
+    public void preparar() {
+        var aleatorio = DadosBenchmark.aleatorio();
+        colaborador = DadosBenchmark.colaborador(aleatorio, quantidadeEntregas);
+        matricula = colaborador.getMatricula().toString();
+
+        var resumo = new PerformanceColaboradorResumo(colaborador.getMatricula(), colaborador.getNome(), true,
+                quantidadeEntregas, 725, 810, 1535);
+
+        // Sem banco: o registro materializado é devolvido diretamente, medindo apenas as regras e o DTO
+        var performanceColaboradorService = new PerformanceColaboradorService(null, null, null, null, null, null) {
+            @Override
+            public Optional<PerformanceColaboradorResumo> consultarPerformance(UUID matriculaConsultada) {
+                return Optional.of(resumo);
+            }
+        };
+
+        colaboradorService = new ColaboradorService(null, performanceColaboradorService,
+                new FormulaPerformanceService(PesosFormula.SEM_PESO));
+    }
+
+    @Benchmark
+    public ColaboradorResponse formatarJsonDTO() {
+        return colaboradorService.formatarJsonDTO(colaborador);
+    }
+
+    @Benchmark
+    public ColaboradorPerformanceResponse calcularPerformanceFinal() {
+        return colaboradorService.calcularPerformanceFinal(matricula);
+    }
+}
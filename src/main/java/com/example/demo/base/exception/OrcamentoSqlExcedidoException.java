@@ -0,0 +1,9 @@
+package com.example.demo.base.exception;
+
+// Requisição interrompida no modo estrito por executar mais comandos SQL do que o orçamento do endpoint
+public class OrcamentoSqlExcedidoException extends RuntimeException {
+
+    public OrcamentoSqlExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.base.exception;
+
+public class PreCondicaoFalhouException extends RuntimeException{
+
+    public PreCondicaoFalhouException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.base.http;
+
+import org.springframework.http.ETag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// ETags fortes derivadas da coluna de versão (@Version) das entidades
+// Permitem responder If-None-Match (304) e If-Match (412) sem montar nem serializar o DTO de resposta
+public final class EtagVersao {
+
+    private EtagVersao() {
+    }
+
+    // Formato "<id>.<versao>": o id diferencia um recurso recriado na mesma URL (ex: avaliação excluída e
+    // cadastrada novamente, com a versão reiniciada) do anterior
+    public static String gerar(Object id, Long versao) {
+        return "\"" + id + "." + versao + "\"";
+    }
+
+    // Método que verifica o cabeçalho If-Match de uma atualização (comparação forte, RFC 9110)
+    // Parâmetros: valor do cabeçalho (nulo quando a requisição não é condicional) e ETag atual do recurso
+    // Resposta: true quando a atualização pode prosseguir ("*" ou alguma ETag igual à atual)
+    public static boolean atendeIfMatch(String ifMatch, String etagAtual) {
+        if (ifMatch == null) {
+            return true;
+        }
+
+        var atual = ETag.create(etagAtual);
+        return ETag.parse(ifMatch).stream()
+                .anyMatch(etag -> etag.isWildcard() || etag.compare(atual, true));
+    }
+
+    // Método que extrai do cabeçalho If-Match as versões aceitas, para condicionar um UPDATE (WHERE versao = ...)
+    // Parâmetros: valor do cabeçalho (nulo quando a requisição não é condicional)
+    // Resposta: null quando a atualização não é condicional (sem If-Match ou "*"); ETags fracas ou fora do formato
+    // "<id>.<versao>" são descartadas, pois nunca atendem à comparação forte
+    public static List<Versao> versoesIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        var versoes = new ArrayList<Versao>();
+
+        for (var etag : ETag.parse(ifMatch)) {
+            if (etag.isWildcard()) {
+                return null;
+            }
+
+            int separador = etag.tag().lastIndexOf('.');
+
+            if (etag.weak() || separador < 0) {
+                continue;
+            }
+
+            try {
+                versoes.add(new Versao(etag.tag().substring(0, separador), Long.parseLong(etag.tag().substring(separador + 1))));
+            } catch (NumberFormatException e) {
+                // Versão fora do formato: nenhuma versão do recurso corresponde a ela
+            }
+        }
+
+        return versoes;
+    }
+
+    // Versões aceitas para o recurso informado (ETags de outros recursos no mesmo If-Match são ignoradas)
+    public static List<Long> versoesDe(List<Versao> versoes, Object id) {
+        return versoes.stream()
+                .filter(versao -> versao.id().equals(String.valueOf(id)))
+                .map(Versao::versao)
+                .toList();
+    }
+
+    // Id e versão de uma ETag no formato "<id>.<versao>"
+    public record Versao(String id, long versao) {
+    }
+}
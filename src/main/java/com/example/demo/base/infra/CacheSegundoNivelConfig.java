@@ -0,0 +1,86 @@
+package com.example.demo.base.infra;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Cache de segundo nível do Hibernate (JCache com Caffeine, em memória)
+// Evita reler do banco o mesmo colaborador, avaliação e entregas a cada requisição (todos os serviços aninhados
+// começam com colaboradorRepository.findById) e o registro de performance a cada escrita. A invalidação é feita
+// pelo próprio Hibernate nas escritas via JPA (estratégia READ_WRITE) e, nos UPDATEs via JDBC, apenas nas linhas
+// alteradas (BloqueioCacheLinhas); ver hibernate.cache.auto_evict_collection_cache em application.properties
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    // Todas as regiões anotadas com @Cache nas entidades
+    public static final List<String> REGIOES = List.of(
+            ColaboradorEntity.REGIAO_CACHE,
+            ColaboradorEntity.REGIAO_CACHE_ENTREGAS,
+            ColaboradorEntity.REGIAO_CACHE_AVALIACAO,
+            AvaliacaoComportamentoEntity.REGIAO_CACHE,
+            EntregaEntity.REGIAO_CACHE,
+            PerformanceColaboradorEntity.REGIAO_CACHE
+    );
+
+    // Cria as regiões com tamanho máximo e TTL configuráveis e estatísticas habilitadas (lidas pelo Micrometer)
+    // O nome identifica o CacheManager nas métricas (tag cacheManager) e nos MBeans de estatística do JMX,
+    // de onde o Micrometer lê os contadores
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel(
+            @Value("${colaborador.cache.nome:hibernate-segundo-nivel}") String nome,
+            @Value("${colaborador.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${colaborador.cache.ttl:10m}") Duration ttl) {
+
+        var provider = new CaffeineCachingProvider();
+        var cacheManager = provider.getCacheManager(URI.create(nome), getClass().getClassLoader());
+
+        for (String regiao : REGIOES) {
+            if (cacheManager.getCache(regiao) == null) {
+                cacheManager.createCache(regiao, configuracaoRegiao(tamanhoMaximo, ttl));
+            }
+        }
+
+        return cacheManager;
+    }
+
+    // Entrega o CacheManager configurado acima ao Hibernate, em vez de ele criar um com as configurações padrão
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernateCustomizer(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    // Exporta acertos, falhas, inserções e remoções por tamanho/TTL de cada região (cache_gets, cache_puts, cache_evictions...)
+    @Bean
+    public MeterBinder cacheSegundoNivelMetricas(CacheManager cacheManagerSegundoNivel) {
+        return registro -> REGIOES.forEach(regiao ->
+                new JCacheMetrics<>(cacheManagerSegundoNivel.getCache(regiao), Tags.of("camada", "hibernate"))
+                        .bindTo(registro));
+    }
+
+    static CaffeineConfiguration<Object, Object> configuracaoRegiao(long tamanhoMaximo, Duration ttl) {
+        var configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracao.setStatisticsEnabled(true);
+        // O Hibernate já guarda um estado desmontado e imutável: não é preciso copiar (serializar) a cada leitura
+        configuracao.setStoreByValue(false);
+        return configuracao;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.base.infra;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// DataSource que limita, com um semáforo justo (FIFO), quantas conexões podem estar em uso ao mesmo tempo
+// Com virtual threads não há mais o limite natural do pool de threads do Tomcat: milhares de requisições podem pedir
+// conexão ao Hikari de uma vez. O semáforo mantém a fila fora do pool (as threads esperam estacionadas, sem
+// disputar o pool nem estourar o connection-timeout em massa) e libera a permissão quando a conexão é fechada
+public class ConexoesLimitadasDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+
+    private final Duration tempoEspera;
+
+    public ConexoesLimitadasDataSource(DataSource dataSource, int conexoesSimultaneas, Duration tempoEspera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(conexoesSimultaneas, true);
+        this.tempoEspera = tempoEspera;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirirPermissao();
+        try {
+            return liberarAoFechar(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permissoes.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirirPermissao();
+        try {
+            return liberarAoFechar(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permissoes.release();
+            throw ex;
+        }
+    }
+
+    public int getPermissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    // Quantidade aproximada de threads aguardando uma permissão
+    public int getThreadsAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    private void adquirirPermissao() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(tempoEspera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Tempo de espera por uma conexão com o banco esgotado (" + tempoEspera + ")");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando uma conexão com o banco", ex);
+        }
+    }
+
+    // Devolve a permissão uma única vez, no primeiro close() da conexão
+    private Connection liberarAoFechar(Connection conexao) {
+        var liberada = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == argumentos[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            yield invocar(conexao, metodo, argumentos);
+                        } finally {
+                            if (liberada.compareAndSet(false, true)) {
+                                permissoes.release();
+                            }
+                        }
+                    }
+                    default -> invocar(conexao, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Connection conexao, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(conexao, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
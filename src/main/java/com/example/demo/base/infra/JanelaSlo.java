@@ -0,0 +1,50 @@
+package com.example.demo.base.infra;
+
+import java.util.Arrays;
+
+// Contagem de requisições por minuto da última hora, para a taxa de consumo (burn rate) das janelas curtas
+// Um minuto que não recebeu requisições mantém a contagem da hora anterior até ser reutilizado; por isso cada
+// posição guarda o minuto a que se refere e as posições de minutos fora da janela são ignoradas na soma
+class JanelaSlo {
+
+    static final int MINUTOS = 60;
+
+    private final long[] minutos = new long[MINUTOS];
+
+    private final long[] requisicoes = new long[MINUTOS];
+
+    private final long[] foraDoSlo = new long[MINUTOS];
+
+    JanelaSlo() {
+        Arrays.fill(minutos, -1);
+    }
+
+    synchronized void registrar(long minuto, boolean cumpriuSlo) {
+        int posicao = (int) (minuto % MINUTOS);
+        if (minutos[posicao] != minuto) {
+            minutos[posicao] = minuto;
+            requisicoes[posicao] = 0;
+            foraDoSlo[posicao] = 0;
+        }
+
+        requisicoes[posicao]++;
+        if (!cumpriuSlo) {
+            foraDoSlo[posicao]++;
+        }
+    }
+
+    // Fração das requisições dos últimos N minutos (incluindo o atual) que não cumpriram o SLO; 0 sem requisições
+    synchronized double taxaForaDoSlo(long minutoAtual, int quantidadeMinutos) {
+        long total = 0;
+        long fora = 0;
+
+        for (int i = 0; i < MINUTOS; i++) {
+            if (minutos[i] > minutoAtual - quantidadeMinutos && minutos[i] <= minutoAtual) {
+                total += requisicoes[i];
+                fora += foraDoSlo[i];
+            }
+        }
+
+        return total == 0 ? 0 : (double) fora / total;
+    }
+}
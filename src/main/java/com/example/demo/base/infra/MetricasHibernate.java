@@ -0,0 +1,61 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// Estatísticas do Hibernate (hibernate.generate_statistics=true) como métricas do Micrometer
+// Mesmos nomes do binder do hibernate-micrometer, para reaproveitar dashboards prontos, sem a dependência extra
+public class MetricasHibernate implements MeterBinder {
+
+    private final Statistics estatisticas;
+
+    public MetricasHibernate(Statistics estatisticas) {
+        this.estatisticas = estatisticas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        contador(registro, "hibernate.sessions.open", "Sessões abertas", Statistics::getSessionOpenCount);
+        contador(registro, "hibernate.transactions", "Transações concluídas", Statistics::getTransactionCount);
+        contador(registro, "hibernate.flushes", "Flushes da sessão", Statistics::getFlushCount);
+        contador(registro, "hibernate.connections.obtained", "Conexões obtidas", Statistics::getConnectCount);
+        contador(registro, "hibernate.statements", "Statements preparados", Statistics::getPrepareStatementCount);
+        contador(registro, "hibernate.query.executions", "Consultas HQL/JPQL/nativas executadas", Statistics::getQueryExecutionCount);
+        contador(registro, "hibernate.entities.loads", "Entidades carregadas", Statistics::getEntityLoadCount);
+        contador(registro, "hibernate.entities.fetches", "Entidades buscadas sob demanda (lazy)", Statistics::getEntityFetchCount);
+        contador(registro, "hibernate.entities.inserts", "Entidades inseridas", Statistics::getEntityInsertCount);
+        contador(registro, "hibernate.entities.updates", "Entidades alteradas", Statistics::getEntityUpdateCount);
+        contador(registro, "hibernate.entities.deletes", "Entidades excluídas", Statistics::getEntityDeleteCount);
+        contador(registro, "hibernate.collections.loads", "Coleções carregadas", Statistics::getCollectionLoadCount);
+        contador(registro, "hibernate.collections.fetches", "Coleções buscadas sob demanda (lazy)", Statistics::getCollectionFetchCount);
+        contador(registro, "hibernate.optimistic.failures", "Falhas de lock otimista", Statistics::getOptimisticFailureCount);
+        contador(registro, "hibernate.second.level.cache.puts", "Inclusões no cache de segundo nível",
+                Statistics::getSecondLevelCachePutCount);
+
+        FunctionCounter.builder("hibernate.second.level.cache.requests", estatisticas, Statistics::getSecondLevelCacheHitCount)
+                .description("Leituras do cache de segundo nível")
+                .tag("result", "hit")
+                .register(registro);
+        FunctionCounter.builder("hibernate.second.level.cache.requests", estatisticas, Statistics::getSecondLevelCacheMissCount)
+                .description("Leituras do cache de segundo nível")
+                .tag("result", "miss")
+                .register(registro);
+
+        TimeGauge.builder("hibernate.query.executions.max", estatisticas, TimeUnit.MILLISECONDS,
+                        Statistics::getQueryExecutionMaxTime)
+                .description("Tempo da consulta mais lenta")
+                .register(registro);
+    }
+
+    private void contador(MeterRegistry registro, String nome, String descricao, ToDoubleFunction<Statistics> valor) {
+        FunctionCounter.builder(nome, estatisticas, valor)
+                .description(descricao)
+                .register(registro);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+// Timers por método dos services e repositories (colaborador.metodo), para saber em que camada o tempo de uma
+// requisição é gasto. Histogramas e percentis seguem management.metrics.distribution.* em application.properties
+// Desligado com colaborador.metricas.metodos.habilitado=false
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "colaborador.metricas.metodos.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricasMetodosConfig {
+
+    // Advisor de infraestrutura: aplicado pelo mesmo auto-proxy que já envolve os beans com @Transactional e @Async
+    // static: o advisor é criado antes dos beans que ele vai envolver
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor tempoMetodosAdvisor(ObjectProvider<MeterRegistry> registro) {
+        var interceptor = new TempoMetodoInterceptor(registro);
+        return new DefaultPointcutAdvisor(interceptor, interceptor);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Métricas de diagnóstico de virtual threads a partir dos eventos do JFR (Java Flight Recorder), lidos em streaming:
+// - jvm.threads.virtual.pinned: tempo em que uma virtual thread bloqueou presa à thread carregadora (synchronized,
+//   código nativo), registrado quando passa do limiar configurado
+// - jvm.threads.virtual.submit.failed: falhas ao agendar a continuação de uma virtual thread
+public class MetricasPinningThreadsVirtuais implements MeterBinder, AutoCloseable {
+
+    static final String EVENTO_PINNING = "jdk.VirtualThreadPinned";
+
+    static final String EVENTO_FALHA_AGENDAMENTO = "jdk.VirtualThreadSubmitFailed";
+
+    private final Duration limiarPinning;
+
+    private final RecordingStream eventos = new RecordingStream();
+
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+
+    private final List<Timer> pinning = new CopyOnWriteArrayList<>();
+
+    private final List<Counter> falhasAgendamento = new CopyOnWriteArrayList<>();
+
+    public MetricasPinningThreadsVirtuais(Duration limiarPinning) {
+        this.limiarPinning = limiarPinning;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinning.add(Timer.builder("jvm.threads.virtual.pinned")
+                .description("Duração dos bloqueios de virtual threads presas à thread carregadora")
+                .register(registry));
+        falhasAgendamento.add(Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Falhas ao agendar a execução de uma virtual thread")
+                .register(registry));
+
+        // Um único stream de eventos atende todos os registries
+        if (iniciado.compareAndSet(false, true)) {
+            eventos.enable(EVENTO_PINNING).withThreshold(limiarPinning);
+            eventos.enable(EVENTO_FALHA_AGENDAMENTO);
+            eventos.onEvent(EVENTO_PINNING, evento -> pinning.forEach(timer -> timer.record(evento.getDuration())));
+            eventos.onEvent(EVENTO_FALHA_AGENDAMENTO, evento -> falhasAgendamento.forEach(Counter::increment));
+            eventos.startAsync();
+        }
+    }
+
+    @Override
+    public void close() {
+        eventos.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Execuções de SQL agrupadas pelo comando normalizado (timer colaborador.sql, tags sql e operacao)
+// Normalizar: literais viram "?" e listas do IN viram "(?...)", então o mesmo comando com valores ou quantidade de
+// parâmetros diferentes cai no mesmo timer. Acima de maximoConsultas comandos distintos, os novos entram em "outras"
+// Também conta os comandos executados por thread (base do histograma de comandos por requisição) e registra em log
+// os comandos acima do limite de consulta lenta, sempre normalizados: os valores dos parâmetros nunca aparecem
+// Antes de cada execução, conta o comando no orçamento da requisição (OrcamentoSqlFilter)
+public class MetricasSql implements MeterBinder {
+
+    static final String METRICA = "colaborador.sql";
+
+    static final String OUTRAS = "outras";
+
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern LISTA_IN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricasSql.class);
+
+    private final Duration limiteConsultaLenta;
+
+    private final int maximoConsultas;
+
+    private final Map<String, String> normalizados = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<long[]> executadosNaThread = ThreadLocal.withInitial(() -> new long[1]);
+
+    // Vinculado pelo Spring Boot ao MeterRegistry: comandos executados antes disso (ex.: atualização do schema na
+    // subida) entram só na contagem por thread e no log de consulta lenta
+    private volatile MeterRegistry registro;
+
+    public MetricasSql(Duration limiteConsultaLenta, int maximoConsultas) {
+        this.limiteConsultaLenta = limiteConsultaLenta;
+        this.maximoConsultas = maximoConsultas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    // Método que registra uma execução de comando SQL (execute, executeQuery, executeUpdate ou executeBatch)
+    public void registrar(String sql, long duracaoNanos) {
+        executadosNaThread.get()[0]++;
+
+        String consulta = normalizado(sql);
+        if (duracaoNanos > limiteConsultaLenta.toNanos()) {
+            logger.warn("Consulta lenta ({} ms, parâmetros omitidos): {}", TimeUnit.NANOSECONDS.toMillis(duracaoNanos), consulta);
+        }
+
+        var meterRegistry = registro;
+        if (meterRegistry != null) {
+            timer(meterRegistry, consulta).record(duracaoNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Método chamado antes de cada execução: conta o comando no orçamento da requisição em andamento (se houver)
+    // No modo estrito, lança OrcamentoSqlExcedidoException quando o comando estoura o orçamento
+    public void verificarOrcamento(String sql) {
+        var orcamento = OrcamentoSqlRequisicao.atual();
+        if (orcamento != null) {
+            orcamento.registrar(normalizado(sql));
+        }
+    }
+
+    // Total de comandos executados pela thread atual desde que ela foi criada
+    public long executadosNaThread() {
+        return executadosNaThread.get()[0];
+    }
+
+    private String normalizado(String sql) {
+        var consulta = normalizados.get(sql);
+        if (consulta != null) {
+            return consulta;
+        }
+
+        consulta = normalizar(sql);
+        if (normalizados.size() < maximoConsultas * 10) {
+            normalizados.put(sql, consulta);
+        }
+        return consulta;
+    }
+
+    private Timer timer(MeterRegistry meterRegistry, String consulta) {
+        var timer = timers.get(consulta);
+        if (timer != null) {
+            return timer;
+        }
+
+        boolean excedeuLimite = timers.size() >= maximoConsultas;
+        return timers.computeIfAbsent(excedeuLimite ? OUTRAS : consulta, chave -> Timer.builder(METRICA)
+                .description("Tempo de execução dos comandos SQL, agrupados pelo comando normalizado")
+                .tag("sql", chave)
+                .tag("operacao", excedeuLimite ? OUTRAS : operacao(chave))
+                .register(meterRegistry));
+    }
+
+    // Comando com os literais trocados por "?", as listas do IN reduzidas a "(?...)" e os espaços compactados
+    static String normalizar(String sql) {
+        if (sql == null) {
+            return OUTRAS;
+        }
+
+        String consulta = TEXTO.matcher(sql).replaceAll("?");
+        consulta = NUMERO.matcher(consulta).replaceAll("?");
+        consulta = LISTA_IN.matcher(consulta).replaceAll("in (?...)");
+        return ESPACOS.matcher(consulta).replaceAll(" ").trim();
+    }
+
+    // Primeira palavra do comando (select, insert, update, delete, ...)
+    static String operacao(String consulta) {
+        int fim = consulta.indexOf(' ');
+        return (fim < 0 ? consulta : consulta.substring(0, fim)).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Métricas de acesso ao banco, exportadas em /actuator/prometheus:
+// - colaborador.sql: tempo e quantidade de execuções por comando SQL normalizado (MetricasSql)
+// - colaborador.sql.requisicao: comandos SQL por requisição (SqlPorRequisicaoObservationHandler)
+// - hibernate.*: estatísticas do Hibernate (MetricasHibernate)
+// - colaborador.sql.orcamento.excedido: requisições acima do orçamento de comandos SQL do endpoint (OrcamentoSqlFilter)
+// Desligado com colaborador.metricas.sql.habilitado=false
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "colaborador.metricas.sql.habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OrcamentoSqlProperties.class)
+public class MetricasSqlConfig {
+
+    @Bean
+    public MetricasSql metricasSql(
+            @Value("${colaborador.metricas.sql.limite-consulta-lenta:500ms}") Duration limiteConsultaLenta,
+            @Value("${colaborador.metricas.sql.maximo-consultas:500}") int maximoConsultas) {
+        return new MetricasSql(limiteConsultaLenta, maximoConsultas);
+    }
+
+    // Envolve o DataSource em MonitorSqlDataSource; as métricas são resolvidas no primeiro comando executado
+    // static: BeanPostProcessor precisa ser criado antes dos demais beans da configuração
+    @Bean
+    static BeanPostProcessor monitorSqlDataSource(ObjectProvider<MetricasSql> metricasSql) {
+        var metricas = SingletonSupplier.of(metricasSql::getObject);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof MonitorSqlDataSource) {
+                    return bean;
+                }
+                return new MonitorSqlDataSource(dataSource, metricas);
+            }
+        };
+    }
+
+    @Bean
+    public SqlPorRequisicaoObservationHandler sqlPorRequisicaoObservationHandler(MetricasSql metricasSql,
+                                                                                 MeterRegistry registro) {
+        return new SqlPorRequisicaoObservationHandler(metricasSql, registro);
+    }
+
+    @Bean
+    public OrcamentoSqlFilter orcamentoSqlFilter(OrcamentoSqlProperties orcamentoSqlProperties, MeterRegistry registro) {
+        return new OrcamentoSqlFilter(orcamentoSqlProperties, registro);
+    }
+
+    @Bean
+    public MetricasHibernate metricasHibernate(EntityManagerFactory entityManagerFactory) {
+        return new MetricasHibernate(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.base.infra;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+// DataSource que mede cada comando SQL executado pelas conexões que ele entrega (MetricasSql)
+// Envolve a conexão e os statements criados por ela; cada chamada execute* conta como um comando, inclusive
+// executeBatch, que envia todas as linhas do lote JDBC de uma vez
+public class MonitorSqlDataSource extends DelegatingDataSource {
+
+    private final Supplier<MetricasSql> metricas;
+
+    public MonitorSqlDataSource(DataSource dataSource, Supplier<MetricasSql> metricas) {
+        super(dataSource);
+        this.metricas = metricas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorar(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorar(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection monitorar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == argumentos[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "prepareStatement" -> monitorar((Statement) invocar(conexao, metodo, argumentos),
+                            PreparedStatement.class, (String) argumentos[0]);
+                    case "prepareCall" -> monitorar((Statement) invocar(conexao, metodo, argumentos),
+                            CallableStatement.class, (String) argumentos[0]);
+                    case "createStatement" -> monitorar((Statement) invocar(conexao, metodo, argumentos),
+                            Statement.class, null);
+                    default -> invocar(conexao, metodo, argumentos);
+                });
+    }
+
+    // sql: comando do PreparedStatement/CallableStatement; no Statement simples, vem em cada execute*(sql) ou addBatch(sql)
+    private Statement monitorar(Statement statement, Class<? extends Statement> tipo, String sql) {
+        var ultimoComando = new String[]{sql};
+
+        return (Statement) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    String nome = metodo.getName();
+                    if (nome.equals("equals")) {
+                        return proxy == argumentos[0];
+                    }
+                    if (nome.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (sql == null && argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String comando
+                            && (nome.startsWith("execute") || nome.equals("addBatch"))) {
+                        ultimoComando[0] = comando;
+                    }
+                    if (!nome.startsWith("execute")) {
+                        return invocar(statement, metodo, argumentos);
+                    }
+
+                    metricas.get().verificarOrcamento(ultimoComando[0]);
+                    long inicio = System.nanoTime();
+                    try {
+                        return invocar(statement, metodo, argumentos);
+                    } finally {
+                        metricas.get().registrar(ultimoComando[0], System.nanoTime() - inicio);
+                    }
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+// Aplica o orçamento de comandos SQL do endpoint (OrcamentoSqlProperties) a cada requisição
+// Acima do orçamento: registra em log o endpoint, a quantidade e os comandos normalizados mais executados, e
+// incrementa colaborador.sql.orcamento.excedido (tags orcamento e acao=registrada|rejeitada). No modo estrito, o
+// comando que estoura o orçamento lança OrcamentoSqlExcedidoException (a transação é desfeita e a resposta é 500)
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+    static final String METRICA = "colaborador.sql.orcamento.excedido";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrcamentoSqlFilter.class);
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    private final OrcamentoSqlProperties propriedades;
+
+    private final MeterRegistry registro;
+
+    public OrcamentoSqlFilter(OrcamentoSqlProperties propriedades, MeterRegistry registro) {
+        this.propriedades = propriedades;
+        this.registro = registro;
+
+        propriedades.endpoints().forEach((nome, orcamento) -> {
+            if (orcamento.padrao() == null || orcamento.maximo() < 0) {
+                throw new IllegalStateException("Orçamento de SQL '" + nome + "' inválido: informe padrao e maximo >= 0");
+            }
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return propriedades.endpoints().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        var orcamentoEndpoint = buscarOrcamento(request.getMethod(), caminho);
+
+        if (orcamentoEndpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var orcamento = OrcamentoSqlRequisicao.abrir(orcamentoEndpoint.getKey(), orcamentoEndpoint.getValue().maximo(),
+                propriedades.estrito());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            orcamento.fechar();
+            if (orcamento.excedido()) {
+                registrarExcedido(request, orcamento);
+            }
+        }
+    }
+
+    // Orçamento do padrão mais específico que casa com o método e o caminho (ex.: /api/v1/colaborador/lote antes de
+    // /api/v1/colaborador/**); com padrões equivalentes, o orçamento do método vale antes do que atende a todos
+    Map.Entry<String, OrcamentoSqlProperties.Orcamento> buscarOrcamento(String metodo, String caminho) {
+        Comparator<String> maisEspecifico = matcher.getPatternComparator(caminho);
+        Comparator<Map.Entry<String, OrcamentoSqlProperties.Orcamento>> ordem = Comparator
+                .<Map.Entry<String, OrcamentoSqlProperties.Orcamento>, String>comparing(orcamento -> orcamento.getValue().padrao(),
+                        maisEspecifico)
+                .thenComparing(orcamento -> orcamento.getValue().metodo() == null);
+
+        return propriedades.endpoints().entrySet().stream()
+                .filter(orcamento -> matcher.match(orcamento.getValue().padrao(), caminho))
+                .filter(orcamento -> orcamento.getValue().metodo() == null || orcamento.getValue().metodo().equalsIgnoreCase(metodo))
+                .min(ordem)
+                .orElse(null);
+    }
+
+    private void registrarExcedido(HttpServletRequest request, OrcamentoSqlRequisicao orcamento) {
+        String acao = orcamento.estrito() ? "rejeitada" : "registrada";
+
+        logger.warn("Orçamento de SQL '{}' excedido em {} {} ({}): {} comandos, orçamento de {}. Comandos: {}",
+                orcamento.nome(), request.getMethod(), request.getRequestURI(), acao, orcamento.executados(),
+                orcamento.maximo(), orcamento.resumoComandos());
+
+        Counter.builder(METRICA)
+                .description("Requisições que executaram mais comandos SQL do que o orçamento do endpoint")
+                .tag("orcamento", orcamento.nome())
+                .tag("acao", acao)
+                .register(registro)
+                .increment();
+    }
+}
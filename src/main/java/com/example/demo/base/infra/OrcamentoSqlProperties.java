@@ -0,0 +1,20 @@
+package com.example.demo.base.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// Orçamento de comandos SQL por requisição (colaborador.orcamento-sql.*)
+// padrao: padrão de caminho (ex.: /api/v1/colaborador/**); quando vários casam com a requisição, vale o mais específico
+// metodo: método HTTP (opcional, ausente = todos); com o mesmo padrão, o orçamento do método vale antes do geral
+// estrito: além de registrar em log e métrica, interrompe a requisição no primeiro comando acima do orçamento
+@ConfigurationProperties(prefix = "colaborador.orcamento-sql")
+public record OrcamentoSqlProperties(boolean estrito, Map<String, Orcamento> endpoints) {
+
+    public OrcamentoSqlProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public record Orcamento(String padrao, int maximo, String metodo) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.base.infra;
+
+import com.example.demo.base.exception.OrcamentoSqlExcedidoException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Comandos SQL da requisição em andamento na thread, comparados com o orçamento do endpoint
+// Aberto e fechado por OrcamentoSqlFilter; cada comando é registrado por MetricasSql antes de ser executado,
+// então no modo estrito o comando que estoura o orçamento nem chega ao banco
+final class OrcamentoSqlRequisicao {
+
+    private static final ThreadLocal<OrcamentoSqlRequisicao> ATUAL = new ThreadLocal<>();
+
+    // Comandos normalizados mostrados no log, dos mais para os menos executados
+    private static final int COMANDOS_NO_LOG = 5;
+
+    private final String nome;
+
+    private final int maximo;
+
+    private final boolean estrito;
+
+    private final Map<String, Integer> comandos = new HashMap<>();
+
+    private int executados;
+
+    private OrcamentoSqlRequisicao(String nome, int maximo, boolean estrito) {
+        this.nome = nome;
+        this.maximo = maximo;
+        this.estrito = estrito;
+    }
+
+    static OrcamentoSqlRequisicao abrir(String nome, int maximo, boolean estrito) {
+        var orcamento = new OrcamentoSqlRequisicao(nome, maximo, estrito);
+        ATUAL.set(orcamento);
+        return orcamento;
+    }
+
+    static OrcamentoSqlRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    void fechar() {
+        ATUAL.remove();
+    }
+
+    // consulta: comando já normalizado (MetricasSql.normalizar)
+    void registrar(String consulta) {
+        executados++;
+        comandos.merge(consulta, 1, Integer::sum);
+
+        if (estrito && excedido()) {
+            throw new OrcamentoSqlExcedidoException("A requisição excedeu o orçamento de " + maximo + " comandos SQL");
+        }
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    int maximo() {
+        return maximo;
+    }
+
+    boolean estrito() {
+        return estrito;
+    }
+
+    int executados() {
+        return executados;
+    }
+
+    boolean excedido() {
+        return executados > maximo;
+    }
+
+    // Ex.: "40x select ... where e.id_colaborador = ? | 1x select ... from tb_colaborador ..."
+    String resumoComandos() {
+        return comandos.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(COMANDOS_NO_LOG)
+                .map(comando -> comando.getValue() + "x " + comando.getKey())
+                .collect(Collectors.joining(" | "));
+    }
+}
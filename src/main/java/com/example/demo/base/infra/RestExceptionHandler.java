@@ -1,7 +1,10 @@
 package com.example.demo.base.infra;
 
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.OrcamentoSqlExcedidoException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
 import com.example.demo.base.exception.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,9 +12,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class RestExceptionHandler {
@@ -34,6 +40,39 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Retorna erro HTTP 412 (Precondition Failed): If-Match diferente da versão atual do recurso
+    @ExceptionHandler(PreCondicaoFalhouException.class)
+    public ResponseEntity<ErrorResponse> handlePreCondicaoFalhou(PreCondicaoFalhouException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Retorna erro HTTP 409 (Conflict): o registro foi alterado por outra transação entre a leitura e a gravação
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConflitoVersao(OptimisticLockingFailureException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("O registro foi alterado por outra requisição. Consulte-o novamente e repita a operação");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Retorna erro HTTP 500 (Internal Server Error): no modo estrito, a requisição excedeu o orçamento de comandos SQL
+    // do endpoint (regressão de desempenho, ex.: N+1); a transação já foi desfeita
+    @ExceptionHandler(OrcamentoSqlExcedidoException.class)
+    public ResponseEntity<ErrorResponse> handleOrcamentoSqlExcedido(OrcamentoSqlExcedidoException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // Retorna erro HTTP 503 (Service Unavailable): a fila de processamento em segundo plano está cheia
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleFilaCheia(RejectedExecutionException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("O servidor está ocupado com outros processamentos. Tente novamente em alguns instantes");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -51,4 +90,22 @@ public class RestExceptionHandler {
         
         return errors;
     }
+
+    // Erros de validação de parâmetros validados pelo método (ex: cada item de uma lista no corpo da requisição)
+    // O campo é identificado pela posição do item, ex: "[2].nome"
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleMethodValidationExceptions(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        ex.getParameterValidationResults().forEach(resultado -> resultado.getResolvableErrors().forEach(error -> {
+            String prefixo = resultado.getContainerIndex() != null ? "[" + resultado.getContainerIndex() + "]." : "";
+            String fieldName = error instanceof FieldError fieldError
+                    ? prefixo + fieldError.getField()
+                    : resultado.getMethodParameter().getParameterName();
+            errors.put(fieldName, error.getDefaultMessage());
+        }));
+
+        return errors;
+    }
 }
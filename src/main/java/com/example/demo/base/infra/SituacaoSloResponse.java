@@ -0,0 +1,20 @@
+package com.example.demo.base.infra;
+
+import java.time.Duration;
+
+// Situação de um SLO desde o início da aplicação e nas janelas de 5 minutos e 1 hora
+// orcamentoErroConsumido e burnRate são relativos ao orçamento de erro (1 - objetivo): 1.0 = consumindo exatamente
+// o orçamento; burnRate acima de 1 esgota o orçamento antes do fim do período do SLO
+public record SituacaoSloResponse(
+        String nome,
+        String metodo,
+        String uri,
+        Duration limite,
+        double objetivo,
+        long requisicoes,
+        long foraDoSlo,
+        double conformidade,
+        double orcamentoErroConsumido,
+        double burnRate5m,
+        double burnRate1h) {
+}
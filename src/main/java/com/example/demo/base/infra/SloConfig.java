@@ -0,0 +1,25 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+// Acompanhamento dos SLOs de latência por endpoint (colaborador.slo.endpoints.*)
+// O handler é registrado pelo Spring Boot na mesma ObservationRegistry das métricas http.server.requests
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SloProperties.class)
+public class SloConfig {
+
+    @Bean
+    public SloObservationHandler sloObservationHandler(SloProperties sloProperties, MeterRegistry registro) {
+        return new SloObservationHandler(sloProperties, registro, Clock.systemUTC());
+    }
+
+    @Bean
+    public SloEndpoint sloEndpoint(SloObservationHandler sloObservationHandler) {
+        return new SloEndpoint(sloObservationHandler);
+    }
+}
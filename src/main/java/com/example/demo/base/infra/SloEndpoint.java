@@ -0,0 +1,23 @@
+package com.example.demo.base.infra;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+// Endpoint do Actuator com a situação dos SLOs por endpoint
+// GET /actuator/slo: conformidade, orçamento de erro consumido e burn rate de 5 minutos e 1 hora
+@Endpoint(id = "slo")
+public class SloEndpoint {
+
+    private final SloObservationHandler sloObservationHandler;
+
+    public SloEndpoint(SloObservationHandler sloObservationHandler) {
+        this.sloObservationHandler = sloObservationHandler;
+    }
+
+    @ReadOperation
+    public List<SituacaoSloResponse> consultar() {
+        return sloObservationHandler.consultarSituacao();
+    }
+}
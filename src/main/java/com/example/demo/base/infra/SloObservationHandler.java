@@ -0,0 +1,124 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Classifica cada requisição dos endpoints com SLO configurado (SloProperties) como dentro ou fora do SLO
+// Usa a mesma observação de http.server.requests: o endpoint é identificado pelo método HTTP e pelo padrão da URI
+// Métricas exportadas para o Prometheus:
+// - colaborador.slo.requisicoes (tags slo e resultado=dentro|fora): base para o burn rate em qualquer janela (PromQL)
+// - colaborador.slo.objetivo (tag slo): objetivo configurado
+public class SloObservationHandler implements ObservationHandler<ServerRequestObservationContext> {
+
+    static final String INICIO = SloObservationHandler.class.getName() + ".inicio";
+
+    private final Map<String, Acompanhamento> porEndpoint = new LinkedHashMap<>();
+
+    private final Clock relogio;
+
+    private record Acompanhamento(String nome, SloProperties.Slo slo, Counter dentro, Counter fora, JanelaSlo janela) {
+    }
+
+    public SloObservationHandler(SloProperties sloProperties, MeterRegistry registro, Clock relogio) {
+        this.relogio = relogio;
+
+        sloProperties.endpoints().forEach((nome, slo) -> {
+            if (slo.metodo() == null || slo.uri() == null || slo.limite() == null
+                    || slo.objetivo() <= 0 || slo.objetivo() >= 1) {
+                throw new IllegalStateException("SLO '" + nome + "' inválido: informe metodo, uri, limite e objetivo entre 0 e 1");
+            }
+
+            Gauge.builder("colaborador.slo.objetivo", slo::objetivo)
+                    .description("Fração mínima das requisições que devem cumprir o SLO")
+                    .tag("slo", nome)
+                    .register(registro);
+
+            porEndpoint.put(chave(slo.metodo(), slo.uri()), new Acompanhamento(nome, slo,
+                    contador(registro, nome, "dentro"), contador(registro, nome, "fora"), new JanelaSlo()));
+        });
+    }
+
+    private static Counter contador(MeterRegistry registro, String nome, String resultado) {
+        return Counter.builder("colaborador.slo.requisicoes")
+                .description("Requisições dos endpoints com SLO, dentro ou fora do limite de latência")
+                .tag("slo", nome)
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+
+    private static String chave(String metodo, String uri) {
+        return metodo.toUpperCase() + " " + uri;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context contexto) {
+        return contexto instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext contexto) {
+        contexto.put(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext contexto) {
+        Long inicio = contexto.get(INICIO);
+        if (inicio == null || contexto.getCarrier() == null || contexto.getPathPattern() == null) {
+            return;
+        }
+
+        var acompanhamento = porEndpoint.get(chave(contexto.getCarrier().getMethod(), contexto.getPathPattern()));
+        if (acompanhamento == null) {
+            return;
+        }
+
+        var duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        int status = contexto.getResponse() != null ? contexto.getResponse().getStatus() : 200;
+        boolean cumpriuSlo = contexto.getError() == null && status < 500
+                && duracao.compareTo(acompanhamento.slo().limite()) <= 0;
+
+        (cumpriuSlo ? acompanhamento.dentro() : acompanhamento.fora()).increment();
+        acompanhamento.janela().registrar(minutoAtual(), cumpriuSlo);
+    }
+
+    // Método que monta a situação de cada SLO (endpoint /actuator/slo)
+    public List<SituacaoSloResponse> consultarSituacao() {
+        long minuto = minutoAtual();
+
+        return porEndpoint.values().stream().map(acompanhamento -> {
+            var slo = acompanhamento.slo();
+            long dentro = (long) acompanhamento.dentro().count();
+            long fora = (long) acompanhamento.fora().count();
+            long requisicoes = dentro + fora;
+            double orcamentoErro = 1 - slo.objetivo();
+            double taxaFora = requisicoes == 0 ? 0 : (double) fora / requisicoes;
+
+            return new SituacaoSloResponse(
+                    acompanhamento.nome(),
+                    slo.metodo(),
+                    slo.uri(),
+                    slo.limite(),
+                    slo.objetivo(),
+                    requisicoes,
+                    fora,
+                    1 - taxaFora,
+                    taxaFora / orcamentoErro,
+                    acompanhamento.janela().taxaForaDoSlo(minuto, 5) / orcamentoErro,
+                    acompanhamento.janela().taxaForaDoSlo(minuto, JanelaSlo.MINUTOS) / orcamentoErro);
+        }).toList();
+    }
+
+    private long minutoAtual() {
+        return relogio.millis() / Duration.ofMinutes(1).toMillis();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.base.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+// SLOs de latência por endpoint (colaborador.slo.endpoints.<nome>.*)
+// Uma requisição cumpre o SLO quando termina dentro do limite e sem erro do servidor (status < 500)
+// objetivo: fração mínima de requisições que devem cumprir o SLO (ex.: 0.99)
+@ConfigurationProperties(prefix = "colaborador.slo")
+public record SloProperties(Map<String, Slo> endpoints) {
+
+    public SloProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    // uri: padrão do mapeamento do Spring MVC, o mesmo da tag uri de http.server.requests
+    public record Slo(String metodo, String uri, Duration limite, double objetivo) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+// Quantidade de comandos SQL executados por requisição (colaborador.sql.requisicao, tags metodo e uri)
+// Usa a mesma observação de http.server.requests e conta os comandos da thread que atendeu a requisição
+// (trabalho em @Async ou em outros executores não entra). Um N+1 aparece como uma distribuição que cresce com
+// o tamanho da página ou do lote
+public class SqlPorRequisicaoObservationHandler implements ObservationHandler<ServerRequestObservationContext> {
+
+    static final String METRICA = "colaborador.sql.requisicao";
+
+    private static final String INICIO = SqlPorRequisicaoObservationHandler.class.getName() + ".inicio";
+
+    // Mesmo valor da tag uri de http.server.requests para requisições sem mapeamento
+    private static final String URI_DESCONHECIDA = "UNKNOWN";
+
+    private final MetricasSql metricasSql;
+
+    private final MeterRegistry registro;
+
+    private record Contagem(Thread thread, long executados) {
+    }
+
+    public SqlPorRequisicaoObservationHandler(MetricasSql metricasSql, MeterRegistry registro) {
+        this.metricasSql = metricasSql;
+        this.registro = registro;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context contexto) {
+        return contexto instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext contexto) {
+        contexto.put(INICIO, new Contagem(Thread.currentThread(), metricasSql.executadosNaThread()));
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext contexto) {
+        Contagem contagem = contexto.get(INICIO);
+        if (contagem == null || contagem.thread() != Thread.currentThread() || contexto.getCarrier() == null) {
+            return;
+        }
+
+        DistributionSummary.builder(METRICA)
+                .description("Comandos SQL executados por requisição")
+                .baseUnit("comandos")
+                .tag("metodo", contexto.getCarrier().getMethod())
+                .tag("uri", contexto.getPathPattern() != null ? contexto.getPathPattern() : URI_DESCONHECIDA)
+                .register(registro)
+                .record(metricasSql.executadosNaThread() - contagem.executados());
+    }
+}
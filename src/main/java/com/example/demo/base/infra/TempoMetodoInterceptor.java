@@ -0,0 +1,95 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Mede o tempo de cada método público dos services e repositories da aplicação (timer colaborador.metodo)
+// Tags: classe (service ou interface do repository), metodo e excecao ("none" quando o método termina normalmente)
+// Os timers ficam em cache por componente, método e exceção: a medição não procura o timer no registry a cada chamada
+public class TempoMetodoInterceptor extends StaticMethodMatcherPointcut implements MethodInterceptor {
+
+    static final String METRICA = "colaborador.metodo";
+
+    static final String SEM_EXCECAO = "none";
+
+    private static final String PACOTE_APLICACAO = "com.example.demo.";
+
+    private final ObjectProvider<MeterRegistry> registro;
+
+    private final Map<ChaveTimer, Timer> timers = new ConcurrentHashMap<>();
+
+    private record ChaveTimer(Class<?> componente, Method metodo, String excecao) {
+    }
+
+    // O registry é resolvido na primeira medição: o interceptor é criado antes dele, junto com os demais advisors
+    public TempoMetodoInterceptor(ObjectProvider<MeterRegistry> registro) {
+        this.registro = registro;
+        setClassFilter(classe -> nomeComponente(classe) != null);
+    }
+
+    @Override
+    public boolean matches(Method metodo, Class<?> classe) {
+        return Modifier.isPublic(metodo.getModifiers()) && metodo.getDeclaringClass() != Object.class;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        var meterRegistry = registro.getIfAvailable();
+        if (meterRegistry == null || invocacao.getThis() == null) {
+            return invocacao.proceed();
+        }
+
+        String excecao = SEM_EXCECAO;
+        long inicio = System.nanoTime();
+        try {
+            return invocacao.proceed();
+        } catch (Throwable ex) {
+            excecao = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            timer(meterRegistry, invocacao.getThis().getClass(), invocacao.getMethod(), excecao)
+                    .record(duracao, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MeterRegistry meterRegistry, Class<?> componente, Method metodo, String excecao) {
+        return timers.computeIfAbsent(new ChaveTimer(componente, metodo, excecao), chave -> Timer.builder(METRICA)
+                .description("Tempo de execução dos métodos dos services e repositories")
+                .tag("classe", nomeComponente(componente))
+                .tag("metodo", metodo.getName())
+                .tag("excecao", excecao)
+                .register(meterRegistry));
+    }
+
+    // Nome do service/repository da aplicação (classes terminadas em Service ou Repository e, para os repositories
+    // do Spring Data, a interface terminada em Repository implementada pelo proxy); nulo para as demais classes
+    static String nomeComponente(Class<?> classe) {
+        Class<?> classeUsuario = ClassUtils.getUserClass(classe);
+
+        if (classeUsuario.getName().startsWith(PACOTE_APLICACAO)
+                && (classeUsuario.getSimpleName().endsWith("Service") || classeUsuario.getSimpleName().endsWith("Repository"))) {
+            return classeUsuario.getSimpleName();
+        }
+
+        for (Class<?> interfaceImplementada : ClassUtils.getAllInterfacesForClassAsSet(classe)) {
+            if (interfaceImplementada.getName().startsWith(PACOTE_APLICACAO)
+                    && interfaceImplementada.getSimpleName().endsWith("Repository")) {
+                return interfaceImplementada.getSimpleName();
+            }
+        }
+
+        return null;
+    }
+}
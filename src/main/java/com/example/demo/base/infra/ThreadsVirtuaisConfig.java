@@ -0,0 +1,72 @@
+package com.example.demo.base.infra;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Ajustes do modo virtual threads (spring.threads.virtual.enabled=true)
+// O próprio Spring Boot passa a atender as requisições do Tomcat e os métodos @Async em virtual threads;
+// aqui ficam o limite de conexões simultâneas ao banco e as métricas de pinning
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    static final String PROPRIEDADE_CONEXOES = "colaborador.virtual-threads.conexoes-simultaneas";
+
+    static final String PROPRIEDADE_TEMPO_ESPERA = "colaborador.virtual-threads.tempo-espera-conexao";
+
+    // Padrão do Hikari (maximumPoolSize) quando o DataSource não for um HikariDataSource
+    private static final int CONEXOES_PADRAO = 10;
+
+    // Envolve o DataSource em ConexoesLimitadasDataSource, com uma permissão por conexão do pool (padrão)
+    // static: BeanPostProcessor precisa ser criado antes dos demais beans da configuração
+    @Bean
+    static BeanPostProcessor limitadorConexoesDataSource(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConexoesLimitadasDataSource) {
+                    return bean;
+                }
+
+                int tamanhoPool = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : CONEXOES_PADRAO;
+                int conexoes = environment.getProperty(PROPRIEDADE_CONEXOES, Integer.class, tamanhoPool);
+                Duration tempoEspera = environment.getProperty(PROPRIEDADE_TEMPO_ESPERA, Duration.class, Duration.ofSeconds(30));
+
+                return new ConexoesLimitadasDataSource(dataSource, conexoes, tempoEspera);
+            }
+        };
+    }
+
+    // Permissões livres e threads na fila do semáforo: fila crescendo indica que o pool é o gargalo
+    @Bean
+    public MeterBinder conexoesLimitadasMetricas(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConexoesLimitadasDataSource limitado) {
+                Gauge.builder("colaborador.jdbc.conexoes.disponiveis", limitado, ConexoesLimitadasDataSource::getPermissoesDisponiveis)
+                        .description("Permissões livres para obter uma conexão com o banco")
+                        .register(registry);
+                Gauge.builder("colaborador.jdbc.conexoes.aguardando", limitado, ConexoesLimitadasDataSource::getThreadsAguardando)
+                        .description("Threads aguardando uma permissão para obter uma conexão com o banco")
+                        .register(registry);
+            }
+        };
+    }
+
+    // Pinning e falhas de agendamento de virtual threads (eventos do JFR) como métricas do Micrometer
+    @Bean(destroyMethod = "close")
+    public MetricasPinningThreadsVirtuais metricasPinningThreadsVirtuais(
+            @Value("${colaborador.virtual-threads.limiar-pinning:20ms}") Duration limiarPinning) {
+        return new MetricasPinningThreadsVirtuais(limiarPinning);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.base.jdbc;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// UPDATE parcial de uma linha via JDBC (PATCH): somente as colunas informadas entram no SET, a coluna versao é
+// incrementada quando alguma delas muda e as condições (posse, If-Match) ficam no WHERE
+// Usado em vez do CriteriaUpdate do JPA, que faz o Hibernate remover a região inteira da entidade do cache de segundo
+// nível; o chamador invalida apenas a linha alterada (BloqueioCacheLinhas)
+public final class AtualizacaoParcial {
+
+    private final String tabela;
+
+    private final List<String> colunas = new ArrayList<>();
+
+    private final List<Object> valores = new ArrayList<>();
+
+    private final List<String> condicoes = new ArrayList<>();
+
+    private final List<Object> parametrosCondicoes = new ArrayList<>();
+
+    public AtualizacaoParcial(String tabela) {
+        this.tabela = tabela;
+    }
+
+    // Inclui a coluna no SET somente quando o valor foi informado (PATCH: nulo = manter)
+    public AtualizacaoParcial definir(String coluna, Object valor) {
+        if (valor != null) {
+            colunas.add(coluna);
+            valores.add(parametro(valor));
+        }
+        return this;
+    }
+
+    public AtualizacaoParcial onde(String condicao, Object... parametros) {
+        condicoes.add(condicao);
+        for (Object parametro : parametros) {
+            parametrosCondicoes.add(parametro(parametro));
+        }
+        return this;
+    }
+
+    // Condição "coluna in (...)"; com a lista vazia nenhuma linha é atualizada
+    public AtualizacaoParcial ondeEm(String coluna, Collection<?> aceitos) {
+        return onde(em(coluna, aceitos.size()), aceitos.toArray());
+    }
+
+    // Texto da condição "coluna in (?, ...)" com a quantidade de parâmetros informada ("1 = 0" sem parâmetros)
+    public static String em(String coluna, int quantidade) {
+        return quantidade == 0 ? "1 = 0" : coluna + " in (" + String.join(", ", Collections.nCopies(quantidade, "?")) + ")";
+    }
+
+    public boolean alterada() {
+        return !colunas.isEmpty();
+    }
+
+    // Sem colunas a alterar a versão é mantida: o UPDATE apenas confirma as condições
+    public String sql() {
+        var set = new ArrayList<String>();
+        colunas.forEach(coluna -> set.add(coluna + " = ?"));
+        set.add(alterada() ? "versao = versao + 1" : "versao = versao");
+
+        return "update " + tabela + " set " + String.join(", ", set) + " where " + String.join(" and ", condicoes);
+    }
+
+    public List<Object> parametros() {
+        var parametros = new ArrayList<>(valores);
+        parametros.addAll(parametrosCondicoes);
+        return parametros;
+    }
+
+    // Executa comandos separados por ";" em um único round trip e retorna as linhas atualizadas pelo primeiro
+    // Os resultados seguintes são consumidos: no SQL Server, o erro de um comando seguinte só aparece nessa leitura
+    public static int executarEmUmRoundTrip(JdbcTemplate jdbcTemplate, String sql, List<Object> parametros) {
+        return jdbcTemplate.execute(sql, (PreparedStatementCallback<Integer>) comando -> {
+            new ArgumentPreparedStatementSetter(parametros.toArray()).setValues(comando);
+            comando.execute();
+            int atualizadas = comando.getUpdateCount();
+
+            while (comando.getMoreResults() || comando.getUpdateCount() != -1) {
+                // resultados dos comandos seguintes
+            }
+
+            return atualizadas;
+        });
+    }
+
+    // As matrículas (UUID) são enviadas como texto, como em ColaboradorLoteRepository
+    private static Object parametro(Object valor) {
+        return valor instanceof UUID uuid ? uuid.toString() : valor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.base.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Execução de alterações em estruturas em memória somente após o commit da transação corrente
+// Um rollback não deixa a alteração aplicada; sem transação ativa, a alteração é executada imediatamente
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+}
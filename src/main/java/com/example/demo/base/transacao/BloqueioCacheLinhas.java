@@ -0,0 +1,36 @@
+package com.example.demo.base.transacao;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.util.Collection;
+
+// Invalidação, no cache de segundo nível, somente das linhas alteradas por SQL executado fora do Hibernate (JDBC)
+// Uma atualização em massa do JPQL ou do Criteria remove a região inteira da entidade do cache; aqui cada chave
+// alterada fica bloqueada (soft lock da estratégia READ_WRITE) até o fim da transação: as leituras concorrentes vão
+// ao banco e não recolocam no cache o estado anterior ao commit. Depois disso a próxima leitura volta a preencher o cache
+public final class BloqueioCacheLinhas {
+
+    private BloqueioCacheLinhas() {
+    }
+
+    // Deve ser chamado na transação que executa o SQL, antes dele
+    public static void bloquear(EntityManager entityManager, Class<?> entidade, Collection<?> ids) {
+        var sessao = entityManager.unwrap(SessionImplementor.class);
+        var persister = sessao.getFactory().getMappingMetamodel().getEntityDescriptor(entidade);
+
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+
+        var cache = persister.getCacheAccessStrategy();
+
+        for (Object id : ids) {
+            Object chave = cache.generateCacheKey(id, persister, sessao.getFactory(), sessao.getTenantIdentifier());
+            SoftLock bloqueio = cache.lockItem(sessao, chave, null);
+            sessao.getActionQueue().registerProcess((sucesso, sessaoConcluida) ->
+                    cache.unlockItem(sessaoConcluida, chave, bloqueio));
+        }
+    }
+}
@@ -4,13 +4,23 @@ import com.example.demo.colaborador.model.ColaboradorEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "tb_avaliacao_comportamental")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AvaliacaoComportamentoEntity.REGIAO_CACHE)
 public class AvaliacaoComportamentoEntity {
 
+    public static final String REGIAO_CACHE = "avaliacao_comportamental";
+
+    // Deve ser igual ao INCREMENT BY da sequence no banco (sql/Script-BD.sql)
+    public static final int ALOCACAO_IDS = 50;
+
+    // Mesma estratégia de EntregaEntity (sequence pooled), permitindo INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_avaliacao_comportamental")
+    @SequenceGenerator(name = "seq_avaliacao_comportamental", sequenceName = "seq_avaliacao_comportamental", allocationSize = ALOCACAO_IDS)
     private Long id;
 
     @Column(name = "nota_ambiente_colaborativo")
@@ -29,6 +39,11 @@ public class AvaliacaoComportamentoEntity {
     @Min(1) @Max(5)
     private Double notaAutonomia;
 
+    // Bloqueio otimista: incrementada a cada alteração e usada na ETag das consultas (If-None-Match / If-Match)
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "matricula", referencedColumnName = "matricula", nullable = false)
     private ColaboradorEntity colaborador;
@@ -84,6 +99,14 @@ public class AvaliacaoComportamentoEntity {
         this.notaAutonomia = notaAutonomia;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public ColaboradorEntity getColaborador() {
         return colaborador;
     }
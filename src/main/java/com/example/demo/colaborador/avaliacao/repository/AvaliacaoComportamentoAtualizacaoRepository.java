@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.avaliacao.repository;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoAtualizaRequest;
+
+import java.util.UUID;
+
+// Fragmento de atualização parcial (PATCH) do AvaliacaoComportamentoRepository
+public interface AvaliacaoComportamentoAtualizacaoRepository {
+
+    int atualizarParcial(UUID matricula, Long id, Long versao, AvaliacaoComportamentoAtualizaRequest novasNotas);
+}
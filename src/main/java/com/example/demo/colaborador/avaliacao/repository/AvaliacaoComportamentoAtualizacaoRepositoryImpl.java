@@ -0,0 +1,72 @@
+package com.example.demo.colaborador.avaliacao.repository;
+
+import com.example.demo.base.jdbc.AtualizacaoParcial;
+import com.example.demo.base.transacao.BloqueioCacheLinhas;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoAtualizaRequest;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class AvaliacaoComportamentoAtualizacaoRepositoryImpl implements AvaliacaoComportamentoAtualizacaoRepository {
+
+    private static final String INCREMENTAR_VERSAO_COLABORADOR = """
+            update tb_colaborador set versao = versao + 1
+            where matricula = ?
+              and exists (select 1 from tb_avaliacao_comportamental a
+                          where a.id = ? and a.matricula = tb_colaborador.matricula and a.versao = ?)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AvaliacaoComportamentoAtualizacaoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Método que atualiza as notas informadas da avaliação de um colaborador e a versão (ETag) do colaborador em um
+    // único round trip, sem recarregá-la
+    // Objetivo: um round trip por PATCH; a versão lida pelo serviço fica no WHERE, então o UPDATE falha se outra
+    // transação alterou a avaliação depois da leitura. O UPDATE do colaborador só casa com a avaliação já na versão nova
+    // Parâmetros: matrícula do colaborador, id e versão lidos da avaliação e as notas a alterar (nulas são mantidas)
+    // Resposta: quantidade de avaliações atualizadas (0 = avaliação excluída ou alterada desde a leitura)
+    // Via JDBC: somente a avaliação e o colaborador alterados são invalidados no cache de segundo nível
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int atualizarParcial(UUID matricula, Long id, Long versao, AvaliacaoComportamentoAtualizaRequest novasNotas) {
+        var update = new AtualizacaoParcial("tb_avaliacao_comportamental")
+                .definir("nota_ambiente_colaborativo", novasNotas.notaAvaliacaoComportamental())
+                .definir("nota_aprendizado", novasNotas.notaAprendizado())
+                .definir("nota_tomada_decisao", novasNotas.notaTomadaDecisao())
+                .definir("nota_autonomia", novasNotas.notaAutonomia())
+                .onde("id = ?", id)
+                .onde("matricula = ?", matricula)
+                .onde("versao = ?", versao);
+
+        BloqueioCacheLinhas.bloquear(entityManager, AvaliacaoComportamentoEntity.class, List.of(id));
+
+        // Sem notas a alterar, o UPDATE apenas confirma a versão: a do colaborador é mantida
+        if (!update.alterada()) {
+            return jdbcTemplate.update(update.sql(), update.parametros().toArray());
+        }
+
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, List.of(matricula));
+
+        var parametros = new ArrayList<>(update.parametros());
+        parametros.add(matricula.toString());
+        parametros.add(id);
+        parametros.add(versao + 1);
+
+        return AtualizacaoParcial.executarEmUmRoundTrip(jdbcTemplate, update.sql() + ";\n" + INCREMENTAR_VERSAO_COLABORADOR,
+                parametros);
+    }
+}
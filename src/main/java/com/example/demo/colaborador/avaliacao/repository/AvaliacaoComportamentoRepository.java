@@ -2,6 +2,21 @@ package com.example.demo.colaborador.avaliacao.repository;
 
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AvaliacaoComportamentoRepository extends JpaRepository<AvaliacaoComportamentoEntity, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AvaliacaoComportamentoRepository extends JpaRepository<AvaliacaoComportamentoEntity, Long>,
+        AvaliacaoComportamentoAtualizacaoRepository {
+
+    // Quais das matrículas informadas já possuem avaliação comportamental (1:1 com o colaborador)
+    @Query("select a.colaborador.matricula from AvaliacaoComportamentoEntity a where a.colaborador.matricula in :matriculas")
+    List<UUID> listarMatriculasAvaliadas(@Param("matriculas") Collection<UUID> matriculas);
+
+    // Avaliação do colaborador lida do banco (consulta, não passa pelo cache de segundo nível por id)
+    Optional<AvaliacaoComportamentoEntity> findByColaboradorMatricula(UUID matricula);
 }
@@ -5,8 +5,11 @@ import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamen
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 
@@ -31,11 +34,19 @@ public class AvaliacaoComportamentoResource {
         return ResponseEntity.created(location).build();
     }
 
+    // Consulta condicional: com If-None-Match igual à versão atual, responde 304 sem calcular a média
     @GetMapping
-    public ResponseEntity<AvaliacaoComportamentoResponse> consultaAvaliacaoPorMatricula(@PathVariable("matricula") String matricula) {
+    public ResponseEntity<AvaliacaoComportamentoResponse> consultaAvaliacaoPorMatricula(@PathVariable("matricula") String matricula,
+                                                                                        WebRequest webRequest) {
+        var etag = avaliacaoComportamentoService.consultarEtagAvaliacao(matricula);
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         var notas = avaliacaoComportamentoService.consultaAvaliacaoPorMatricula(matricula);
 
-        return ResponseEntity.ok(notas);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(notas);
     }
 
     @DeleteMapping
@@ -48,9 +59,10 @@ public class AvaliacaoComportamentoResource {
     @PatchMapping
     public ResponseEntity<Void> atualizaAvaliacaoPorMarticula(
             @PathVariable("matricula") String matricula,
-            @Valid @RequestBody AvaliacaoComportamentoAtualizaRequest avaliacaoComportamentoAtualizaRequest) {
+            @Valid @RequestBody AvaliacaoComportamentoAtualizaRequest avaliacaoComportamentoAtualizaRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula, avaliacaoComportamentoAtualizaRequest);
+        avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula, avaliacaoComportamentoAtualizaRequest, ifMatch);
 
         return ResponseEntity.noContent().build();
     }
@@ -2,19 +2,24 @@ package com.example.demo.colaborador.avaliacao.resource.json;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 
 public record AvaliacaoComportamentoAtualizaRequest(
 
         @DecimalMin(value = "1.0", message = "A nota deve ser no mínimo 1.0")
         @DecimalMax(value = "5.0", message = "A nota deve ser no máximo 5.0")
+        @Digits(integer = 1, fraction = 2, message = "A nota deve ter no máximo 2 casas decimais")
         Double notaAvaliacaoComportamental,
         @DecimalMin(value = "1.0", message = "A nota deve ser no mínimo 1.0")
         @DecimalMax(value = "5.0", message = "A nota deve ser no máximo 5.0")
+        @Digits(integer = 1, fraction = 2, message = "A nota deve ter no máximo 2 casas decimais")
         Double notaAprendizado,
         @DecimalMin(value = "1.0", message = "A nota deve ser no mínimo 1.0")
         @DecimalMax(value = "5.0", message = "A nota deve ser no máximo 5.0")
+        @Digits(integer = 1, fraction = 2, message = "A nota deve ter no máximo 2 casas decimais")
         Double notaTomadaDecisao,
         @DecimalMin(value = "1.0", message = "A nota deve ser no mínimo 1.0")
         @DecimalMax(value = "5.0", message = "A nota deve ser no máximo 5.0")
+        @Digits(integer = 1, fraction = 2, message = "A nota deve ter no máximo 2 casas decimais")
         Double notaAutonomia) {
 }
@@ -4,18 +4,22 @@ import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamen
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.base.http.EtagVersao;
 import com.example.demo.base.exception.ResourceNotFoundException;
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.avaliacao.repository.AvaliacaoComportamentoRepository;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.UUID;
 
 @Service
@@ -25,14 +29,22 @@ public class AvaliacaoComportamentoService {
 
     private final ColaboradorRepository colaboradorRepository;
 
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
     private static final Logger logger = LoggerFactory.getLogger(AvaliacaoComportamentoService.class);
 
     public AvaliacaoComportamentoService(
             AvaliacaoComportamentoRepository avaliacaoComportamentoRepository,
-            ColaboradorRepository colaboradorRepository) {
+            ColaboradorRepository colaboradorRepository,
+            PerformanceColaboradorService performanceColaboradorService,
+            FormulaPerformanceService formulaPerformanceService) {
 
         this.avaliacaoComportamentoRepository = avaliacaoComportamentoRepository;
         this.colaboradorRepository = colaboradorRepository;
+        this.performanceColaboradorService = performanceColaboradorService;
+        this.formulaPerformanceService = formulaPerformanceService;
     }
 
     // Método que cadastra uma avaliação comportamental para um colaborador
@@ -60,11 +72,31 @@ public class AvaliacaoComportamentoService {
         avaliacaoComportamento.setColaborador(colaboradorEntity);
 
         var avaliacaoComportamentoSalva = avaliacaoComportamentoRepository.save(avaliacaoComportamento);
+        colaboradorRepository.incrementarVersao(colaboradorEntity);
+        performanceColaboradorService.registrarAvaliacao(colaboradorEntity.getMatricula(), avaliacaoComportamentoSalva);
         logger.info("Avalização comportamental do colaborador de matricula '{}' cadastrada com sucesso", matricula);
 
         return avaliacaoComportamentoSalva.getId();
     }
 
+    // Método que consulta somente a ETag (id e versão) da avaliação comportamental de um colaborador
+    // Objetivo: responder If-None-Match com 304 sem calcular a média nem montar o DTO
+    // Parâmetros: matrícula (String) do colaborador
+    // Resposta: ETag da avaliação
+    @Transactional(readOnly = true)
+    public String consultarEtagAvaliacao(String matricula) {
+        var colaborador = colaboradorRepository.findById(UUID.fromString(matricula))
+                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
+
+        AvaliacaoComportamentoEntity avaliacao = colaborador.getAvaliacaoComportamento();
+
+        if (avaliacao == null) {
+            throw new ResourceNotFoundException("O Colaborador não possui avaliação comportamental.");
+        }
+
+        return gerarEtag(avaliacao);
+    }
+
     // Método que consulta a avaliação comportamental de um colaborador específico
     // Objetivo: consultar a avaliação e calcular a média das notas
     // Parâmetros: matrícula (String) do colaborador
@@ -96,53 +128,57 @@ public class AvaliacaoComportamentoService {
 
     // Método que atualiza as notas da avaliação comportamental (parcial ou total)
     // Objetivo: atualizar as notas da avaliação
-    // Parâmetros: matrícula (String) do colaborador e DTO (AvaliacaoComportamentoAtualizaRequest) com as notas a serem alteradas
+    // Parâmetros: matrícula (String) do colaborador, DTO (AvaliacaoComportamentoAtualizaRequest) com as notas a serem
+    // alteradas e o cabeçalho If-Match (nulo quando a atualização não é condicional)
     // Resposta: void (apenas salva as alterações no banco de dados)
     @Transactional
     public void atualizaAvaliacaoPorMarticula(
             String matricula,
-            AvaliacaoComportamentoAtualizaRequest novasNotas) {
+            AvaliacaoComportamentoAtualizaRequest novasNotas,
+            String ifMatch) {
 
         var matriculaUUID = UUID.fromString(matricula);
 
-        logger.debug("Verificando se o colaborador de matricula '{}' existe", matricula);
-        var colaborador = colaboradorRepository.findById(matriculaUUID)
-                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
+        logger.debug("Iniciando a atualização das notas da avaliação do colaborador de matrícula '{}'", matricula);
 
-        logger.debug("Colaborador encontrado. Iniciando atualização das notas");
+        // Uma consulta traz a versão e as notas atuais: o If-Match é verificado sobre ela e as notas não informadas
+        // completam as novas para o registro de performance, sem reler a avaliação após o UPDATE
+        var atual = avaliacaoComportamentoRepository.findByColaboradorMatricula(matriculaUUID).orElse(null);
 
-        var notas = colaborador.getAvaliacaoComportamento();
+        if (atual == null) {
+            if (!colaboradorRepository.existsById(matriculaUUID)) {
+                throw new ResourceNotFoundException("Colaborador não encontrado");
+            }
 
-        // Verifica se o colaborador possui notas cadastradas
-        if (notas == null) {
             throw new NegocioException("O colaborador " + matricula + " não possui uma avaliação comportamental para atualizar");
         }
 
-        logger.debug("Avaliação id={} encontrada. Iniciando atualização das notas.", notas.getId());
-
-        if (novasNotas.notaAvaliacaoComportamental() != null) {
-            notas.setNotaAvaliacaoComportamental(novasNotas.notaAvaliacaoComportamental());
-            logger.debug("Nota da avaliação comportamental atualizada");
-        }
-
-        if (novasNotas.notaAprendizado() != null) {
-            notas.setNotaAprendizado(novasNotas.notaAprendizado());
-            logger.debug("Nota da avaliação de aprendizado atualizada");
+        if (!EtagVersao.atendeIfMatch(ifMatch, gerarEtag(atual))) {
+            logger.warn("If-Match não corresponde à versão atual da avaliação do colaborador de matrícula '{}'", matricula);
+            throw new PreCondicaoFalhouException("A avaliação comportamental foi alterada desde a última consulta");
         }
 
-        if (novasNotas.notaTomadaDecisao() != null) {
-            notas.setNotaTomadaDecisao(novasNotas.notaTomadaDecisao());
-            logger.debug("Nota da avaliação de tomada de decisao atualizada");
-        }
+        // Um único round trip: o UPDATE das notas (condicionado à versão lida) e o da versão do colaborador
+        int atualizadas = avaliacaoComportamentoRepository.atualizarParcial(matriculaUUID, atual.getId(),
+                atual.getVersao(), novasNotas);
 
-        if (novasNotas.notaAutonomia() != null) {
-            notas.setNotaAutonomia(novasNotas.notaAutonomia());
-            logger.debug("Nota da avaliação de autonomia atualizada");
+        if (atualizadas == 0) {
+            throw new OptimisticLockingFailureException("A avaliação do colaborador " + matricula
+                    + " foi alterada por outra requisição");
         }
 
         logger.info("Notas atualizadas com sucesso");
-        avaliacaoComportamentoRepository.save(notas);
 
+        var notas = new AvaliacaoComportamentoEntity(atual.getId(),
+                valorOuAtual(novasNotas.notaAvaliacaoComportamental(), atual.getNotaAvaliacaoComportamental()),
+                valorOuAtual(novasNotas.notaAprendizado(), atual.getNotaAprendizado()),
+                valorOuAtual(novasNotas.notaTomadaDecisao(), atual.getNotaTomadaDecisao()),
+                valorOuAtual(novasNotas.notaAutonomia(), atual.getNotaAutonomia()));
+        performanceColaboradorService.registrarAvaliacao(matriculaUUID, notas);
+    }
+
+    private static Double valorOuAtual(Double novo, Double atual) {
+        return novo != null ? novo : atual;
     }
 
     // Método que exclui a avaliação comportamental de um colaborador
@@ -166,33 +202,34 @@ public class AvaliacaoComportamentoService {
             // ao colocar valor null na avaliacao de comportamento, ela será automaticamente apagada
             colaborador.setAvaliacaoComportamento(null);
             colaboradorRepository.save(colaborador);
+            colaboradorRepository.incrementarVersao(colaborador);
+            performanceColaboradorService.registrarAvaliacaoExcluida(matriculaUUID);
             logger.info("Avaliacao encontrada e deletada");
         } else {
             logger.warn("Avaliacao do colaborador nao encontrada");
         }
     }
 
+    // ETag da avaliação: o id diferencia uma avaliação recriada (versão reiniciada) da excluída
+    private static String gerarEtag(AvaliacaoComportamentoEntity avaliacao) {
+        return EtagVersao.gerar(avaliacao.getId(), avaliacao.getVersao());
+    }
+
     // Método que formata o DTO de resposta da avaliação comportamental
-    // Objetivo: calcular a média das 4 notas e retornar o DTO formatado
+    // Objetivo: calcular a média das 4 notas (pesos da fórmula em uso) e retornar o DTO formatado
     // Parâmetros: objeto (AvaliacaoComportamentoEntity) com as notas vindas do banco
     // Retorno: objeto (AvaliacaoComportamentoResponse) com as 4 notas e a média
-    private AvaliacaoComportamentoResponse formataRespostaDTO(AvaliacaoComportamentoEntity avaliacao) {
+    // Visível no pacote para o benchmark JMH (src/jmh)
+    AvaliacaoComportamentoResponse formataRespostaDTO(AvaliacaoComportamentoEntity avaliacao) {
 
         logger.debug("Iniciando formatação do JSON de resposta da avaliacao id={}", avaliacao.getId());
 
-        logger.debug("Obtendo as notas da avaliacao");
-        BigDecimal notaAvaliacaoComportamental = BigDecimal.valueOf(avaliacao.getNotaAvaliacaoComportamental());
-        BigDecimal notaAprendizado = BigDecimal.valueOf(avaliacao.getNotaAprendizado());
-        BigDecimal notaTomadaDecisao = BigDecimal.valueOf(avaliacao.getNotaTomadaDecisao());
-        BigDecimal notaAutonomia = BigDecimal.valueOf(avaliacao.getNotaAutonomia());
-
         logger.debug("Calculando a media das notas");
-        BigDecimal soma = notaAvaliacaoComportamental
-                .add(notaAprendizado)
-                .add(notaTomadaDecisao)
-                .add(notaAutonomia);
-
-        BigDecimal media = soma.divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP);
+        int media = formulaPerformanceService.formulaAtual().mediaComportamental(
+                avaliacao.getNotaAvaliacaoComportamental(),
+                avaliacao.getNotaAprendizado(),
+                avaliacao.getNotaTomadaDecisao(),
+                avaliacao.getNotaAutonomia());
 
         logger.debug("Média das notas calculada com sucesso");
 
@@ -202,7 +239,7 @@ public class AvaliacaoComportamentoService {
                 avaliacao.getNotaAprendizado(),
                 avaliacao.getNotaTomadaDecisao(),
                 avaliacao.getNotaAutonomia(),
-                media
+                NotaCentesimos.paraBigDecimal(media)
         );
     }
 }
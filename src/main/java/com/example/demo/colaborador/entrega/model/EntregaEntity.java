@@ -4,13 +4,25 @@ import com.example.demo.colaborador.model.ColaboradorEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "tb_entrega")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntregaEntity.REGIAO_CACHE)
 public class EntregaEntity {
 
+    public static final String REGIAO_CACHE = "entrega";
+
+    // Deve ser igual ao INCREMENT BY da sequence no banco (sql/Script-BD.sql)
+    public static final int ALOCACAO_IDS = 50;
+
+    // Sequence com alocação em blocos (otimizador pooled): o Hibernate reserva ALOCACAO_IDS ids por chamada
+    // à sequence e não precisa executar cada INSERT na hora para ler a chave gerada (como no IDENTITY),
+    // o que permite agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_entrega")
+    @SequenceGenerator(name = "seq_entrega", sequenceName = "seq_entrega", allocationSize = ALOCACAO_IDS)
     private Long id;
 
     @Column(name = "descricao")
@@ -20,6 +32,11 @@ public class EntregaEntity {
     @Min(1) @Max(5)
     private Double nota;
 
+    // Bloqueio otimista: incrementada a cada alteração e usada na ETag das consultas (If-None-Match / If-Match)
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "matricula", referencedColumnName = "matricula", nullable = false)
     private ColaboradorEntity colaborador;
@@ -57,6 +74,14 @@ public class EntregaEntity {
         this.nota = nota;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public ColaboradorEntity getColaborador() {
         return colaborador;
     }
@@ -0,0 +1,13 @@
+package com.example.demo.colaborador.entrega.repository;
+
+import com.example.demo.base.http.EtagVersao;
+import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+// Fragmento de atualização parcial (PATCH) do EntregaRepository
+public interface EntregaAtualizacaoRepository {
+
+    int atualizarParcial(Long id, UUID matricula, EntregaAtualizaRequest atualizacao, List<EtagVersao.Versao> versoesIfMatch);
+}
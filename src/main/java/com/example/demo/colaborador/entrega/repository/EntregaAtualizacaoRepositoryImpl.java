@@ -0,0 +1,82 @@
+package com.example.demo.colaborador.entrega.repository;
+
+import com.example.demo.base.http.EtagVersao;
+import com.example.demo.base.jdbc.AtualizacaoParcial;
+import com.example.demo.base.transacao.BloqueioCacheLinhas;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class EntregaAtualizacaoRepositoryImpl implements EntregaAtualizacaoRepository {
+
+    private static final String INCREMENTAR_VERSAO_COLABORADOR = """
+            update tb_colaborador set versao = versao + 1
+            where matricula = ?
+              and exists (select 1 from tb_entrega e where e.id = ? and e.matricula = tb_colaborador.matricula%s)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntregaAtualizacaoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Método que atualiza os campos informados de uma entrega e a versão (ETag) do colaborador em um único round trip
+    // Objetivo: um round trip por PATCH; a posse (matrícula) e o If-Match (versao in ...) ficam no WHERE
+    // O SQL Server não altera duas tabelas em um mesmo UPDATE: os dois UPDATEs seguem no mesmo comando, e o do
+    // colaborador só casa quando a entrega já está na versão nova (a mesma condição do primeiro, após a escrita)
+    // Parâmetros: id da entrega, matrícula do dono, campos a alterar (nulos são mantidos) e versões aceitas
+    // (null = sem condição)
+    // Resposta: quantidade de entregas atualizadas (0 = entrega inexistente, de outro colaborador ou versão diferente)
+    // Via JDBC: somente a entrega e o colaborador alterados são invalidados no cache de segundo nível
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int atualizarParcial(Long id, UUID matricula, EntregaAtualizaRequest atualizacao,
+                                List<EtagVersao.Versao> versoesIfMatch) {
+        var update = new AtualizacaoParcial("tb_entrega")
+                .definir("descricao", atualizacao.descricao())
+                .definir("nota", atualizacao.nota())
+                .onde("id = ?", id)
+                .onde("matricula = ?", matricula);
+
+        // Versões da entrega após o UPDATE (as do If-Match + 1): condição do UPDATE da versão do colaborador
+        List<Object> versoesNovas = new ArrayList<>();
+        String condicaoVersao = "";
+
+        if (versoesIfMatch != null) {
+            var versoes = EtagVersao.versoesDe(versoesIfMatch, id);
+            update.ondeEm("versao", versoes);
+            versoes.forEach(versao -> versoesNovas.add(versao + 1));
+            condicaoVersao = " and " + AtualizacaoParcial.em("e.versao", versoesNovas.size());
+        }
+
+        BloqueioCacheLinhas.bloquear(entityManager, EntregaEntity.class, List.of(id));
+
+        // Sem campos a alterar, o UPDATE apenas confirma a posse e o If-Match: a versão do colaborador é mantida
+        if (!update.alterada()) {
+            return jdbcTemplate.update(update.sql(), update.parametros().toArray());
+        }
+
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, List.of(matricula));
+
+        var parametros = new ArrayList<>(update.parametros());
+        parametros.add(matricula.toString());
+        parametros.add(id);
+        parametros.addAll(versoesNovas);
+
+        return AtualizacaoParcial.executarEmUmRoundTrip(jdbcTemplate, update.sql() + ";\n" + INCREMENTAR_VERSAO_COLABORADOR
+                .formatted(condicaoVersao), parametros);
+    }
+}
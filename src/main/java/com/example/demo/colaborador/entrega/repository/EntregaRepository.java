@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface EntregaRepository extends JpaRepository<EntregaEntity, Long> {
+public interface EntregaRepository extends JpaRepository<EntregaEntity, Long>, EntregaAtualizacaoRepository {
 }
@@ -0,0 +1,6 @@
+package com.example.demo.colaborador.entrega.repository;
+
+import java.util.UUID;
+
+public record QuantidadeEntregasProjection(UUID matricula, Long quantidade) {
+}
@@ -5,8 +5,11 @@ import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest
 import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
 import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -38,27 +41,42 @@ public class EntregaResource {
                 .body(entregaRespostaDTO);
     }
 
+    // Consultas condicionais: com If-None-Match igual à versão atual, responde 304 sem montar o DTO
     @GetMapping
     public ResponseEntity<List<EntregaResponse>> listarEntregasPorColaborador(
-            @PathVariable("matricula") String matricula) {
+            @PathVariable("matricula") String matricula, WebRequest webRequest) {
+
+        var etag = entregaService.consultarEtagEntregas(matricula);
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         List<EntregaResponse> entregas = entregaService.listarEntregasPorColaborador(matricula);
-        return ResponseEntity.ok(entregas);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(entregas);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EntregaResponse> consultarEntregaPorId(@PathVariable("matricula") String matricula, @PathVariable("id") Long id) {
+    public ResponseEntity<EntregaResponse> consultarEntregaPorId(@PathVariable("matricula") String matricula, @PathVariable("id") Long id,
+                                                                 WebRequest webRequest) {
+        var etag = entregaService.consultarEtagEntrega(matricula, id);
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         var entregas = entregaService.consultarEntregaPorId(matricula, id);
 
-        return ResponseEntity.ok(entregas);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(entregas);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<Void> atualizarEntregaPorId(@PathVariable("matricula") String matricula,
                                                       @PathVariable("id") Long id,
-                                                      @Valid @RequestBody EntregaAtualizaRequest entregaAtualizaRequest) {
+                                                      @Valid @RequestBody EntregaAtualizaRequest entregaAtualizaRequest,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        entregaService.atualizarEntregaPorId(matricula, id, entregaAtualizaRequest);
+        entregaService.atualizarEntregaPorId(matricula, id, entregaAtualizaRequest, ifMatch);
 
         return ResponseEntity.noContent().build();
     }
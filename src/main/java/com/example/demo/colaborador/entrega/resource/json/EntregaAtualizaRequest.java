@@ -2,6 +2,7 @@ package com.example.demo.colaborador.entrega.resource.json;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Size;
 
 public record EntregaAtualizaRequest(
@@ -9,5 +10,6 @@ public record EntregaAtualizaRequest(
         String descricao,
         @DecimalMin(value = "1.0", message = "A nota deve ser no mínimo 1.0")
         @DecimalMax(value = "5.0", message = "A nota deve ser no máximo 5.0")
+        @Digits(integer = 1, fraction = 2, message = "A nota deve ter no máximo 2 casas decimais")
         Double nota) {
 }
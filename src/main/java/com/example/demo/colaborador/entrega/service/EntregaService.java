@@ -4,13 +4,18 @@ import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest
 import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
 import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.base.http.EtagVersao;
 import com.example.demo.base.exception.ResourceNotFoundException;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.entrega.model.EntregaEntity;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
 import com.example.demo.colaborador.entrega.repository.EntregaRepository;
+import com.example.demo.colaborador.service.ColaboradorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,11 +30,15 @@ public class EntregaService {
 
     private final EntregaRepository entregaRepository;
 
+    private final PerformanceColaboradorService performanceColaboradorService;
+
     private static final Logger logger = LoggerFactory.getLogger(EntregaService.class);
 
-    public EntregaService(ColaboradorRepository colaboradorRepository, EntregaRepository entregaRepository) {
+    public EntregaService(ColaboradorRepository colaboradorRepository, EntregaRepository entregaRepository,
+                          PerformanceColaboradorService performanceColaboradorService) {
         this.colaboradorRepository = colaboradorRepository;
         this.entregaRepository = entregaRepository;
+        this.performanceColaboradorService = performanceColaboradorService;
     }
 
     // Método que cadastra uma nova entrega para um colaborador
@@ -40,14 +49,15 @@ public class EntregaService {
     public EntregaEntity cadastrarEntregaColaborador(String matricula, EntregaCadastroRequest entregaCadastroRequest) {
         var matriculaUUID = UUID.fromString(matricula);
 
-        logger.debug("Iniciando a verificação se o colaborador de matricula '{}' existe", matricula);
-
-        ColaboradorEntity colaboradorEntity = colaboradorRepository.findById(matriculaUUID)
-                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
+        logger.debug("Reservando a vaga de uma nova entrega para o colaborador de matrícula '{}'", matricula);
 
-        logger.debug("Colaborador encontrado. Verificando se ele já atingiu o máximo de entregas");
+        // Verificação e incremento da quantidade de entregas em um único UPDATE condicional: dois cadastros
+        // concorrentes não conseguem ultrapassar o limite, pois o segundo aguarda o bloqueio da linha do colaborador
+        if (colaboradorRepository.reservarEntrega(matriculaUUID, ColaboradorEntity.LIMITE_ENTREGAS) == 0) {
+            if (!colaboradorRepository.existsById(matriculaUUID)) {
+                throw new ResourceNotFoundException("Colaborador não encontrado");
+            }
 
-        if (colaboradorEntity.getEntregas().size() >= 4) {
             throw new NegocioException("O colaborador já atingiu o limite de 4 entregas cadastradas");
         }
 
@@ -56,9 +66,47 @@ public class EntregaService {
         var entrega = new EntregaEntity();
         entrega.setDescricao(entregaCadastroRequest.descricao());
         entrega.setNota(entregaCadastroRequest.nota());
-        entrega.setColaborador(colaboradorEntity);
+        // Referência sem SELECT: a existência foi confirmada pelo UPDATE (a versão já foi incrementada por ele)
+        entrega.setColaborador(colaboradorRepository.getReferenceById(matriculaUUID));
+
+        var entregaSalva = entregaRepository.save(entrega);
 
-        return entregaRepository.save(entrega);
+        // Atualiza a soma/quantidade de entregas do registro de performance na mesma transação
+        performanceColaboradorService.registrarEntregaCadastrada(matriculaUUID, entregaSalva.getNota());
+
+        return entregaSalva;
+    }
+
+    // Método que consulta somente a ETag (versão) de uma entrega
+    // Objetivo: responder If-None-Match com 304 sem montar o DTO, com as mesmas validações da consulta
+    // Parâmetros: matrícula (String) do colaborador e id (Long) da entrega
+    // Resposta: ETag da entrega
+    @Transactional(readOnly = true)
+    public String consultarEtagEntrega(String matricula, Long id) {
+        var matriculaUUID = UUID.fromString(matricula);
+
+        colaboradorRepository.findById(matriculaUUID)
+                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
+
+        var entrega = entregaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("A entrega consultada não existe: " + id));
+
+        if (!entrega.getColaborador().getMatricula().equals(matriculaUUID)) {
+            throw new NegocioException("Acesso negado: A entrega " + id + " não pertence ao colaborador " + matricula);
+        }
+
+        return gerarEtag(entrega);
+    }
+
+    // Método que consulta somente a ETag da lista de entregas de um colaborador
+    // A lista usa a versão do colaborador, incrementada a cada entrega cadastrada, alterada ou excluída
+    // Parâmetros: matrícula (String) do colaborador
+    // Resposta: ETag da lista de entregas
+    @Transactional(readOnly = true)
+    public String consultarEtagEntregas(String matricula) {
+        return colaboradorRepository.findById(UUID.fromString(matricula))
+                .map(ColaboradorService::gerarEtag)
+                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
     }
 
     // Método que consulta uma entrega específica pelo seu ID
@@ -151,46 +199,83 @@ public class EntregaService {
         logger.debug("Validações finalizadas. Iniciando a exclusão da entrega 'id={}'", id);
 
         entregaRepository.deleteById(id);
+        colaboradorRepository.liberarEntrega(matriculaUUID);
+        performanceColaboradorService.registrarEntregaExcluida(matriculaUUID, entrega.getNota());
         logger.info("Entrega deletada com sucesso.");
     }
 
     // Método que atualiza uma entrega (parcial ou total)
     // Objetivo: atualizar descrição e/ou nota de uma entrega, validando a posse
-    // Parâmetros: matrícula (String), id (Long) da entrega e DTO (EntregaAtualizaRequest) com os dados
+    // Parâmetros: matrícula (String), id (Long) da entrega, DTO (EntregaAtualizaRequest) com os dados e o
+    // cabeçalho If-Match (nulo quando a atualização não é condicional)
     // Resposta: void (apenas salva as alterações no banco de dados)
     @Transactional
-    public void atualizarEntregaPorId(String matricula, Long id, EntregaAtualizaRequest entregaAtualizaRequest) {
+    public void atualizarEntregaPorId(String matricula, Long id, EntregaAtualizaRequest entregaAtualizaRequest,
+                                      String ifMatch) {
         var matriculaUUID = UUID.fromString(matricula);
+        var versoesIfMatch = EtagVersao.versoesIfMatch(ifMatch);
+        Double notaAnterior = null;
 
-        logger.debug("Iniciando a verificação se o colaborador de matricula '{}' existe", matricula);
+        logger.debug("Iniciando a atualização da entrega id={} do colaborador de matrícula '{}'", id, matricula);
 
-        ColaboradorEntity colaboradorEntity = colaboradorRepository.findById(matriculaUUID)
-                .orElseThrow(() -> new RuntimeException("Colaborador não encontrado com a matrícula: " + matricula));
+        // O registro de performance acumula a soma das notas e precisa da nota anterior: ela vem da entrega em cache
+        // (findById, sem SQL quando já carregada) e a versão lida passa a ser a condição do UPDATE, que falha se a
+        // entrega tiver sido alterada depois da leitura — inclusive se o cache estiver desatualizado
+        if (entregaAtualizaRequest.nota() != null) {
+            var atual = entregaRepository.findById(id)
+                    .filter(entrega -> entrega.getColaborador().getMatricula().equals(matriculaUUID))
+                    .orElseThrow(() -> falhaAtualizacao(matriculaUUID, id));
 
-        logger.debug("Colaborador encontrado. Verificando a existência da entrega id={}", id);
-        EntregaEntity entregaEntity = entregaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Entrega não encontrada com o ID: " + id));
+            if (!EtagVersao.atendeIfMatch(ifMatch, gerarEtag(atual))) {
+                logger.warn("If-Match não corresponde à versão atual da entrega id={}", id);
+                throw new PreCondicaoFalhouException("A entrega foi alterada desde a última consulta");
+            }
 
-        logger.debug("Entrega encontrada. Verificando se a entrega pertence ao colaborador");
-
-        // Verifica se a entrega (id) pertence ao colaborador
-        if (!entregaEntity.getColaborador().getMatricula().equals(colaboradorEntity.getMatricula())) {
-            throw new RuntimeException("Acesso negado: A entrega " + id + " não pertence ao colaborador " + matricula);
+            notaAnterior = atual.getNota();
+            versoesIfMatch = List.of(new EtagVersao.Versao(String.valueOf(id), atual.getVersao()));
         }
 
-        logger.debug("Validações finalizadas. Iniciando o processo de atualização das informações");
+        // Um único round trip: o UPDATE das colunas informadas (posse e If-Match no WHERE) e o da versão do colaborador
+        int atualizadas = entregaRepository.atualizarParcial(id, matriculaUUID, entregaAtualizaRequest, versoesIfMatch);
+
+        if (atualizadas == 0) {
+            if (notaAnterior != null) {
+                throw new OptimisticLockingFailureException("A entrega " + id + " foi alterada por outra requisição");
+            }
 
-        if (entregaAtualizaRequest.descricao() != null) {
-            entregaEntity.setDescricao(entregaAtualizaRequest.descricao());
-            logger.debug("Descrição atualizada com sucesso");
+            throw falhaAtualizacao(matriculaUUID, id);
         }
 
         if (entregaAtualizaRequest.nota() != null) {
-            entregaEntity.setNota(entregaAtualizaRequest.nota());
-            logger.debug("Nota atualizada com sucesso");
+            performanceColaboradorService.registrarNotaEntregaAlterada(matriculaUUID, notaAnterior, entregaAtualizaRequest.nota());
         }
 
-        entregaRepository.save(entregaEntity);
         logger.info("Colaborador atualizado com sucesso");
     }
+
+    // Método que identifica por que a atualização de uma entrega não encontrou a linha (fora do caminho feliz)
+    // Resposta: exceção a ser lançada, com as mesmas mensagens da exclusão (404 para colaborador ou entrega
+    // inexistente, 400 para entrega de outro colaborador e 412 para If-Match desatualizado)
+    private RuntimeException falhaAtualizacao(UUID matricula, Long id) {
+        if (!colaboradorRepository.existsById(matricula)) {
+            return new ResourceNotFoundException("Colaborador não encontrado");
+        }
+
+        var entrega = entregaRepository.findById(id);
+
+        if (entrega.isEmpty()) {
+            return new ResourceNotFoundException("A entrega consultada não existe: " + id);
+        }
+
+        if (!entrega.get().getColaborador().getMatricula().equals(matricula)) {
+            return new NegocioException("Acesso negado: A entrega " + id + " não pertence ao colaborador " + matricula);
+        }
+
+        logger.warn("If-Match não corresponde à versão atual da entrega id={}", id);
+        return new PreCondicaoFalhouException("A entrega foi alterada desde a última consulta");
+    }
+
+    private static String gerarEtag(EntregaEntity entrega) {
+        return EtagVersao.gerar(entrega.getId(), entrega.getVersao());
+    }
 }
@@ -0,0 +1,149 @@
+package com.example.demo.colaborador.importacao.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Importação de um arquivo CSV de entregas e avaliações
+// Guarda o checkpoint (posição em bytes e linhas já processadas), atualizado na mesma transação de cada lote
+// gravado: ao retomar uma importação interrompida, a leitura continua exatamente após o último lote confirmado
+@Entity
+@Table(name = "tb_importacao")
+public class ImportacaoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "nome_arquivo", nullable = false)
+    private String nomeArquivo;
+
+    // Cópia do arquivo recebido, lida durante o processamento
+    @Column(name = "caminho_arquivo", nullable = false, length = 1000)
+    private String caminhoArquivo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusImportacao status = StatusImportacao.PENDENTE;
+
+    // Checkpoint: byte do arquivo logo após a última linha do último lote gravado
+    @Column(name = "posicao_arquivo", nullable = false)
+    private long posicaoArquivo;
+
+    // Checkpoint: número da última linha do último lote gravado (inclui cabeçalho e linhas em branco)
+    @Column(name = "linhas_processadas", nullable = false)
+    private long linhasProcessadas;
+
+    @Column(name = "linhas_importadas", nullable = false)
+    private long linhasImportadas;
+
+    @Column(name = "linhas_com_erro", nullable = false)
+    private long linhasComErro;
+
+    @Column(name = "mensagem_falha", length = 1000)
+    private String mensagemFalha;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public ImportacaoEntity() {
+    }
+
+    public ImportacaoEntity(String nomeArquivo, String caminhoArquivo) {
+        this.nomeArquivo = nomeArquivo;
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        dataAtualizacao = LocalDateTime.now();
+        if (dataCriacao == null) {
+            dataCriacao = dataAtualizacao;
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    public void setNomeArquivo(String nomeArquivo) {
+        this.nomeArquivo = nomeArquivo;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    public void setCaminhoArquivo(String caminhoArquivo) {
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    public StatusImportacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusImportacao status) {
+        this.status = status;
+    }
+
+    public long getPosicaoArquivo() {
+        return posicaoArquivo;
+    }
+
+    public void setPosicaoArquivo(long posicaoArquivo) {
+        this.posicaoArquivo = posicaoArquivo;
+    }
+
+    public long getLinhasProcessadas() {
+        return linhasProcessadas;
+    }
+
+    public void setLinhasProcessadas(long linhasProcessadas) {
+        this.linhasProcessadas = linhasProcessadas;
+    }
+
+    public long getLinhasImportadas() {
+        return linhasImportadas;
+    }
+
+    public void setLinhasImportadas(long linhasImportadas) {
+        this.linhasImportadas = linhasImportadas;
+    }
+
+    public long getLinhasComErro() {
+        return linhasComErro;
+    }
+
+    public void setLinhasComErro(long linhasComErro) {
+        this.linhasComErro = linhasComErro;
+    }
+
+    public String getMensagemFalha() {
+        return mensagemFalha;
+    }
+
+    public void setMensagemFalha(String mensagemFalha) {
+        this.mensagemFalha = mensagemFalha;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.colaborador.importacao.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+// Linha rejeitada de uma importação (relatório de erros por linha)
+@Entity
+@Table(name = "tb_importacao_erro",
+        indexes = @Index(name = "IX_importacao_erro_importacao_linha", columnList = "id_importacao, linha"))
+public class ImportacaoErroEntity {
+
+    // Deve ser igual ao INCREMENT BY da sequence no banco (sql/Script-BD.sql)
+    public static final int ALOCACAO_IDS = 50;
+
+    public static final int TAMANHO_MAXIMO_MENSAGEM = 1000;
+
+    // Sequence pooled, como em EntregaEntity, para que os erros de um lote sejam gravados em lotes JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_importacao_erro")
+    @SequenceGenerator(name = "seq_importacao_erro", sequenceName = "seq_importacao_erro", allocationSize = ALOCACAO_IDS)
+    private Long id;
+
+    @Column(name = "id_importacao", nullable = false)
+    private UUID idImportacao;
+
+    @Column(name = "linha", nullable = false)
+    private long linha;
+
+    @Column(name = "mensagem", nullable = false, length = TAMANHO_MAXIMO_MENSAGEM)
+    private String mensagem;
+
+    public ImportacaoErroEntity() {
+    }
+
+    public ImportacaoErroEntity(UUID idImportacao, long linha, String mensagem) {
+        this.idImportacao = idImportacao;
+        this.linha = linha;
+        this.mensagem = mensagem.length() > TAMANHO_MAXIMO_MENSAGEM
+                ? mensagem.substring(0, TAMANHO_MAXIMO_MENSAGEM)
+                : mensagem;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getIdImportacao() {
+        return idImportacao;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.colaborador.importacao.model;
+
+public enum StatusImportacao {
+    // Arquivo recebido, aguardando processamento
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDA,
+    // Interrompida por erro inesperado; pode ser retomada a partir do último checkpoint
+    FALHA
+}
@@ -0,0 +1,16 @@
+package com.example.demo.colaborador.importacao.repository;
+
+import com.example.demo.colaborador.importacao.model.ImportacaoErroEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ImportacaoErroRepository extends JpaRepository<ImportacaoErroEntity, Long> {
+
+    // Página do relatório de erros por keyset na linha (usa o índice id_importacao + linha)
+    List<ImportacaoErroEntity> findByIdImportacaoAndLinhaGreaterThanOrderByLinha(UUID idImportacao, long aposLinha, Limit limite);
+}
@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.importacao.repository;
+
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ImportacaoRepository extends JpaRepository<ImportacaoEntity, UUID> {
+}
@@ -0,0 +1,55 @@
+package com.example.demo.colaborador.importacao.resource;
+
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoErroResponse;
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoResponse;
+import com.example.demo.colaborador.importacao.service.ImportacaoCsvService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/importacao")
+public class ImportacaoResource {
+
+    private final ImportacaoCsvService importacaoCsvService;
+
+    public ImportacaoResource(ImportacaoCsvService importacaoCsvService) {
+        this.importacaoCsvService = importacaoCsvService;
+    }
+
+    // O arquivo é enviado como corpo da requisição (text/csv) e copiado para disco em blocos
+    // Responde 202: o processamento acontece em segundo plano e é acompanhado pelo GET do Location
+    @PostMapping(consumes = {"text/csv", "application/octet-stream"})
+    public ResponseEntity<ImportacaoResponse> iniciarImportacao(
+            @RequestParam(value = "nomeArquivo", defaultValue = "importacao.csv") String nomeArquivo,
+            InputStream conteudo) {
+
+        var importacao = importacaoCsvService.iniciarImportacao(nomeArquivo, conteudo);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/importacao/" + importacao.id()))
+                .body(importacao);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoResponse> consultarImportacao(@PathVariable("id") UUID id) {
+        return ResponseEntity.ok(importacaoCsvService.consultarImportacao(id));
+    }
+
+    @GetMapping("/{id}/erros")
+    public ResponseEntity<List<ImportacaoErroResponse>> listarErros(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "aposLinha", defaultValue = "0") long aposLinha) {
+
+        return ResponseEntity.ok(importacaoCsvService.listarErros(id, aposLinha));
+    }
+
+    @PostMapping("/{id}/retomada")
+    public ResponseEntity<ImportacaoResponse> retomarImportacao(@PathVariable("id") UUID id) {
+        return ResponseEntity.accepted().body(importacaoCsvService.retomarImportacao(id));
+    }
+}
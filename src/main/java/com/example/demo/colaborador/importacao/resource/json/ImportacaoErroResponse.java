@@ -0,0 +1,4 @@
+package com.example.demo.colaborador.importacao.resource.json;
+
+public record ImportacaoErroResponse(long linha, String mensagem) {
+}
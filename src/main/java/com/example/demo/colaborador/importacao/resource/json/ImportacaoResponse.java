@@ -0,0 +1,18 @@
+package com.example.demo.colaborador.importacao.resource.json;
+
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ImportacaoResponse(
+        UUID id,
+        String nomeArquivo,
+        StatusImportacao status,
+        long linhasProcessadas,
+        long linhasImportadas,
+        long linhasComErro,
+        String mensagemFalha,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao) {
+}
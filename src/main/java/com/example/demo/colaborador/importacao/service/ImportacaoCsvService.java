@@ -0,0 +1,285 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.importacao.repository.ImportacaoErroRepository;
+import com.example.demo.colaborador.importacao.repository.ImportacaoRepository;
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoErroResponse;
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ImportacaoCsvService {
+
+    static final int TAMANHO_BUFFER_LEITURA = 1024 * 1024;
+
+    // Uma linha válida tem poucas centenas de bytes (descrição de até 255 caracteres); uma linha maior é registrada
+    // como erro da importação, sem ser carregada em memória
+    static final int TAMANHO_MAXIMO_LINHA = 64 * 1024;
+
+    static final int TAMANHO_PAGINA_ERROS = 1000;
+
+    static final String MENSAGEM_INTERROMPIDA =
+            "Importação interrompida pelo encerramento da aplicação. Ela pode ser retomada a partir do último lote gravado";
+
+    // Tempo que o encerramento da aplicação aguarda o lote em andamento antes de interromper a thread
+    private static final Duration TEMPO_ENCERRAMENTO = Duration.ofSeconds(30);
+
+    private final ImportacaoRepository importacaoRepository;
+
+    private final ImportacaoErroRepository importacaoErroRepository;
+
+    private final ImportacaoLoteService importacaoLoteService;
+
+    private final InterpretadorLinhaCsv interpretadorLinhaCsv;
+
+    private final Path diretorio;
+
+    private final int tamanhoLote;
+
+    // Processa uma importação de cada vez, fora da thread da requisição; as demais aguardam numa fila limitada
+    private final Executor executor;
+
+    // Sinaliza o encerramento da aplicação: a importação para depois do lote em andamento
+    private volatile boolean encerrando;
+
+    // Importações sendo processadas por esta instância (impede duas execuções simultâneas da mesma importação)
+    private final Set<UUID> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoCsvService.class);
+
+    @Autowired
+    public ImportacaoCsvService(ImportacaoRepository importacaoRepository,
+                                ImportacaoErroRepository importacaoErroRepository,
+                                ImportacaoLoteService importacaoLoteService,
+                                InterpretadorLinhaCsv interpretadorLinhaCsv,
+                                @Value("${colaborador.importacao.diretorio:${java.io.tmpdir}/importacoes}") Path diretorio,
+                                @Value("${colaborador.importacao.tamanho-lote:1000}") int tamanhoLote,
+                                @Value("${colaborador.importacao.fila:10}") int fila) {
+        this(importacaoRepository, importacaoErroRepository, importacaoLoteService, interpretadorLinhaCsv, diretorio,
+                tamanhoLote, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(fila),
+                        Thread.ofPlatform().name("importacao-csv-", 1).daemon().factory(),
+                        new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    ImportacaoCsvService(ImportacaoRepository importacaoRepository,
+                         ImportacaoErroRepository importacaoErroRepository,
+                         ImportacaoLoteService importacaoLoteService,
+                         InterpretadorLinhaCsv interpretadorLinhaCsv,
+                         Path diretorio,
+                         int tamanhoLote,
+                         Executor executor) {
+        this.importacaoRepository = importacaoRepository;
+        this.importacaoErroRepository = importacaoErroRepository;
+        this.importacaoLoteService = importacaoLoteService;
+        this.interpretadorLinhaCsv = interpretadorLinhaCsv;
+        this.diretorio = diretorio;
+        this.tamanhoLote = tamanhoLote;
+        this.executor = executor;
+    }
+
+    // Método que recebe um arquivo CSV e agenda a sua importação
+    // Objetivo: copiar o corpo da requisição para disco (em blocos, sem carregar o arquivo em memória),
+    // registrar a importação e processá-la em segundo plano
+    // Parâmetros: nome do arquivo (informativo) e conteúdo
+    // Resposta: ImportacaoResponse com o id para acompanhamento
+    public ImportacaoResponse iniciarImportacao(String nomeArquivo, InputStream conteudo) {
+        Path arquivo = diretorio.resolve(UUID.randomUUID() + ".csv");
+
+        try {
+            Files.createDirectories(diretorio);
+            Files.copy(conteudo, arquivo);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível gravar o arquivo da importação", ex);
+        }
+
+        var importacao = importacaoRepository.save(new ImportacaoEntity(nomeArquivo, arquivo.toString()));
+        logger.info("Importação '{}' registrada para o arquivo '{}'", importacao.getId(), nomeArquivo);
+
+        agendar(importacao.getId());
+        return formatarResposta(importacao);
+    }
+
+    // Método que retoma uma importação interrompida a partir do último lote gravado (checkpoint)
+    public ImportacaoResponse retomarImportacao(UUID idImportacao) {
+        var importacao = buscar(idImportacao);
+
+        if (importacao.getStatus() == StatusImportacao.CONCLUIDA) {
+            throw new NegocioException("A importação já foi concluída");
+        }
+
+        logger.info("Retomando a importação '{}' a partir da linha {}", idImportacao, importacao.getLinhasProcessadas() + 1);
+        agendar(idImportacao);
+        return formatarResposta(importacao);
+    }
+
+    public ImportacaoResponse consultarImportacao(UUID idImportacao) {
+        return formatarResposta(buscar(idImportacao));
+    }
+
+    // Relatório de erros por linha, paginado por keyset na linha (aposLinha = última linha da página anterior)
+    public List<ImportacaoErroResponse> listarErros(UUID idImportacao, long aposLinha) {
+        buscar(idImportacao);
+
+        return importacaoErroRepository
+                .findByIdImportacaoAndLinhaGreaterThanOrderByLinha(idImportacao, aposLinha, Limit.of(TAMANHO_PAGINA_ERROS))
+                .stream()
+                .map(erro -> new ImportacaoErroResponse(erro.getLinha(), erro.getMensagem()))
+                .toList();
+    }
+
+    // Método executado no encerramento da aplicação, antes do fechamento do DataSource
+    // Objetivo: não iniciar as importações da fila e aguardar o lote em andamento; as importações que não terminaram
+    // ficam como FALHA e podem ser retomadas a partir do último lote gravado
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        encerrando = true;
+
+        if (executor instanceof ExecutorService servico) {
+            servico.shutdown();
+            if (!servico.awaitTermination(TEMPO_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Importação não terminou em {}; interrompendo a thread", TEMPO_ENCERRAMENTO);
+                servico.shutdownNow();
+            }
+        }
+    }
+
+    private void agendar(UUID idImportacao) {
+        if (!emAndamento.add(idImportacao)) {
+            throw new NegocioException("A importação já está em andamento");
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (encerrando) {
+                        importacaoLoteService.finalizar(idImportacao, StatusImportacao.FALHA, MENSAGEM_INTERROMPIDA);
+                    } else {
+                        processar(idImportacao);
+                    }
+                } finally {
+                    emAndamento.remove(idImportacao);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            emAndamento.remove(idImportacao);
+            importacaoLoteService.finalizar(idImportacao, StatusImportacao.FALHA,
+                    "A fila de importações estava cheia. A importação pode ser retomada");
+            throw ex;
+        }
+    }
+
+    // Método que processa o arquivo a partir do checkpoint da importação
+    // Pipeline: enquanto um lote é gravado (transação própria), o próximo já está sendo lido do arquivo e
+    // validado em paralelo; uma falha interrompe a importação, que pode ser retomada do último lote gravado
+    void processar(UUID idImportacao) {
+        var importacao = importacaoLoteService.iniciarProcessamento(idImportacao);
+        logger.info("Processando a importação '{}' a partir da linha {}", idImportacao, importacao.getLinhasProcessadas() + 1);
+
+        try (var leitor = new LeitorLinhasCsv(Path.of(importacao.getCaminhoArquivo()), importacao.getPosicaoArquivo(),
+                importacao.getLinhasProcessadas(), TAMANHO_BUFFER_LEITURA, TAMANHO_MAXIMO_LINHA)) {
+
+            CompletableFuture<LoteImportacao> proximoLote = lerProximoLote(leitor);
+            boolean interrompida = false;
+            try {
+                LoteImportacao lote;
+                while ((lote = proximoLote.join()) != null) {
+                    // O lote lido e não gravado é lido de novo na retomada, pois o checkpoint não avançou
+                    if (encerrando) {
+                        interrompida = true;
+                        break;
+                    }
+
+                    proximoLote = lerProximoLote(leitor);
+                    importacaoLoteService.gravarLote(idImportacao, lote);
+                }
+            } finally {
+                // Garante que a leitura em andamento terminou antes de fechar o arquivo
+                proximoLote.exceptionally(ex -> null).join();
+            }
+
+            if (interrompida) {
+                logger.warn("Importação '{}' interrompida pelo encerramento da aplicação", idImportacao);
+                importacaoLoteService.finalizar(idImportacao, StatusImportacao.FALHA, MENSAGEM_INTERROMPIDA);
+                return;
+            }
+
+            importacaoLoteService.finalizar(idImportacao, StatusImportacao.CONCLUIDA, null);
+            logger.info("Importação '{}' concluída", idImportacao);
+        } catch (Exception ex) {
+            Throwable causa = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            logger.error("Falha na importação '{}'. Ela pode ser retomada a partir do último lote gravado", idImportacao, causa);
+            importacaoLoteService.finalizar(idImportacao, StatusImportacao.FALHA, String.valueOf(causa.getMessage()));
+        }
+    }
+
+    // Lê o próximo lote do arquivo e valida as linhas em paralelo; null no fim do arquivo
+    private CompletableFuture<LoteImportacao> lerProximoLote(LeitorLinhasCsv leitor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<LinhaCsv> linhas = leitor.lerLinhas(tamanhoLote);
+
+                if (linhas.isEmpty()) {
+                    return null;
+                }
+
+                List<LinhaValidada> validadas = linhas.parallelStream()
+                        .filter(linha -> linha.erro() != null
+                                || !linha.conteudo().isBlank() && !interpretadorLinhaCsv.isCabecalho(linha))
+                        .map(interpretadorLinhaCsv::interpretar)
+                        .toList();
+
+                var ultima = linhas.getLast();
+                return new LoteImportacao(validadas, ultima.posicaoFinal(), ultima.numero());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private ImportacaoEntity buscar(UUID idImportacao) {
+        return importacaoRepository.findById(idImportacao)
+                .orElseThrow(() -> new ResourceNotFoundException("Importação não encontrada"));
+    }
+
+    private ImportacaoResponse formatarResposta(ImportacaoEntity importacao) {
+        return new ImportacaoResponse(
+                importacao.getId(),
+                importacao.getNomeArquivo(),
+                importacao.getStatus(),
+                importacao.getLinhasProcessadas(),
+                importacao.getLinhasImportadas(),
+                importacao.getLinhasComErro(),
+                importacao.getMensagemFalha(),
+                importacao.getDataCriacao(),
+                importacao.getDataAtualizacao()
+        );
+    }
+}
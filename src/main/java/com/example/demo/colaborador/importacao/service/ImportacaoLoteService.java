@@ -0,0 +1,202 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.avaliacao.repository.AvaliacaoComportamentoRepository;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.entrega.repository.EntregaRepository;
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import com.example.demo.colaborador.importacao.model.ImportacaoErroEntity;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.importacao.repository.ImportacaoErroRepository;
+import com.example.demo.colaborador.importacao.repository.ImportacaoRepository;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Escritas transacionais da importação: cada lote de linhas, com o seu checkpoint, é gravado em uma única transação
+@Service
+public class ImportacaoLoteService {
+
+    private final ImportacaoRepository importacaoRepository;
+
+    private final ImportacaoErroRepository importacaoErroRepository;
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    private final EntregaRepository entregaRepository;
+
+    private final AvaliacaoComportamentoRepository avaliacaoComportamentoRepository;
+
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoLoteService.class);
+
+    public ImportacaoLoteService(ImportacaoRepository importacaoRepository,
+                                 ImportacaoErroRepository importacaoErroRepository,
+                                 ColaboradorRepository colaboradorRepository,
+                                 EntregaRepository entregaRepository,
+                                 AvaliacaoComportamentoRepository avaliacaoComportamentoRepository,
+                                 PerformanceColaboradorService performanceColaboradorService) {
+        this.importacaoRepository = importacaoRepository;
+        this.importacaoErroRepository = importacaoErroRepository;
+        this.colaboradorRepository = colaboradorRepository;
+        this.entregaRepository = entregaRepository;
+        this.avaliacaoComportamentoRepository = avaliacaoComportamentoRepository;
+        this.performanceColaboradorService = performanceColaboradorService;
+    }
+
+    // Marca a importação como em processamento e retorna o seu checkpoint
+    @Transactional
+    public ImportacaoEntity iniciarProcessamento(UUID idImportacao) {
+        var importacao = buscar(idImportacao);
+        importacao.setStatus(StatusImportacao.PROCESSANDO);
+        importacao.setMensagemFalha(null);
+        return importacao;
+    }
+
+    @Transactional
+    public void finalizar(UUID idImportacao, StatusImportacao status, String mensagemFalha) {
+        var importacao = buscar(idImportacao);
+        importacao.setStatus(status);
+        importacao.setMensagemFalha(mensagemFalha == null || mensagemFalha.length() <= ImportacaoErroEntity.TAMANHO_MAXIMO_MENSAGEM
+                ? mensagemFalha
+                : mensagemFalha.substring(0, ImportacaoErroEntity.TAMANHO_MAXIMO_MENSAGEM));
+    }
+
+    // Método que grava um lote de linhas já validadas
+    // Objetivo: aplicar as regras que dependem do banco (colaborador existente, limite de 4 entregas, uma avaliação
+    // por colaborador) com uma consulta de cada tipo por lote, inserir os registros válidos em lotes JDBC, registrar
+    // os erros por linha e avançar o checkpoint, tudo na mesma transação (ou o lote inteiro é gravado, ou nada)
+    // Parâmetros: id da importação e lote na ordem do arquivo
+    @Transactional
+    public void gravarLote(UUID idImportacao, LoteImportacao lote) {
+        var importacao = buscar(idImportacao);
+
+        Set<UUID> matriculas = lote.linhas().stream()
+                .filter(linha -> linha.registro() != null)
+                .map(linha -> linha.registro().matricula())
+                .collect(Collectors.toSet());
+
+        Set<UUID> existentes = new HashSet<>();
+        Map<UUID, Long> quantidadeEntregas = new HashMap<>();
+        Set<UUID> avaliados = new HashSet<>();
+
+        if (!matriculas.isEmpty()) {
+            // Uma única consulta valida a existência e lê a quantidade de entregas, bloqueando os colaboradores do
+            // lote até o commit para que um cadastro concorrente de entrega não ultrapasse o limite
+            colaboradorRepository.bloquearQuantidadesEntregas(matriculas).forEach(quantidade -> {
+                existentes.add(quantidade.matricula());
+                quantidadeEntregas.put(quantidade.matricula(), quantidade.quantidade());
+            });
+            avaliados.addAll(avaliacaoComportamentoRepository.listarMatriculasAvaliadas(matriculas));
+        }
+
+        List<EntregaEntity> entregas = new ArrayList<>();
+        List<AvaliacaoComportamentoEntity> avaliacoes = new ArrayList<>();
+        List<ImportacaoErroEntity> erros = new ArrayList<>();
+        Set<UUID> afetados = new LinkedHashSet<>();
+
+        // As regras são aplicadas na ordem do arquivo: a 5ª entrega de um colaborador é rejeitada mesmo que
+        // as 4 anteriores estejam no mesmo lote
+        for (LinhaValidada linha : lote.linhas()) {
+            String erro = linha.erro() != null
+                    ? linha.erro()
+                    : aplicarRegras(linha.registro(), existentes, quantidadeEntregas, avaliados, entregas, avaliacoes);
+
+            if (erro != null) {
+                erros.add(new ImportacaoErroEntity(idImportacao, linha.numero(), erro));
+            } else {
+                afetados.add(linha.registro().matricula());
+            }
+        }
+
+        entregaRepository.saveAll(entregas);
+        avaliacaoComportamentoRepository.saveAll(avaliacoes);
+        importacaoErroRepository.saveAll(erros);
+
+        // Atualiza a quantidade de entregas e muda a ETag dos colaboradores afetados (a consulta do colaborador inclui
+        // avaliação e entregas)
+        // A contagem é feita no banco, então as entregas do lote são enviadas antes (flush)
+        if (!afetados.isEmpty()) {
+            entregaRepository.flush();
+            colaboradorRepository.recontarEntregas(afetados);
+        }
+
+        // Os registros de performance dos colaboradores afetados são recalculados uma vez por lote
+        performanceColaboradorService.reconstruir(afetados);
+
+        importacao.setPosicaoArquivo(lote.posicaoFinal());
+        importacao.setLinhasProcessadas(lote.ultimaLinha());
+        importacao.setLinhasImportadas(importacao.getLinhasImportadas() + entregas.size() + avaliacoes.size());
+        importacao.setLinhasComErro(importacao.getLinhasComErro() + erros.size());
+
+        logger.debug("Lote da importação '{}' gravado até a linha {}: {} importadas, {} com erro",
+                idImportacao, lote.ultimaLinha(), entregas.size() + avaliacoes.size(), erros.size());
+    }
+
+    // Retorna a mensagem de erro da linha ou null quando o registro foi aceito (e adicionado à lista de inserção)
+    private String aplicarRegras(RegistroImportacao registro, Set<UUID> existentes, Map<UUID, Long> quantidadeEntregas,
+                                 Set<UUID> avaliados, List<EntregaEntity> entregas,
+                                 List<AvaliacaoComportamentoEntity> avaliacoes) {
+
+        var matricula = registro.matricula();
+
+        if (!existentes.contains(matricula)) {
+            return "Colaborador não encontrado: " + matricula;
+        }
+
+        // Referência sem SELECT: a existência já foi validada acima
+        var colaborador = colaboradorRepository.getReferenceById(matricula);
+
+        switch (registro) {
+            case RegistroImportacao.Entrega(UUID m, var dados) -> {
+                long quantidade = quantidadeEntregas.getOrDefault(m, 0L);
+                if (quantidade >= ColaboradorEntity.LIMITE_ENTREGAS) {
+                    return "O colaborador já atingiu o limite de 4 entregas cadastradas";
+                }
+
+                var entrega = new EntregaEntity();
+                entrega.setDescricao(dados.descricao());
+                entrega.setNota(dados.nota());
+                entrega.setColaborador(colaborador);
+                entregas.add(entrega);
+                quantidadeEntregas.put(m, quantidade + 1);
+            }
+            case RegistroImportacao.Avaliacao(UUID m, var dados) -> {
+                if (!avaliados.add(m)) {
+                    return "O colaborador já possui avaliação comportamental";
+                }
+
+                var avaliacao = new AvaliacaoComportamentoEntity();
+                avaliacao.setNotaAvaliacaoComportamental(dados.notaAvaliacaoComportamental());
+                avaliacao.setNotaAprendizado(dados.notaAprendizado());
+                avaliacao.setNotaTomadaDecisao(dados.notaTomadaDecisao());
+                avaliacao.setNotaAutonomia(dados.notaAutonomia());
+                avaliacao.setColaborador(colaborador);
+                avaliacoes.add(avaliacao);
+            }
+        }
+
+        return null;
+    }
+
+    private ImportacaoEntity buscar(UUID idImportacao) {
+        return importacaoRepository.findById(idImportacao)
+                .orElseThrow(() -> new ResourceNotFoundException("Importação não encontrada"));
+    }
+}
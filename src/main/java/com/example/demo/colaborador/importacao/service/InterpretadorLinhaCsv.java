@@ -0,0 +1,178 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
+import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Converte uma linha do CSV no registro correspondente e aplica as mesmas validações (Bean Validation)
+// dos endpoints de cadastro de entrega e de avaliação
+// Sem estado: pode ser usado por várias threads ao mesmo tempo
+// Formato (separador ';', campos entre aspas quando contiverem ';'):
+//   ENTREGA;<matricula>;<descricao>;<nota>
+//   AVALIACAO;<matricula>;<notaAvaliacaoComportamental>;<notaAprendizado>;<notaTomadaDecisao>;<notaAutonomia>
+@Component
+public class InterpretadorLinhaCsv {
+
+    static final char SEPARADOR = ';';
+
+    // Tamanho da coluna descricao de tb_entrega
+    static final int TAMANHO_MAXIMO_DESCRICAO = 255;
+
+    private final Validator validator;
+
+    public InterpretadorLinhaCsv(Validator validator) {
+        this.validator = validator;
+    }
+
+    // Cabeçalho opcional na primeira linha do arquivo
+    boolean isCabecalho(LinhaCsv linha) {
+        return linha.numero() == 1 && linha.conteudo().strip().toLowerCase(Locale.ROOT).startsWith("tipo");
+    }
+
+    LinhaValidada interpretar(LinhaCsv linha) {
+        if (linha.erro() != null) {
+            return LinhaValidada.invalida(linha.numero(), linha.erro());
+        }
+
+        List<String> campos;
+        try {
+            campos = dividirCampos(linha.conteudo());
+        } catch (IllegalArgumentException ex) {
+            return LinhaValidada.invalida(linha.numero(), ex.getMessage());
+        }
+
+        String tipo = campos.getFirst().strip().toUpperCase(Locale.ROOT);
+
+        try {
+            return switch (tipo) {
+                case "ENTREGA" -> interpretarEntrega(linha.numero(), campos);
+                case "AVALIACAO" -> interpretarAvaliacao(linha.numero(), campos);
+                default -> LinhaValidada.invalida(linha.numero(),
+                        "Tipo de registro inválido: '" + campos.getFirst() + "' (esperado ENTREGA ou AVALIACAO)");
+            };
+        } catch (IllegalArgumentException ex) {
+            return LinhaValidada.invalida(linha.numero(), ex.getMessage());
+        }
+    }
+
+    private LinhaValidada interpretarEntrega(long numero, List<String> campos) {
+        validarQuantidadeCampos(campos, 4);
+
+        var matricula = lerMatricula(campos.get(1));
+        var entrega = new EntregaCadastroRequest(vazioComoNulo(campos.get(2)), lerNota(campos.get(3)));
+
+        String erros = validar(entrega);
+        if (erros == null && entrega.descricao().length() > TAMANHO_MAXIMO_DESCRICAO) {
+            erros = "A descrição da entrega deve ter no máximo " + TAMANHO_MAXIMO_DESCRICAO + " caracteres";
+        }
+
+        return erros == null
+                ? LinhaValidada.valida(numero, new RegistroImportacao.Entrega(matricula, entrega))
+                : LinhaValidada.invalida(numero, erros);
+    }
+
+    private LinhaValidada interpretarAvaliacao(long numero, List<String> campos) {
+        validarQuantidadeCampos(campos, 6);
+
+        var matricula = lerMatricula(campos.get(1));
+        var avaliacao = new AvaliacaoComportamentoCadastroRequest(
+                lerNota(campos.get(2)), lerNota(campos.get(3)), lerNota(campos.get(4)), lerNota(campos.get(5)));
+
+        String erros = validar(avaliacao);
+
+        return erros == null
+                ? LinhaValidada.valida(numero, new RegistroImportacao.Avaliacao(matricula, avaliacao))
+                : LinhaValidada.invalida(numero, erros);
+    }
+
+    // Mensagens das anotações do DTO, em ordem alfabética para que o relatório seja estável
+    private String validar(Object requisicao) {
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(requisicao);
+
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+
+        return violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void validarQuantidadeCampos(List<String> campos, int esperado) {
+        if (campos.size() != esperado) {
+            throw new IllegalArgumentException("Quantidade de campos inválida para " + campos.getFirst().strip()
+                    + ": esperado " + esperado + ", encontrado " + campos.size());
+        }
+    }
+
+    private UUID lerMatricula(String valor) {
+        try {
+            return UUID.fromString(valor.strip());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Matrícula inválida: '" + valor + "'");
+        }
+    }
+
+    // Aceita ponto ou vírgula como separador decimal; vazio = nota não informada (validada pelo @NotNull do DTO)
+    private Double lerNota(String valor) {
+        if (valor.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Double.valueOf(valor.strip().replace(',', '.'));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Nota inválida: '" + valor + "'");
+        }
+    }
+
+    private String vazioComoNulo(String valor) {
+        return valor.isBlank() ? null : valor.strip();
+    }
+
+    // Divide a linha pelo separador, respeitando campos entre aspas ("" dentro das aspas = aspas literal)
+    static List<String> dividirCampos(String linha) {
+        List<String> campos = new ArrayList<>();
+        var campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+}
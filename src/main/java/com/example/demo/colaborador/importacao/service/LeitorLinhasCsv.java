@@ -0,0 +1,146 @@
+package com.example.demo.colaborador.importacao.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitor de linhas de um arquivo UTF-8 por FileChannel
+// Lê blocos de bytes em um buffer reutilizado (o arquivo nunca é carregado inteiro em memória) e controla a
+// posição em bytes de cada linha, usada como checkpoint para retomar a leitura do mesmo ponto (FileChannel.position)
+// Uma linha acima do tamanho máximo é descartada sem ser guardada no buffer e retornada com erro
+// Não é thread-safe: deve ser usado por uma thread de cada vez
+class LeitorLinhasCsv implements Closeable {
+
+    private static final byte QUEBRA_LINHA = '\n';
+
+    private final FileChannel canal;
+
+    // Tamanho máximo de uma linha em bytes, sem a quebra de linha; limita também o crescimento do buffer
+    private final int tamanhoMaximoLinha;
+
+    // Em modo leitura: bytes entre position e limit ainda não foram consumidos
+    private ByteBuffer buffer;
+
+    private long posicao;
+
+    private long numeroLinha;
+
+    private boolean fimArquivo;
+
+    // Parâmetros: arquivo, byte e número da última linha já processada (checkpoint), tamanho inicial do buffer e
+    // tamanho máximo de uma linha
+    LeitorLinhasCsv(Path arquivo, long posicaoInicial, long ultimaLinhaLida, int tamanhoBuffer,
+                    int tamanhoMaximoLinha) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.canal.position(posicaoInicial);
+        this.tamanhoMaximoLinha = tamanhoMaximoLinha;
+        this.posicao = posicaoInicial;
+        this.numeroLinha = ultimaLinhaLida;
+        this.buffer = ByteBuffer.allocate(tamanhoBuffer).flip();
+    }
+
+    // Lê até quantidade linhas; lista vazia no fim do arquivo
+    List<LinhaCsv> lerLinhas(int quantidade) throws IOException {
+        List<LinhaCsv> linhas = new ArrayList<>(quantidade);
+        LinhaCsv linha;
+
+        while (linhas.size() < quantidade && (linha = proximaLinha()) != null) {
+            linhas.add(linha);
+        }
+
+        return linhas;
+    }
+
+    // Próxima linha do arquivo ou null no fim
+    LinhaCsv proximaLinha() throws IOException {
+        while (true) {
+            int inicio = buffer.position();
+
+            for (int i = inicio; i < buffer.limit(); i++) {
+                if (buffer.get(i) == QUEBRA_LINHA) {
+                    return consumir(inicio, i, i + 1);
+                }
+                if (i - inicio == tamanhoMaximoLinha) {
+                    return descartarLinha();
+                }
+            }
+
+            if (fimArquivo) {
+                // Última linha sem quebra de linha no final
+                return buffer.hasRemaining() ? consumir(inicio, buffer.limit(), buffer.limit()) : null;
+            }
+
+            carregarMaisBytes();
+        }
+    }
+
+    // Monta a linha com os bytes [inicio, fimConteudo) e avança o buffer até proximoInicio
+    private LinhaCsv consumir(int inicio, int fimConteudo, int proximoInicio) {
+        int fim = fimConteudo;
+        // Arquivos gerados no Windows (\r\n)
+        if (fim > inicio && buffer.get(fim - 1) == '\r') {
+            fim--;
+        }
+
+        var conteudo = new String(buffer.array(), buffer.arrayOffset() + inicio, fim - inicio, StandardCharsets.UTF_8);
+        posicao += proximoInicio - inicio;
+        buffer.position(proximoInicio);
+
+        return new LinhaCsv(++numeroLinha, conteudo, posicao);
+    }
+
+    // Descarta os bytes da linha atual até a próxima quebra de linha (ou o fim do arquivo), um buffer de cada vez
+    private LinhaCsv descartarLinha() throws IOException {
+        while (true) {
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                if (buffer.get(i) == QUEBRA_LINHA) {
+                    posicao += i + 1 - buffer.position();
+                    buffer.position(i + 1);
+                    return linhaDescartada();
+                }
+            }
+
+            posicao += buffer.remaining();
+            buffer.position(buffer.limit());
+
+            if (fimArquivo) {
+                return linhaDescartada();
+            }
+
+            carregarMaisBytes();
+        }
+    }
+
+    private LinhaCsv linhaDescartada() {
+        return new LinhaCsv(++numeroLinha, "", posicao,
+                "A linha excede o tamanho máximo de " + tamanhoMaximoLinha + " bytes");
+    }
+
+    // Move os bytes não consumidos para o início do buffer e lê mais do canal
+    // Se uma única linha ocupar o buffer inteiro, o buffer é dobrado; como as linhas acima do tamanho máximo são
+    // descartadas, ele nunca passa do dobro desse tamanho
+    private void carregarMaisBytes() throws IOException {
+        buffer.compact();
+
+        if (!buffer.hasRemaining()) {
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+        }
+
+        if (canal.read(buffer) < 0) {
+            fimArquivo = true;
+        }
+
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
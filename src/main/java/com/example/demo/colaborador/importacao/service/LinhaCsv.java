@@ -0,0 +1,10 @@
+package com.example.demo.colaborador.importacao.service;
+
+// Linha lida do arquivo: número (a partir de 1), conteúdo sem a quebra de linha e o byte logo após a linha
+// erro: motivo pelo qual o conteúdo não foi lido (linha acima do tamanho máximo); nulo nas linhas lidas normalmente
+record LinhaCsv(long numero, String conteudo, long posicaoFinal, String erro) {
+
+    LinhaCsv(long numero, String conteudo, long posicaoFinal) {
+        this(numero, conteudo, posicaoFinal, null);
+    }
+}
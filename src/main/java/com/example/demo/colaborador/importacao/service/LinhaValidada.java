@@ -0,0 +1,13 @@
+package com.example.demo.colaborador.importacao.service;
+
+// Resultado da interpretação de uma linha: o registro (linha válida) ou a mensagem de erro
+record LinhaValidada(long numero, RegistroImportacao registro, String erro) {
+
+    static LinhaValidada valida(long numero, RegistroImportacao registro) {
+        return new LinhaValidada(numero, registro, null);
+    }
+
+    static LinhaValidada invalida(long numero, String erro) {
+        return new LinhaValidada(numero, null, erro);
+    }
+}
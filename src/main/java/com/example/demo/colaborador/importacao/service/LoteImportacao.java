@@ -0,0 +1,7 @@
+package com.example.demo.colaborador.importacao.service;
+
+import java.util.List;
+
+// Lote de linhas já validadas e o checkpoint a ser gravado junto com ele
+record LoteImportacao(List<LinhaValidada> linhas, long posicaoFinal, long ultimaLinha) {
+}
@@ -0,0 +1,18 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
+import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
+
+import java.util.UUID;
+
+// Registro de uma linha válida do CSV, com os mesmos DTOs dos endpoints de cadastro
+sealed interface RegistroImportacao {
+
+    UUID matricula();
+
+    record Entrega(UUID matricula, EntregaCadastroRequest entrega) implements RegistroImportacao {
+    }
+
+    record Avaliacao(UUID matricula, AvaliacaoComportamentoCadastroRequest avaliacao) implements RegistroImportacao {
+    }
+}
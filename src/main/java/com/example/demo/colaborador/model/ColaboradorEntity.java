@@ -3,6 +3,9 @@ package com.example.demo.colaborador.model;
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import com.example.demo.colaborador.entrega.model.EntregaEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -10,9 +13,21 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tb_colaborador")
+@Table(name = "tb_colaborador",
+        indexes = @Index(name = "IX_colaborador_nome_matricula", columnList = "nome, matricula"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ColaboradorEntity.REGIAO_CACHE)
 public class ColaboradorEntity {
 
+    // Regiões do cache de segundo nível (configuradas em CacheSegundoNivelConfig)
+    public static final String REGIAO_CACHE = "colaborador";
+
+    public static final String REGIAO_CACHE_ENTREGAS = "colaborador.entregas";
+
+    public static final String REGIAO_CACHE_AVALIACAO = "colaborador.avaliacao";
+
+    // Quantidade máxima de entregas por colaborador
+    public static final int LIMITE_ENTREGAS = 4;
+
     // Utiliza UUID para ser único globalmente e para melhor performance de escrita
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -27,11 +42,32 @@ public class ColaboradorEntity {
     @Column(name = "cargo", nullable = false)
     private String cargo;
 
+    // Bloqueio otimista e ETag das consultas (If-None-Match / If-Match)
+    // Versão do agregado: também é incrementada quando a avaliação ou as entregas do colaborador mudam,
+    // pois a consulta do colaborador e a listagem de entregas retornam esses dados
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    // Quantidade de entregas cadastradas: garante o limite de entregas de forma atômica, com um UPDATE condicional
+    // (quantidade_entregas < limite) que bloqueia a linha do colaborador e serializa os cadastros concorrentes
+    // Mantida somente pelos UPDATEs do ColaboradorRepository: a entidade nunca grava a coluna, evitando sobrescrever
+    // o contador com um valor lido antes de uma alteração concorrente
+    @ColumnDefault("0")
+    @Column(name = "quantidade_entregas", nullable = false, insertable = false, updatable = false)
+    private int quantidadeEntregas;
+
     // Garante a integridade dos dados em caso de exclusão de um colaborador
-    @OneToOne(mappedBy = "colaborador", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private AvaliacaoComportamentoEntity avaliacaoComportamentoEntity;
+    // Relação 1:1 (UQ_avaliacao_matricula) mapeada como coleção inversa de no máximo um elemento: o lado inverso de
+    // um @OneToOne é sempre resolvido com um SELECT pela matrícula, mesmo com o colaborador no cache de segundo
+    // nível; como coleção, o id da avaliação fica no cache e ela é lida da região de AvaliacaoComportamentoEntity
+    @OneToMany(mappedBy = "colaborador", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ColaboradorEntity.REGIAO_CACHE_AVALIACAO)
+    private List<AvaliacaoComportamentoEntity> avaliacaoComportamentoEntity = new ArrayList<>();
 
+    // Guarda apenas os ids das entregas; cada entrega vem da região de EntregaEntity
     @OneToMany(mappedBy = "colaborador", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ColaboradorEntity.REGIAO_CACHE_ENTREGAS)
     private List<EntregaEntity> entregases = new ArrayList<>();
 
     public ColaboradorEntity() {
@@ -81,6 +117,18 @@ public class ColaboradorEntity {
         this.cargo = cargo;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public int getQuantidadeEntregas() {
+        return quantidadeEntregas;
+    }
+
     public List<EntregaEntity> getEntregas() {
         return entregases;
     }
@@ -90,14 +138,16 @@ public class ColaboradorEntity {
     }
 
     public AvaliacaoComportamentoEntity getAvaliacaoComportamento() {
-        return avaliacaoComportamentoEntity;
+        return avaliacaoComportamentoEntity.isEmpty() ? null : avaliacaoComportamentoEntity.getFirst();
     }
 
     // Garante a persistência de dados entre Colaborador e AvaliacaoComportamental
+    // Substituir ou informar null remove a avaliação anterior (orphanRemoval)
     public void setAvaliacaoComportamento(AvaliacaoComportamentoEntity avaliacaoComportamentoEntity) {
-        this.avaliacaoComportamentoEntity = avaliacaoComportamentoEntity;
+        this.avaliacaoComportamentoEntity.clear();
 
         if (avaliacaoComportamentoEntity != null) {
+            this.avaliacaoComportamentoEntity.add(avaliacaoComportamentoEntity);
             avaliacaoComportamentoEntity.setColaborador(this);
         }
     }
@@ -0,0 +1,118 @@
+package com.example.demo.colaborador.nota;
+
+import com.example.demo.base.exception.NegocioException;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+// Fórmula de performance compilada: os pesos são validados e convertidos para centésimos uma única vez,
+// e cada cálculo é só aritmética inteira sobre campos finais (sem reflexão, interpretação ou BigDecimal)
+// Imutável: trocar a fórmula é trocar a instância (FormulaPerformanceService)
+//   média comportamental = (p1*n1 + p2*n2 + p3*n3 + p4*n4) / (p1 + p2 + p3 + p4)
+//   nota final = pesoMediaComportamental * média comportamental + pesoMediaEntregas * média das entregas
+// Os pesos dos componentes somam no máximo NOTA_FINAL_MAXIMA / NOTA_MAXIMA_CRITERIO (2): a nota final fica entre 0 e 10,
+// como na regra original, intervalo de HistogramaNotas e da coluna nota_final
+// Resultados em centésimos, com o mesmo arredondamento HALF_UP de NotaCentesimos.dividir
+public final class FormulaPerformance {
+
+    static final BigDecimal PESO_MAXIMO = BigDecimal.valueOf(100);
+
+    // Maior nota de um critério da avaliação e de uma entrega (@DecimalMax dos DTOs), logo das duas médias
+    static final int NOTA_MAXIMA_CRITERIO = 5;
+
+    public static final int NOTA_FINAL_MAXIMA = 10;
+
+    static final BigDecimal SOMA_MAXIMA_PESOS_COMPONENTES = BigDecimal.valueOf(NOTA_FINAL_MAXIMA / NOTA_MAXIMA_CRITERIO);
+
+    private static final int CENTESIMOS_POR_UNIDADE = 100;
+
+    private final long versao;
+
+    private final PesosFormula pesos;
+
+    private final int pesoAvaliacaoComportamental;
+
+    private final int pesoAprendizado;
+
+    private final int pesoTomadaDecisao;
+
+    private final int pesoAutonomia;
+
+    private final int somaPesosCriterios;
+
+    private final int pesoMediaComportamental;
+
+    private final int pesoMediaEntregas;
+
+    private FormulaPerformance(long versao, PesosFormula pesos) {
+        this.versao = versao;
+        this.pesos = pesos;
+        this.pesoAvaliacaoComportamental = NotaCentesimos.deBigDecimal(pesos.avaliacaoComportamental());
+        this.pesoAprendizado = NotaCentesimos.deBigDecimal(pesos.aprendizado());
+        this.pesoTomadaDecisao = NotaCentesimos.deBigDecimal(pesos.tomadaDecisao());
+        this.pesoAutonomia = NotaCentesimos.deBigDecimal(pesos.autonomia());
+        this.somaPesosCriterios = pesoAvaliacaoComportamental + pesoAprendizado + pesoTomadaDecisao + pesoAutonomia;
+        this.pesoMediaComportamental = NotaCentesimos.deBigDecimal(pesos.mediaComportamental());
+        this.pesoMediaEntregas = NotaCentesimos.deBigDecimal(pesos.mediaEntregas());
+    }
+
+    // Método que valida os pesos e compila a fórmula
+    // Regras: todos os pesos informados, entre 0 e PESO_MAXIMO, com no máximo 2 casas; pelo menos um critério
+    // e um componente com peso maior que zero; soma dos componentes até SOMA_MAXIMA_PESOS_COMPONENTES
+    public static FormulaPerformance compilar(PesosFormula pesos, long versao) {
+        validar("avaliacaoComportamental", pesos.avaliacaoComportamental());
+        validar("aprendizado", pesos.aprendizado());
+        validar("tomadaDecisao", pesos.tomadaDecisao());
+        validar("autonomia", pesos.autonomia());
+        validar("mediaComportamental", pesos.mediaComportamental());
+        validar("mediaEntregas", pesos.mediaEntregas());
+
+        if (Stream.of(pesos.avaliacaoComportamental(), pesos.aprendizado(), pesos.tomadaDecisao(), pesos.autonomia())
+                .allMatch(peso -> peso.signum() == 0)) {
+            throw new NegocioException("Pelo menos um critério da avaliação deve ter peso maior que zero");
+        }
+        if (pesos.mediaComportamental().signum() == 0 && pesos.mediaEntregas().signum() == 0) {
+            throw new NegocioException("A média comportamental ou a média das entregas deve ter peso maior que zero");
+        }
+        if (pesos.mediaComportamental().add(pesos.mediaEntregas()).compareTo(SOMA_MAXIMA_PESOS_COMPONENTES) > 0) {
+            throw new NegocioException("A soma dos pesos da média comportamental e da média das entregas deve ser no máximo "
+                    + SOMA_MAXIMA_PESOS_COMPONENTES + " (nota final até " + NOTA_FINAL_MAXIMA + ")");
+        }
+
+        return new FormulaPerformance(versao, pesos);
+    }
+
+    public long versao() {
+        return versao;
+    }
+
+    public PesosFormula pesos() {
+        return pesos;
+    }
+
+    // Média ponderada das 4 notas da avaliação, em centésimos
+    public int mediaComportamental(double avaliacaoComportamental, double aprendizado,
+                                   double tomadaDecisao, double autonomia) {
+        long soma = (long) pesoAvaliacaoComportamental * NotaCentesimos.converter(avaliacaoComportamental)
+                + (long) pesoAprendizado * NotaCentesimos.converter(aprendizado)
+                + (long) pesoTomadaDecisao * NotaCentesimos.converter(tomadaDecisao)
+                + (long) pesoAutonomia * NotaCentesimos.converter(autonomia);
+
+        return NotaCentesimos.dividir(soma, somaPesosCriterios);
+    }
+
+    // Nota final a partir das duas médias, todas em centésimos
+    public int notaFinal(int mediaComportamental, int mediaEntregas) {
+        return NotaCentesimos.dividir((long) pesoMediaComportamental * mediaComportamental
+                + (long) pesoMediaEntregas * mediaEntregas, CENTESIMOS_POR_UNIDADE);
+    }
+
+    private static void validar(String nome, BigDecimal peso) {
+        if (peso == null || peso.signum() < 0 || peso.compareTo(PESO_MAXIMO) > 0) {
+            throw new NegocioException("O peso '" + nome + "' deve ser informado e estar entre 0 e " + PESO_MAXIMO);
+        }
+        if (peso.stripTrailingZeros().scale() > NotaCentesimos.ESCALA) {
+            throw new NegocioException("O peso '" + nome + "' deve ter no máximo 2 casas decimais");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.colaborador.nota;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Representação das notas e médias em centésimos (ponto fixo com 2 casas em um int: 3,75 -> 375)
+// As notas são cadastradas com no máximo 2 casas decimais (@Digits nos DTOs), então somas e médias em centésimos
+// são exatas e seguem o mesmo arredondamento HALF_UP de BigDecimal.divide(..., 2, RoundingMode.HALF_UP),
+// sem criar um BigDecimal por nota. A conversão para BigDecimal acontece só na resposta da API
+public final class NotaCentesimos {
+
+    public static final int ESCALA = 2;
+
+    private static final double CENTESIMOS_POR_UNIDADE = 100.0;
+
+    private NotaCentesimos() {
+    }
+
+    // Nota (Double das entidades e das somas do banco) em centésimos, arredondada para o centésimo mais próximo
+    // Para valores com até 2 casas o resultado é exato: o erro binário de nota * 100 é muito menor que 0,5
+    public static int converter(double nota) {
+        return Math.toIntExact(Math.round(nota * CENTESIMOS_POR_UNIDADE));
+    }
+
+    // Divisão com arredondamento HALF_UP (empate se afasta do zero), em aritmética inteira
+    public static int dividir(long soma, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade deve ser maior que zero");
+        }
+
+        long resultado = (Math.abs(soma) * 2 + quantidade) / (2L * quantidade);
+        return Math.toIntExact(soma < 0 ? -resultado : resultado);
+    }
+
+    public static BigDecimal paraBigDecimal(Integer centesimos) {
+        return centesimos == null ? null : BigDecimal.valueOf(centesimos, ESCALA);
+    }
+
+    // Valores com mais de 2 casas (ex: gravados antes da validação de @Digits) são arredondados com HALF_UP
+    public static Integer deBigDecimal(BigDecimal nota) {
+        return nota == null ? null : nota.movePointRight(ESCALA).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    public static Double paraDouble(Integer centesimos) {
+        return centesimos == null ? null : centesimos / CENTESIMOS_POR_UNIDADE;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.colaborador.nota;
+
+import java.math.BigDecimal;
+
+// Pesos da fórmula de performance, com no máximo 2 casas decimais
+// Critérios: peso de cada nota da avaliação na média comportamental (média ponderada)
+// Componentes: multiplicadores da média comportamental e da média das entregas na nota final
+public record PesosFormula(
+        BigDecimal avaliacaoComportamental,
+        BigDecimal aprendizado,
+        BigDecimal tomadaDecisao,
+        BigDecimal autonomia,
+        BigDecimal mediaComportamental,
+        BigDecimal mediaEntregas) {
+
+    // Regra original: média simples das 4 notas + média das entregas
+    public static final PesosFormula SEM_PESO = new PesosFormula(
+            BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+}
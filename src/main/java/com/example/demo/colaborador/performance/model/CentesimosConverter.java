@@ -0,0 +1,23 @@
+package com.example.demo.colaborador.performance.model;
+
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Mapeia os centésimos (NotaCentesimos) para as colunas NUMERIC de tb_performance_colaborador
+// As colunas continuam com o valor decimal (ex: 7.25), apenas a entidade trabalha com o inteiro
+@Converter
+public class CentesimosConverter implements AttributeConverter<Integer, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Integer centesimos) {
+        return NotaCentesimos.paraBigDecimal(centesimos);
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(BigDecimal valor) {
+        return NotaCentesimos.deBigDecimal(valor);
+    }
+}
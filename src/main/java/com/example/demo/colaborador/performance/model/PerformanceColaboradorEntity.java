@@ -0,0 +1,143 @@
+package com.example.demo.colaborador.performance.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+// Registro materializado da performance de cada colaborador
+// Mantido de forma incremental pelas escritas de entregas e avaliações (na mesma transação),
+// para que a consulta de performance seja apenas uma busca pela chave primária
+// Em cache de segundo nível: a atualização incremental lê o registro pela chave primária a cada escrita
+@Entity
+@Table(name = "tb_performance_colaborador")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PerformanceColaboradorEntity.REGIAO_CACHE)
+public class PerformanceColaboradorEntity implements Persistable<UUID> {
+
+    public static final String REGIAO_CACHE = "performance_colaborador";
+
+    // Mesma matrícula do colaborador (relação 1:1 com tb_colaborador)
+    @Id
+    private UUID matricula;
+
+    @Column(name = "avaliacao_realizada", nullable = false)
+    private boolean avaliacaoRealizada;
+
+    // Médias, soma e nota final em centésimos (NotaCentesimos), gravadas nas colunas NUMERIC por CentesimosConverter
+    @Column(name = "media_comportamental", precision = 5, scale = 2)
+    @Convert(converter = CentesimosConverter.class)
+    private Integer mediaComportamental;
+
+    @Column(name = "quantidade_entregas", nullable = false)
+    private int quantidadeEntregas;
+
+    // Soma acumulada das notas das entregas (exata: as notas têm no máximo 2 casas)
+    @Column(name = "soma_notas_entregas", nullable = false, precision = 20, scale = 10)
+    @Convert(converter = CentesimosConverter.class)
+    private Integer somaNotasEntregas = 0;
+
+    @Column(name = "media_entregas", precision = 5, scale = 2)
+    @Convert(converter = CentesimosConverter.class)
+    private Integer mediaEntregas;
+
+    @Column(name = "nota_final", precision = 5, scale = 2)
+    @Convert(converter = CentesimosConverter.class)
+    private Integer notaFinal;
+
+    // Avaliação realizada e pelo menos 2 entregas cadastradas
+    @Column(name = "elegivel", nullable = false)
+    private boolean elegivel;
+
+    // A matrícula é atribuída pela aplicação; sem esta marcação o save() faria um SELECT antes de cada INSERT
+    @Transient
+    private boolean novo = true;
+
+    public PerformanceColaboradorEntity() {
+    }
+
+    public PerformanceColaboradorEntity(UUID matricula) {
+        this.matricula = matricula;
+    }
+
+    @Override
+    public UUID getId() {
+        return matricula;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoPersistido() {
+        this.novo = false;
+    }
+
+    public UUID getMatricula() {
+        return matricula;
+    }
+
+    public void setMatricula(UUID matricula) {
+        this.matricula = matricula;
+    }
+
+    public boolean isAvaliacaoRealizada() {
+        return avaliacaoRealizada;
+    }
+
+    public void setAvaliacaoRealizada(boolean avaliacaoRealizada) {
+        this.avaliacaoRealizada = avaliacaoRealizada;
+    }
+
+    public Integer getMediaComportamental() {
+        return mediaComportamental;
+    }
+
+    public void setMediaComportamental(Integer mediaComportamental) {
+        this.mediaComportamental = mediaComportamental;
+    }
+
+    public int getQuantidadeEntregas() {
+        return quantidadeEntregas;
+    }
+
+    public void setQuantidadeEntregas(int quantidadeEntregas) {
+        this.quantidadeEntregas = quantidadeEntregas;
+    }
+
+    public int getSomaNotasEntregas() {
+        return somaNotasEntregas;
+    }
+
+    public void setSomaNotasEntregas(int somaNotasEntregas) {
+        this.somaNotasEntregas = somaNotasEntregas;
+    }
+
+    public Integer getMediaEntregas() {
+        return mediaEntregas;
+    }
+
+    public void setMediaEntregas(Integer mediaEntregas) {
+        this.mediaEntregas = mediaEntregas;
+    }
+
+    public Integer getNotaFinal() {
+        return notaFinal;
+    }
+
+    public void setNotaFinal(Integer notaFinal) {
+        this.notaFinal = notaFinal;
+    }
+
+    public boolean isElegivel() {
+        return elegivel;
+    }
+
+    public void setElegivel(boolean elegivel) {
+        this.elegivel = elegivel;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.colaborador.performance.repository;
+
+import java.util.UUID;
+
+// Nota final (em centésimos) de um colaborador elegível (carga do ranking em memória)
+public record NotaFinalColaborador(
+        UUID matricula,
+        Integer notaFinal) {
+}
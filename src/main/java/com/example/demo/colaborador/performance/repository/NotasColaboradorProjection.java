@@ -0,0 +1,16 @@
+package com.example.demo.colaborador.performance.repository;
+
+import java.util.UUID;
+
+// Notas de um colaborador usadas na reconstrução das distribuições (registro materializado + avaliação)
+// Nota final e média comportamental em centésimos (NotaCentesimos)
+public record NotasColaboradorProjection(
+        UUID matricula,
+        String cargo,
+        Integer notaFinal,
+        Integer mediaComportamental,
+        Double notaAvaliacaoComportamental,
+        Double notaAprendizado,
+        Double notaTomadaDecisao,
+        Double notaAutonomia) {
+}
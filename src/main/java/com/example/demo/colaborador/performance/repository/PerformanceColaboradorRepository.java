@@ -0,0 +1,73 @@
+package com.example.demo.colaborador.performance.repository;
+
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PerformanceColaboradorRepository extends JpaRepository<PerformanceColaboradorEntity, UUID> {
+
+    // Busca pela chave primária já com o nome do colaborador (um único statement)
+    @Query("""
+            select new com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo(
+                p.matricula, c.nome, p.avaliacaoRealizada, p.quantidadeEntregas,
+                p.mediaComportamental, p.mediaEntregas, p.notaFinal)
+            from PerformanceColaboradorEntity p
+            join ColaboradorEntity c on c.matricula = p.matricula
+            where p.matricula = :matricula
+            """)
+    Optional<PerformanceColaboradorResumo> buscarResumo(UUID matricula);
+
+    // Mesma consulta de buscarResumo para várias matrículas (IN); o chamador limita a quantidade ao tamanho do lote
+    @Query("""
+            select new com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo(
+                p.matricula, c.nome, p.avaliacaoRealizada, p.quantidadeEntregas,
+                p.mediaComportamental, p.mediaEntregas, p.notaFinal)
+            from PerformanceColaboradorEntity p
+            join ColaboradorEntity c on c.matricula = p.matricula
+            where p.matricula in :matriculas
+            """)
+    List<PerformanceColaboradorResumo> buscarResumos(Collection<UUID> matriculas);
+
+    // Somente matrícula e nota final dos colaboradores elegíveis (carga do ranking em memória)
+    @Query("""
+            select new com.example.demo.colaborador.performance.repository.NotaFinalColaborador(p.matricula, p.notaFinal)
+            from PerformanceColaboradorEntity p
+            where p.notaFinal is not null
+            """)
+    List<NotaFinalColaborador> listarNotasFinais();
+
+    // Lote de notas (registro materializado, cargo e avaliação) ordenado por matrícula, para a reconstrução das
+    // distribuições em lotes (keyset); aposMatricula nula no primeiro lote
+    @Query("""
+            select new com.example.demo.colaborador.performance.repository.NotasColaboradorProjection(
+                p.matricula, c.cargo, p.notaFinal, p.mediaComportamental,
+                a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia)
+            from PerformanceColaboradorEntity p
+            join ColaboradorEntity c on c.matricula = p.matricula
+            left join c.avaliacaoComportamentoEntity a
+            where :aposMatricula is null or p.matricula > :aposMatricula
+            order by p.matricula
+            """)
+    List<NotasColaboradorProjection> listarNotas(UUID aposMatricula, Limit limite);
+
+    @Modifying
+    @Query("delete from PerformanceColaboradorEntity p where p.matricula = :matricula")
+    void excluirPorMatricula(UUID matricula);
+
+    // Remove registros de colaboradores que não existem mais (correção de divergências)
+    @Modifying
+    @Query("""
+            delete from PerformanceColaboradorEntity p
+            where not exists (select 1 from ColaboradorEntity c where c.matricula = p.matricula)
+            """)
+    int excluirOrfaos();
+}
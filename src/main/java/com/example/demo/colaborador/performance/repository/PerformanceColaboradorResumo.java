@@ -0,0 +1,15 @@
+package com.example.demo.colaborador.performance.repository;
+
+import java.util.UUID;
+
+// Performance de um colaborador pronta para resposta (registro materializado + nome do colaborador)
+// Médias e nota final em centésimos (NotaCentesimos)
+public record PerformanceColaboradorResumo(
+        UUID matricula,
+        String nome,
+        boolean avaliacaoRealizada,
+        int quantidadeEntregas,
+        Integer mediaComportamental,
+        Integer mediaEntregas,
+        Integer notaFinal) {
+}
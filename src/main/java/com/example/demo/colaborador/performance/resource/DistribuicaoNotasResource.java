@@ -0,0 +1,28 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.performance.resource.json.DistribuicaoNotasResponse;
+import com.example.demo.colaborador.performance.service.DistribuicaoNotasService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Percentis das notas (geral e por cargo), respondidos pelas distribuições em memória (sem acesso ao banco)
+@RestController
+@RequestMapping("/api/v1/colaborador/distribuicao")
+public class DistribuicaoNotasResource {
+
+    private final DistribuicaoNotasService distribuicaoNotasService;
+
+    // Injeção de dependência de DistribuicaoNotasService
+    public DistribuicaoNotasResource(DistribuicaoNotasService distribuicaoNotasService) {
+        this.distribuicaoNotasService = distribuicaoNotasService;
+    }
+
+    @GetMapping
+    public ResponseEntity<DistribuicaoNotasResponse> consultarDistribuicao(
+            @RequestParam(value = "cargo", required = false) String cargo) {
+        return ResponseEntity.ok(distribuicaoNotasService.consultar(cargo));
+    }
+}
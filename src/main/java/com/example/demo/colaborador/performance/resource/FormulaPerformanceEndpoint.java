@@ -0,0 +1,62 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.resource.json.FormulaPerformanceResponse;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Endpoint administrativo do Actuator para a fórmula de performance
+// GET /actuator/formula: pesos em uso | POST /actuator/formula: troca os pesos sem redeploy
+// Os registros materializados, o ranking e as distribuições são recalculados em segundo plano após a troca
+@Component
+@Endpoint(id = "formula")
+public class FormulaPerformanceEndpoint {
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    public FormulaPerformanceEndpoint(FormulaPerformanceService formulaPerformanceService,
+                                      PerformanceColaboradorService performanceColaboradorService) {
+        this.formulaPerformanceService = formulaPerformanceService;
+        this.performanceColaboradorService = performanceColaboradorService;
+    }
+
+    @ReadOperation
+    public FormulaPerformanceResponse consultar() {
+        return formatar(formulaPerformanceService.formulaAtual());
+    }
+
+    // Pesos inválidos retornam 400 com o mesmo corpo de erro da API, sem alterar a fórmula em uso
+    @WriteOperation
+    public WebEndpointResponse<Object> substituir(BigDecimal avaliacaoComportamental, BigDecimal aprendizado,
+                                                  BigDecimal tomadaDecisao, BigDecimal autonomia,
+                                                  BigDecimal mediaComportamental, BigDecimal mediaEntregas) {
+        FormulaPerformance formula;
+
+        try {
+            formula = formulaPerformanceService.substituir(new PesosFormula(avaliacaoComportamental, aprendizado,
+                    tomadaDecisao, autonomia, mediaComportamental, mediaEntregas));
+        } catch (NegocioException ex) {
+            return new WebEndpointResponse<>(Map.of("erro", ex.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        performanceColaboradorService.reconstruirAposTrocaFormula(formula.versao());
+
+        return new WebEndpointResponse<>(formatar(formula), WebEndpointResponse.STATUS_OK);
+    }
+
+    private FormulaPerformanceResponse formatar(FormulaPerformance formula) {
+        return new FormulaPerformanceResponse(formula.versao(), formula.pesos());
+    }
+}
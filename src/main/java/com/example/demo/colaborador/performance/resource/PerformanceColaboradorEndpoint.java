@@ -0,0 +1,28 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Endpoint administrativo do Actuator (POST /actuator/performance)
+// Reconstrói todos os registros materializados de performance a partir das tabelas de origem
+@Component
+@Endpoint(id = "performance")
+public class PerformanceColaboradorEndpoint {
+
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    public PerformanceColaboradorEndpoint(PerformanceColaboradorService performanceColaboradorService) {
+        this.performanceColaboradorService = performanceColaboradorService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> reconstruir() {
+        int reconstruidos = performanceColaboradorService.reconstruirTodos();
+
+        return Map.of("registrosReconstruidos", reconstruidos);
+    }
+}
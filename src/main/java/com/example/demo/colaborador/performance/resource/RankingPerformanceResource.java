@@ -0,0 +1,34 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.performance.resource.json.PosicaoRankingResponse;
+import com.example.demo.colaborador.performance.resource.json.RankingResponse;
+import com.example.demo.colaborador.performance.service.RankingPerformanceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Consultas do ranking de nota final, respondidas pelo índice em memória (sem acesso ao banco)
+@RestController
+@RequestMapping("/api/v1/colaborador")
+public class RankingPerformanceResource {
+
+    private final RankingPerformanceService rankingPerformanceService;
+
+    // Injeção de dependência de RankingPerformanceService
+    public RankingPerformanceResource(RankingPerformanceService rankingPerformanceService) {
+        this.rankingPerformanceService = rankingPerformanceService;
+    }
+
+    @GetMapping("/ranking")
+    public ResponseEntity<RankingResponse> consultarRanking(@RequestParam(value = "top", required = false) Integer top) {
+        return ResponseEntity.ok(rankingPerformanceService.consultarTop(top));
+    }
+
+    @GetMapping("/{matricula}/rank")
+    public ResponseEntity<PosicaoRankingResponse> consultarPosicao(@PathVariable("matricula") String matricula) {
+        return ResponseEntity.ok(rankingPerformanceService.consultarPosicao(matricula));
+    }
+}
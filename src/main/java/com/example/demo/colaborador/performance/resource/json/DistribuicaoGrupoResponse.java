@@ -0,0 +1,13 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+// Percentis de cada nota de um grupo de colaboradores (todos ou um cargo)
+public record DistribuicaoGrupoResponse(
+        long totalColaboradores,
+        PercentisResponse notaFinal,
+        PercentisResponse mediaComportamental,
+        PercentisResponse notaAvaliacaoComportamental,
+        PercentisResponse notaAprendizado,
+        PercentisResponse notaTomadaDecisao,
+        PercentisResponse notaAutonomia
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+import java.util.Map;
+
+// Distribuição das notas de todos os colaboradores (geral) e de cada cargo
+public record DistribuicaoNotasResponse(
+        DistribuicaoGrupoResponse geral,
+        Map<String, DistribuicaoGrupoResponse> porCargo
+) {
+}
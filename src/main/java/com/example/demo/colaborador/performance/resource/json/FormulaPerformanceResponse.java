@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+import com.example.demo.colaborador.nota.PesosFormula;
+
+// Fórmula de performance em uso
+// versao é incrementada a cada troca; a reconstrução dos registros materializados roda em segundo plano
+public record FormulaPerformanceResponse(
+        long versao,
+        PesosFormula pesos
+) {
+}
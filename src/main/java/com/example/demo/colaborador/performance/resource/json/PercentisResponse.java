@@ -0,0 +1,13 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+import java.math.BigDecimal;
+
+// Percentis de uma nota (nulos quando nenhum colaborador possuir a nota)
+// quantidade é o número de colaboradores considerados
+public record PercentisResponse(
+        long quantidade,
+        BigDecimal p10,
+        BigDecimal p50,
+        BigDecimal p90
+) {
+}
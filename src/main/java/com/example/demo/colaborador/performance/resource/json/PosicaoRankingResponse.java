@@ -0,0 +1,12 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Posição de um colaborador no ranking de nota final (notas iguais ocupam a mesma posição)
+public record PosicaoRankingResponse(
+        int posicao,
+        UUID matricula,
+        BigDecimal notaFinal
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.performance.resource.json;
+
+import java.util.List;
+
+// Primeiros colaboradores do ranking
+// totalColaboradores é a quantidade de colaboradores elegíveis (com nota final) no ranking
+public record RankingResponse(
+        int totalColaboradores,
+        List<PosicaoRankingResponse> colaboradores
+) {
+}
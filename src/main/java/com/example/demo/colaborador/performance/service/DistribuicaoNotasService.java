@@ -0,0 +1,385 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.base.transacao.AposCommit;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.NotasColaboradorProjection;
+import com.example.demo.colaborador.performance.service.NotasColaborador.Parte;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.performance.resource.json.DistribuicaoGrupoResponse;
+import com.example.demo.colaborador.performance.resource.json.DistribuicaoNotasResponse;
+import com.example.demo.colaborador.performance.resource.json.PercentisResponse;
+import com.example.demo.colaborador.repository.PerformanceColaboradorProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Distribuição (percentis p10/p50/p90) da nota final, da média comportamental e de cada critério da avaliação,
+// geral e por cargo, mantida em memória com um HistogramaNotas por nota e por grupo (memória fixa por cargo)
+// Reconstruída por varredura na subida da aplicação e atualizada por PerformanceColaboradorService a cada escrita
+// As escritas chegam após o commit, em threads diferentes: cada parte das notas (NotasColaborador.Parte) guarda a
+// ordem da última escrita aplicada, e a escrita de um commit anterior que chegar depois é descartada
+@Service
+public class DistribuicaoNotasService {
+
+    static final int TAMANHO_LOTE_RECONSTRUCAO = 1000;
+
+    private final PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    // Notas atuais de cada colaborador (para retirar a contribuição anterior a cada alteração)
+    private Map<UUID, NotasColaborador> notasPorMatricula = new HashMap<>();
+
+    private Map<String, Grupo> grupos = new HashMap<>();
+
+    private Grupo geral = new Grupo();
+
+    private final AtomicLong sequenciaOrdens = new AtomicLong();
+
+    // Ordem da última escrita aplicada a cada parte das notas de cada colaborador (mantida na remoção e na reconstrução)
+    private final Map<UUID, Map<Parte, Long>> ultimasOrdens = new HashMap<>();
+
+    // Partes alteradas por escritas aplicadas enquanto uma reconstrução varre o banco (todas, na remoção)
+    private final Map<UUID, Set<Parte>> alteradasDuranteReconstrucao = new HashMap<>();
+
+    private int reconstrucoesEmAndamento;
+
+    private static final Logger logger = LoggerFactory.getLogger(DistribuicaoNotasService.class);
+
+    public DistribuicaoNotasService(PerformanceColaboradorRepository performanceColaboradorRepository) {
+        this.performanceColaboradorRepository = performanceColaboradorRepository;
+    }
+
+    // Método que reconstrói todas as distribuições a partir dos registros materializados de performance
+    // Lê em lotes de TAMANHO_LOTE_RECONSTRUCAO colaboradores; a distribuição geral é a mescla das distribuições por cargo
+    // As escritas aplicadas durante a varredura podem ser posteriores aos lotes já lidos: as partes alteradas por
+    // elas são copiadas das notas em memória para as lidas antes da troca
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (this) {
+            reconstrucoesEmAndamento++;
+        }
+
+        try {
+            varrer();
+        } finally {
+            synchronized (this) {
+                if (--reconstrucoesEmAndamento == 0) {
+                    alteradasDuranteReconstrucao.clear();
+                }
+            }
+        }
+    }
+
+    private void varrer() {
+        Map<UUID, NotasColaborador> novasNotas = new HashMap<>();
+        Map<String, Grupo> novosGrupos = new HashMap<>();
+        UUID ultimaMatricula = null;
+        List<NotasColaboradorProjection> lote;
+
+        do {
+            lote = performanceColaboradorRepository.listarNotas(ultimaMatricula, Limit.of(TAMANHO_LOTE_RECONSTRUCAO));
+
+            for (NotasColaboradorProjection projecao : lote) {
+                var notas = new NotasColaborador(projecao.cargo(),
+                        NotasColaborador.converter(projecao.notaFinal()),
+                        NotasColaborador.converter(projecao.mediaComportamental()),
+                        projecao.notaAvaliacaoComportamental(), projecao.notaAprendizado(),
+                        projecao.notaTomadaDecisao(), projecao.notaAutonomia());
+
+                novasNotas.put(projecao.matricula(), notas);
+                novosGrupos.computeIfAbsent(notas.cargo(), cargo -> new Grupo()).adicionar(notas);
+            }
+
+            if (!lote.isEmpty()) {
+                ultimaMatricula = lote.getLast().matricula();
+            }
+        } while (lote.size() == TAMANHO_LOTE_RECONSTRUCAO);
+
+        synchronized (this) {
+            alteradasDuranteReconstrucao.forEach((matricula, partes) ->
+                    reaplicar(novasNotas, novosGrupos, matricula, notasPorMatricula.get(matricula), partes));
+
+            var novoGeral = new Grupo();
+            novosGrupos.values().forEach(novoGeral::mesclar);
+
+            notasPorMatricula = novasNotas;
+            grupos = novosGrupos;
+            geral = novoGeral;
+        }
+
+        logger.info("Distribuição de notas reconstruída com {} colaboradores e {} cargos", novasNotas.size(), novosGrupos.size());
+    }
+
+    // Métodos chamados por PerformanceColaboradorService, na transação da escrita (aplicados após o commit)
+    // A ordem de cada escrita é tomada agora, com a linha do colaborador já alterada ou bloqueada pela transação, o que
+    // serializa as escritas do mesmo colaborador: para cada colaborador, a ordem segue a dos commits
+    // Média comportamental e nota final em centésimos (NotaCentesimos)
+    public void registrarPerformance(UUID matricula, Integer mediaComportamental, Integer notaFinal) {
+        alterar(matricula, NotasColaborador.vazio(null).comPerformance(mediaComportamental, notaFinal),
+                EnumSet.of(Parte.PERFORMANCE));
+    }
+
+    // Avaliação nula quando excluída; as notas são copiadas agora, não no commit
+    public void registrarAvaliacao(UUID matricula, AvaliacaoComportamentoEntity avaliacao) {
+        var avaliada = avaliacao == null
+                ? NotasColaborador.vazio(null)
+                : NotasColaborador.vazio(null).comAvaliacao(avaliacao.getNotaAvaliacaoComportamental(),
+                avaliacao.getNotaAprendizado(), avaliacao.getNotaTomadaDecisao(), avaliacao.getNotaAutonomia());
+
+        alterar(matricula, avaliada, EnumSet.of(Parte.AVALIACAO));
+    }
+
+    // Notas completas recalculadas a partir das tabelas de origem (reconstrução de registros de performance)
+    public void registrar(PerformanceColaboradorProjection performance, PerformanceColaboradorEntity registro) {
+        var notas = NotasColaborador.vazio(performance.cargo())
+                .comPerformance(registro.getMediaComportamental(), registro.getNotaFinal())
+                .comAvaliacao(performance.notaAvaliacaoComportamental(), performance.notaAprendizado(),
+                        performance.notaTomadaDecisao(), performance.notaAutonomia());
+        long ordem = sequenciaOrdens.incrementAndGet();
+
+        AposCommit.executar(() -> aplicar(performance.matricula(), notas.cargo(), notas, EnumSet.allOf(Parte.class), ordem));
+    }
+
+    // Colaboradores recém-cadastrados, com o cargo informado no cadastro: entram nas distribuições ainda sem notas,
+    // como na reconstrução, e as escritas seguintes já encontram o cargo em memória
+    public void registrarColaboradores(Map<UUID, String> cargos) {
+        AposCommit.executar(() -> {
+            synchronized (this) {
+                cargos.forEach(this::incluir);
+            }
+        });
+    }
+
+    // Colaborador sem notas registradas ainda não contribui com nenhuma distribuição: não há o que mover
+    public void registrarCargo(UUID matricula, String cargo) {
+        long ordem = sequenciaOrdens.incrementAndGet();
+
+        AposCommit.executar(() -> {
+            synchronized (this) {
+                if (notasPorMatricula.containsKey(matricula)) {
+                    aplicar(matricula, cargo, NotasColaborador.vazio(cargo), EnumSet.of(Parte.CARGO), ordem);
+                }
+            }
+        });
+    }
+
+    // Todas as partes passam a ter a ordem da remoção: uma escrita anterior atrasada não devolve o colaborador
+    public void remover(UUID matricula) {
+        long ordem = sequenciaOrdens.incrementAndGet();
+
+        AposCommit.executar(() -> {
+            synchronized (this) {
+                var ordens = ultimasOrdens.computeIfAbsent(matricula, chave -> new EnumMap<>(Parte.class));
+                for (Parte parte : Parte.values()) {
+                    ordens.merge(parte, ordem, Math::max);
+                }
+                marcarAlteradas(matricula, EnumSet.allOf(Parte.class));
+
+                var anteriores = notasPorMatricula.remove(matricula);
+                if (anteriores != null) {
+                    retirar(anteriores);
+                }
+            }
+        });
+    }
+
+    // Método que consulta a distribuição das notas
+    // Parâmetros: cargo (opcional) para limitar a distribuição por cargo a um único cargo
+    // Resposta: DistribuicaoNotasResponse com os percentis gerais e por cargo (cargos em ordem alfabética)
+    public synchronized DistribuicaoNotasResponse consultar(String cargo) {
+        Map<String, DistribuicaoGrupoResponse> porCargo = new TreeMap<>();
+
+        if (cargo != null) {
+            var grupo = grupos.get(cargo);
+            if (grupo == null) {
+                throw new ResourceNotFoundException("Cargo não encontrado na distribuição de notas");
+            }
+            porCargo.put(cargo, grupo.resumir());
+        } else {
+            grupos.forEach((nome, grupo) -> porCargo.put(nome, grupo.resumir()));
+        }
+
+        return new DistribuicaoNotasResponse(geral.resumir(), porCargo);
+    }
+
+    // O cargo vem das notas em memória, sem consulta ao banco: todo colaborador entra nas distribuições no cadastro
+    // (registrarColaboradores) ou na reconstrução; um colaborador incluído fora da aplicação só passa a contar
+    // na próxima reconstrução
+    private void alterar(UUID matricula, NotasColaborador recebidas, Set<Parte> partes) {
+        String cargo = cargoConhecido(matricula);
+
+        if (cargo == null) {
+            logger.warn("Cargo do colaborador '{}' desconhecido. Distribuição de notas não atualizada até a próxima reconstrução",
+                    matricula);
+            return;
+        }
+
+        long ordem = sequenciaOrdens.incrementAndGet();
+        AposCommit.executar(() -> aplicar(matricula, cargo, recebidas, partes, ordem));
+    }
+
+    private synchronized String cargoConhecido(UUID matricula) {
+        var notas = notasPorMatricula.get(matricula);
+        return notas == null ? null : notas.cargo();
+    }
+
+    // Copia das notas recebidas as partes informadas, exceto as que já receberam uma escrita mais nova
+    private synchronized void aplicar(UUID matricula, String cargo, NotasColaborador recebidas, Set<Parte> partes,
+                                      long ordem) {
+        var ordens = ultimasOrdens.computeIfAbsent(matricula, chave -> new EnumMap<>(Parte.class));
+        var anteriores = notasPorMatricula.get(matricula);
+        var novas = anteriores != null ? anteriores : NotasColaborador.vazio(cargo);
+        var aplicadas = EnumSet.noneOf(Parte.class);
+
+        for (Parte parte : partes) {
+            var ultimaOrdem = ordens.get(parte);
+            if (ultimaOrdem == null || ultimaOrdem < ordem) {
+                ordens.put(parte, ordem);
+                novas = novas.comParte(parte, recebidas);
+                aplicadas.add(parte);
+            }
+        }
+
+        if (aplicadas.isEmpty()) {
+            return;
+        }
+
+        marcarAlteradas(matricula, aplicadas);
+        if (anteriores != null) {
+            retirar(anteriores);
+        }
+        adicionar(matricula, novas);
+    }
+
+    // Colaborador recém-cadastrado, ainda sem notas (o já presente é mantido)
+    private void incluir(UUID matricula, String cargo) {
+        if (notasPorMatricula.containsKey(matricula)) {
+            return;
+        }
+
+        marcarAlteradas(matricula, EnumSet.noneOf(Parte.class));
+        adicionar(matricula, NotasColaborador.vazio(cargo));
+    }
+
+    private void marcarAlteradas(UUID matricula, Set<Parte> partes) {
+        if (reconstrucoesEmAndamento > 0) {
+            alteradasDuranteReconstrucao.computeIfAbsent(matricula, chave -> EnumSet.noneOf(Parte.class)).addAll(partes);
+        }
+    }
+
+    private void adicionar(UUID matricula, NotasColaborador notas) {
+        notasPorMatricula.put(matricula, notas);
+        geral.adicionar(notas);
+        grupos.computeIfAbsent(notas.cargo(), nome -> new Grupo()).adicionar(notas);
+    }
+
+    // Retira a contribuição do colaborador; o cargo sem colaboradores deixa de ocupar memória
+    private void retirar(NotasColaborador notas) {
+        geral.remover(notas);
+        retirarDoGrupo(grupos, notas);
+    }
+
+    private static void retirarDoGrupo(Map<String, Grupo> grupos, NotasColaborador notas) {
+        var grupo = grupos.get(notas.cargo());
+        if (grupo != null) {
+            grupo.remover(notas);
+            if (grupo.colaboradores == 0) {
+                grupos.remove(notas.cargo());
+            }
+        }
+    }
+
+    // Leva para as notas lidas na reconstrução as partes alteradas durante a varredura (notas atuais nulas: colaborador
+    // removido); as demais partes ficam com os valores lidos do banco
+    private static void reaplicar(Map<UUID, NotasColaborador> novasNotas, Map<String, Grupo> novosGrupos,
+                                  UUID matricula, NotasColaborador atuais, Set<Parte> partes) {
+        var lidas = novasNotas.remove(matricula);
+
+        if (lidas != null) {
+            retirarDoGrupo(novosGrupos, lidas);
+        }
+        if (atuais == null) {
+            return;
+        }
+
+        var novas = lidas != null ? lidas : atuais;
+        if (lidas != null) {
+            for (Parte parte : partes) {
+                novas = novas.comParte(parte, atuais);
+            }
+        }
+
+        novasNotas.put(matricula, novas);
+        novosGrupos.computeIfAbsent(novas.cargo(), nome -> new Grupo()).adicionar(novas);
+    }
+
+    // Um histograma por nota para um grupo de colaboradores
+    private static final class Grupo {
+
+        private final Map<MetricaDistribuicao, HistogramaNotas> histogramas = new EnumMap<>(MetricaDistribuicao.class);
+
+        private long colaboradores;
+
+        private Grupo() {
+            for (MetricaDistribuicao metrica : MetricaDistribuicao.values()) {
+                histogramas.put(metrica, new HistogramaNotas());
+            }
+        }
+
+        private void adicionar(NotasColaborador notas) {
+            colaboradores++;
+            histogramas.forEach((metrica, histograma) -> {
+                var valor = notas.valor(metrica);
+                if (valor != null) {
+                    histograma.adicionar(valor);
+                }
+            });
+        }
+
+        private void remover(NotasColaborador notas) {
+            colaboradores--;
+            histogramas.forEach((metrica, histograma) -> {
+                var valor = notas.valor(metrica);
+                if (valor != null) {
+                    histograma.remover(valor);
+                }
+            });
+        }
+
+        private void mesclar(Grupo outro) {
+            colaboradores += outro.colaboradores;
+            histogramas.forEach((metrica, histograma) -> histograma.mesclar(outro.histogramas.get(metrica)));
+        }
+
+        private DistribuicaoGrupoResponse resumir() {
+            return new DistribuicaoGrupoResponse(
+                    colaboradores,
+                    percentis(MetricaDistribuicao.NOTA_FINAL),
+                    percentis(MetricaDistribuicao.MEDIA_COMPORTAMENTAL),
+                    percentis(MetricaDistribuicao.NOTA_AVALIACAO_COMPORTAMENTAL),
+                    percentis(MetricaDistribuicao.NOTA_APRENDIZADO),
+                    percentis(MetricaDistribuicao.NOTA_TOMADA_DECISAO),
+                    percentis(MetricaDistribuicao.NOTA_AUTONOMIA));
+        }
+
+        private PercentisResponse percentis(MetricaDistribuicao metrica) {
+            var histograma = histogramas.get(metrica);
+            return new PercentisResponse(histograma.getTotal(),
+                    histograma.quantil(0.10), histograma.quantil(0.50), histograma.quantil(0.90));
+        }
+    }
+}
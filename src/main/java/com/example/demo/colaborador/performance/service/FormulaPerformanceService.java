@@ -0,0 +1,54 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.PesosFormula;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Fórmula de performance em uso, trocada em tempo de execução sem redeploy (POST /actuator/formula)
+// A troca é atômica: cada cálculo lê uma única instância de FormulaPerformance e nunca mistura pesos de duas versões
+@Service
+public class FormulaPerformanceService {
+
+    private final AtomicReference<FormulaPerformance> formula;
+
+    private static final Logger logger = LoggerFactory.getLogger(FormulaPerformanceService.class);
+
+    // Pesos iniciais configurados em colaborador.performance.peso.* (padrão: regra original, sem peso)
+    @Autowired
+    public FormulaPerformanceService(
+            @Value("${colaborador.performance.peso.avaliacao-comportamental:1}") BigDecimal avaliacaoComportamental,
+            @Value("${colaborador.performance.peso.aprendizado:1}") BigDecimal aprendizado,
+            @Value("${colaborador.performance.peso.tomada-decisao:1}") BigDecimal tomadaDecisao,
+            @Value("${colaborador.performance.peso.autonomia:1}") BigDecimal autonomia,
+            @Value("${colaborador.performance.peso.media-comportamental:1}") BigDecimal mediaComportamental,
+            @Value("${colaborador.performance.peso.media-entregas:1}") BigDecimal mediaEntregas) {
+        this(new PesosFormula(avaliacaoComportamental, aprendizado, tomadaDecisao, autonomia,
+                mediaComportamental, mediaEntregas));
+    }
+
+    public FormulaPerformanceService(PesosFormula pesos) {
+        this.formula = new AtomicReference<>(FormulaPerformance.compilar(pesos, 1));
+    }
+
+    public FormulaPerformance formulaAtual() {
+        return formula.get();
+    }
+
+    // Método que troca a fórmula em uso
+    // Objetivo: compilar os novos pesos (NegocioException se inválidos, sem alterar a fórmula atual) e publicá-los
+    // com a próxima versão. Os registros materializados continuam com a fórmula anterior até a reconstrução
+    // Parâmetros: novos pesos
+    // Resposta: fórmula publicada
+    public FormulaPerformance substituir(PesosFormula pesos) {
+        var nova = formula.updateAndGet(atual -> FormulaPerformance.compilar(pesos, atual.versao() + 1));
+        logger.info("Fórmula de performance alterada para a versão {}: {}", nova.versao(), pesos);
+        return nova;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.nota.FormulaPerformance;
+
+import java.math.BigDecimal;
+
+// Sketch de quantis das notas: contagem por faixa de 0,01 entre NOTA_MINIMA e NOTA_MAXIMA
+// Todas as notas da aplicação ficam nesse intervalo com 2 casas decimais (a nota final é limitada pelos pesos da
+// fórmula, FormulaPerformance.NOTA_FINAL_MAXIMA), então os quantis são exatos na resolução de 0,01 com memória
+// fixa (uma contagem por faixa), independente da quantidade de colaboradores.
+// Diferente de um t-digest, aceita remoção (a nota de um colaborador muda a cada escrita) e a mescla é a soma das contagens.
+// Não é thread-safe: o acesso é sincronizado por DistribuicaoNotasService
+public class HistogramaNotas {
+
+    static final int NOTA_MINIMA = 0;
+
+    static final int NOTA_MAXIMA = FormulaPerformance.NOTA_FINAL_MAXIMA;
+
+    // Faixas por unidade de nota (resolução de 0,01)
+    private static final int FAIXAS_POR_UNIDADE = 100;
+
+    private final int[] contagens = new int[(NOTA_MAXIMA - NOTA_MINIMA) * FAIXAS_POR_UNIDADE + 1];
+
+    private long total;
+
+    public void adicionar(double nota) {
+        contagens[faixa(nota)]++;
+        total++;
+    }
+
+    public void remover(double nota) {
+        int faixa = faixa(nota);
+
+        if (contagens[faixa] > 0) {
+            contagens[faixa]--;
+            total--;
+        }
+    }
+
+    // Soma as contagens de outro histograma (ex: distribuição geral a partir das distribuições por cargo)
+    public void mesclar(HistogramaNotas outro) {
+        for (int faixa = 0; faixa < contagens.length; faixa++) {
+            contagens[faixa] += outro.contagens[faixa];
+        }
+        total += outro.total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // Quantil pelo critério nearest-rank: menor nota em que a contagem acumulada alcança ceil(quantil * total)
+    // Resposta: nota com 2 casas decimais, ou nulo quando o histograma estiver vazio
+    public BigDecimal quantil(double quantil) {
+        if (total == 0) {
+            return null;
+        }
+
+        long posicao = Math.max(1, (long) Math.ceil(quantil * total));
+        long acumulado = 0;
+        int faixa = 0;
+
+        while (faixa < contagens.length - 1) {
+            acumulado += contagens[faixa];
+            if (acumulado >= posicao) {
+                break;
+            }
+            faixa++;
+        }
+
+        return BigDecimal.valueOf(faixa + (long) NOTA_MINIMA * FAIXAS_POR_UNIDADE, 2);
+    }
+
+    // Notas fora do intervalo (ex: alteradas direto no banco) ficam nas faixas das extremidades
+    private int faixa(double nota) {
+        long faixa = Math.round((nota - NOTA_MINIMA) * FAIXAS_POR_UNIDADE);
+        return (int) Math.clamp(faixa, 0, contagens.length - 1);
+    }
+}
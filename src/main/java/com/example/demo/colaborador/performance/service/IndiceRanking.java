@@ -0,0 +1,325 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.performance.resource.json.PosicaoRankingResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Índice em memória da nota final dos colaboradores elegíveis, ordenado da maior para a menor nota
+// Árvore de estatística de ordem (treap com o tamanho de cada subárvore): inclusão, remoção e posição em O(log n),
+// top N em O(log n + N). Empates na nota são desempatados pela matrícula apenas para a ordem da listagem;
+// a posição segue o critério de competição (notas iguais ocupam a mesma posição: 1, 2, 2, 4)
+// As escritas chegam após o commit, em threads diferentes: cada uma traz a ordem tomada na sua transação
+// (proximaOrdem) e a de um colaborador que chegar depois de outra mais nova é descartada
+public class IndiceRanking {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Nota atual de cada colaborador presente na árvore (necessária para localizar o nó na remoção)
+    private final Map<UUID, BigDecimal> notas = new HashMap<>();
+
+    private final AtomicLong sequenciaOrdens = new AtomicLong();
+
+    // Ordem da última escrita aplicada de cada colaborador; mantida na remoção e na substituição, para que uma escrita
+    // atrasada não volte a nota de um colaborador a um valor anterior
+    private final Map<UUID, Long> ultimasOrdens = new HashMap<>();
+
+    // Colaboradores alterados enquanto uma substituição lê as notas do banco: a nota deles no índice atual vale sobre
+    // a lida, que pode ser anterior ao commit da escrita
+    private final Set<UUID> alteradosDuranteSubstituicao = new HashSet<>();
+
+    private int substituicoesEmAndamento;
+
+    private No raiz;
+
+    // Ordem de uma escrita, tomada na transação dela depois do UPDATE da linha do colaborador, que serializa as
+    // escritas do mesmo colaborador: para cada colaborador, a ordem segue a dos commits
+    public long proximaOrdem() {
+        return sequenciaOrdens.incrementAndGet();
+    }
+
+    // Inclui ou reposiciona o colaborador; nota nula (colaborador não elegível) remove do índice
+    public void atualizar(UUID matricula, BigDecimal notaFinal) {
+        atualizar(matricula, notaFinal, proximaOrdem());
+    }
+
+    // Mesmo que atualizar(matricula, notaFinal), ignorando a escrita mais antiga que a última aplicada ao colaborador
+    public void atualizar(UUID matricula, BigDecimal notaFinal, long ordem) {
+        lock.writeLock().lock();
+        try {
+            var ultimaOrdem = ultimasOrdens.get(matricula);
+
+            if (ultimaOrdem != null && ultimaOrdem > ordem) {
+                return;
+            }
+
+            ultimasOrdens.put(matricula, ordem);
+            if (substituicoesEmAndamento > 0) {
+                alteradosDuranteSubstituicao.add(matricula);
+            }
+            raiz = aplicar(raiz, notas, matricula, notaFinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(UUID matricula) {
+        atualizar(matricula, null);
+    }
+
+    public void remover(UUID matricula, long ordem) {
+        atualizar(matricula, null, ordem);
+    }
+
+    // Substitui todo o conteúdo do índice (carga inicial e reconstrução) pelas notas da carga
+    // A carga (consulta ao banco) e a montagem da nova árvore rodam fora do bloqueio; as escritas aplicadas nesse
+    // intervalo são reaplicadas na nova árvore antes da troca
+    public void substituirTodos(Supplier<Map<UUID, BigDecimal>> carga) {
+        lock.writeLock().lock();
+        try {
+            substituicoesEmAndamento++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<UUID, BigDecimal> novasNotas = new HashMap<>(carga.get());
+            No novaRaiz = null;
+            for (var nota : novasNotas.entrySet()) {
+                novaRaiz = inserir(novaRaiz, new No(nota.getKey(), nota.getValue()));
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (UUID matricula : alteradosDuranteSubstituicao) {
+                    novaRaiz = aplicar(novaRaiz, novasNotas, matricula, notas.get(matricula));
+                }
+
+                notas.clear();
+                notas.putAll(novasNotas);
+                raiz = novaRaiz;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (--substituicoesEmAndamento == 0) {
+                    alteradosDuranteSubstituicao.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Posição do colaborador: 1 + quantidade de colaboradores com nota maior
+    public Optional<PosicaoRankingResponse> consultarPosicao(UUID matricula) {
+        lock.readLock().lock();
+        try {
+            var nota = notas.get(matricula);
+
+            if (nota == null) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new PosicaoRankingResponse(contarMaiores(nota) + 1, matricula, nota));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Primeiros colaboradores do ranking, percorrendo a árvore em ordem até completar a quantidade
+    public List<PosicaoRankingResponse> consultarTop(int quantidade) {
+        lock.readLock().lock();
+        try {
+            List<PosicaoRankingResponse> top = new ArrayList<>(Math.min(quantidade, tamanho(raiz)));
+            var pilha = new ArrayDeque<No>();
+            No atual = raiz;
+
+            while ((atual != null || !pilha.isEmpty()) && top.size() < quantidade) {
+                while (atual != null) {
+                    pilha.push(atual);
+                    atual = atual.esquerda;
+                }
+
+                atual = pilha.pop();
+
+                // Mesma nota do anterior: mesma posição
+                int posicao = !top.isEmpty() && top.getLast().notaFinal().compareTo(atual.nota) == 0
+                        ? top.getLast().posicao()
+                        : top.size() + 1;
+                top.add(new PosicaoRankingResponse(posicao, atual.matricula, atual.nota));
+
+                atual = atual.direita;
+            }
+
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho(raiz);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Troca a nota do colaborador na árvore e no mapa informados; retorna a nova raiz
+    private No aplicar(No arvore, Map<UUID, BigDecimal> notasArvore, UUID matricula, BigDecimal notaFinal) {
+        var notaAnterior = notaFinal == null ? notasArvore.remove(matricula) : notasArvore.put(matricula, notaFinal);
+
+        if (notaAnterior != null) {
+            arvore = remover(arvore, notaAnterior, matricula);
+        }
+        if (notaFinal != null) {
+            arvore = inserir(arvore, new No(matricula, notaFinal));
+        }
+
+        return arvore;
+    }
+
+    private int contarMaiores(BigDecimal nota) {
+        int maiores = 0;
+        No atual = raiz;
+
+        while (atual != null) {
+            if (atual.nota.compareTo(nota) > 0) {
+                maiores += tamanho(atual.esquerda) + 1;
+                atual = atual.direita;
+            } else {
+                atual = atual.esquerda;
+            }
+        }
+
+        return maiores;
+    }
+
+    private No inserir(No no, No novo) {
+        if (no == null) {
+            return novo;
+        }
+
+        // Prioridade maior sobe: o novo nó vira a raiz desta subárvore
+        if (novo.prioridade > no.prioridade) {
+            No[] partes = dividir(no, novo.nota, novo.matricula);
+            novo.esquerda = partes[0];
+            novo.direita = partes[1];
+            return novo.recalcularTamanho();
+        }
+
+        if (comparar(novo.nota, novo.matricula, no) < 0) {
+            no.esquerda = inserir(no.esquerda, novo);
+        } else {
+            no.direita = inserir(no.direita, novo);
+        }
+
+        return no.recalcularTamanho();
+    }
+
+    private No remover(No no, BigDecimal nota, UUID matricula) {
+        if (no == null) {
+            return null;
+        }
+
+        int comparacao = comparar(nota, matricula, no);
+
+        if (comparacao == 0) {
+            return unir(no.esquerda, no.direita);
+        }
+
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, nota, matricula);
+        } else {
+            no.direita = remover(no.direita, nota, matricula);
+        }
+
+        return no.recalcularTamanho();
+    }
+
+    // Separa a subárvore em [antes da chave, depois da chave]
+    private No[] dividir(No no, BigDecimal nota, UUID matricula) {
+        if (no == null) {
+            return new No[2];
+        }
+
+        if (comparar(nota, matricula, no) < 0) {
+            No[] partes = dividir(no.esquerda, nota, matricula);
+            no.esquerda = partes[1];
+            partes[1] = no.recalcularTamanho();
+            return partes;
+        }
+
+        No[] partes = dividir(no.direita, nota, matricula);
+        no.direita = partes[0];
+        partes[0] = no.recalcularTamanho();
+        return partes;
+    }
+
+    // Une duas subárvores em que todos os nós da esquerda vêm antes dos nós da direita
+    private No unir(No esquerda, No direita) {
+        if (esquerda == null || direita == null) {
+            return esquerda == null ? direita : esquerda;
+        }
+
+        if (esquerda.prioridade > direita.prioridade) {
+            esquerda.direita = unir(esquerda.direita, direita);
+            return esquerda.recalcularTamanho();
+        }
+
+        direita.esquerda = unir(esquerda, direita.esquerda);
+        return direita.recalcularTamanho();
+    }
+
+    // Ordem do ranking: nota decrescente e, no empate, matrícula crescente
+    private static int comparar(BigDecimal nota, UUID matricula, No no) {
+        int comparacao = no.nota.compareTo(nota);
+        return comparacao != 0 ? comparacao : matricula.compareTo(no.matricula);
+    }
+
+    private static int tamanho(No no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    private static final class No {
+
+        private final UUID matricula;
+
+        private final BigDecimal nota;
+
+        private final int prioridade = ThreadLocalRandom.current().nextInt();
+
+        private int tamanho = 1;
+
+        private No esquerda;
+
+        private No direita;
+
+        private No(UUID matricula, BigDecimal nota) {
+            this.matricula = matricula;
+            this.nota = nota;
+        }
+
+        private No recalcularTamanho() {
+            tamanho = 1 + IndiceRanking.tamanho(esquerda) + IndiceRanking.tamanho(direita);
+            return this;
+        }
+    }
+}
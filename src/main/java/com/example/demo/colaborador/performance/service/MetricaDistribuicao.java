@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.performance.service;
+
+// Notas com distribuição (percentis) mantida por DistribuicaoNotasService
+public enum MetricaDistribuicao {
+    NOTA_FINAL,
+    MEDIA_COMPORTAMENTAL,
+    NOTA_AVALIACAO_COMPORTAMENTAL,
+    NOTA_APRENDIZADO,
+    NOTA_TOMADA_DECISAO,
+    NOTA_AUTONOMIA
+}
@@ -0,0 +1,68 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.nota.NotaCentesimos;
+
+// Notas de um colaborador com a contribuição atual dele nas distribuições (nulas quando ainda não existirem)
+// Guardadas por DistribuicaoNotasService para retirar os valores antigos quando uma escrita alterar alguma nota
+record NotasColaborador(
+        String cargo,
+        Double notaFinal,
+        Double mediaComportamental,
+        Double notaAvaliacaoComportamental,
+        Double notaAprendizado,
+        Double notaTomadaDecisao,
+        Double notaAutonomia) {
+
+    // Partes das notas alteradas por escritas independentes: cada uma tem a sua ordem em DistribuicaoNotasService
+    enum Parte {
+        CARGO,
+        PERFORMANCE,
+        AVALIACAO
+    }
+
+    static NotasColaborador vazio(String cargo) {
+        return new NotasColaborador(cargo, null, null, null, null, null, null);
+    }
+
+    Double valor(MetricaDistribuicao metrica) {
+        return switch (metrica) {
+            case NOTA_FINAL -> notaFinal;
+            case MEDIA_COMPORTAMENTAL -> mediaComportamental;
+            case NOTA_AVALIACAO_COMPORTAMENTAL -> notaAvaliacaoComportamental;
+            case NOTA_APRENDIZADO -> notaAprendizado;
+            case NOTA_TOMADA_DECISAO -> notaTomadaDecisao;
+            case NOTA_AUTONOMIA -> notaAutonomia;
+        };
+    }
+
+    NotasColaborador comCargo(String novoCargo) {
+        return new NotasColaborador(novoCargo, notaFinal, mediaComportamental,
+                notaAvaliacaoComportamental, notaAprendizado, notaTomadaDecisao, notaAutonomia);
+    }
+
+    NotasColaborador comPerformance(Integer novaMediaComportamental, Integer novaNotaFinal) {
+        return new NotasColaborador(cargo, converter(novaNotaFinal), converter(novaMediaComportamental),
+                notaAvaliacaoComportamental, notaAprendizado, notaTomadaDecisao, notaAutonomia);
+    }
+
+    NotasColaborador comAvaliacao(Double comportamental, Double aprendizado, Double tomadaDecisao, Double autonomia) {
+        return new NotasColaborador(cargo, notaFinal, mediaComportamental,
+                comportamental, aprendizado, tomadaDecisao, autonomia);
+    }
+
+    // Copia uma parte das notas de origem, mantendo as demais
+    NotasColaborador comParte(Parte parte, NotasColaborador origem) {
+        return switch (parte) {
+            case CARGO -> comCargo(origem.cargo);
+            case PERFORMANCE -> new NotasColaborador(cargo, origem.notaFinal, origem.mediaComportamental,
+                    notaAvaliacaoComportamental, notaAprendizado, notaTomadaDecisao, notaAutonomia);
+            case AVALIACAO -> comAvaliacao(origem.notaAvaliacaoComportamental, origem.notaAprendizado,
+                    origem.notaTomadaDecisao, origem.notaAutonomia);
+        };
+    }
+
+    // Médias em centésimos (NotaCentesimos) para o valor de nota usado nos histogramas
+    static Double converter(Integer centesimos) {
+        return NotaCentesimos.paraDouble(centesimos);
+    }
+}
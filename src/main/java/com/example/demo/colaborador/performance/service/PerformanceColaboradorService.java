@@ -0,0 +1,349 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.repository.PerformanceColaboradorProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class PerformanceColaboradorService {
+
+    private final PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final RankingPerformanceService rankingPerformanceService;
+
+    private final DistribuicaoNotasService distribuicaoNotasService;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceColaboradorService.class);
+
+    static final int TAMANHO_LOTE_RECONSTRUCAO = 500;
+
+    public PerformanceColaboradorService(PerformanceColaboradorRepository performanceColaboradorRepository,
+                                         ColaboradorRepository colaboradorRepository,
+                                         TransactionTemplate transactionTemplate,
+                                         RankingPerformanceService rankingPerformanceService,
+                                         DistribuicaoNotasService distribuicaoNotasService,
+                                         FormulaPerformanceService formulaPerformanceService) {
+        this.performanceColaboradorRepository = performanceColaboradorRepository;
+        this.colaboradorRepository = colaboradorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rankingPerformanceService = rankingPerformanceService;
+        this.distribuicaoNotasService = distribuicaoNotasService;
+        this.formulaPerformanceService = formulaPerformanceService;
+    }
+
+    // Método que consulta a performance de um colaborador
+    // Objetivo: ler o registro materializado pela chave primária; se ele ainda não existir (dados anteriores
+    // à materialização), calcula a partir das tabelas de origem sem gravar nada
+    // Parâmetros: matrícula do colaborador
+    // Resposta: Optional<PerformanceColaboradorResumo> vazio quando o colaborador não existir
+    @Transactional(readOnly = true)
+    public Optional<PerformanceColaboradorResumo> consultarPerformance(UUID matricula) {
+        var resumo = performanceColaboradorRepository.buscarResumo(matricula);
+
+        if (resumo.isPresent()) {
+            return resumo;
+        }
+
+        logger.warn("Registro de performance do colaborador '{}' não encontrado. Calculando a partir das tabelas de origem", matricula);
+
+        return colaboradorRepository.buscarPerformanceColaborador(matricula).map(this::calcularResumo);
+    }
+
+    // Método que consulta a performance de vários colaboradores (consulta em lote)
+    // Objetivo: mesma regra de consultarPerformance com um IN sobre os registros materializados e, só para as
+    // matrículas sem registro, um IN sobre as tabelas de origem (no máximo 2 consultas por lote)
+    // Parâmetros: matrículas distintas, limitadas pelo chamador ao tamanho do lote
+    // Resposta: performance por matrícula; matrículas de colaboradores inexistentes ficam fora do mapa
+    @Transactional(readOnly = true)
+    public Map<UUID, PerformanceColaboradorResumo> consultarPerformances(Collection<UUID> matriculas) {
+        Map<UUID, PerformanceColaboradorResumo> resumos = performanceColaboradorRepository.buscarResumos(matriculas).stream()
+                .collect(Collectors.toMap(PerformanceColaboradorResumo::matricula, Function.identity()));
+
+        var semRegistro = matriculas.stream()
+                .filter(matricula -> !resumos.containsKey(matricula))
+                .toList();
+
+        if (!semRegistro.isEmpty()) {
+            logger.warn("Registro de performance de {} colaboradores não encontrado. Calculando a partir das tabelas de origem",
+                    semRegistro.size());
+            colaboradorRepository.buscarPerformanceColaboradores(semRegistro)
+                    .forEach(performance -> resumos.put(performance.matricula(), calcularResumo(performance)));
+        }
+
+        return resumos;
+    }
+
+    private PerformanceColaboradorResumo calcularResumo(PerformanceColaboradorProjection performance) {
+        var registro = calcularRegistro(performance);
+        return new PerformanceColaboradorResumo(
+                registro.getMatricula(),
+                performance.nome(),
+                registro.isAvaliacaoRealizada(),
+                registro.getQuantidadeEntregas(),
+                registro.getMediaComportamental(),
+                registro.getMediaEntregas(),
+                registro.getNotaFinal());
+    }
+
+    // Método que cria o registro de performance de um colaborador recém-cadastrado (sem avaliação e sem entregas)
+    // O cargo vem do cadastro e inclui o colaborador nas distribuições de notas por cargo
+    @Transactional
+    public void inicializar(UUID matricula, String cargo) {
+        var registro = new PerformanceColaboradorEntity(matricula);
+        recalcular(registro);
+        performanceColaboradorRepository.save(registro);
+        distribuicaoNotasService.registrarColaboradores(Map.of(matricula, cargo));
+        logger.debug("Registro de performance do colaborador '{}' criado", matricula);
+    }
+
+    // Método chamado pelo cadastro em lote, que grava os registros de performance iniciais junto com os colaboradores
+    // Parâmetros: cargo por matrícula dos colaboradores cadastrados
+    public void registrarCadastroLote(Map<UUID, String> cargos) {
+        distribuicaoNotasService.registrarColaboradores(cargos);
+    }
+
+    // Métodos chamados pelas escritas de entregas, na mesma transação
+    @Transactional
+    public void registrarEntregaCadastrada(UUID matricula, Double nota) {
+        atualizar(matricula, registro -> {
+            registro.setQuantidadeEntregas(registro.getQuantidadeEntregas() + 1);
+            registro.setSomaNotasEntregas(registro.getSomaNotasEntregas() + NotaCentesimos.converter(nota));
+        });
+    }
+
+    @Transactional
+    public void registrarNotaEntregaAlterada(UUID matricula, Double notaAnterior, Double notaNova) {
+        atualizar(matricula, registro -> registro.setSomaNotasEntregas(registro.getSomaNotasEntregas()
+                + NotaCentesimos.converter(notaNova) - NotaCentesimos.converter(notaAnterior)));
+    }
+
+    @Transactional
+    public void registrarEntregaExcluida(UUID matricula, Double nota) {
+        atualizar(matricula, registro -> {
+            registro.setQuantidadeEntregas(registro.getQuantidadeEntregas() - 1);
+            registro.setSomaNotasEntregas(registro.getSomaNotasEntregas() - NotaCentesimos.converter(nota));
+        });
+    }
+
+    // Métodos chamados pelas escritas da avaliação comportamental (cadastro/atualização e exclusão), na mesma transação
+    @Transactional
+    public void registrarAvaliacao(UUID matricula, AvaliacaoComportamentoEntity avaliacao) {
+        atualizar(matricula, registro -> {
+            registro.setAvaliacaoRealizada(true);
+            registro.setMediaComportamental(formulaPerformanceService.formulaAtual().mediaComportamental(
+                    avaliacao.getNotaAvaliacaoComportamental(),
+                    avaliacao.getNotaAprendizado(),
+                    avaliacao.getNotaTomadaDecisao(),
+                    avaliacao.getNotaAutonomia()));
+        });
+        distribuicaoNotasService.registrarAvaliacao(matricula, avaliacao);
+    }
+
+    @Transactional
+    public void registrarAvaliacaoExcluida(UUID matricula) {
+        atualizar(matricula, registro -> {
+            registro.setAvaliacaoRealizada(false);
+            registro.setMediaComportamental(null);
+        });
+        distribuicaoNotasService.registrarAvaliacao(matricula, null);
+    }
+
+    // Método chamado pela atualização do colaborador quando o cargo for alterado (distribuição de notas por cargo)
+    public void registrarCargo(UUID matricula, String cargo) {
+        distribuicaoNotasService.registrarCargo(matricula, cargo);
+    }
+
+    // Método que remove o registro de performance antes da exclusão do colaborador
+    @Transactional
+    public void excluir(UUID matricula) {
+        performanceColaboradorRepository.excluirPorMatricula(matricula);
+        rankingPerformanceService.remover(matricula);
+        distribuicaoNotasService.remover(matricula);
+        logger.debug("Registro de performance do colaborador '{}' excluído", matricula);
+    }
+
+    // Método que reconstrói todos os registros de performance a partir das tabelas de origem
+    // Objetivo: corrigir divergências (ex: registros criados antes da materialização ou alterados fora da aplicação)
+    // Cada lote de TAMANHO_LOTE_RECONSTRUCAO colaboradores roda em uma transação própria
+    // Resposta: quantidade de registros reconstruídos
+    public int reconstruirTodos() {
+        logger.info("Iniciando a reconstrução dos registros de performance");
+
+        int orfaos = transactionTemplate.execute(status -> performanceColaboradorRepository.excluirOrfaos());
+        logger.debug("{} registros de performance sem colaborador removidos", orfaos);
+
+        int total = 0;
+        UUID ultimaMatricula = null;
+        List<PerformanceColaboradorProjection> lote;
+
+        do {
+            final UUID aposMatricula = ultimaMatricula;
+            lote = transactionTemplate.execute(status -> reconstruirLote(aposMatricula));
+            total += lote.size();
+
+            if (!lote.isEmpty()) {
+                ultimaMatricula = lote.getLast().matricula();
+            }
+        } while (lote.size() == TAMANHO_LOTE_RECONSTRUCAO);
+
+        // Recarrega o ranking e as distribuições inteiros: também descarta colaboradores removidos fora da aplicação
+        rankingPerformanceService.carregar();
+        distribuicaoNotasService.reconstruir();
+
+        logger.info("Reconstrução finalizada: {} registros de performance reconstruídos", total);
+        return total;
+    }
+
+    // Método que reconstrói todos os registros de performance em segundo plano após a troca da fórmula
+    // Objetivo: recalcular médias e notas finais já materializadas (e recarregar ranking e distribuições) com os novos pesos
+    // As execuções são serializadas; a reconstrução de uma versão já substituída por outra mais nova é descartada,
+    // pois a troca seguinte agenda a sua própria reconstrução
+    // Parâmetros: versão da fórmula que motivou a reconstrução
+    @Async
+    public synchronized void reconstruirAposTrocaFormula(long versaoFormula) {
+        if (versaoFormula < formulaPerformanceService.formulaAtual().versao()) {
+            logger.info("Reconstrução da fórmula versão {} descartada: existe uma versão mais nova", versaoFormula);
+            return;
+        }
+
+        reconstruirTodos();
+    }
+
+    // Método que reconstrói os registros de performance de um conjunto de colaboradores, na transação corrente
+    // Objetivo: atualizar de uma vez os colaboradores afetados por uma escrita em lote (ex: importação de CSV),
+    // em vez de uma atualização incremental (com bloqueio) por linha
+    // Parâmetros: matrículas dos colaboradores afetados
+    @Transactional
+    public void reconstruir(Collection<UUID> matriculas) {
+        if (matriculas.isEmpty()) {
+            return;
+        }
+
+        gravarRecalculados(colaboradorRepository.buscarPerformanceColaboradores(matriculas));
+        logger.debug("Registros de performance de {} colaboradores reconstruídos", matriculas.size());
+    }
+
+    private List<PerformanceColaboradorProjection> reconstruirLote(UUID aposMatricula) {
+        var lote = colaboradorRepository.listarPerformanceColaboradores(aposMatricula, TAMANHO_LOTE_RECONSTRUCAO);
+        gravarRecalculados(lote);
+        return lote;
+    }
+
+    // Recalcula cada linha agregada e grava, atualizando os registros existentes e criando os ausentes
+    private void gravarRecalculados(List<PerformanceColaboradorProjection> lote) {
+        Map<UUID, PerformanceColaboradorEntity> existentes = performanceColaboradorRepository
+                .findAllById(lote.stream().map(PerformanceColaboradorProjection::matricula).toList())
+                .stream()
+                .collect(Collectors.toMap(PerformanceColaboradorEntity::getMatricula, Function.identity()));
+
+        for (PerformanceColaboradorProjection performance : lote) {
+            var recalculado = calcularRegistro(performance);
+            var registro = existentes.getOrDefault(performance.matricula(), recalculado);
+            copiar(recalculado, registro);
+            performanceColaboradorRepository.save(registro);
+            rankingPerformanceService.registrar(registro.getMatricula(), registro.getNotaFinal());
+            distribuicaoNotasService.registrar(performance, registro);
+        }
+    }
+
+    // Aplica a alteração incremental no registro, recalcula os campos derivados e atualiza o ranking
+    // e as distribuições de notas
+    // O registro é lido sem bloqueio (e do cache de segundo nível, quando presente): as escritas do mesmo colaborador
+    // já estão serializadas pela linha do colaborador, alterada antes na mesma transação (reservarEntrega,
+    // liberarEntrega, atualizarParcial da entrega e da avaliação) ou protegida pela versão (incrementarVersao), que
+    // falha no commit
+    // Se o registro não existir, ele é reconstruído a partir das tabelas de origem (que já contêm a alteração)
+    private void atualizar(UUID matricula, Consumer<PerformanceColaboradorEntity> alteracao) {
+        performanceColaboradorRepository.findById(matricula)
+                .ifPresentOrElse(registro -> {
+                    alteracao.accept(registro);
+                    recalcular(registro);
+                    rankingPerformanceService.registrar(matricula, registro.getNotaFinal());
+                    distribuicaoNotasService.registrarPerformance(matricula, registro.getMediaComportamental(), registro.getNotaFinal());
+                    logger.debug("Registro de performance do colaborador '{}' atualizado", matricula);
+                }, () -> {
+                    logger.warn("Registro de performance do colaborador '{}' não encontrado. Reconstruindo", matricula);
+                    colaboradorRepository.buscarPerformanceColaborador(matricula)
+                            .ifPresent(performance -> {
+                                var registro = calcularRegistro(performance);
+                                performanceColaboradorRepository.save(registro);
+                                rankingPerformanceService.registrar(matricula, registro.getNotaFinal());
+                                distribuicaoNotasService.registrar(performance, registro);
+                            });
+                });
+    }
+
+    // Monta o registro de um colaborador a partir da linha agregada das tabelas de origem
+    // Visível no pacote para o benchmark JMH (src/jmh)
+    PerformanceColaboradorEntity calcularRegistro(PerformanceColaboradorProjection performance) {
+        var registro = new PerformanceColaboradorEntity(performance.matricula());
+
+        if (performance.idAvaliacao() != null) {
+            registro.setAvaliacaoRealizada(true);
+            registro.setMediaComportamental(formulaPerformanceService.formulaAtual().mediaComportamental(
+                    performance.notaAvaliacaoComportamental(),
+                    performance.notaAprendizado(),
+                    performance.notaTomadaDecisao(),
+                    performance.notaAutonomia()));
+        }
+
+        registro.setQuantidadeEntregas(performance.quantidadeEntregas().intValue());
+
+        // A soma vem do banco em ponto flutuante; a conversão para centésimos remove o resíduo binário (ex: 0.30000000000000004)
+        if (performance.somaNotasEntregas() != null) {
+            registro.setSomaNotasEntregas(NotaCentesimos.converter(performance.somaNotasEntregas()));
+        }
+
+        recalcular(registro);
+        return registro;
+    }
+
+    // Recalcula média das entregas, nota final e elegibilidade a partir dos valores acumulados
+    // Médias com 2 casas (HALF_UP), calculadas em centésimos com os pesos da fórmula em uso (FormulaPerformance)
+    private void recalcular(PerformanceColaboradorEntity registro) {
+        registro.setMediaEntregas(registro.getQuantidadeEntregas() > 0
+                ? NotaCentesimos.dividir(registro.getSomaNotasEntregas(), registro.getQuantidadeEntregas())
+                : null);
+
+        registro.setElegivel(registro.isAvaliacaoRealizada() && registro.getQuantidadeEntregas() >= 2);
+
+        registro.setNotaFinal(registro.isElegivel()
+                ? formulaPerformanceService.formulaAtual().notaFinal(registro.getMediaComportamental(), registro.getMediaEntregas())
+                : null);
+    }
+
+    private void copiar(PerformanceColaboradorEntity origem, PerformanceColaboradorEntity destino) {
+        destino.setAvaliacaoRealizada(origem.isAvaliacaoRealizada());
+        destino.setMediaComportamental(origem.getMediaComportamental());
+        destino.setQuantidadeEntregas(origem.getQuantidadeEntregas());
+        destino.setSomaNotasEntregas(origem.getSomaNotasEntregas());
+        destino.setMediaEntregas(origem.getMediaEntregas());
+        destino.setNotaFinal(origem.getNotaFinal());
+        destino.setElegivel(origem.isElegivel());
+    }
+}
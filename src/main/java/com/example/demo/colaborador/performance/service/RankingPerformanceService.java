@@ -0,0 +1,91 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.base.transacao.AposCommit;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.performance.repository.NotaFinalColaborador;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.performance.resource.json.PosicaoRankingResponse;
+import com.example.demo.colaborador.performance.resource.json.RankingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Ranking de nota final mantido em memória (IndiceRanking)
+// Carregado a partir dos registros materializados de performance na subida da aplicação e atualizado
+// por PerformanceColaboradorService a cada escrita de entregas e avaliações; as consultas não acessam o banco
+@Service
+public class RankingPerformanceService {
+
+    static final int TOP_PADRAO = 10;
+
+    static final int TOP_MAXIMO = 100;
+
+    private final PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    private final IndiceRanking indiceRanking = new IndiceRanking();
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingPerformanceService.class);
+
+    public RankingPerformanceService(PerformanceColaboradorRepository performanceColaboradorRepository) {
+        this.performanceColaboradorRepository = performanceColaboradorRepository;
+    }
+
+    // Método que carrega o ranking com a nota final de todos os colaboradores elegíveis
+    // Chamado na subida da aplicação e ao final da reconstrução dos registros de performance
+    // As escritas confirmadas durante a carga não se perdem: o índice as reaplica sobre as notas lidas
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        indiceRanking.substituirTodos(() -> {
+            Map<UUID, BigDecimal> notas = new HashMap<>();
+            for (NotaFinalColaborador nota : performanceColaboradorRepository.listarNotasFinais()) {
+                notas.put(nota.matricula(), NotaCentesimos.paraBigDecimal(nota.notaFinal()));
+            }
+            return notas;
+        });
+        logger.info("Ranking de performance carregado com {} colaboradores", indiceRanking.tamanho());
+    }
+
+    // Método que registra a nova nota final do colaborador, em centésimos (nula quando ele deixa de ser elegível)
+    // Dentro de uma transação, o ranking só é alterado após o commit: um rollback não deixa a nota no índice
+    // A ordem é tomada agora, com a linha do colaborador já bloqueada pela escrita: se o commit seguinte do mesmo
+    // colaborador chegar antes ao índice, esta nota (mais antiga) é descartada
+    public void registrar(UUID matricula, Integer notaFinal) {
+        var nota = NotaCentesimos.paraBigDecimal(notaFinal);
+        long ordem = indiceRanking.proximaOrdem();
+        AposCommit.executar(() -> indiceRanking.atualizar(matricula, nota, ordem));
+    }
+
+    public void remover(UUID matricula) {
+        long ordem = indiceRanking.proximaOrdem();
+        AposCommit.executar(() -> indiceRanking.remover(matricula, ordem));
+    }
+
+    // Método que consulta os primeiros colaboradores do ranking
+    // Parâmetros: quantidade de colaboradores (padrão TOP_PADRAO, limitada a TOP_MAXIMO)
+    // Resposta: RankingResponse com os colaboradores da maior para a menor nota final
+    public RankingResponse consultarTop(Integer top) {
+        int quantidade = top == null ? TOP_PADRAO : top;
+
+        if (quantidade < 1 || quantidade > TOP_MAXIMO) {
+            throw new NegocioException("A quantidade do ranking deve estar entre 1 e " + TOP_MAXIMO);
+        }
+
+        return new RankingResponse(indiceRanking.tamanho(), indiceRanking.consultarTop(quantidade));
+    }
+
+    // Método que consulta a posição de um colaborador no ranking
+    // Somente colaboradores elegíveis (avaliação realizada e pelo menos 2 entregas) possuem posição
+    public PosicaoRankingResponse consultarPosicao(String matricula) {
+        return indiceRanking.consultarPosicao(UUID.fromString(matricula))
+                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado no ranking"));
+    }
+}
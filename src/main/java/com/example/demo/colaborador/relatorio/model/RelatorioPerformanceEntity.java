@@ -0,0 +1,186 @@
+package com.example.demo.colaborador.relatorio.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Relatório de performance de todos os colaboradores (ou de um cargo), gerado em segundo plano
+// Guarda o checkpoint (última matrícula e tamanho do arquivo), atualizado depois que cada lote é gravado no arquivo:
+// após um reinício, a geração continua do último lote confirmado e o que foi escrito depois dele é descartado
+@Entity
+@Table(name = "tb_relatorio_performance",
+        indexes = @Index(name = "IX_relatorio_performance_status_criacao", columnList = "status, data_criacao"))
+public class RelatorioPerformanceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Filtro opcional; nulo para a empresa inteira
+    @Column(name = "cargo")
+    private String cargo;
+
+    // Identifica solicitações idênticas (filtro + pesos da fórmula em uso) para reaproveitar um relatório recente
+    @Column(name = "chave", nullable = false, length = 1000)
+    private String chave;
+
+    @Column(name = "caminho_arquivo", nullable = false, length = 1000)
+    private String caminhoArquivo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusRelatorio status = StatusRelatorio.PENDENTE;
+
+    // Quantidade de colaboradores no início da geração (progresso processados/total)
+    @Column(name = "total_colaboradores", nullable = false)
+    private long totalColaboradores;
+
+    @Column(name = "colaboradores_processados", nullable = false)
+    private long colaboradoresProcessados;
+
+    // Checkpoint: última matrícula do último lote gravado
+    @Column(name = "ultima_matricula")
+    private UUID ultimaMatricula;
+
+    // Checkpoint: tamanho do arquivo, em bytes, logo após o último lote gravado
+    @Column(name = "tamanho_arquivo", nullable = false)
+    private long tamanhoArquivo;
+
+    // Início da execução atual e quantos colaboradores já estavam processados nele (estimativa de término)
+    @Column(name = "data_inicio_execucao")
+    private LocalDateTime dataInicioExecucao;
+
+    @Column(name = "processados_inicio_execucao", nullable = false)
+    private long processadosInicioExecucao;
+
+    @Column(name = "mensagem_falha", length = 1000)
+    private String mensagemFalha;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public RelatorioPerformanceEntity() {
+    }
+
+    public RelatorioPerformanceEntity(String cargo, String chave, String caminhoArquivo) {
+        this.cargo = cargo;
+        this.chave = chave;
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        dataAtualizacao = LocalDateTime.now();
+        if (dataCriacao == null) {
+            dataCriacao = dataAtualizacao;
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getCargo() {
+        return cargo;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    public StatusRelatorio getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusRelatorio status) {
+        this.status = status;
+    }
+
+    public long getTotalColaboradores() {
+        return totalColaboradores;
+    }
+
+    public void setTotalColaboradores(long totalColaboradores) {
+        this.totalColaboradores = totalColaboradores;
+    }
+
+    public long getColaboradoresProcessados() {
+        return colaboradoresProcessados;
+    }
+
+    public void setColaboradoresProcessados(long colaboradoresProcessados) {
+        this.colaboradoresProcessados = colaboradoresProcessados;
+    }
+
+    public UUID getUltimaMatricula() {
+        return ultimaMatricula;
+    }
+
+    public void setUltimaMatricula(UUID ultimaMatricula) {
+        this.ultimaMatricula = ultimaMatricula;
+    }
+
+    public long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    public void setTamanhoArquivo(long tamanhoArquivo) {
+        this.tamanhoArquivo = tamanhoArquivo;
+    }
+
+    public LocalDateTime getDataInicioExecucao() {
+        return dataInicioExecucao;
+    }
+
+    public void setDataInicioExecucao(LocalDateTime dataInicioExecucao) {
+        this.dataInicioExecucao = dataInicioExecucao;
+    }
+
+    public long getProcessadosInicioExecucao() {
+        return processadosInicioExecucao;
+    }
+
+    public void setProcessadosInicioExecucao(long processadosInicioExecucao) {
+        this.processadosInicioExecucao = processadosInicioExecucao;
+    }
+
+    public String getMensagemFalha() {
+        return mensagemFalha;
+    }
+
+    public void setMensagemFalha(String mensagemFalha) {
+        this.mensagemFalha = mensagemFalha;
+    }
+
+    public LocalDateTime getDataConclusao() {
+        return dataConclusao;
+    }
+
+    public void setDataConclusao(LocalDateTime dataConclusao) {
+        this.dataConclusao = dataConclusao;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+}
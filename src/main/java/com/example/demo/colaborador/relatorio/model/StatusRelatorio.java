@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.relatorio.model;
+
+public enum StatusRelatorio {
+    // Solicitado, aguardando uma thread livre do executor de relatórios
+    PENDENTE,
+    PROCESSANDO,
+    // Arquivo completo, disponível para download
+    CONCLUIDO,
+    // Interrompido por erro inesperado; uma nova solicitação gera outro relatório
+    FALHA
+}
@@ -0,0 +1,22 @@
+package com.example.demo.colaborador.relatorio.repository;
+
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RelatorioPerformanceRepository extends JpaRepository<RelatorioPerformanceEntity, UUID> {
+
+    // Relatório mais recente de uma solicitação idêntica, criado depois da data informada
+    Optional<RelatorioPerformanceEntity> findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+            String chave, Collection<StatusRelatorio> status, LocalDateTime criadoApos);
+
+    List<RelatorioPerformanceEntity> findByStatusIn(Collection<StatusRelatorio> status);
+}
@@ -0,0 +1,59 @@
+package com.example.demo.colaborador.relatorio.resource;
+
+import com.example.demo.colaborador.relatorio.resource.json.RelatorioPerformanceRequest;
+import com.example.demo.colaborador.relatorio.resource.json.RelatorioPerformanceResponse;
+import com.example.demo.colaborador.relatorio.service.RelatorioPerformanceService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/relatorio/performance")
+public class RelatorioPerformanceResource {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final RelatorioPerformanceService relatorioPerformanceService;
+
+    public RelatorioPerformanceResource(RelatorioPerformanceService relatorioPerformanceService) {
+        this.relatorioPerformanceService = relatorioPerformanceService;
+    }
+
+    // Responde 202: o relatório é gerado em segundo plano e acompanhado pelo GET do Location
+    // O corpo é opcional; sem ele, o relatório inclui todos os colaboradores
+    @PostMapping
+    public ResponseEntity<RelatorioPerformanceResponse> solicitarRelatorio(
+            @RequestBody(required = false) RelatorioPerformanceRequest request) {
+
+        var relatorio = relatorioPerformanceService.solicitarRelatorio(request == null ? null : request.cargo());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/relatorio/performance/" + relatorio.id()))
+                .body(relatorio);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RelatorioPerformanceResponse> consultarRelatorio(@PathVariable("id") UUID id) {
+        return ResponseEntity.ok(relatorioPerformanceService.consultarRelatorio(id));
+    }
+
+    @GetMapping(value = "/{id}/arquivo", produces = "application/x-ndjson")
+    public ResponseEntity<Resource> baixarRelatorio(@PathVariable("id") UUID id) {
+        var arquivo = relatorioPerformanceService.consultarArquivo(id);
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("relatorio-performance-" + id + ".ndjson")
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(arquivo));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.demo.colaborador.relatorio.resource.json;
+
+// Filtro opcional do relatório: sem cargo, o relatório inclui todos os colaboradores
+public record RelatorioPerformanceRequest(String cargo) {
+}
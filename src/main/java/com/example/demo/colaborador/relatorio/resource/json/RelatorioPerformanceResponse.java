@@ -0,0 +1,20 @@
+package com.example.demo.colaborador.relatorio.resource.json;
+
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Andamento do relatório: previsaoTermino é estimada pela velocidade da execução atual (nula sem lotes gravados)
+public record RelatorioPerformanceResponse(
+        UUID id,
+        String cargo,
+        StatusRelatorio status,
+        long totalColaboradores,
+        long colaboradoresProcessados,
+        LocalDateTime previsaoTermino,
+        String mensagemFalha,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao,
+        LocalDateTime dataConclusao) {
+}
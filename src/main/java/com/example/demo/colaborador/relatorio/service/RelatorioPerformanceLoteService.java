@@ -0,0 +1,75 @@
+package com.example.demo.colaborador.relatorio.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.repository.RelatorioPerformanceRepository;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Escritas transacionais do relatório: andamento e checkpoint, gravados depois de cada lote escrito no arquivo
+@Service
+public class RelatorioPerformanceLoteService {
+
+    static final int TAMANHO_MAXIMO_MENSAGEM = 1000;
+
+    private final RelatorioPerformanceRepository relatorioPerformanceRepository;
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    public RelatorioPerformanceLoteService(RelatorioPerformanceRepository relatorioPerformanceRepository,
+                                           ColaboradorRepository colaboradorRepository) {
+        this.relatorioPerformanceRepository = relatorioPerformanceRepository;
+        this.colaboradorRepository = colaboradorRepository;
+    }
+
+    // Marca o relatório como em processamento e retorna o seu checkpoint
+    // O total de colaboradores é contado somente na primeira execução; numa retomada, o progresso continua do checkpoint
+    @Transactional
+    public RelatorioPerformanceEntity iniciarProcessamento(UUID idRelatorio) {
+        var relatorio = buscar(idRelatorio);
+
+        if (relatorio.getUltimaMatricula() == null) {
+            relatorio.setTotalColaboradores(colaboradorRepository.contarColaboradores(relatorio.getCargo()));
+        }
+
+        relatorio.setStatus(StatusRelatorio.PROCESSANDO);
+        relatorio.setMensagemFalha(null);
+        relatorio.setDataInicioExecucao(LocalDateTime.now());
+        relatorio.setProcessadosInicioExecucao(relatorio.getColaboradoresProcessados());
+        return relatorio;
+    }
+
+    // Avança o checkpoint depois que o lote já está no arquivo
+    @Transactional
+    public void registrarLote(UUID idRelatorio, UUID ultimaMatricula, int quantidade, long tamanhoArquivo) {
+        var relatorio = buscar(idRelatorio);
+        relatorio.setUltimaMatricula(ultimaMatricula);
+        relatorio.setColaboradoresProcessados(relatorio.getColaboradoresProcessados() + quantidade);
+        relatorio.setTamanhoArquivo(tamanhoArquivo);
+    }
+
+    @Transactional
+    public void finalizar(UUID idRelatorio, StatusRelatorio status, String mensagemFalha) {
+        var relatorio = buscar(idRelatorio);
+        relatorio.setStatus(status);
+        relatorio.setMensagemFalha(mensagemFalha == null || mensagemFalha.length() <= TAMANHO_MAXIMO_MENSAGEM
+                ? mensagemFalha
+                : mensagemFalha.substring(0, TAMANHO_MAXIMO_MENSAGEM));
+
+        if (status == StatusRelatorio.CONCLUIDO) {
+            // Colaboradores cadastrados ou excluídos durante a geração alteram o total contado no início
+            relatorio.setTotalColaboradores(relatorio.getColaboradoresProcessados());
+            relatorio.setDataConclusao(LocalDateTime.now());
+        }
+    }
+
+    private RelatorioPerformanceEntity buscar(UUID idRelatorio) {
+        return relatorioPerformanceRepository.findById(idRelatorio)
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
+    }
+}
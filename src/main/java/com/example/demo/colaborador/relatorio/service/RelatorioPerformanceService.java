@@ -0,0 +1,330 @@
+package com.example.demo.colaborador.relatorio.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.repository.RelatorioPerformanceRepository;
+import com.example.demo.colaborador.relatorio.resource.json.RelatorioPerformanceResponse;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorPerformanceLoteItemResponse;
+import com.example.demo.colaborador.service.ColaboradorPerformanceLoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class RelatorioPerformanceService {
+
+    // Relatórios que podem ser reaproveitados por uma solicitação idêntica
+    private static final Set<StatusRelatorio> STATUS_REAPROVEITAVEIS =
+            Set.of(StatusRelatorio.PENDENTE, StatusRelatorio.PROCESSANDO, StatusRelatorio.CONCLUIDO);
+
+    // Relatórios interrompidos por um reinício da aplicação
+    private static final Set<StatusRelatorio> STATUS_INTERROMPIDOS =
+            Set.of(StatusRelatorio.PENDENTE, StatusRelatorio.PROCESSANDO);
+
+    // Tempo que o encerramento da aplicação aguarda o lote em andamento antes de interromper as threads
+    private static final Duration TEMPO_ENCERRAMENTO = Duration.ofSeconds(30);
+
+    private final RelatorioPerformanceRepository relatorioPerformanceRepository;
+
+    private final RelatorioPerformanceLoteService relatorioPerformanceLoteService;
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    private final ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path diretorio;
+
+    private final int tamanhoLote;
+
+    private final Duration validade;
+
+    // Quantidade fixa de threads: no máximo N relatórios gerados ao mesmo tempo; os demais aguardam como PENDENTE
+    // numa fila limitada, e uma solicitação que não cabe na fila é recusada
+    private final Executor executor;
+
+    // Sinaliza o encerramento da aplicação: a geração para depois do lote em andamento e é retomada na inicialização
+    private volatile boolean encerrando;
+
+    // Relatórios sendo gerados por esta instância (impede duas execuções simultâneas do mesmo relatório)
+    private final Set<UUID> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPerformanceService.class);
+
+    @Autowired
+    public RelatorioPerformanceService(RelatorioPerformanceRepository relatorioPerformanceRepository,
+                                       RelatorioPerformanceLoteService relatorioPerformanceLoteService,
+                                       ColaboradorRepository colaboradorRepository,
+                                       ColaboradorPerformanceLoteService colaboradorPerformanceLoteService,
+                                       FormulaPerformanceService formulaPerformanceService,
+                                       ObjectMapper objectMapper,
+                                       @Value("${colaborador.relatorio.diretorio:${java.io.tmpdir}/relatorios}") Path diretorio,
+                                       @Value("${colaborador.relatorio.tamanho-lote:1000}") int tamanhoLote,
+                                       @Value("${colaborador.relatorio.validade:15m}") Duration validade,
+                                       @Value("${colaborador.relatorio.threads:2}") int threads,
+                                       @Value("${colaborador.relatorio.fila:20}") int fila) {
+        this(relatorioPerformanceRepository, relatorioPerformanceLoteService, colaboradorRepository,
+                colaboradorPerformanceLoteService, formulaPerformanceService, objectMapper, diretorio, tamanhoLote, validade,
+                new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(fila),
+                        Thread.ofPlatform().name("relatorio-performance-", 1).daemon().factory(),
+                        new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    RelatorioPerformanceService(RelatorioPerformanceRepository relatorioPerformanceRepository,
+                                RelatorioPerformanceLoteService relatorioPerformanceLoteService,
+                                ColaboradorRepository colaboradorRepository,
+                                ColaboradorPerformanceLoteService colaboradorPerformanceLoteService,
+                                FormulaPerformanceService formulaPerformanceService,
+                                ObjectMapper objectMapper,
+                                Path diretorio,
+                                int tamanhoLote,
+                                Duration validade,
+                                Executor executor) {
+        this.relatorioPerformanceRepository = relatorioPerformanceRepository;
+        this.relatorioPerformanceLoteService = relatorioPerformanceLoteService;
+        this.colaboradorRepository = colaboradorRepository;
+        this.colaboradorPerformanceLoteService = colaboradorPerformanceLoteService;
+        this.formulaPerformanceService = formulaPerformanceService;
+        this.objectMapper = objectMapper;
+        this.diretorio = diretorio;
+        this.tamanhoLote = tamanhoLote;
+        this.validade = validade;
+        this.executor = executor;
+    }
+
+    // Método que solicita o relatório de performance de todos os colaboradores (ou de um cargo)
+    // Objetivo: registrar o relatório e gerá-lo em segundo plano; uma solicitação idêntica (mesmo filtro e mesmos
+    // pesos da fórmula) feita dentro da validade reaproveita o relatório existente, pronto ou em andamento
+    // Parâmetros: cargo (opcional)
+    // Resposta: RelatorioPerformanceResponse com o id para acompanhamento
+    public synchronized RelatorioPerformanceResponse solicitarRelatorio(String cargo) {
+        String filtro = cargo == null || cargo.isBlank() ? null : cargo.trim();
+        String chave = "cargo=" + filtro + ";pesos=" + formulaPerformanceService.formulaAtual().pesos();
+
+        var reaproveitado = buscarReaproveitavel(chave);
+        if (reaproveitado.isPresent()) {
+            logger.info("Relatório '{}' reaproveitado para uma solicitação idêntica", reaproveitado.get().getId());
+            return formatarResposta(reaproveitado.get(), LocalDateTime.now());
+        }
+
+        Path arquivo = diretorio.resolve(UUID.randomUUID() + ".ndjson");
+        var relatorio = relatorioPerformanceRepository.save(new RelatorioPerformanceEntity(filtro, chave, arquivo.toString()));
+        logger.info("Relatório de performance '{}' registrado (cargo: {})", relatorio.getId(), filtro);
+
+        agendar(relatorio.getId());
+        return formatarResposta(relatorio, LocalDateTime.now());
+    }
+
+    public RelatorioPerformanceResponse consultarRelatorio(UUID idRelatorio) {
+        return formatarResposta(buscar(idRelatorio), LocalDateTime.now());
+    }
+
+    // Arquivo NDJSON do relatório concluído: um ColaboradorPerformanceLoteItemResponse por linha, ordenado por matrícula
+    public Path consultarArquivo(UUID idRelatorio) {
+        var relatorio = buscar(idRelatorio);
+
+        if (relatorio.getStatus() != StatusRelatorio.CONCLUIDO) {
+            throw new NegocioException("O relatório ainda não foi concluído");
+        }
+
+        return Path.of(relatorio.getCaminhoArquivo());
+    }
+
+    // Retoma, a partir do checkpoint, os relatórios que estavam pendentes ou em processamento quando a aplicação parou
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarRelatoriosInterrompidos() {
+        for (var relatorio : relatorioPerformanceRepository.findByStatusIn(STATUS_INTERROMPIDOS)) {
+            logger.info("Retomando o relatório '{}' a partir do colaborador {}", relatorio.getId(),
+                    relatorio.getColaboradoresProcessados() + 1);
+            try {
+                agendar(relatorio.getId());
+            } catch (RejectedExecutionException ex) {
+                logger.warn("Relatório '{}' não retomado: a fila de relatórios está cheia ou a aplicação está encerrando", relatorio.getId());
+            }
+        }
+    }
+
+    // Método executado no encerramento da aplicação, antes do fechamento do DataSource
+    // Objetivo: não iniciar relatórios da fila e aguardar o lote em andamento; o que não terminou continua como
+    // PENDENTE ou PROCESSANDO e é retomado do checkpoint na próxima inicialização
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        encerrando = true;
+
+        if (executor instanceof ExecutorService servico) {
+            servico.shutdown();
+            if (!servico.awaitTermination(TEMPO_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Geração de relatórios não terminou em {}; interrompendo as threads", TEMPO_ENCERRAMENTO);
+                servico.shutdownNow();
+            }
+        }
+    }
+
+    private Optional<RelatorioPerformanceEntity> buscarReaproveitavel(String chave) {
+        return relatorioPerformanceRepository
+                .findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+                        chave, STATUS_REAPROVEITAVEIS, LocalDateTime.now().minus(validade))
+                // O arquivo de um relatório concluído pode ter sido removido do disco
+                .filter(relatorio -> relatorio.getStatus() != StatusRelatorio.CONCLUIDO
+                        || Files.exists(Path.of(relatorio.getCaminhoArquivo())));
+    }
+
+    private void agendar(UUID idRelatorio) {
+        if (!emAndamento.add(idRelatorio)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!encerrando) {
+                        processar(idRelatorio);
+                    }
+                } finally {
+                    emAndamento.remove(idRelatorio);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            emAndamento.remove(idRelatorio);
+            // Com a fila cheia, o relatório não fica PENDENTE para não ser reaproveitado sem nunca ser gerado;
+            // no encerramento ele continua pendente e é retomado na próxima inicialização
+            if (!encerrando) {
+                relatorioPerformanceLoteService.finalizar(idRelatorio, StatusRelatorio.FALHA,
+                        "A fila de relatórios estava cheia. Solicite o relatório novamente");
+            }
+            throw ex;
+        }
+    }
+
+    // Método que gera o relatório a partir do checkpoint
+    // Percorre as matrículas em lotes (keyset), consulta a performance de cada lote com IN e acrescenta as linhas ao
+    // arquivo; o checkpoint só avança depois que o lote está em disco. Ao retomar, o que foi escrito depois do
+    // último checkpoint é descartado, então nenhuma linha fica duplicada
+    void processar(UUID idRelatorio) {
+        var relatorio = relatorioPerformanceLoteService.iniciarProcessamento(idRelatorio);
+        logger.info("Gerando o relatório '{}' a partir do colaborador {}", idRelatorio, relatorio.getColaboradoresProcessados() + 1);
+
+        Path arquivo = Path.of(relatorio.getCaminhoArquivo());
+
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+
+            try (var canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                if (canal.size() < relatorio.getTamanhoArquivo()) {
+                    throw new IllegalStateException("O arquivo do relatório está menor que o último lote gravado");
+                }
+
+                canal.truncate(relatorio.getTamanhoArquivo());
+                canal.position(relatorio.getTamanhoArquivo());
+
+                UUID ultimaMatricula = relatorio.getUltimaMatricula();
+                List<UUID> lote;
+                while (!(lote = colaboradorRepository.listarMatriculas(relatorio.getCargo(), ultimaMatricula,
+                        Limit.of(tamanhoLote))).isEmpty()) {
+
+                    escrever(canal, colaboradorPerformanceLoteService.consultarLote(lote));
+                    canal.force(false);
+
+                    ultimaMatricula = lote.getLast();
+                    relatorioPerformanceLoteService.registrarLote(idRelatorio, ultimaMatricula, lote.size(), canal.position());
+
+                    if (encerrando) {
+                        logger.info("Geração do relatório '{}' interrompida pelo encerramento da aplicação; "
+                                + "será retomada do checkpoint na próxima inicialização", idRelatorio);
+                        return;
+                    }
+                }
+            }
+
+            relatorioPerformanceLoteService.finalizar(idRelatorio, StatusRelatorio.CONCLUIDO, null);
+            logger.info("Relatório '{}' concluído", idRelatorio);
+        } catch (Exception ex) {
+            logger.error("Falha na geração do relatório '{}'", idRelatorio, ex);
+            relatorioPerformanceLoteService.finalizar(idRelatorio, StatusRelatorio.FALHA, String.valueOf(ex.getMessage()));
+        }
+    }
+
+    // Uma linha JSON por colaborador; o lote inteiro é montado em memória e escrito de uma vez
+    private void escrever(FileChannel canal, List<ColaboradorPerformanceLoteItemResponse> resultados) throws IOException {
+        var buffer = new ByteArrayOutputStream();
+        for (var resultado : resultados) {
+            buffer.write(objectMapper.writeValueAsBytes(resultado));
+            buffer.write('\n');
+        }
+
+        var bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+    }
+
+    private RelatorioPerformanceEntity buscar(UUID idRelatorio) {
+        return relatorioPerformanceRepository.findById(idRelatorio)
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
+    }
+
+    // Previsão de término pela velocidade da execução atual (não conta o tempo em que a aplicação ficou parada)
+    static LocalDateTime estimarTermino(RelatorioPerformanceEntity relatorio, LocalDateTime agora) {
+        long processadosExecucao = relatorio.getColaboradoresProcessados() - relatorio.getProcessadosInicioExecucao();
+
+        if (relatorio.getStatus() != StatusRelatorio.PROCESSANDO || relatorio.getDataInicioExecucao() == null
+                || processadosExecucao <= 0) {
+            return null;
+        }
+
+        long restantes = Math.max(relatorio.getTotalColaboradores() - relatorio.getColaboradoresProcessados(), 0);
+        long decorrido = Duration.between(relatorio.getDataInicioExecucao(), agora).toMillis();
+
+        return agora.plus(Duration.ofMillis(decorrido * restantes / processadosExecucao));
+    }
+
+    private RelatorioPerformanceResponse formatarResposta(RelatorioPerformanceEntity relatorio, LocalDateTime agora) {
+        return new RelatorioPerformanceResponse(
+                relatorio.getId(),
+                relatorio.getCargo(),
+                relatorio.getStatus(),
+                relatorio.getTotalColaboradores(),
+                relatorio.getColaboradoresProcessados(),
+                estimarTermino(relatorio, agora),
+                relatorio.getMensagemFalha(),
+                relatorio.getDataCriacao(),
+                relatorio.getDataAtualizacao(),
+                relatorio.getDataConclusao()
+        );
+    }
+}
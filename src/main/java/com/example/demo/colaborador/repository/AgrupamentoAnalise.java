@@ -0,0 +1,14 @@
+package com.example.demo.colaborador.repository;
+
+// Agrupamentos suportados pela análise de performance dos colaboradores
+public enum AgrupamentoAnalise {
+
+    // Grupo: cargo
+    CARGO,
+
+    // Grupo: ano da data de admissão (ex: 2024)
+    ANO_ADMISSAO,
+
+    // Grupo: ano e trimestre da data de admissão (ex: 2024-T1)
+    TRIMESTRE_ADMISSAO
+}
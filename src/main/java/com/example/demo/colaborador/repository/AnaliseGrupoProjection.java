@@ -0,0 +1,15 @@
+package com.example.demo.colaborador.repository;
+
+// Agregados de performance de um grupo de colaboradores, calculados no banco (GROUP BY)
+// Médias de nota final, menor e maior consideram somente os colaboradores elegíveis
+public record AnaliseGrupoProjection(
+        String grupo,
+        Long totalColaboradores,
+        Long colaboradoresAvaliados,
+        Long colaboradoresElegiveis,
+        Double mediaComportamental,
+        Double mediaEntregas,
+        Double mediaNotaFinal,
+        Double menorNotaFinal,
+        Double maiorNotaFinal) {
+}
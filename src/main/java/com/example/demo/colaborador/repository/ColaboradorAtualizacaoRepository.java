@@ -0,0 +1,13 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.base.http.EtagVersao;
+import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+// Fragmento de atualização parcial (PATCH) do ColaboradorRepository
+public interface ColaboradorAtualizacaoRepository {
+
+    int atualizarParcial(UUID matricula, ColaboradorAtualizaRequest atualizacao, List<EtagVersao.Versao> versoesIfMatch);
+}
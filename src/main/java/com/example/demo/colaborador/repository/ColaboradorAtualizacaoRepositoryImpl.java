@@ -0,0 +1,51 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.base.http.EtagVersao;
+import com.example.demo.base.jdbc.AtualizacaoParcial;
+import com.example.demo.base.transacao.BloqueioCacheLinhas;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ColaboradorAtualizacaoRepositoryImpl implements ColaboradorAtualizacaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ColaboradorAtualizacaoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Método que atualiza os campos informados de um colaborador em um único UPDATE, sem carregá-lo
+    // Objetivo: um round trip por PATCH; somente as colunas informadas entram no SET e a versão é incrementada
+    // O If-Match vira condição do WHERE (versao in ...), então a verificação e a escrita são atômicas
+    // Parâmetros: matrícula, campos a alterar (nulos são mantidos) e versões aceitas (null = sem condição)
+    // Resposta: quantidade de linhas atualizadas (0 = colaborador inexistente ou versão diferente do If-Match)
+    // Via JDBC: somente o colaborador alterado é invalidado no cache de segundo nível
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int atualizarParcial(UUID matricula, ColaboradorAtualizaRequest atualizacao,
+                                List<EtagVersao.Versao> versoesIfMatch) {
+        var update = new AtualizacaoParcial("tb_colaborador")
+                .definir("nome", atualizacao.nome())
+                .definir("data_admissao", atualizacao.dataAdmissao())
+                .definir("cargo", atualizacao.cargo())
+                .onde("matricula = ?", matricula);
+
+        if (versoesIfMatch != null) {
+            update.ondeEm("versao", EtagVersao.versoesDe(versoesIfMatch, matricula));
+        }
+
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, List.of(matricula));
+        return jdbcTemplate.update(update.sql(), update.parametros().toArray());
+    }
+}
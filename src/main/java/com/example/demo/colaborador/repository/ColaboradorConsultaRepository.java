@@ -0,0 +1,27 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.resource.json.ColaboradorResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Fragmento de consulta do ColaboradorRepository
+// Monta os DTOs de resposta diretamente a partir de projeções, sem carregar as entidades
+public interface ColaboradorConsultaRepository {
+
+    List<ColaboradorResponse> listarPaginaColaboradoresResponse(OrdenacaoColaborador ordenacao,
+                                                                CursorColaborador cursor,
+                                                                int quantidade,
+                                                                FormulaPerformance formula);
+
+    Optional<PerformanceColaboradorProjection> buscarPerformanceColaborador(UUID matricula);
+
+    List<PerformanceColaboradorProjection> listarPerformanceColaboradores(UUID aposMatricula, int quantidade);
+
+    List<PerformanceColaboradorProjection> buscarPerformanceColaboradores(Collection<UUID> matriculas);
+
+    List<AnaliseGrupoProjection> agruparPerformance(AgrupamentoAnalise agrupamento, FormulaPerformance formula);
+}
@@ -0,0 +1,284 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
+import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.resource.json.ColaboradorResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class ColaboradorConsultaRepositoryImpl implements ColaboradorConsultaRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaboradorConsultaRepositoryImpl.class);
+
+    // Notas da avaliação + COUNT/SUM das entregas, uma linha por colaborador (%s = filtro)
+    private static final String CONSULTA_PERFORMANCE = """
+            select new com.example.demo.colaborador.repository.PerformanceColaboradorProjection(
+                c.matricula, c.nome, c.cargo,
+                a.id, a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia,
+                count(e.id), sum(e.nota))
+            from ColaboradorEntity c
+            left join c.avaliacaoComportamentoEntity a
+            left join c.entregases e
+            %s
+            group by c.matricula, c.nome, c.cargo,
+                a.id, a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia
+            """;
+
+    // Agregados por grupo em duas etapas, inteiras no banco:
+    // 1) uma linha por colaborador com o grupo, a média comportamental e a média/quantidade das entregas
+    // 2) GROUP BY do grupo sobre essas linhas (%s = expressão do grupo)
+    // Elegível: avaliação realizada e pelo menos 2 entregas (mesma regra do cálculo da performance final)
+    // Médias e nota final com os pesos da fórmula em uso (FormulaPerformance), passados como parâmetros
+    private static final String CONSULTA_ANALISE = """
+            select new com.example.demo.colaborador.repository.AnaliseGrupoProjection(
+                t.grupo, count(*), count(t.mediaComportamental),
+                sum(case when t.mediaComportamental is not null and t.quantidadeEntregas >= 2 then 1 else 0 end),
+                avg(t.mediaComportamental), avg(t.mediaEntregas),
+                avg(case when t.mediaComportamental is not null and t.quantidadeEntregas >= 2
+                    then t.mediaEntregas * :pesoMediaEntregas + t.mediaComportamental * :pesoMediaComportamental end),
+                min(case when t.mediaComportamental is not null and t.quantidadeEntregas >= 2
+                    then t.mediaEntregas * :pesoMediaEntregas + t.mediaComportamental * :pesoMediaComportamental end),
+                max(case when t.mediaComportamental is not null and t.quantidadeEntregas >= 2
+                    then t.mediaEntregas * :pesoMediaEntregas + t.mediaComportamental * :pesoMediaComportamental end))
+            from (
+                select %s as grupo,
+                    (a.notaAvaliacaoComportamental * :pesoAvaliacaoComportamental + a.notaAprendizado * :pesoAprendizado
+                        + a.notaTomadaDecisao * :pesoTomadaDecisao + a.notaAutonomia * :pesoAutonomia) / :somaPesosCriterios
+                        as mediaComportamental,
+                    avg(e.nota) as mediaEntregas,
+                    count(e.id) as quantidadeEntregas
+                from ColaboradorEntity c
+                left join c.avaliacaoComportamentoEntity a
+                left join c.entregases e
+                group by c.matricula, c.cargo, c.dataAdmissao,
+                    a.id, a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia
+            ) t
+            group by t.grupo
+            order by t.grupo
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Método que lista uma página de colaboradores já no formato de resposta
+    // Objetivo: evitar o N+1 da listagem (uma consulta por avaliação e uma por lista de entregas de cada colaborador)
+    // e paginar por keyset, para que páginas profundas custem o mesmo que a primeira (sem OFFSET)
+    // Executa no máximo 2 consultas, independente da quantidade de colaboradores:
+    // 1) colaboradores + avaliação (LEFT JOIN) a partir do cursor e 2) entregas dos colaboradores da página
+    // Parâmetros: ordenação, cursor da última linha da página anterior (nulo na primeira página), quantidade de linhas
+    // e fórmula da média comportamental
+    // Resposta: List<ColaboradorResponse> na ordem da ordenação informada
+    @Override
+    public List<ColaboradorResponse> listarPaginaColaboradoresResponse(OrdenacaoColaborador ordenacao,
+                                                                       CursorColaborador cursor,
+                                                                       int quantidade,
+                                                                       FormulaPerformance formula) {
+
+        logger.debug("Consultando página de colaboradores [ordenacao={}, quantidade={}]", ordenacao, quantidade);
+        var consultaColaboradores = entityManager.createQuery("""
+                        select new com.example.demo.colaborador.repository.ColaboradorResumoProjection(
+                            c.matricula, c.nome, c.dataAdmissao, c.cargo,
+                            a.id, a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia)
+                        from ColaboradorEntity c
+                        left join c.avaliacaoComportamentoEntity a
+                        """ + filtroCursor(ordenacao, cursor) + ordenarPor(ordenacao),
+                        ColaboradorResumoProjection.class)
+                .setMaxResults(quantidade);
+
+        if (cursor != null) {
+            consultaColaboradores.setParameter("matricula", cursor.matricula());
+            if (ordenacao == OrdenacaoColaborador.NOME) {
+                consultaColaboradores.setParameter("nome", cursor.nome());
+            }
+        }
+
+        List<ColaboradorResumoProjection> colaboradores = consultaColaboradores.getResultList();
+
+        if (colaboradores.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        logger.debug("Consultando entregas dos {} colaboradores da página", colaboradores.size());
+        List<EntregaResumoProjection> entregas = entityManager.createQuery("""
+                        select new com.example.demo.colaborador.repository.EntregaResumoProjection(
+                            e.colaborador.matricula, e.id, e.descricao, e.nota)
+                        from EntregaEntity e
+                        where e.colaborador.matricula in :matriculas
+                        order by e.id
+                        """, EntregaResumoProjection.class)
+                .setParameter("matriculas", colaboradores.stream().map(ColaboradorResumoProjection::matricula).toList())
+                .getResultList();
+
+        return montarResposta(colaboradores, entregas, formula);
+    }
+
+    // Método que busca, em uma única consulta, os dados necessários para o cálculo da performance final
+    // Objetivo: substituir a carga do colaborador + avaliação (lazy) + lista de entregas por um único round trip
+    // As entregas são agregadas no banco (COUNT e SUM), sem trafegar cada linha
+    // Parâmetros: matrícula do colaborador
+    // Resposta: Optional vazio quando a matrícula não existir
+    @Override
+    public Optional<PerformanceColaboradorProjection> buscarPerformanceColaborador(UUID matricula) {
+        logger.debug("Consultando dados agregados de performance do colaborador de matrícula '{}'", matricula);
+
+        return entityManager.createQuery(
+                        CONSULTA_PERFORMANCE.formatted("where c.matricula = :matricula"),
+                        PerformanceColaboradorProjection.class)
+                .setParameter("matricula", matricula)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Método que lista os dados agregados de performance de vários colaboradores, ordenados por matrícula
+    // Objetivo: permitir a reconstrução dos registros materializados em lotes (keyset), sem carregar a tabela inteira
+    // Parâmetros: última matrícula do lote anterior (nula no primeiro lote) e quantidade de colaboradores do lote
+    // Resposta: List<PerformanceColaboradorProjection> com uma linha por colaborador
+    @Override
+    public List<PerformanceColaboradorProjection> listarPerformanceColaboradores(UUID aposMatricula, int quantidade) {
+        logger.debug("Consultando lote de dados agregados de performance [apos={}, quantidade={}]", aposMatricula, quantidade);
+
+        var consulta = entityManager.createQuery(
+                        CONSULTA_PERFORMANCE.formatted(aposMatricula == null ? "" : "where c.matricula > :matricula")
+                                + " order by c.matricula",
+                        PerformanceColaboradorProjection.class)
+                .setMaxResults(quantidade);
+
+        if (aposMatricula != null) {
+            consulta.setParameter("matricula", aposMatricula);
+        }
+
+        return consulta.getResultList();
+    }
+
+    // Método que busca os dados agregados de performance de um conjunto de colaboradores
+    // Objetivo: recalcular de uma vez os registros materializados dos colaboradores afetados por uma importação
+    // Parâmetros: matrículas dos colaboradores (o chamador limita a quantidade ao tamanho do lote)
+    // Resposta: List<PerformanceColaboradorProjection> com uma linha por colaborador existente
+    @Override
+    public List<PerformanceColaboradorProjection> buscarPerformanceColaboradores(Collection<UUID> matriculas) {
+        logger.debug("Consultando dados agregados de performance de {} colaboradores", matriculas.size());
+
+        return entityManager.createQuery(
+                        CONSULTA_PERFORMANCE.formatted("where c.matricula in :matriculas"),
+                        PerformanceColaboradorProjection.class)
+                .setParameter("matriculas", matriculas)
+                .getResultList();
+    }
+
+    // Método que agrega a performance dos colaboradores por grupo (cargo, ano ou trimestre de admissão)
+    // Objetivo: responder os painéis gerenciais sem trafegar as linhas de colaboradores, entregas e avaliações
+    // Executa um único statement, com o GROUP BY feito no banco
+    // Parâmetros: agrupamento desejado e fórmula de performance em uso
+    // Resposta: List<AnaliseGrupoProjection> com uma linha por grupo, em ordem crescente do grupo
+    @Override
+    public List<AnaliseGrupoProjection> agruparPerformance(AgrupamentoAnalise agrupamento, FormulaPerformance formula) {
+        logger.debug("Consultando análise de performance agrupada [agrupamento={}, formula={}]", agrupamento, formula.versao());
+
+        var pesos = formula.pesos();
+        double somaPesosCriterios = pesos.avaliacaoComportamental()
+                .add(pesos.aprendizado())
+                .add(pesos.tomadaDecisao())
+                .add(pesos.autonomia())
+                .doubleValue();
+
+        return entityManager.createQuery(CONSULTA_ANALISE.formatted(expressaoGrupo(agrupamento)), AnaliseGrupoProjection.class)
+                .setParameter("pesoAvaliacaoComportamental", pesos.avaliacaoComportamental().doubleValue())
+                .setParameter("pesoAprendizado", pesos.aprendizado().doubleValue())
+                .setParameter("pesoTomadaDecisao", pesos.tomadaDecisao().doubleValue())
+                .setParameter("pesoAutonomia", pesos.autonomia().doubleValue())
+                .setParameter("somaPesosCriterios", somaPesosCriterios)
+                .setParameter("pesoMediaComportamental", pesos.mediaComportamental().doubleValue())
+                .setParameter("pesoMediaEntregas", pesos.mediaEntregas().doubleValue())
+                .getResultList();
+    }
+
+    // Trimestre com o ano na frente (ex: 2024-T1), para que a ordem alfabética seja a cronológica
+    private String expressaoGrupo(AgrupamentoAnalise agrupamento) {
+        return switch (agrupamento) {
+            case CARGO -> "c.cargo";
+            case ANO_ADMISSAO -> "cast(extract(year from c.dataAdmissao) as String)";
+            case TRIMESTRE_ADMISSAO -> "concat(cast(extract(year from c.dataAdmissao) as String), '-T', "
+                    + "cast(extract(quarter from c.dataAdmissao) as String))";
+        };
+    }
+
+    // Condição de keyset: somente linhas posteriores ao cursor na ordenação escolhida
+    private String filtroCursor(OrdenacaoColaborador ordenacao, CursorColaborador cursor) {
+        if (cursor == null) {
+            return "";
+        }
+
+        return switch (ordenacao) {
+            case MATRICULA -> "where c.matricula > :matricula ";
+            case NOME -> "where c.nome > :nome or (c.nome = :nome and c.matricula > :matricula) ";
+        };
+    }
+
+    private String ordenarPor(OrdenacaoColaborador ordenacao) {
+        return switch (ordenacao) {
+            case MATRICULA -> "order by c.matricula";
+            case NOME -> "order by c.nome, c.matricula";
+        };
+    }
+
+    // Agrupa as entregas pela matrícula e monta o DTO de cada colaborador
+    private List<ColaboradorResponse> montarResposta(List<ColaboradorResumoProjection> colaboradores,
+                                                     List<EntregaResumoProjection> entregas,
+                                                     FormulaPerformance formula) {
+
+        Map<UUID, List<EntregaResponse>> entregasPorMatricula = new HashMap<>();
+        for (EntregaResumoProjection entrega : entregas) {
+            entregasPorMatricula
+                    .computeIfAbsent(entrega.matricula(), matricula -> new ArrayList<>())
+                    .add(new EntregaResponse(entrega.id(), entrega.descricao(), entrega.nota()));
+        }
+
+        List<ColaboradorResponse> resposta = new ArrayList<>(colaboradores.size());
+        for (ColaboradorResumoProjection colaborador : colaboradores) {
+            resposta.add(new ColaboradorResponse(
+                    colaborador.matricula(),
+                    colaborador.nome(),
+                    colaborador.dataAdmissao(),
+                    colaborador.cargo(),
+                    formatarAvaliacao(colaborador, formula),
+                    entregasPorMatricula.getOrDefault(colaborador.matricula(), new ArrayList<>())
+            ));
+        }
+
+        logger.info("Listagem de {} colaboradores montada com sucesso", resposta.size());
+        return resposta;
+    }
+
+    // Calcula a média das 4 notas da avaliação (mesma regra de ColaboradorService.formatarJsonDTO)
+    private AvaliacaoComportamentoResponse formatarAvaliacao(ColaboradorResumoProjection colaborador, FormulaPerformance formula) {
+        if (colaborador.idAvaliacao() == null) {
+            return null;
+        }
+
+        int media = formula.mediaComportamental(
+                colaborador.notaAvaliacaoComportamental(),
+                colaborador.notaAprendizado(),
+                colaborador.notaTomadaDecisao(),
+                colaborador.notaAutonomia());
+
+        return new AvaliacaoComportamentoResponse(
+                colaborador.notaAvaliacaoComportamental(),
+                colaborador.notaAprendizado(),
+                colaborador.notaTomadaDecisao(),
+                colaborador.notaAutonomia(),
+                NotaCentesimos.paraBigDecimal(media)
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.colaborador.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Linha "achatada" da exportação: colaborador + avaliação (quando houver) + uma entrega (quando houver)
+// Um colaborador com N entregas gera N linhas consecutivas (ordenadas por matrícula)
+public record ColaboradorExportacaoProjection(
+        UUID matricula,
+        String nome,
+        LocalDate dataAdmissao,
+        String cargo,
+        Long idAvaliacao,
+        Double notaAvaliacaoComportamental,
+        Double notaAprendizado,
+        Double notaTomadaDecisao,
+        Double notaAutonomia,
+        Long idEntrega,
+        String descricaoEntrega,
+        Double notaEntrega) {
+}
@@ -0,0 +1,57 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+// Escrita em lote de colaboradores via JDBC batching
+// Usado no cadastro em massa, onde um save() do JPA por colaborador (um INSERT e um round trip cada) é lento demais
+@Repository
+public class ColaboradorLoteRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaboradorLoteRepository.class);
+
+    private static final String INSERT_COLABORADOR = """
+            insert into tb_colaborador (matricula, nome, data_admissao, cargo, versao)
+            values (?, ?, ?, ?, 0)
+            """;
+
+    // Registro de performance inicial (sem avaliação e sem entregas), o mesmo criado por PerformanceColaboradorService.inicializar
+    private static final String INSERT_PERFORMANCE = """
+            insert into tb_performance_colaborador
+                (matricula, avaliacao_realizada, quantidade_entregas, soma_notas_entregas, elegivel)
+            values (?, 0, 0, 0, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ColaboradorLoteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Método que insere os colaboradores e seus registros de performance em lotes JDBC
+    // Objetivo: enviar tamanhoLote INSERTs por round trip, na transação corrente
+    // Parâmetros: matrículas já geradas (mesma ordem dos colaboradores), dados dos colaboradores e tamanho de cada lote
+    public void inserirEmLote(List<UUID> matriculas, List<ColaboradorCadastroRequest> colaboradores, int tamanhoLote) {
+        logger.debug("Inserindo {} colaboradores em lotes de {}", colaboradores.size(), tamanhoLote);
+
+        var indices = IntStream.range(0, colaboradores.size()).boxed().toList();
+
+        jdbcTemplate.batchUpdate(INSERT_COLABORADOR, indices, tamanhoLote, (ps, indice) -> {
+            var colaborador = colaboradores.get(indice);
+            ps.setString(1, matriculas.get(indice).toString());
+            ps.setString(2, colaborador.nome());
+            ps.setObject(3, colaborador.dataAdmissao());
+            ps.setString(4, colaborador.cargo());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_PERFORMANCE, matriculas, tamanhoLote,
+                (ps, matricula) -> ps.setString(1, matricula.toString()));
+    }
+}
@@ -1,11 +1,69 @@
 package com.example.demo.colaborador.repository;
 
+import com.example.demo.colaborador.entrega.repository.QuantidadeEntregasProjection;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ColaboradorRepository extends JpaRepository<ColaboradorEntity, UUID> {
+public interface ColaboradorRepository extends JpaRepository<ColaboradorEntity, UUID>, ColaboradorConsultaRepository,
+        ColaboradorVersaoRepository, ColaboradorAtualizacaoRepository {
+
+    // Lê todos os colaboradores com avaliação e entregas em uma única consulta, por cursor do banco
+    // O fetch size limita quantas linhas o driver traz por round trip e a projeção (sem entidades)
+    // não acumula nada no contexto de persistência, mantendo a memória constante
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.example.demo.colaborador.repository.ColaboradorExportacaoProjection(
+                c.matricula, c.nome, c.dataAdmissao, c.cargo,
+                a.id, a.notaAvaliacaoComportamental, a.notaAprendizado, a.notaTomadaDecisao, a.notaAutonomia,
+                e.id, e.descricao, e.nota)
+            from ColaboradorEntity c
+            left join c.avaliacaoComportamentoEntity a
+            left join c.entregases e
+            order by c.matricula, e.id
+            """)
+    Stream<ColaboradorExportacaoProjection> exportarColaboradores();
+
+    // Quantidade de entregas dos colaboradores informados que existem, bloqueando as linhas até o fim da transação
+    // Os cadastros concorrentes de entregas desses colaboradores (reservarEntrega) aguardam o commit e veem a nova
+    // quantidade, então as entregas gravadas em lote (importação) também respeitam o limite
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new com.example.demo.colaborador.entrega.repository.QuantidadeEntregasProjection(
+                c.matricula, cast(c.quantidadeEntregas as Long))
+            from ColaboradorEntity c
+            where c.matricula in :matriculas
+            """)
+    List<QuantidadeEntregasProjection> bloquearQuantidadesEntregas(@Param("matriculas") Collection<UUID> matriculas);
+
+    // Matrículas ordenadas, opcionalmente de um único cargo, a partir da matrícula informada (keyset)
+    // aposMatricula nula no primeiro lote
+    @Query("""
+            select c.matricula from ColaboradorEntity c
+            where (:cargo is null or c.cargo = :cargo)
+              and (:aposMatricula is null or c.matricula > :aposMatricula)
+            order by c.matricula
+            """)
+    List<UUID> listarMatriculas(@Param("cargo") String cargo, @Param("aposMatricula") UUID aposMatricula, Limit limite);
+
+    @Query("select count(c) from ColaboradorEntity c where :cargo is null or c.cargo = :cargo")
+    long contarColaboradores(@Param("cargo") String cargo);
 }
@@ -0,0 +1,17 @@
+package com.example.demo.colaborador.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Linha da consulta de colaboradores com as notas da avaliação comportamental (quando houver)
+public record ColaboradorResumoProjection(
+        UUID matricula,
+        String nome,
+        LocalDate dataAdmissao,
+        String cargo,
+        Long idAvaliacao,
+        Double notaAvaliacaoComportamental,
+        Double notaAprendizado,
+        Double notaTomadaDecisao,
+        Double notaAutonomia) {
+}
@@ -0,0 +1,19 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.model.ColaboradorEntity;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Fragmento do ColaboradorRepository para a versão do agregado (colaborador + avaliação + entregas)
+// e para a quantidade de entregas, que sempre muda junto com a versão
+public interface ColaboradorVersaoRepository {
+
+    void incrementarVersao(ColaboradorEntity colaborador);
+
+    int reservarEntrega(UUID matricula, int limite);
+
+    int liberarEntrega(UUID matricula);
+
+    int recontarEntregas(Collection<UUID> matriculas);
+}
@@ -0,0 +1,98 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.base.transacao.BloqueioCacheLinhas;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Os UPDATEs da versão e da quantidade de entregas são executados via JDBC, e não como atualização em massa do
+// JPQL: o Hibernate removeria a região inteira de colaboradores do cache de segundo nível a cada entrega cadastrada.
+// Somente as linhas alteradas são invalidadas no cache (BloqueioCacheLinhas)
+// Como o JDBC não passa pelo flush automático do Hibernate, o chamador envia antes as escritas pendentes das quais
+// o UPDATE depende (ex: entregas gravadas em lote antes de recontarEntregas)
+public class ColaboradorVersaoRepositoryImpl implements ColaboradorVersaoRepository {
+
+    private static final String RESERVAR_ENTREGA = """
+            update tb_colaborador
+            set quantidade_entregas = quantidade_entregas + 1, versao = versao + 1
+            where matricula = ? and quantidade_entregas < ?
+            """;
+
+    private static final String LIBERAR_ENTREGA = """
+            update tb_colaborador
+            set quantidade_entregas = quantidade_entregas - 1, versao = versao + 1
+            where matricula = ?
+            """;
+
+    private static final String RECONTAR_ENTREGAS = """
+            update tb_colaborador
+            set quantidade_entregas = (select count(*) from tb_entrega e where e.matricula = tb_colaborador.matricula),
+                versao = versao + 1
+            where matricula in (%s)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ColaboradorVersaoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Método que incrementa a versão de um colaborador já carregado na transação corrente
+    // Objetivo: mudar a ETag do colaborador quando a avaliação ou as entregas mudam, sem alterar as suas colunas
+    // O UPDATE da versão é executado no commit e falha (bloqueio otimista) se outra transação alterou o colaborador
+    @Override
+    public void incrementarVersao(ColaboradorEntity colaborador) {
+        entityManager.lock(colaborador, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    // Reserva a vaga de uma nova entrega em um único UPDATE condicional, que também incrementa a versão (ETag)
+    // A linha do colaborador fica bloqueada até o commit: um cadastro concorrente aguarda e reavalia a condição
+    // Resposta: 1 quando a vaga foi reservada, 0 quando o colaborador não existe ou já atingiu o limite
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reservarEntrega(UUID matricula, int limite) {
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, List.of(matricula));
+        return jdbcTemplate.update(RESERVAR_ENTREGA, matricula.toString(), limite);
+    }
+
+    // Libera a vaga de uma entrega excluída e incrementa a versão (ETag) do colaborador
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int liberarEntrega(UUID matricula) {
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, List.of(matricula));
+        return jdbcTemplate.update(LIBERAR_ENTREGA, matricula.toString());
+    }
+
+    // Recalcula a quantidade de entregas e incrementa a versão (ETag) de vários colaboradores em um único UPDATE
+    // Usado após gravações em lote, com as linhas dos colaboradores já bloqueadas (bloquearQuantidadesEntregas)
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recontarEntregas(Collection<UUID> matriculas) {
+        if (matriculas.isEmpty()) {
+            return 0;
+        }
+
+        BloqueioCacheLinhas.bloquear(entityManager, ColaboradorEntity.class, matriculas);
+        return jdbcTemplate.update(RECONTAR_ENTREGAS.formatted(parametros(matriculas)), textos(matriculas));
+    }
+
+    private static String parametros(Collection<UUID> matriculas) {
+        return String.join(", ", Collections.nCopies(matriculas.size(), "?"));
+    }
+
+    private static Object[] textos(Collection<UUID> matriculas) {
+        return matriculas.stream().map(UUID::toString).toArray();
+    }
+}
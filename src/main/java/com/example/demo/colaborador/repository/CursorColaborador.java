@@ -0,0 +1,10 @@
+package com.example.demo.colaborador.repository;
+
+import java.util.UUID;
+
+// Posição da última linha retornada em uma página (keyset)
+// O nome só é utilizado na ordenação por NOME
+public record CursorColaborador(
+        String nome,
+        UUID matricula) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.repository;
+
+import java.util.UUID;
+
+// Linha da consulta de entregas, com a matrícula do colaborador para o agrupamento
+public record EntregaResumoProjection(
+        UUID matricula,
+        Long id,
+        String descricao,
+        Double nota) {
+}
@@ -0,0 +1,12 @@
+package com.example.demo.colaborador.repository;
+
+// Ordenações suportadas pela listagem paginada de colaboradores
+// Cada ordenação possui uma chave única (keyset) para que a página seguinte comece exatamente após a última linha
+public enum OrdenacaoColaborador {
+
+    // Chave: matricula
+    MATRICULA,
+
+    // Chave: nome + matricula (a matrícula desempata colaboradores homônimos)
+    NOME
+}
@@ -0,0 +1,18 @@
+package com.example.demo.colaborador.repository;
+
+import java.util.UUID;
+
+// Linha agregada usada no cálculo da performance final:
+// cargo (distribuição de notas por cargo), notas da avaliação comportamental (quando houver), quantidade e soma das notas das entregas
+public record PerformanceColaboradorProjection(
+        UUID matricula,
+        String nome,
+        String cargo,
+        Long idAvaliacao,
+        Double notaAvaliacaoComportamental,
+        Double notaAprendizado,
+        Double notaTomadaDecisao,
+        Double notaAutonomia,
+        Long quantidadeEntregas,
+        Double somaNotasEntregas) {
+}
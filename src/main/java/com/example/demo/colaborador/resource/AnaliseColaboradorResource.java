@@ -0,0 +1,29 @@
+package com.example.demo.colaborador.resource;
+
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+import com.example.demo.colaborador.resource.json.AnalisePerformanceResponse;
+import com.example.demo.colaborador.service.AnaliseColaboradorService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/colaborador/analise")
+public class AnaliseColaboradorResource {
+
+    private final AnaliseColaboradorService analiseColaboradorService;
+
+    // Injeção de dependência de AnaliseColaboradorService
+    public AnaliseColaboradorResource(AnaliseColaboradorService analiseColaboradorService) {
+        this.analiseColaboradorService = analiseColaboradorService;
+    }
+
+    @GetMapping
+    public ResponseEntity<AnalisePerformanceResponse> analisarPerformance(
+            @RequestParam(value = "agrupamento", defaultValue = "CARGO") AgrupamentoAnalise agrupamento) {
+
+        return ResponseEntity.ok(analiseColaboradorService.analisarPerformance(agrupamento));
+    }
+}
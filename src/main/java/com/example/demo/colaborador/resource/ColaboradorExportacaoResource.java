@@ -0,0 +1,64 @@
+package com.example.demo.colaborador.resource;
+
+import com.example.demo.colaborador.service.ColaboradorExportacaoService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/colaborador/exportacao")
+public class ColaboradorExportacaoResource {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ColaboradorExportacaoService colaboradorExportacaoService;
+
+    // Injeção de dependência de ColaboradorExportacaoService
+    public ColaboradorExportacaoResource(ColaboradorExportacaoService colaboradorExportacaoService) {
+        this.colaboradorExportacaoService = colaboradorExportacaoService;
+    }
+
+    // Exporta todos os colaboradores em NDJSON (um colaborador por linha), escrevendo direto na resposta
+    // A resposta é comprimida com gzip quando o cliente aceitar (Accept-Encoding)
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportarColaboradores(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        var resposta = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!aceitaGzip(acceptEncoding)) {
+            return resposta.body(colaboradorExportacaoService::exportarColaboradores);
+        }
+
+        // syncFlush: cada flush do service envia os bytes já comprimidos, sem esperar o fim da exportação
+        return resposta
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(saida -> {
+                    try (var gzip = new GZIPOutputStream(saida, true)) {
+                        colaboradorExportacaoService.exportarColaboradores(gzip);
+                    }
+                });
+    }
+
+    // "gzip" presente no Accept-Encoding e não recusado com q=0
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(codificacao -> codificacao.replace(" ", "").toLowerCase())
+                .anyMatch(codificacao -> codificacao.startsWith("gzip")
+                        && !codificacao.matches("gzip;q=0(\\.0*)?"));
+    }
+}
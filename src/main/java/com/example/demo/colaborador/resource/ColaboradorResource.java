@@ -1,16 +1,25 @@
 package com.example.demo.colaborador.resource;
 
+import com.example.demo.colaborador.repository.OrdenacaoColaborador;
+import com.example.demo.colaborador.service.ColaboradorLoteService;
+import com.example.demo.colaborador.service.ColaboradorPerformanceLoteService;
 import com.example.demo.colaborador.service.ColaboradorService;
 import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
 import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import com.example.demo.colaborador.resource.json.ColaboradorLoteResponse;
+import com.example.demo.colaborador.resource.json.ColaboradorPaginaResponse;
+import com.example.demo.colaborador.resource.json.ColaboradorPerformanceLoteResponse;
 import com.example.demo.colaborador.resource.json.ColaboradorResponse;
 import com.example.demo.colaborador.resource.json.ColaboradorPerformanceResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 
 @RestController
@@ -19,9 +28,16 @@ public class ColaboradorResource {
 
     private final ColaboradorService colaboradorService;
 
-    // Injeção de dependência de ColaboradorService
-    public ColaboradorResource(ColaboradorService colaboradorService) {
+    private final ColaboradorLoteService colaboradorLoteService;
+
+    private final ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    // Injeção de dependência de ColaboradorService, ColaboradorLoteService e ColaboradorPerformanceLoteService
+    public ColaboradorResource(ColaboradorService colaboradorService, ColaboradorLoteService colaboradorLoteService,
+                               ColaboradorPerformanceLoteService colaboradorPerformanceLoteService) {
         this.colaboradorService = colaboradorService;
+        this.colaboradorLoteService = colaboradorLoteService;
+        this.colaboradorPerformanceLoteService = colaboradorPerformanceLoteService;
     }
 
     @PostMapping
@@ -32,23 +48,54 @@ public class ColaboradorResource {
         return ResponseEntity.created(URI.create("/api/v1/colaborador/" + matriculaColaborador.toString())).build();
     }
 
+    // Cadastro em lote: cada colaborador da lista passa pelas mesmas validações do cadastro individual
+    @PostMapping("/lote")
+    public ResponseEntity<ColaboradorLoteResponse> cadastrarColaboradoresEmLote(
+            @RequestBody List<@Valid ColaboradorCadastroRequest> colaboradores) {
+
+        var matriculas = colaboradorLoteService.cadastrarColaboradores(colaboradores);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ColaboradorLoteResponse(matriculas));
+    }
+
+    // Consulta condicional: a ETag (versão do colaborador) é lida antes dos dados. Se o cliente já possui a versão
+    // atual (If-None-Match), responde 304 sem montar nem serializar o DTO com avaliação e entregas
     @GetMapping("/{matricula}")
-    public ResponseEntity<ColaboradorResponse> consultarColaboradorPorMatricula(@PathVariable("matricula") String matricula) {
+    public ResponseEntity<ColaboradorResponse> consultarColaboradorPorMatricula(@PathVariable("matricula") String matricula,
+                                                                                WebRequest webRequest) {
+        var etagOpcional = colaboradorService.consultarEtagColaborador(matricula);
+
+        if (etagOpcional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        var etag = etagOpcional.get();
+
+        // Define o status 304 e o cabeçalho ETag na resposta
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // Lidos depois da ETag, os dados nunca são mais antigos que ela (no pior caso o cliente revalida de novo)
         var colaboradorOpcional = colaboradorService.consultarColaboradorPorMatricula(matricula);
 
         if (colaboradorOpcional.isPresent()) {
             var colaborador = colaboradorOpcional.get();
-            return ResponseEntity.ok(colaborador);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(colaborador);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<ColaboradorResponse>> listarColaboradores() {
-        var colaboradores = colaboradorService.listarColaboradores();
+    public ResponseEntity<ColaboradorPaginaResponse> listarColaboradores(
+            @RequestParam(value = "tamanho", required = false) Integer tamanho,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "ordenacao", defaultValue = "MATRICULA") OrdenacaoColaborador ordenacao) {
 
-        return ResponseEntity.ok(colaboradores);
+        var pagina = colaboradorService.listarColaboradores(tamanho, cursor, ordenacao);
+
+        return ResponseEntity.ok(pagina);
     }
 
     @GetMapping("/{matricula}/performance")
@@ -58,6 +105,15 @@ public class ColaboradorResource {
         return ResponseEntity.ok(resultado);
     }
 
+    // Consulta de performance em lote: um resultado por matrícula (performance ou erro), com as mesmas regras da
+    // consulta individual. A requisição só falha por inteiro quando a lista está vazia ou excede o máximo
+    @PostMapping("/performance:batch")
+    public ResponseEntity<ColaboradorPerformanceLoteResponse> calcularPerformancesFinais(@RequestBody List<String> matriculas) {
+        var resultados = colaboradorPerformanceLoteService.calcularPerformancesFinais(matriculas);
+
+        return ResponseEntity.ok(new ColaboradorPerformanceLoteResponse(resultados));
+    }
+
     @DeleteMapping("/{matricula}")
     public ResponseEntity<Void> deletarColaboradorPorMatricula(@PathVariable("matricula") String matricula) {
         colaboradorService.deletarColaboradorPorMatricula(matricula);
@@ -67,9 +123,10 @@ public class ColaboradorResource {
 
     @PatchMapping("/{matricula}")
     public ResponseEntity<Void> atualizarColaboradorPorMatricula(@PathVariable("matricula") String matricula,
-                                                                 @Valid @RequestBody ColaboradorAtualizaRequest colaboradorAtualizaRequest) {
+                                                                 @Valid @RequestBody ColaboradorAtualizaRequest colaboradorAtualizaRequest,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        colaboradorService.atualizaColaboradorPorMatricula(matricula, colaboradorAtualizaRequest);
+        colaboradorService.atualizaColaboradorPorMatricula(matricula, colaboradorAtualizaRequest, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
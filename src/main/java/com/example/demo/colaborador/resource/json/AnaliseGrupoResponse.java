@@ -0,0 +1,19 @@
+package com.example.demo.colaborador.resource.json;
+
+import java.math.BigDecimal;
+
+// Agregados de performance de um grupo de colaboradores (sem dados individuais)
+// Médias com 2 casas decimais; nulas quando nenhum colaborador do grupo possuir a nota
+// mediaNotaFinal, menorNotaFinal e maiorNotaFinal consideram somente os colaboradores elegíveis
+public record AnaliseGrupoResponse(
+        String grupo,
+        long totalColaboradores,
+        long colaboradoresAvaliados,
+        long colaboradoresElegiveis,
+        BigDecimal mediaComportamental,
+        BigDecimal mediaEntregas,
+        BigDecimal mediaNotaFinal,
+        BigDecimal menorNotaFinal,
+        BigDecimal maiorNotaFinal
+) {
+}
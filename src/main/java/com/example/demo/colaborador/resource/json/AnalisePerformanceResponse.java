@@ -0,0 +1,12 @@
+package com.example.demo.colaborador.resource.json;
+
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+
+import java.util.List;
+
+// Análise de performance agrupada por cargo, ano ou trimestre de admissão
+public record AnalisePerformanceResponse(
+        AgrupamentoAnalise agrupamento,
+        List<AnaliseGrupoResponse> grupos
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.demo.colaborador.resource.json;
+
+import java.util.List;
+import java.util.UUID;
+
+// Matrículas geradas no cadastro em lote, na mesma ordem dos colaboradores enviados
+public record ColaboradorLoteResponse(List<UUID> matriculas) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.resource.json;
+
+import java.util.List;
+
+// Página da listagem de colaboradores
+// proximoCursor é nulo quando não há mais páginas
+public record ColaboradorPaginaResponse(
+        List<ColaboradorResponse> colaboradores,
+        String proximoCursor
+) {
+}
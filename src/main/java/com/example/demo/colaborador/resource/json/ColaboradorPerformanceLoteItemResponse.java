@@ -0,0 +1,11 @@
+package com.example.demo.colaborador.resource.json;
+
+// Resultado da consulta de performance em lote para uma matrícula: status HTTP que a consulta individual
+// (GET /{matricula}/performance) responderia e, conforme o status, a performance ou a mensagem de erro
+public record ColaboradorPerformanceLoteItemResponse(
+        String matricula,
+        int status,
+        ColaboradorPerformanceResponse performance,
+        String erro
+) {
+}
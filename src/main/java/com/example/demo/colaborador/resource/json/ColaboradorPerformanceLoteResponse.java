@@ -0,0 +1,7 @@
+package com.example.demo.colaborador.resource.json;
+
+import java.util.List;
+
+// Resultados da consulta de performance em lote, na mesma ordem das matrículas enviadas
+public record ColaboradorPerformanceLoteResponse(List<ColaboradorPerformanceLoteItemResponse> resultados) {
+}
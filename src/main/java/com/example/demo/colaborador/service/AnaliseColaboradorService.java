@@ -0,0 +1,66 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+import com.example.demo.colaborador.repository.AnaliseGrupoProjection;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.resource.json.AnaliseGrupoResponse;
+import com.example.demo.colaborador.resource.json.AnalisePerformanceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Service
+public class AnaliseColaboradorService {
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
+    private static final Logger logger = LoggerFactory.getLogger(AnaliseColaboradorService.class);
+
+    // Injeção de dependência da classe ColaboradorRepository
+    public AnaliseColaboradorService(ColaboradorRepository colaboradorRepository,
+                                     FormulaPerformanceService formulaPerformanceService) {
+        this.colaboradorRepository = colaboradorRepository;
+        this.formulaPerformanceService = formulaPerformanceService;
+    }
+
+    // Método que analisa a performance dos colaboradores por grupo
+    // Objetivo: entregar contagens, médias, menor e maior nota final por grupo, com a agregação feita no banco
+    // e os pesos da fórmula de performance em uso
+    // Parâmetros: agrupamento (cargo, ano ou trimestre de admissão)
+    // Resposta: AnalisePerformanceResponse com um item por grupo, sem dados individuais dos colaboradores
+    @Transactional(readOnly = true)
+    public AnalisePerformanceResponse analisarPerformance(AgrupamentoAnalise agrupamento) {
+        var grupos = colaboradorRepository
+                .agruparPerformance(agrupamento, formulaPerformanceService.formulaAtual()).stream()
+                .map(this::formatarGrupo)
+                .toList();
+
+        logger.info("Análise de performance por {} concluída com {} grupos", agrupamento, grupos.size());
+        return new AnalisePerformanceResponse(agrupamento, grupos);
+    }
+
+    private AnaliseGrupoResponse formatarGrupo(AnaliseGrupoProjection grupo) {
+        return new AnaliseGrupoResponse(
+                grupo.grupo(),
+                grupo.totalColaboradores(),
+                grupo.colaboradoresAvaliados(),
+                grupo.colaboradoresElegiveis(),
+                arredondar(grupo.mediaComportamental()),
+                arredondar(grupo.mediaEntregas()),
+                arredondar(grupo.mediaNotaFinal()),
+                arredondar(grupo.menorNotaFinal()),
+                arredondar(grupo.maiorNotaFinal()));
+    }
+
+    // Mesmo arredondamento das médias da performance individual (2 casas, HALF_UP)
+    private BigDecimal arredondar(Double valor) {
+        return valor == null ? null : BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
+import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.repository.ColaboradorExportacaoProjection;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+public class ColaboradorExportacaoService {
+
+    private final ColaboradorRepository colaboradorRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaboradorExportacaoService.class);
+
+    // A cada quantos colaboradores o buffer é enviado ao cliente
+    static final int COLABORADORES_POR_FLUSH = 100;
+
+    public ColaboradorExportacaoService(ColaboradorRepository colaboradorRepository, ObjectMapper objectMapper,
+                                        FormulaPerformanceService formulaPerformanceService) {
+        this.colaboradorRepository = colaboradorRepository;
+        this.objectMapper = objectMapper;
+        this.formulaPerformanceService = formulaPerformanceService;
+    }
+
+    // Método que exporta todos os colaboradores em NDJSON (um objeto JSON por linha)
+    // Objetivo: escrever cada colaborador assim que as suas linhas chegam do cursor do banco, sem montar a lista
+    // inteira em memória (a memória usada não cresce com o tamanho da tabela)
+    // Parâmetros: OutputStream da resposta HTTP
+    // Resposta: quantidade de colaboradores exportados
+    @Transactional(readOnly = true)
+    public long exportarColaboradores(OutputStream saida) throws IOException {
+        logger.debug("Iniciando a exportação de colaboradores");
+
+        long exportados = 0;
+        // Uma única versão da fórmula para toda a exportação, mesmo que ela seja trocada durante a escrita
+        var formula = formulaPerformanceService.formulaAtual();
+
+        // O gerador não fecha a saída: quem abriu (resource) é responsável por ela
+        try (var linhas = colaboradorRepository.exportarColaboradores();
+             JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+            Iterator<ColaboradorExportacaoProjection> iterador = linhas.iterator();
+            ColaboradorExportacaoProjection linha = iterador.hasNext() ? iterador.next() : null;
+
+            while (linha != null) {
+                // Agrupa as linhas consecutivas do mesmo colaborador (uma por entrega)
+                var primeiraLinha = linha;
+                List<EntregaResponse> entregas = new ArrayList<>();
+
+                while (linha != null && linha.matricula().equals(primeiraLinha.matricula())) {
+                    if (linha.idEntrega() != null) {
+                        entregas.add(new EntregaResponse(linha.idEntrega(), linha.descricaoEntrega(), linha.notaEntrega()));
+                    }
+                    linha = iterador.hasNext() ? iterador.next() : null;
+                }
+
+                objectMapper.writeValue(gerador, montarResposta(primeiraLinha, entregas, formula));
+                gerador.writeRaw('\n');
+                exportados++;
+
+                // O primeiro colaborador é enviado imediatamente; depois, a cada COLABORADORES_POR_FLUSH
+                if (exportados == 1 || exportados % COLABORADORES_POR_FLUSH == 0) {
+                    gerador.flush();
+                }
+            }
+        }
+
+        logger.info("Exportação finalizada: {} colaboradores exportados", exportados);
+        return exportados;
+    }
+
+    private ColaboradorResponse montarResposta(ColaboradorExportacaoProjection colaborador, List<EntregaResponse> entregas,
+                                               FormulaPerformance formula) {
+        return new ColaboradorResponse(
+                colaborador.matricula(),
+                colaborador.nome(),
+                colaborador.dataAdmissao(),
+                colaborador.cargo(),
+                formatarAvaliacao(colaborador, formula),
+                entregas
+        );
+    }
+
+    // Calcula a média das 4 notas da avaliação com os pesos da fórmula em uso, em centésimos (mesma regra da
+    // listagem e da consulta de colaboradores)
+    private AvaliacaoComportamentoResponse formatarAvaliacao(ColaboradorExportacaoProjection colaborador,
+                                                             FormulaPerformance formula) {
+        if (colaborador.idAvaliacao() == null) {
+            return null;
+        }
+
+        int media = formula.mediaComportamental(
+                colaborador.notaAvaliacaoComportamental(),
+                colaborador.notaAprendizado(),
+                colaborador.notaTomadaDecisao(),
+                colaborador.notaAutonomia());
+
+        return new AvaliacaoComportamentoResponse(
+                colaborador.notaAvaliacaoComportamental(),
+                colaborador.notaAprendizado(),
+                colaborador.notaTomadaDecisao(),
+                colaborador.notaAutonomia(),
+                NotaCentesimos.paraBigDecimal(media)
+        );
+    }
+}
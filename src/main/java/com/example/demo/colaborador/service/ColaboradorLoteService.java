@@ -0,0 +1,77 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.repository.ColaboradorLoteRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class ColaboradorLoteService {
+
+    private final ColaboradorLoteRepository colaboradorLoteRepository;
+
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    private final int tamanhoLote;
+
+    private final int quantidadeMaxima;
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaboradorLoteService.class);
+
+    public ColaboradorLoteService(ColaboradorLoteRepository colaboradorLoteRepository,
+                                  PerformanceColaboradorService performanceColaboradorService,
+                                  @Value("${colaborador.cadastro-lote.tamanho-lote:500}") int tamanhoLote,
+                                  @Value("${colaborador.cadastro-lote.quantidade-maxima:10000}") int quantidadeMaxima) {
+        this.colaboradorLoteRepository = colaboradorLoteRepository;
+        this.performanceColaboradorService = performanceColaboradorService;
+        this.tamanhoLote = tamanhoLote;
+        this.quantidadeMaxima = quantidadeMaxima;
+    }
+
+    // Método que cadastra vários colaboradores de uma vez (onboarding)
+    // Objetivo: substituir N chamadas ao cadastro individual por INSERTs agrupados em lotes JDBC, em uma única transação
+    // (ou todos os colaboradores são cadastrados, ou nenhum)
+    // Parâmetros: lista de ColaboradorCadastroRequest já validados na camada resource
+    // Resposta: matrículas geradas, na mesma ordem da lista recebida
+    @Transactional
+    public List<UUID> cadastrarColaboradores(List<ColaboradorCadastroRequest> colaboradores) {
+        if (colaboradores.isEmpty()) {
+            throw new NegocioException("Informe pelo menos um colaborador para o cadastro em lote");
+        }
+
+        if (colaboradores.size() > quantidadeMaxima) {
+            throw new NegocioException("O cadastro em lote aceita no máximo " + quantidadeMaxima + " colaboradores por requisição");
+        }
+
+        logger.debug("Iniciando o cadastro em lote de {} colaboradores", colaboradores.size());
+
+        // As matrículas são geradas aqui (UUID aleatório, como no cadastro individual) para que o INSERT
+        // não precise devolver chaves geradas e a ordem da resposta seja a mesma da requisição
+        List<UUID> matriculas = new ArrayList<>(colaboradores.size());
+        for (int i = 0; i < colaboradores.size(); i++) {
+            matriculas.add(UUID.randomUUID());
+        }
+
+        colaboradorLoteRepository.inserirEmLote(matriculas, colaboradores, tamanhoLote);
+
+        Map<UUID, String> cargos = HashMap.newHashMap(matriculas.size());
+        for (int i = 0; i < matriculas.size(); i++) {
+            cargos.put(matriculas.get(i), colaboradores.get(i).cargo());
+        }
+        performanceColaboradorService.registrarCadastroLote(cargos);
+
+        logger.info("Cadastro em lote de {} colaboradores finalizado com sucesso", matriculas.size());
+        return matriculas;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.resource.json.ColaboradorPerformanceLoteItemResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class ColaboradorPerformanceLoteService {
+
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    private final ColaboradorService colaboradorService;
+
+    private final int tamanhoLote;
+
+    private final int quantidadeMaxima;
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaboradorPerformanceLoteService.class);
+
+    public ColaboradorPerformanceLoteService(PerformanceColaboradorService performanceColaboradorService,
+                                             ColaboradorService colaboradorService,
+                                             @Value("${colaborador.performance-lote.tamanho-lote:1000}") int tamanhoLote,
+                                             @Value("${colaborador.performance-lote.quantidade-maxima:10000}") int quantidadeMaxima) {
+        this.performanceColaboradorService = performanceColaboradorService;
+        this.colaboradorService = colaboradorService;
+        this.tamanhoLote = tamanhoLote;
+        this.quantidadeMaxima = quantidadeMaxima;
+    }
+
+    // Método que consulta a performance final de vários colaboradores de uma vez (integração da folha de pagamento)
+    // Objetivo: substituir N chamadas à consulta individual por poucas consultas com IN, em lotes de tamanhoLote
+    // matrículas distintas. Cada matrícula recebe o mesmo resultado da consulta individual: a performance (200),
+    // colaborador não encontrado (404) ou avaliação/entregas insuficientes (400)
+    // Parâmetros: matrículas dos colaboradores (repetidas são consultadas uma única vez)
+    // Resposta: um resultado por matrícula, na mesma ordem da lista recebida
+    public List<ColaboradorPerformanceLoteItemResponse> calcularPerformancesFinais(List<String> matriculas) {
+        if (matriculas.isEmpty()) {
+            throw new NegocioException("Informe pelo menos uma matrícula para a consulta de performance em lote");
+        }
+
+        if (matriculas.size() > quantidadeMaxima) {
+            throw new NegocioException("A consulta de performance em lote aceita no máximo " + quantidadeMaxima + " matrículas por requisição");
+        }
+
+        logger.debug("Iniciando a consulta de performance em lote de {} matrículas", matriculas.size());
+
+        Map<String, UUID> matriculasValidas = new HashMap<>();
+        var distintas = new LinkedHashSet<UUID>();
+        for (String matricula : matriculas) {
+            var matriculaUUID = converter(matricula);
+            if (matriculaUUID != null) {
+                matriculasValidas.put(matricula, matriculaUUID);
+                distintas.add(matriculaUUID);
+            }
+        }
+
+        Map<UUID, PerformanceColaboradorResumo> performances = new HashMap<>();
+        List<UUID> lote = new ArrayList<>(Math.min(tamanhoLote, distintas.size()));
+        for (UUID matricula : distintas) {
+            lote.add(matricula);
+            if (lote.size() == tamanhoLote) {
+                performances.putAll(performanceColaboradorService.consultarPerformances(lote));
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            performances.putAll(performanceColaboradorService.consultarPerformances(lote));
+        }
+
+        List<ColaboradorPerformanceLoteItemResponse> resultados = new ArrayList<>(matriculas.size());
+        for (String matricula : matriculas) {
+            resultados.add(montarResultado(matricula, matriculasValidas.get(matricula), performances));
+        }
+
+        logger.info("Consulta de performance em lote de {} matrículas finalizada com sucesso", matriculas.size());
+        return resultados;
+    }
+
+    // Método que consulta a performance final de um lote de matrículas já validadas e distintas
+    // Objetivo: uma única consulta de performance (consultarPerformances) para o lote inteiro, com as mesmas regras
+    // de calcularPerformancesFinais; usado pelo relatório de performance, que percorre os colaboradores em lotes
+    // Parâmetros: matrículas, limitadas pelo chamador ao tamanho do lote
+    // Resposta: um resultado por matrícula, na mesma ordem da lista recebida
+    public List<ColaboradorPerformanceLoteItemResponse> consultarLote(List<UUID> matriculas) {
+        var performances = performanceColaboradorService.consultarPerformances(matriculas);
+
+        return matriculas.stream()
+                .map(matricula -> montarResultado(matricula.toString(), matricula, performances))
+                .toList();
+    }
+
+    private ColaboradorPerformanceLoteItemResponse montarResultado(String matricula, UUID matriculaUUID,
+                                                                   Map<UUID, PerformanceColaboradorResumo> performances) {
+        if (matriculaUUID == null) {
+            return erro(matricula, HttpStatus.BAD_REQUEST, "Matrícula inválida");
+        }
+
+        var performance = performances.get(matriculaUUID);
+        if (performance == null) {
+            return erro(matricula, HttpStatus.NOT_FOUND, "Colaborador não encontrado");
+        }
+
+        // Mesmas regras (e mensagens) da consulta individual
+        try {
+            return new ColaboradorPerformanceLoteItemResponse(matricula, HttpStatus.OK.value(),
+                    colaboradorService.montarPerformance(performance), null);
+        } catch (NegocioException ex) {
+            return erro(matricula, HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private static ColaboradorPerformanceLoteItemResponse erro(String matricula, HttpStatus status, String mensagem) {
+        return new ColaboradorPerformanceLoteItemResponse(matricula, status.value(), null, mensagem);
+    }
+
+    private static UUID converter(String matricula) {
+        if (matricula == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(matricula);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -4,18 +4,25 @@ import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamen
 import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
 import com.example.demo.colaborador.resource.json.*;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.base.http.EtagVersao;
 import com.example.demo.base.exception.ResourceNotFoundException;
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import com.example.demo.colaborador.model.ColaboradorEntity;
-import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.repository.CursorColaborador;
+import com.example.demo.colaborador.repository.OrdenacaoColaborador;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,11 +33,25 @@ public class ColaboradorService {
 
     private final ColaboradorRepository colaboradorRepository;
 
+    private final PerformanceColaboradorService performanceColaboradorService;
+
+    private final FormulaPerformanceService formulaPerformanceService;
+
     private static final Logger logger = LoggerFactory.getLogger(ColaboradorService.class);
 
+    static final int TAMANHO_PADRAO_PAGINA = 20;
+
+    static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private static final char SEPARADOR_CURSOR = '\n';
+
     //Injeção de dependência da classe ColaboradorRepository
-    public ColaboradorService(ColaboradorRepository colaboradorRepository) {
+    public ColaboradorService(ColaboradorRepository colaboradorRepository,
+                              PerformanceColaboradorService performanceColaboradorService,
+                              FormulaPerformanceService formulaPerformanceService) {
         this.colaboradorRepository = colaboradorRepository;
+        this.performanceColaboradorService = performanceColaboradorService;
+        this.formulaPerformanceService = formulaPerformanceService;
     }
 
     // Método que cadastra um colaborador no banco de dados
@@ -48,6 +69,9 @@ public class ColaboradorService {
 
         var colaboradorSalvo = colaboradorRepository.save(colaborador);
 
+        // Cria o registro materializado de performance (sem avaliação e sem entregas)
+        performanceColaboradorService.inicializar(colaboradorSalvo.getMatricula(), colaboradorSalvo.getCargo());
+
         return colaboradorSalvo.getMatricula();
     }
 
@@ -63,17 +87,49 @@ public class ColaboradorService {
                 // O map retorna um Optional se o colaborador não existir
     }
 
-    // Método que lista todos os colaboradores cadastrados no banco de dados
-    // Objetivo: listar colaboradores
-    // Parâmetros: nenhum (somente listagem)
-    // Resposta: List<ColaboradorResponse> lista de colaboradores formatada a ser retornada via JSON.
+    // Método que consulta somente a ETag (versão) de um colaborador
+    // Objetivo: responder If-None-Match com 304 sem montar o DTO com avaliação e entregas
+    // A busca pela chave primária é atendida pelo cache de segundo nível, normalmente sem SQL
+    // Parâmetros: matrícula do colaborador
+    // Resposta: Optional<String> com a ETag ou um Optional vazio se o colaborador não existir
     @Transactional(readOnly = true)
-    public List<ColaboradorResponse> listarColaboradores() {
-        return colaboradorRepository.findAll() // Retorna uma lista de objetos do tipo ColaboradorEntity
-                .stream() // Converte a List<ColaboradorEntity> em um Stream<ColaboradorEntity>
-                // Stream -> Sequência de elementos que permite realizar operações complexas de forma declarativa
-                .map(this::formatarJsonDTO) // Aplica o método formatarJsonDTO para cada linha do stream, retornando uma lista de ColaboradorResponse
-                .collect(Collectors.toList()); // Pega todos os itens do stream e os agrupa em uma List<ColaboradorResponse>
+    public Optional<String> consultarEtagColaborador(String matricula) {
+        return colaboradorRepository
+                .findById(UUID.fromString(matricula))
+                .map(ColaboradorService::gerarEtag);
+    }
+
+    // Método que lista os colaboradores cadastrados no banco de dados, uma página por vez (keyset)
+    // Objetivo: listar colaboradores sem carregar a tabela inteira em memória
+    // Parâmetros: tamanho da página (limitado a TAMANHO_MAXIMO_PAGINA), cursor opaco retornado pela página anterior
+    // (nulo na primeira página) e a ordenação (MATRICULA ou NOME)
+    // Resposta: ColaboradorPaginaResponse com os colaboradores da página e o cursor da próxima (nulo na última página)
+    @Transactional(readOnly = true)
+    public ColaboradorPaginaResponse listarColaboradores(Integer tamanhoPagina, String cursor, OrdenacaoColaborador ordenacao) {
+        int limite = tamanhoPagina == null ? TAMANHO_PADRAO_PAGINA : tamanhoPagina;
+
+        if (limite < 1 || limite > TAMANHO_MAXIMO_PAGINA) {
+            throw new NegocioException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+
+        logger.debug("Listando página de colaboradores [ordenacao={}, tamanho={}]", ordenacao, limite);
+
+        // Busca uma linha a mais para saber se existe próxima página sem executar um COUNT
+        // A montagem é feita por projeção no repositório (quantidade fixa de consultas),
+        // evitando carregar avaliação e entregas de cada colaborador separadamente (N+1)
+        List<ColaboradorResponse> colaboradores = colaboradorRepository
+                .listarPaginaColaboradoresResponse(ordenacao, decodificarCursor(cursor), limite + 1,
+                        formulaPerformanceService.formulaAtual());
+
+        String proximoCursor = null;
+
+        if (colaboradores.size() > limite) {
+            colaboradores = colaboradores.subList(0, limite);
+            proximoCursor = codificarCursor(colaboradores.getLast());
+        }
+
+        logger.info("Página com {} colaboradores listada com sucesso", colaboradores.size());
+        return new ColaboradorPaginaResponse(colaboradores, proximoCursor);
     }
 
     // Método que exclui um colaborador do banco de dados
@@ -88,43 +144,43 @@ public class ColaboradorService {
         var colaborador = colaboradorRepository.findById(matriculaUUID)
                 .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
 
+        // O registro de performance referencia o colaborador e precisa ser removido antes
+        performanceColaboradorService.excluir(matriculaUUID);
         colaboradorRepository.delete(colaborador);
         logger.info("Colaborador deletado com sucesso");
     }
 
     // Método que atualiza as informações dos colaboradores parcial ou totalmente, realizando validações (PATCH)
     // Objetivo: atualizar as informações do colaborador
-    // Parâmetros: matrícula do colaborador a ser atualizado e record do tipo ColaboradorAtualizaRequest com as
-    // informações a serem atualizadas
+    // Parâmetros: matrícula do colaborador a ser atualizado, record do tipo ColaboradorAtualizaRequest com as
+    // informações a serem atualizadas e o cabeçalho If-Match (nulo quando a atualização não é condicional)
     // Resposta: void (somente atualiza as informações no banco de dados utilizando a interface repository).
     @Transactional
-    public void atualizaColaboradorPorMatricula(String matricula, ColaboradorAtualizaRequest colaboradorAtualizaRequest) {
+    public void atualizaColaboradorPorMatricula(String matricula, ColaboradorAtualizaRequest colaboradorAtualizaRequest,
+                                                String ifMatch) {
         var matriculaUUID = UUID.fromString(matricula);
 
         logger.debug("Iniciando a atualização do colaborador de matrícula '{}'", matricula);
 
-        var colaborador = colaboradorRepository.findById(matriculaUUID)
-                .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
-
-        logger.debug("Colaborador encontrado. Iniciando atualização das notas");
+        // Um único UPDATE com as colunas informadas; a existência e o If-Match são verificados no WHERE
+        int atualizados = colaboradorRepository.atualizarParcial(matriculaUUID, colaboradorAtualizaRequest,
+                EtagVersao.versoesIfMatch(ifMatch));
 
-        if (colaboradorAtualizaRequest.nome() != null) {
-            colaborador.setNome(colaboradorAtualizaRequest.nome());
-            logger.debug("Nome atualizado com sucesso");
-        }
+        // Nenhuma linha atualizada: a consulta de existência diferencia o 404 da versão desatualizada (412)
+        if (atualizados == 0) {
+            if (!colaboradorRepository.existsById(matriculaUUID)) {
+                throw new ResourceNotFoundException("Colaborador não encontrado");
+            }
 
-        if (colaboradorAtualizaRequest.dataAdmissao() != null) {
-            colaborador.setDataAdmissao(colaboradorAtualizaRequest.dataAdmissao());
-            logger.debug("Data de admissão atualizada com sucesso");
+            logger.warn("If-Match não corresponde à versão atual do colaborador de matrícula '{}'", matricula);
+            throw new PreCondicaoFalhouException("O colaborador foi alterado desde a última consulta");
         }
 
         if (colaboradorAtualizaRequest.cargo() != null) {
-            colaborador.setCargo(colaboradorAtualizaRequest.cargo());
+            performanceColaboradorService.registrarCargo(matriculaUUID, colaboradorAtualizaRequest.cargo());
             logger.debug("Cargo atualizado com sucesso");
         }
 
-        // Realiza a operação de update daquele colaborador específico
-        colaboradorRepository.save(colaborador);
         logger.info("Atualização do colaborador finalizada com sucesso");
     }
 
@@ -138,65 +194,77 @@ public class ColaboradorService {
 
         logger.debug("Iniciando o cálculo de performance final do colaborador de matrícula '{}'", matricula);
 
-        var colaborador = colaboradorRepository.findById(matriculaUUID)
+        // Registro materializado de performance (busca pela chave primária), mantido pelas escritas de entregas e avaliação
+        var performance = performanceColaboradorService.consultarPerformance(matriculaUUID)
                 .orElseThrow(() -> new ResourceNotFoundException("Colaborador não encontrado"));
 
-        logger.debug("Colaborador encontrado. Buscando avaliação.");
+        var resposta = montarPerformance(performance);
+
+        logger.info("Nota final de performance consultada com sucesso");
 
-        var avaliacaoComportamento = colaborador.getAvaliacaoComportamento();
+        return resposta;
+    }
+
+    // Regras do cálculo da performance final sobre o registro de um colaborador existente, compartilhadas com a
+    // consulta em lote (ColaboradorPerformanceLoteService) para que as duas respondam exatamente igual
+    ColaboradorPerformanceResponse montarPerformance(PerformanceColaboradorResumo performance) {
+        logger.debug("Colaborador encontrado. Verificando avaliação.");
 
-        if (avaliacaoComportamento == null) {
+        if (!performance.avaliacaoRealizada()) {
             logger.warn("Avaliação comportamental não encontrada");
             throw new NegocioException("Avaliação comportamental não foi realizada.");
         }
 
         logger.debug("Avaliação encontrada.");
 
-
-        logger.debug("Obtendo lista de entregas do colaborador");
-        List<EntregaEntity> entregases = colaborador.getEntregas();
-
-        logger.debug("Lista de entregas encontrada.");
-
         // O usuário só pode pedir o cálculo da performance final depois
         // que ele já tiver cadastrado pelo menos 2 entregas.
-        if (entregases.size() < 2) {
+        if (performance.quantidadeEntregas() < 2) {
             logger.warn("O colaborador possui menos de 2 entregas. O cálculo não será possível");
             throw new NegocioException("Colaborador deve ter no minimo 2 entregas cadastradas.");
         }
 
-        BigDecimal somaAvaliacaoComportamento = BigDecimal.valueOf(avaliacaoComportamento.getNotaAvaliacaoComportamental())
-                        .add(BigDecimal.valueOf(avaliacaoComportamento.getNotaAprendizado()))
-                        .add(BigDecimal.valueOf(avaliacaoComportamento.getNotaTomadaDecisao()))
-                        .add(BigDecimal.valueOf(avaliacaoComportamento.getNotaAutonomia()));
+        // Médias e nota final já calculadas (fórmula em uso, 2 casas com HALF_UP) no registro materializado, em centésimos
+        var mediasDTO = new ColaboradorMediaPerformanceResponse(
+                NotaCentesimos.paraBigDecimal(performance.mediaComportamental()),
+                NotaCentesimos.paraBigDecimal(performance.mediaEntregas()),
+                NotaCentesimos.paraBigDecimal(performance.notaFinal())
+        );
 
-        // Fórmula (n1 + n2 + n3 + n4) / 4 [Regra de negócio sem peso na notas]
-        BigDecimal mediaComportamental = somaAvaliacaoComportamento.divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP);
+        return new ColaboradorPerformanceResponse(
+                performance.matricula(),
+                performance.nome(),
+                mediasDTO
+        );
+    }
 
-        logger.debug("Média de notas comportamentais calculada com sucesso");
+    // ETag do colaborador: a versão do agregado muda também com a avaliação e as entregas
+    public static String gerarEtag(ColaboradorEntity colaborador) {
+        return EtagVersao.gerar(colaborador.getMatricula(), colaborador.getVersao());
+    }
 
-        BigDecimal somaEntregas = BigDecimal.ZERO;
+    // Método que gera o cursor opaco da próxima página a partir da última linha retornada
+    // O cursor carrega a chave completa (nome + matrícula) e serve para as duas ordenações
+    private String codificarCursor(ColaboradorResponse ultimoColaborador) {
+        String chave = ultimoColaborador.nome() + SEPARADOR_CURSOR + ultimoColaborador.matricula();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
 
-        for (EntregaEntity entregaEntity : entregases) {
-            somaEntregas = somaEntregas.add(BigDecimal.valueOf(entregaEntity.getNota()));
+    // Método que interpreta o cursor recebido do cliente
+    // Resposta: CursorColaborador com a posição da última linha da página anterior ou nulo na primeira página
+    private CursorColaborador decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
         }
 
-        BigDecimal mediaEntregas = somaEntregas.divide(new BigDecimal(entregases.size()), 2, RoundingMode.HALF_UP);
+        try {
+            String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = chave.lastIndexOf(SEPARADOR_CURSOR);
 
-        logger.debug("Média de notas das entregas calculada com sucesso");
-
-        // Sem peso em cada média por regra de negócio
-        BigDecimal notaFinal = mediaEntregas.add(mediaComportamental);
-
-        var mediasDTO = new ColaboradorMediaPerformanceResponse(mediaComportamental, mediaEntregas, notaFinal);
-
-        logger.info("Nota final de performance calculada com sucesso");
-
-        return new ColaboradorPerformanceResponse(
-                colaborador.getMatricula(),
-                colaborador.getNome(),
-                mediasDTO
-        );
+            return new CursorColaborador(chave.substring(0, separador), UUID.fromString(chave.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new NegocioException("Cursor de paginação inválido");
+        }
     }
 
     // Método que formata o JSON de resposta gerado pela consulta de colaboradores
@@ -204,7 +272,8 @@ public class ColaboradorService {
     // + tornar o JSON mais agradável e legível
     // Parâmetros: objeto do tipo Colaborador cadastrado no banco de dados
     // Retorno: objeto do tipo ColaboradorResponse utilizado pela ResponseEntity na classe ColaboradorResource
-    private ColaboradorResponse formatarJsonDTO(ColaboradorEntity colaboradorEntity) {
+    // Visível no pacote para o benchmark JMH (src/jmh)
+    ColaboradorResponse formatarJsonDTO(ColaboradorEntity colaboradorEntity) {
         logger.debug("Iniciando a montagem do JSON de resposta para a Controller");
 
         AvaliacaoComportamentoResponse notas = null;
@@ -215,12 +284,11 @@ public class ColaboradorService {
         logger.debug("Avaliações encontradas com sucesso");
 
         if (avaliacao != null) {
-            BigDecimal soma = BigDecimal.valueOf(avaliacao.getNotaAvaliacaoComportamental())
-                    .add(BigDecimal.valueOf(avaliacao.getNotaAprendizado()))
-                    .add(BigDecimal.valueOf(avaliacao.getNotaTomadaDecisao()))
-                    .add(BigDecimal.valueOf(avaliacao.getNotaAutonomia()));
-
-            BigDecimal media = soma.divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP);
+            int media = formulaPerformanceService.formulaAtual().mediaComportamental(
+                    avaliacao.getNotaAvaliacaoComportamental(),
+                    avaliacao.getNotaAprendizado(),
+                    avaliacao.getNotaTomadaDecisao(),
+                    avaliacao.getNotaAutonomia());
 
             logger.debug("Média das avaliações calculada com sucesso");
 
@@ -229,7 +297,7 @@ public class ColaboradorService {
                     avaliacao.getNotaAprendizado(),
                     avaliacao.getNotaTomadaDecisao(),
                     avaliacao.getNotaAutonomia(),
-                    media
+                    NotaCentesimos.paraBigDecimal(media)
             );
             logger.debug("DTO de resposta da avaliação comportamental montado com sucesso");
         }
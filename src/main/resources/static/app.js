@@ -1,23 +1,32 @@
 document.addEventListener('DOMContentLoaded', () => {
+    document.getElementById('carregar-mais').addEventListener('click', () => fetchColaboradores(proximoCursor));
     fetchColaboradores();
 });
 
 const API_URL = 'http://localhost:8080/api/v1/colaborador';
 
-async function fetchColaboradores() {
+// Cursor da próxima página retornado pela API (null quando não há mais colaboradores)
+let proximoCursor = null;
+
+async function fetchColaboradores(cursor = null) {
     const loading = document.getElementById('loading');
     const listaContainer = document.getElementById('colaborador-lista');
+    const carregarMais = document.getElementById('carregar-mais');
 
     try {
-        const response = await fetch(API_URL);
+        const url = cursor ? `${API_URL}?ordenacao=NOME&cursor=${encodeURIComponent(cursor)}` : `${API_URL}?ordenacao=NOME`;
+        const response = await fetch(url);
         if (!response.ok) {
             throw new Error('Não foi possível carregar os dados da API.');
         }
-        const colaboradores = await response.json();
+        const pagina = await response.json();
+        const colaboradores = pagina.colaboradores;
 
         loading.style.display = 'none';
+        proximoCursor = pagina.proximoCursor;
+        carregarMais.style.display = proximoCursor ? 'block' : 'none';
 
-        if (colaboradores.length === 0) {
+        if (colaboradores.length === 0 && !cursor) {
             listaContainer.innerHTML = '<p>Nenhum colaborador cadastrado.</p>';
             return;
         }
@@ -39,6 +48,7 @@ async function fetchColaboradores() {
 
     } catch (error) {
         loading.style.display = 'none';
+        carregarMais.style.display = 'none';
         listaContainer.innerHTML = `<p style="color: red;">${error.message}</p>`;
         console.error('Erro ao buscar colaboradores:', error);
     }
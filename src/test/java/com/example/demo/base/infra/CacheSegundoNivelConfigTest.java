@@ -0,0 +1,273 @@
+package com.example.demo.base.infra;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoAtualizaRequest;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
+import com.example.demo.colaborador.avaliacao.service.AvaliacaoComportamentoService;
+import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest;
+import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
+import com.example.demo.colaborador.entrega.service.EntregaService;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.service.DistribuicaoNotasService;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.performance.service.RankingPerformanceService;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cada operação roda na sua própria transação confirmada (o cache só é atualizado no commit)
+// Nome próprio do CacheManager: os MBeans de estatística são globais na JVM e compartilhados entre contextos de teste
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "colaborador.cache.nome=cache-segundo-nivel-teste"
+})
+@Import({CacheSegundoNivelConfig.class, EntregaService.class, AvaliacaoComportamentoService.class,
+        PerformanceColaboradorService.class, RankingPerformanceService.class, DistribuicaoNotasService.class, FormulaPerformanceService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelConfigTest {
+
+    @Autowired
+    private ColaboradorRepository colaboradorRepository;
+
+    @Autowired
+    private EntregaService entregaService;
+
+    @Autowired
+    private AvaliacaoComportamentoService avaliacaoComportamentoService;
+
+    @Autowired
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterBinder cacheSegundoNivelMetricas;
+
+    private Statistics estatisticas;
+
+    private String matricula;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        var colaborador = transactionTemplate.execute(status -> colaboradorRepository.save(
+                new ColaboradorEntity("Alice", LocalDate.of(2024, 1, 1), "Dev")));
+        matricula = colaborador.getMatricula().toString();
+        performanceColaboradorService.inicializar(colaborador.getMatricula(), colaborador.getCargo());
+    }
+
+    // Lê o colaborador em uma transação nova (contexto de persistência vazio) e aplica a função
+    private <T> T lerColaborador(Function<ColaboradorEntity, T> leitura) {
+        return transactionTemplate.execute(status ->
+                leitura.apply(colaboradorRepository.findById(UUID.fromString(matricula)).orElseThrow()));
+    }
+
+    private List<Double> notasEntregas() {
+        return lerColaborador(colaborador -> colaborador.getEntregas().stream().map(e -> e.getNota()).toList());
+    }
+
+    @Nested
+    class leitura {
+
+        @Test
+        @DisplayName("Deve ler colaborador, avaliação e entregas do cache sem executar SQL")
+        void deveLerDoCacheSemSql() {
+            // Arrange
+            avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(matricula,
+                    new AvaliacaoComportamentoCadastroRequest(5.0, 4.0, 3.0, 5.0));
+            entregaService.cadastrarEntregaColaborador(matricula, new EntregaCadastroRequest("Projeto", 4.0));
+            notasEntregas();
+            lerColaborador(colaborador -> colaborador.getAvaliacaoComportamento().getNotaAutonomia());
+            estatisticas.clear();
+
+            // Act
+            var notas = notasEntregas();
+            var notaAutonomia = lerColaborador(colaborador -> colaborador.getAvaliacaoComportamento().getNotaAutonomia());
+
+            // Assert
+            assertEquals(List.of(4.0), notas);
+            assertEquals(5.0, notaAutonomia);
+            assertEquals(0, estatisticas.getPrepareStatementCount(), "Leituras repetidas devem vir do cache");
+            assertTrue(estatisticas.getSecondLevelCacheHitCount() > 0);
+        }
+
+        @Test
+        @DisplayName("Deve exportar acertos e falhas de cada região pelo Micrometer")
+        void deveExportarMetricas() {
+            // Arrange
+            var registro = new SimpleMeterRegistry();
+            cacheSegundoNivelMetricas.bindTo(registro);
+
+            // Act
+            lerColaborador(ColaboradorEntity::getNome);
+            lerColaborador(ColaboradorEntity::getNome);
+
+            // Assert
+            for (String regiao : CacheSegundoNivelConfig.REGIOES) {
+                assertNotNull(registro.find("cache.gets").tag("cache", regiao).tag("result", "hit").functionCounter(),
+                        "Métrica de acertos da região " + regiao);
+            }
+            double acertos = registro.get("cache.gets").tag("cache", ColaboradorEntity.REGIAO_CACHE)
+                    .tag("result", "hit").functionCounter().count();
+            assertTrue(acertos >= 1);
+        }
+    }
+
+    @Nested
+    class invalidacao {
+
+        @Test
+        @DisplayName("Deve refletir entregas cadastradas, alteradas e excluídas pelos serviços")
+        void deveInvalidarEntregas() {
+            // Arrange
+            assertEquals(List.of(), notasEntregas());
+
+            // Act + Assert
+            var entrega = entregaService.cadastrarEntregaColaborador(matricula, new EntregaCadastroRequest("Projeto", 4.0));
+            assertEquals(List.of(4.0), notasEntregas());
+
+            entregaService.atualizarEntregaPorId(matricula, entrega.getId(), new EntregaAtualizaRequest(null, 2.0), null);
+            assertEquals(List.of(2.0), notasEntregas());
+
+            entregaService.deletarEntregaColaborador(matricula, entrega.getId());
+            assertEquals(List.of(), notasEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve refletir a avaliação cadastrada, alterada e excluída pelos serviços")
+        void deveInvalidarAvaliacao() {
+            // Arrange
+            assertNull(lerColaborador(ColaboradorEntity::getAvaliacaoComportamento));
+
+            // Act + Assert
+            avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(matricula,
+                    new AvaliacaoComportamentoCadastroRequest(5.0, 4.0, 3.0, 5.0));
+            assertEquals(5.0, lerColaborador(colaborador -> colaborador.getAvaliacaoComportamento().getNotaAutonomia()));
+
+            avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula,
+                    new AvaliacaoComportamentoAtualizaRequest(null, null, null, 1.0), null);
+            assertEquals(1.0, lerColaborador(colaborador -> colaborador.getAvaliacaoComportamento().getNotaAutonomia()));
+
+            avaliacaoComportamentoService.deletarAvaliacoesPorMatricula(matricula);
+            assertNull(lerColaborador(ColaboradorEntity::getAvaliacaoComportamento));
+        }
+    
+        @Test
+        @DisplayName("Deve invalidar somente o colaborador da entrega, mantendo os demais no cache")
+        void deveInvalidarSomenteOColaboradorAlterado() {
+            // Arrange
+            var bruno = transactionTemplate.execute(status -> colaboradorRepository.save(
+                    new ColaboradorEntity("Bruno", LocalDate.of(2024, 1, 1), "Dev"))).getMatricula();
+            transactionTemplate.execute(status -> colaboradorRepository.findById(bruno).orElseThrow());
+            long versaoInicial = lerColaborador(ColaboradorEntity::getVersao);
+
+            // Act
+            var entrega = entregaService.cadastrarEntregaColaborador(matricula, new EntregaCadastroRequest("Projeto", 4.0));
+            entregaService.atualizarEntregaPorId(matricula, entrega.getId(), new EntregaAtualizaRequest(null, 2.0), null);
+            entregaService.deletarEntregaColaborador(matricula, entrega.getId());
+            estatisticas.clear();
+            var nomeBruno = transactionTemplate.execute(status -> colaboradorRepository.findById(bruno).orElseThrow().getNome());
+
+            // Assert
+            // Os UPDATEs da quantidade de entregas e da versão não removem a região inteira do cache
+            assertEquals("Bruno", nomeBruno);
+            assertEquals(0, estatisticas.getPrepareStatementCount(), "O outro colaborador deve continuar no cache");
+            assertEquals(versaoInicial + 3, (long) lerColaborador(ColaboradorEntity::getVersao));
+        }
+
+        @Test
+        @DisplayName("Deve invalidar somente as linhas alteradas pelos PATCHs, mantendo as de outro colaborador no cache")
+        void deveInvalidarSomenteAsLinhasDoPatch() {
+            // Arrange
+            // Bruno com entrega e avaliação lidas uma vez (ficam no cache)
+            var bruno = transactionTemplate.execute(status -> colaboradorRepository.save(
+                    new ColaboradorEntity("Bruno", LocalDate.of(2024, 1, 1), "Dev"))).getMatricula();
+            performanceColaboradorService.inicializar(bruno, "Dev");
+            entregaService.cadastrarEntregaColaborador(bruno.toString(), new EntregaCadastroRequest("Projeto B", 3.0));
+            avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(bruno.toString(),
+                    new AvaliacaoComportamentoCadastroRequest(2.0, 2.0, 2.0, 2.0));
+            Function<ColaboradorEntity, String> lerTudo = colaborador -> colaborador.getNome()
+                    + colaborador.getEntregas().stream().map(e -> e.getNota()).toList()
+                    + colaborador.getAvaliacaoComportamento().getNotaAutonomia();
+            String estadoBruno = transactionTemplate.execute(status ->
+                    lerTudo.apply(colaboradorRepository.findById(bruno).orElseThrow()));
+
+            var entrega = entregaService.cadastrarEntregaColaborador(matricula, new EntregaCadastroRequest("Projeto", 4.0));
+            avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(matricula,
+                    new AvaliacaoComportamentoCadastroRequest(5.0, 4.0, 3.0, 5.0));
+
+            // Act
+            // PATCH do colaborador, da entrega e da avaliação de Alice (UPDATEs via JDBC)
+            transactionTemplate.executeWithoutResult(status -> colaboradorRepository.atualizarParcial(
+                    UUID.fromString(matricula), new ColaboradorAtualizaRequest("Alice Souza", null, null), null));
+            entregaService.atualizarEntregaPorId(matricula, entrega.getId(), new EntregaAtualizaRequest(null, 2.0), null);
+            avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula,
+                    new AvaliacaoComportamentoAtualizaRequest(null, null, null, 1.0), null);
+            estatisticas.clear();
+            String estadoBrunoAposPatch = transactionTemplate.execute(status ->
+                    lerTudo.apply(colaboradorRepository.findById(bruno).orElseThrow()));
+
+            // Assert
+            // As regiões de colaborador, entrega e avaliação continuam com as linhas de Bruno
+            assertEquals(estadoBruno, estadoBrunoAposPatch);
+            assertEquals(0, estatisticas.getPrepareStatementCount(), "As linhas do outro colaborador devem continuar no cache");
+
+            // As linhas de Alice refletem os PATCHs
+            assertEquals("Alice Souza", lerColaborador(ColaboradorEntity::getNome));
+            assertEquals(List.of(2.0), notasEntregas());
+            assertEquals(1.0, lerColaborador(colaborador -> colaborador.getAvaliacaoComportamento().getNotaAutonomia()));
+        }
+
+        @Test
+        @DisplayName("Deve mudar a versão (ETag) do colaborador a cada escrita de entrega ou avaliação")
+        void deveIncrementarVersaoDoColaborador() {
+            // Arrange
+            long versaoInicial = lerColaborador(ColaboradorEntity::getVersao);
+
+            // Act
+            var entrega = entregaService.cadastrarEntregaColaborador(matricula, new EntregaCadastroRequest("Projeto", 4.0));
+            long aposCadastro = lerColaborador(ColaboradorEntity::getVersao);
+
+            entregaService.atualizarEntregaPorId(matricula, entrega.getId(), new EntregaAtualizaRequest(null, 2.0), null);
+            long aposAtualizacao = lerColaborador(ColaboradorEntity::getVersao);
+
+            avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(matricula,
+                    new AvaliacaoComportamentoCadastroRequest(5.0, 4.0, 3.0, 5.0));
+            long aposAvaliacao = lerColaborador(ColaboradorEntity::getVersao);
+
+            // Assert
+            // A versão lida do cache acompanha o banco: cada escrita produz uma ETag nova
+            assertTrue(aposCadastro > versaoInicial);
+            assertTrue(aposAtualizacao > aposCadastro);
+            assertTrue(aposAvaliacao > aposAtualizacao);
+            entityManagerFactory.getCache().evictAll();
+            assertEquals(aposAvaliacao, (long) lerColaborador(ColaboradorEntity::getVersao));
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.demo.base.infra;
+
+import com.example.demo.base.exception.OrcamentoSqlExcedidoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricasSqlTest {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    private final MetricasSql metricasSql = new MetricasSql(Duration.ofMillis(100), 2);
+
+    @Nested
+    class normalizar {
+
+        @Test
+        @DisplayName("Deve trocar os literais por ?, reduzir as listas do IN e compactar os espaços")
+        void deveNormalizarComando() {
+            assertEquals("select c.id from tb_colaborador c where c.nome = ? and c1_0.idade > ? and c.id in (?...)",
+                    MetricasSql.normalizar("select c.id from tb_colaborador c\n   where c.nome = 'O''Brien'"
+                            + " and c1_0.idade > 42.5 and c.id in (?, ?,?)"));
+            assertEquals(MetricasSql.normalizar("select * from t where id IN (?)"),
+                    MetricasSql.normalizar("select * from t where id in (?, ?, ?, ?)"));
+            assertEquals(MetricasSql.OUTRAS, MetricasSql.normalizar(null));
+            assertEquals("update", MetricasSql.operacao("UPDATE t set a = ?"));
+        }
+    }
+
+    @Nested
+    class registrar {
+
+        @Test
+        @DisplayName("Deve medir por comando normalizado e agrupar em 'outras' acima do máximo de comandos")
+        void deveMedirPorComando() {
+            // Arrange
+            metricasSql.bindTo(registro);
+            long antes = metricasSql.executadosNaThread();
+
+            // Act
+            metricasSql.registrar("select * from a where id = 1", TimeUnit.MILLISECONDS.toNanos(5));
+            metricasSql.registrar("select * from a where id = 2", TimeUnit.MILLISECONDS.toNanos(5));
+            metricasSql.registrar("delete from b", TimeUnit.MILLISECONDS.toNanos(500));
+            metricasSql.registrar("insert into c values (?)", 1);
+
+            // Assert
+            assertEquals(2, registro.get(MetricasSql.METRICA).tags("sql", "select * from a where id = ?", "operacao", "select")
+                    .timer().count());
+            assertEquals(1, registro.get(MetricasSql.METRICA).tags("sql", "delete from b", "operacao", "delete")
+                    .timer().count());
+            assertEquals(1, registro.get(MetricasSql.METRICA).tags("sql", MetricasSql.OUTRAS, "operacao", MetricasSql.OUTRAS)
+                    .timer().count());
+            assertEquals(4, metricasSql.executadosNaThread() - antes);
+        }
+
+        @Test
+        @DisplayName("Deve somente contar os comandos antes de ser vinculado ao registry")
+        void deveContarAntesDoRegistry() {
+            // Act
+            metricasSql.registrar("select 1", 1);
+
+            // Assert
+            assertEquals(1, metricasSql.executadosNaThread());
+            assertTrue(registro.find(MetricasSql.METRICA).timers().isEmpty());
+        }
+    }
+
+    @Nested
+    class monitorSqlDataSource {
+
+        private final MetricasSql metricasSql = new MetricasSql(Duration.ofMillis(100), 10);
+
+        private final MonitorSqlDataSource dataSource = new MonitorSqlDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:metricas-sql;DB_CLOSE_DELAY=-1"), () -> metricasSql);
+
+        @Test
+        @DisplayName("Deve medir cada execução dos statements, inclusive o lote JDBC como um único comando")
+        void deveMedirExecucoes() throws SQLException {
+            // Arrange
+            metricasSql.bindTo(registro);
+
+            try (var conexao = dataSource.getConnection();
+                 var statement = conexao.createStatement()) {
+                // Act
+                statement.execute("create table if not exists tb_teste (id int)");
+                try (var insert = conexao.prepareStatement("insert into tb_teste (id) values (?)")) {
+                    for (int id = 1; id <= 3; id++) {
+                        insert.setInt(1, id);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                try (var consulta = conexao.prepareStatement("select count(*) from tb_teste where id in (?, ?)")) {
+                    consulta.setInt(1, 1);
+                    consulta.setInt(2, 2);
+                    try (var resultado = consulta.executeQuery()) {
+                        resultado.next();
+                        assertEquals(2, resultado.getInt(1));
+                    }
+                }
+
+                // Assert
+                assertEquals(3, metricasSql.executadosNaThread());
+                assertEquals(1, registro.get(MetricasSql.METRICA).tag("sql", "insert into tb_teste (id) values (?)")
+                        .timer().count());
+                assertEquals(1, registro.get(MetricasSql.METRICA).tag("sql", "select count(*) from tb_teste where id in (?...)")
+                        .timer().count());
+                assertEquals(statement, statement);
+                assertEquals(conexao, conexao);
+                statement.execute("drop table tb_teste");
+            }
+        }
+
+        @Test
+        @DisplayName("Deve contar o comando que falhou e repassar a exceção original")
+        void deveRepassarExcecao() throws SQLException {
+            // Arrange
+            var comUsuario = new MonitorSqlDataSource(new DriverManagerDataSource("jdbc:h2:mem:metricas-sql-falha"),
+                    () -> metricasSql);
+
+            // Act + Assert
+            try (var conexao = comUsuario.getConnection("sa", "");
+                 var statement = conexao.createStatement()) {
+                assertThrows(SQLException.class, () -> statement.executeQuery("select * from tb_inexistente"));
+                assertEquals(1, metricasSql.executadosNaThread());
+            }
+        }
+    }
+
+    @Nested
+    class sqlPorRequisicao {
+
+        @Test
+        @DisplayName("Deve registrar os comandos executados durante a requisição por método e padrão da URI")
+        void deveRegistrarComandosPorRequisicao() {
+            // Arrange
+            var handler = new SqlPorRequisicaoObservationHandler(metricasSql, registro);
+            var contexto = new ServerRequestObservationContext(new MockHttpServletRequest("GET", "/api/v1/colaborador/1"),
+                    new MockHttpServletResponse());
+            contexto.setPathPattern("/api/v1/colaborador/{matricula}");
+            var semMapeamento = new ServerRequestObservationContext(new MockHttpServletRequest("GET", "/x"),
+                    new MockHttpServletResponse());
+
+            // Act
+            metricasSql.registrar("select 1", 1);
+            handler.onStart(contexto);
+            handler.onStart(semMapeamento);
+            metricasSql.registrar("select 2", 1);
+            metricasSql.registrar("select 3", 1);
+            handler.onStop(contexto);
+            handler.onStop(semMapeamento);
+
+            // Assert
+            var resumo = registro.get(SqlPorRequisicaoObservationHandler.METRICA)
+                    .tags("metodo", "GET", "uri", "/api/v1/colaborador/{matricula}").summary();
+            assertEquals(1, resumo.count());
+            assertEquals(2.0, resumo.totalAmount());
+            assertEquals(1, registro.get(SqlPorRequisicaoObservationHandler.METRICA).tag("uri", "UNKNOWN").summary().count());
+            assertTrue(handler.supportsContext(contexto));
+        }
+    }
+
+    @Nested
+    class orcamentoSql {
+
+        private final OrcamentoSqlProperties.Orcamento colaborador = new OrcamentoSqlProperties.Orcamento("/api/v1/colaborador/**", 2, null);
+
+        private final OrcamentoSqlProperties.Orcamento lote = new OrcamentoSqlProperties.Orcamento("/api/v1/colaborador/lote", 50, null);
+
+        private OrcamentoSqlFilter filtro(boolean estrito) {
+            return new OrcamentoSqlFilter(new OrcamentoSqlProperties(estrito, Map.of("colaborador", colaborador, "lote", lote)), registro);
+        }
+
+        // Requisição que executa a quantidade de comandos informada (o mesmo SELECT com matrículas diferentes)
+        private FilterChain executando(int comandos) {
+            return (request, response) -> {
+                for (int i = 0; i < comandos; i++) {
+                    metricasSql.verificarOrcamento("select * from tb_entrega where id_colaborador = " + i);
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("Deve registrar a requisição acima do orçamento sem interrompê-la fora do modo estrito")
+        void deveRegistrarRequisicaoAcimaDoOrcamento() throws Exception {
+            // Act
+            filtro(false).doFilter(new MockHttpServletRequest("GET", "/api/v1/colaborador"), new MockHttpServletResponse(),
+                    executando(3));
+            filtro(false).doFilter(new MockHttpServletRequest("GET", "/api/v1/colaborador/1"), new MockHttpServletResponse(),
+                    executando(2));
+
+            // Assert
+            assertEquals(1, registro.get(OrcamentoSqlFilter.METRICA).tags("orcamento", "colaborador", "acao", "registrada")
+                    .counter().count());
+            assertNull(OrcamentoSqlRequisicao.atual());
+        }
+
+        @Test
+        @DisplayName("Deve interromper a requisição no comando que estoura o orçamento no modo estrito")
+        void deveInterromperNoModoEstrito() {
+            // Arrange
+            var request = new MockHttpServletRequest("GET", "/api/v1/colaborador");
+
+            // Act
+            var ex = assertThrows(OrcamentoSqlExcedidoException.class,
+                    () -> filtro(true).doFilter(request, new MockHttpServletResponse(), executando(5)));
+
+            // Assert
+            assertEquals("A requisição excedeu o orçamento de 2 comandos SQL", ex.getMessage());
+            assertEquals(1, registro.get(OrcamentoSqlFilter.METRICA).tags("orcamento", "colaborador", "acao", "rejeitada")
+                    .counter().count());
+            assertNull(OrcamentoSqlRequisicao.atual());
+        }
+
+        @Test
+        @DisplayName("Deve usar o padrão mais específico e ignorar caminhos sem orçamento")
+        void deveUsarPadraoMaisEspecifico() throws Exception {
+            // Act
+            filtro(true).doFilter(new MockHttpServletRequest("POST", "/api/v1/colaborador/lote"), new MockHttpServletResponse(),
+                    executando(40));
+            filtro(true).doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(),
+                    executando(40));
+
+            // Assert
+            assertEquals("lote", filtro(true).buscarOrcamento("POST", "/api/v1/colaborador/lote").getKey());
+            assertEquals("colaborador", filtro(true).buscarOrcamento("GET", "/api/v1/colaborador/1/entrega").getKey());
+            assertNull(filtro(true).buscarOrcamento("GET", "/api/v1/importacao"));
+            assertTrue(registro.find(OrcamentoSqlFilter.METRICA).counters().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve usar o orçamento do método HTTP antes do orçamento geral do mesmo padrão")
+        void deveUsarOrcamentoDoMetodo() {
+            // Arrange
+            var avaliacao = new OrcamentoSqlProperties.Orcamento("/api/v1/colaborador/*/avaliacao", 6, null);
+            var avaliacaoPatch = new OrcamentoSqlProperties.Orcamento("/api/v1/colaborador/*/avaliacao", 4, "PATCH");
+            var filtro = new OrcamentoSqlFilter(new OrcamentoSqlProperties(true, Map.of("colaborador", colaborador,
+                    "avaliacao", avaliacao, "avaliacao-patch", avaliacaoPatch)), registro);
+
+            // Act + Assert
+            assertEquals("avaliacao-patch", filtro.buscarOrcamento("PATCH", "/api/v1/colaborador/1/avaliacao").getKey());
+            assertEquals("avaliacao-patch", filtro.buscarOrcamento("patch", "/api/v1/colaborador/1/avaliacao").getKey());
+            assertEquals("avaliacao", filtro.buscarOrcamento("DELETE", "/api/v1/colaborador/1/avaliacao").getKey());
+            assertEquals("colaborador", filtro.buscarOrcamento("PATCH", "/api/v1/colaborador/1").getKey());
+        }
+
+        @Test
+        @DisplayName("Deve resumir os comandos normalizados mais executados")
+        void deveResumirComandos() {
+            // Arrange
+            var orcamento = OrcamentoSqlRequisicao.abrir("colaborador", 1, false);
+
+            try {
+                // Act
+                metricasSql.verificarOrcamento("select * from tb_colaborador where id = 'a'");
+                metricasSql.verificarOrcamento("select * from tb_entrega where id_colaborador = 1");
+                metricasSql.verificarOrcamento("select * from tb_entrega where id_colaborador = 2");
+
+                // Assert
+                assertTrue(orcamento.excedido());
+                assertEquals("2x select * from tb_entrega where id_colaborador = ? | 1x select * from tb_colaborador where id = ?",
+                        orcamento.resumoComandos());
+            } finally {
+                orcamento.fechar();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar orçamento sem padrão ou com máximo negativo")
+        void deveRejeitarOrcamentoInvalido() {
+            var semPadrao = new OrcamentoSqlProperties(false, Map.of("x", new OrcamentoSqlProperties.Orcamento(null, 1, null)));
+            var negativo = new OrcamentoSqlProperties(false, Map.of("x", new OrcamentoSqlProperties.Orcamento("/x", -1, null)));
+
+            assertThrows(IllegalStateException.class, () -> new OrcamentoSqlFilter(semPadrao, registro));
+            assertThrows(IllegalStateException.class, () -> new OrcamentoSqlFilter(negativo, registro));
+        }
+    }
+
+    @Nested
+    class metricasHibernate {
+
+        @Test
+        @DisplayName("Deve expor as estatísticas do Hibernate como métricas")
+        void deveExporEstatisticas() {
+            // Arrange
+            var estatisticas = mock(Statistics.class);
+            when(estatisticas.getQueryExecutionCount()).thenReturn(7L);
+            when(estatisticas.getCollectionFetchCount()).thenReturn(3L);
+            when(estatisticas.getSecondLevelCacheHitCount()).thenReturn(5L);
+            when(estatisticas.getQueryExecutionMaxTime()).thenReturn(120L);
+
+            // Act
+            new MetricasHibernate(estatisticas).bindTo(registro);
+
+            // Assert
+            assertEquals(7.0, registro.get("hibernate.query.executions").functionCounter().count());
+            assertEquals(3.0, registro.get("hibernate.collections.fetches").functionCounter().count());
+            assertEquals(5.0, registro.get("hibernate.second.level.cache.requests").tag("result", "hit")
+                    .functionCounter().count());
+            assertEquals(0.12, registro.get("hibernate.query.executions.max").timeGauge().value(TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SloObservationHandlerTest {
+
+    private static final String URI_PERFORMANCE = "/api/v1/colaborador/{matricula}/performance";
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    private final Clock relogio = Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private final SloObservationHandler handler = new SloObservationHandler(new SloProperties(Map.of("performance",
+            new SloProperties.Slo("GET", URI_PERFORMANCE, Duration.ofMillis(200), 0.9))), registro, relogio);
+
+    // Simula uma requisição que começou há "duracao" e terminou com o status informado
+    private void requisicao(String metodo, String padrao, Duration duracao, int status) {
+        var response = new MockHttpServletResponse();
+        response.setStatus(status);
+        var contexto = new ServerRequestObservationContext(new MockHttpServletRequest(metodo, "/x"), response);
+        contexto.setPathPattern(padrao);
+
+        handler.onStart(contexto);
+        contexto.put(SloObservationHandler.INICIO, System.nanoTime() - duracao.toNanos());
+        handler.onStop(contexto);
+    }
+
+    @Nested
+    class onStop {
+
+        @Test
+        @DisplayName("Deve contar como fora do SLO a requisição lenta ou com erro do servidor")
+        void deveClassificarRequisicoes() {
+            // Act
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(10), 200);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(20), 404);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(500), 200);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(10), 500);
+
+            // Assert
+            assertEquals(2, registro.get("colaborador.slo.requisicoes").tags("slo", "performance", "resultado", "dentro")
+                    .counter().count());
+            assertEquals(2, registro.get("colaborador.slo.requisicoes").tags("slo", "performance", "resultado", "fora")
+                    .counter().count());
+            assertEquals(0.9, registro.get("colaborador.slo.objetivo").tag("slo", "performance").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Deve ignorar endpoints sem SLO e outros métodos HTTP")
+        void deveIgnorarEndpointsSemSlo() {
+            // Act
+            requisicao("GET", "/api/v1/colaborador", Duration.ofSeconds(1), 200);
+            requisicao("DELETE", URI_PERFORMANCE, Duration.ofSeconds(1), 200);
+            requisicao("GET", null, Duration.ofSeconds(1), 200);
+
+            // Assert
+            assertEquals(0, handler.consultarSituacao().getFirst().requisicoes());
+        }
+    }
+
+    @Nested
+    class consultarSituacao {
+
+        @Test
+        @DisplayName("Deve calcular a conformidade, o orçamento de erro consumido e o burn rate")
+        void deveCalcularSituacao() {
+            // Arrange
+            // 1 de 4 fora do SLO: 25% de erro para um orçamento de 10% -> 2.5x
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(10), 200);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(10), 200);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofMillis(10), 200);
+            requisicao("GET", URI_PERFORMANCE, Duration.ofSeconds(1), 200);
+
+            // Act
+            var situacao = handler.consultarSituacao().getFirst();
+
+            // Assert
+            assertEquals("performance", situacao.nome());
+            assertEquals(4, situacao.requisicoes());
+            assertEquals(1, situacao.foraDoSlo());
+            assertEquals(0.75, situacao.conformidade(), 1e-9);
+            assertEquals(2.5, situacao.orcamentoErroConsumido(), 1e-9);
+            assertEquals(2.5, situacao.burnRate5m(), 1e-9);
+            assertEquals(2.5, situacao.burnRate1h(), 1e-9);
+            assertEquals(situacao, new SloEndpoint(handler).consultar().getFirst());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar SLO sem limite ou com objetivo fora do intervalo (0, 1)")
+        void deveRejeitarSloInvalido() {
+            var semLimite = new SloProperties(Map.of("x", new SloProperties.Slo("GET", "/x", null, 0.99)));
+            var objetivoTotal = new SloProperties(Map.of("x", new SloProperties.Slo("GET", "/x", Duration.ofMillis(1), 1.0)));
+
+            assertThrows(IllegalStateException.class, () -> new SloObservationHandler(semLimite, registro, relogio));
+            assertThrows(IllegalStateException.class, () -> new SloObservationHandler(objetivoTotal, registro, relogio));
+        }
+    }
+
+    @Nested
+    class janelaSlo {
+
+        @Test
+        @DisplayName("Deve considerar somente os minutos dentro da janela e reutilizar a posição de um minuto antigo")
+        void deveConsiderarSomenteMinutosDaJanela() {
+            // Arrange
+            var janela = new JanelaSlo();
+            janela.registrar(100, false);
+            janela.registrar(110, true);
+            janela.registrar(114, false);
+            janela.registrar(114, true);
+            // Mesma posição do minuto 110, uma hora depois
+            janela.registrar(170, true);
+
+            // Act + Assert
+            assertEquals(0.5, janela.taxaForaDoSlo(114, 5), 1e-9);
+            assertEquals(0.0, janela.taxaForaDoSlo(170, 5), 1e-9);
+            assertEquals(1.0 / 3, janela.taxaForaDoSlo(170, JanelaSlo.MINUTOS), 1e-9);
+            assertEquals(0.0, janela.taxaForaDoSlo(300, 5), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.base.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TempoMetodoInterceptorTest {
+
+    public static class ExemploService {
+
+        public String processar(boolean falhar) {
+            if (falhar) {
+                throw new IllegalStateException("falha");
+            }
+            return "ok";
+        }
+    }
+
+    public interface ExemploRepository {
+
+        int contar();
+    }
+
+    public static class Auxiliar {
+
+        public String processar() {
+            return "ok";
+        }
+    }
+
+    // Mesmo auto-proxy da aplicação (AopAutoConfiguration) com o advisor de MetricasMetodosConfig
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class))
+            .withUserConfiguration(MetricasMetodosConfig.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(ExemploService.class)
+            .withBean(ExemploRepository.class, () -> () -> 3)
+            .withBean(Auxiliar.class);
+
+    @Nested
+    class medicao {
+
+        @Test
+        @DisplayName("Deve medir os métodos de services e repositories com a classe, o método e a exceção")
+        void deveMedirServicesERepositories() {
+            contexto.run(ctx -> {
+                // Arrange
+                var registro = ctx.getBean(MeterRegistry.class);
+                var service = ctx.getBean(ExemploService.class);
+
+                // Act
+                service.processar(false);
+                service.processar(false);
+                assertThrows(IllegalStateException.class, () -> service.processar(true));
+                ctx.getBean(ExemploRepository.class).contar();
+
+                // Assert
+                assertEquals(2, registro.get(TempoMetodoInterceptor.METRICA)
+                        .tags("classe", "ExemploService", "metodo", "processar", "excecao", TempoMetodoInterceptor.SEM_EXCECAO)
+                        .timer().count());
+                assertEquals(1, registro.get(TempoMetodoInterceptor.METRICA)
+                        .tags("classe", "ExemploService", "excecao", "IllegalStateException").timer().count());
+                assertEquals(1, registro.get(TempoMetodoInterceptor.METRICA)
+                        .tags("classe", "ExemploRepository", "metodo", "contar").timer().count());
+                assertFalse(AopUtils.isAopProxy(ctx.getBean(Auxiliar.class)));
+            });
+        }
+
+        @Test
+        @DisplayName("Não deve envolver os beans quando a medição estiver desligada")
+        void naoDeveMedirQuandoDesligado() {
+            contexto.withPropertyValues("colaborador.metricas.metodos.habilitado=false").run(ctx -> {
+                assertFalse(AopUtils.isAopProxy(ctx.getBean(ExemploService.class)));
+                assertTrue(ctx.getBean(MeterRegistry.class).find(TempoMetodoInterceptor.METRICA).timers().isEmpty());
+            });
+        }
+    }
+
+    @Nested
+    class nomeComponente {
+
+        @Test
+        @DisplayName("Deve identificar services, repositories e ignorar as demais classes")
+        void deveIdentificarComponentes() {
+            ExemploRepository repository = () -> 1;
+
+            assertEquals("ExemploService", TempoMetodoInterceptor.nomeComponente(ExemploService.class));
+            assertEquals("ExemploRepository", TempoMetodoInterceptor.nomeComponente(repository.getClass()));
+            assertNull(TempoMetodoInterceptor.nomeComponente(Auxiliar.class));
+            assertNull(TempoMetodoInterceptor.nomeComponente(String.class));
+        }
+    }
+}
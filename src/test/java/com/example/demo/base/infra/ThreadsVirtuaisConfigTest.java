@@ -0,0 +1,185 @@
+package com.example.demo.base.infra;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ThreadsVirtuaisConfigTest {
+
+    @Nested
+    class configuracao {
+
+        // Conversões do Spring Boot (ex.: "20ms" -> Duration), como na aplicação
+        private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+                .withInitializer(ctx -> {
+                    ctx.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+                    ctx.getEnvironment().setConversionService(new ApplicationConversionService());
+                })
+                .withUserConfiguration(ThreadsVirtuaisConfig.class)
+                .withBean(DataSource.class, () -> {
+                    var hikari = new HikariDataSource();
+                    hikari.setMaximumPoolSize(3);
+                    return hikari;
+                });
+
+        @Test
+        @DisplayName("Deve limitar as conexões ao tamanho do pool e registrar as métricas no modo virtual threads")
+        void deveConfigurarModoVirtual() {
+            contexto.withPropertyValues("spring.threads.virtual.enabled=true").run(ctx -> {
+                // Arrange
+                var registro = new SimpleMeterRegistry();
+
+                // Act
+                ctx.getBean("conexoesLimitadasMetricas", MeterBinder.class).bindTo(registro);
+
+                // Assert
+                var dataSource = assertInstanceOf(ConexoesLimitadasDataSource.class, ctx.getBean(DataSource.class));
+                assertEquals(3, dataSource.getPermissoesDisponiveis());
+                assertEquals(3.0, registro.get("colaborador.jdbc.conexoes.disponiveis").gauge().value());
+                assertEquals(0.0, registro.get("colaborador.jdbc.conexoes.aguardando").gauge().value());
+                assertNotNull(ctx.getBean(MetricasPinningThreadsVirtuais.class));
+            });
+        }
+
+        @Test
+        @DisplayName("Deve usar o limite de conexões configurado")
+        void deveUsarLimiteConfigurado() {
+            contexto.withPropertyValues("spring.threads.virtual.enabled=true",
+                    ThreadsVirtuaisConfig.PROPRIEDADE_CONEXOES + "=2",
+                    ThreadsVirtuaisConfig.PROPRIEDADE_TEMPO_ESPERA + "=5s").run(ctx ->
+                    assertEquals(2, ctx.getBean(ConexoesLimitadasDataSource.class).getPermissoesDisponiveis()));
+        }
+
+        @Test
+        @DisplayName("Não deve alterar o DataSource no modo de threads de plataforma")
+        void naoDeveConfigurarModoPlataforma() {
+            contexto.run(ctx -> {
+                assertInstanceOf(HikariDataSource.class, ctx.getBean(DataSource.class));
+                assertFalse(ctx.containsBean("metricasPinningThreadsVirtuais"));
+            });
+        }
+    }
+
+    @Nested
+    class limitadorConexoes {
+
+        private final DataSource destino = mock(DataSource.class);
+
+        private final ConexoesLimitadasDataSource dataSource =
+                new ConexoesLimitadasDataSource(destino, 1, Duration.ofMillis(50));
+
+        @Test
+        @DisplayName("Deve esgotar o tempo de espera quando todas as permissões estiverem em uso")
+        void deveEsgotarTempoDeEspera() throws SQLException {
+            // Arrange
+            when(destino.getConnection()).thenReturn(mock(Connection.class));
+            dataSource.getConnection();
+
+            // Act + Assert
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            verify(destino, times(1)).getConnection();
+        }
+
+        @Test
+        @DisplayName("Deve devolver a permissão uma única vez ao fechar a conexão")
+        void deveDevolverPermissaoAoFechar() throws SQLException {
+            // Arrange
+            var conexao = mock(Connection.class);
+            when(destino.getConnection()).thenReturn(conexao);
+
+            // Act
+            var primeira = dataSource.getConnection();
+            primeira.close();
+            primeira.close();
+            var segunda = dataSource.getConnection();
+
+            // Assert
+            assertEquals(0, dataSource.getPermissoesDisponiveis());
+            verify(conexao, times(2)).close();
+            segunda.close();
+            assertEquals(1, dataSource.getPermissoesDisponiveis());
+        }
+
+        @Test
+        @DisplayName("Deve devolver a permissão quando o pool falhar ao entregar a conexão")
+        void deveDevolverPermissaoQuandoPoolFalhar() throws SQLException {
+            // Arrange
+            when(destino.getConnection("usuario", "senha")).thenThrow(new SQLException("pool indisponível"));
+
+            // Act + Assert
+            assertThrows(SQLException.class, () -> dataSource.getConnection("usuario", "senha"));
+            assertEquals(1, dataSource.getPermissoesDisponiveis());
+        }
+
+        @Test
+        @DisplayName("Deve delegar as demais chamadas e as exceções à conexão original")
+        void deveDelegarChamadas() throws SQLException {
+            // Arrange
+            var conexao = mock(Connection.class);
+            when(destino.getConnection()).thenReturn(conexao);
+            when(conexao.getAutoCommit()).thenReturn(true);
+            doThrow(new SQLException("falha no commit")).when(conexao).commit();
+
+            // Act
+            var proxy = dataSource.getConnection();
+
+            // Assert
+            assertTrue(proxy.getAutoCommit());
+            assertThrows(SQLException.class, proxy::commit);
+            assertEquals(proxy, proxy);
+            assertNotEquals(proxy, conexao);
+        }
+    }
+
+    @Nested
+    class metricasPinning {
+
+        private final Object monitor = new Object();
+
+        @Test
+        @DisplayName("Deve registrar no timer o bloqueio de uma virtual thread dentro de synchronized")
+        void deveRegistrarPinning() throws Exception {
+            // Arrange
+            var registro = new SimpleMeterRegistry();
+
+            try (var metricas = new MetricasPinningThreadsVirtuais(Duration.ofMillis(10))) {
+                metricas.bindTo(registro);
+                var timer = registro.get("jvm.threads.virtual.pinned").timer();
+
+                // Act
+                // No Java 21, bloquear dentro de synchronized prende a virtual thread à thread carregadora
+                long limite = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+                while (timer.count() == 0 && System.nanoTime() < limite) {
+                    Thread.ofVirtual().start(() -> {
+                        synchronized (monitor) {
+                            try {
+                                Thread.sleep(50);
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }).join();
+                    Thread.sleep(200);
+                }
+
+                // Assert
+                assertTrue(timer.count() >= 1, "Evento de pinning deve ser registrado");
+                assertEquals(0.0, registro.get("jvm.threads.virtual.submit.failed").counter().count());
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.base.sql;
+
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
+import com.example.demo.colaborador.avaliacao.service.AvaliacaoComportamentoService;
+import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
+import com.example.demo.colaborador.entrega.service.EntregaService;
+import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import com.example.demo.colaborador.service.ColaboradorLoteService;
+import com.example.demo.colaborador.service.ColaboradorService;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+// Massa de dados dos testes de orçamento SQL, cadastrada pelos próprios services (mesmo caminho da API)
+// Injetado nos métodos de teste por OrcamentoSqlExtension, junto com OrcamentoSql
+public final class CenarioOrcamentoSql {
+
+    public static final String CARGO = "Orçamento SQL";
+
+    private final ColaboradorService colaboradorService;
+
+    private final ColaboradorLoteService colaboradorLoteService;
+
+    private final AvaliacaoComportamentoService avaliacaoComportamentoService;
+
+    private final EntregaService entregaService;
+
+    CenarioOrcamentoSql(ApplicationContext contexto) {
+        this.colaboradorService = contexto.getBean(ColaboradorService.class);
+        this.colaboradorLoteService = contexto.getBean(ColaboradorLoteService.class);
+        this.avaliacaoComportamentoService = contexto.getBean(AvaliacaoComportamentoService.class);
+        this.entregaService = contexto.getBean(EntregaService.class);
+    }
+
+    public static ColaboradorCadastroRequest novoColaborador() {
+        return new ColaboradorCadastroRequest("Colaborador orçamento", LocalDate.of(2024, 1, 1), CARGO);
+    }
+
+    public static AvaliacaoComportamentoCadastroRequest novaAvaliacao() {
+        return new AvaliacaoComportamentoCadastroRequest(5.0, 4.0, 3.0, 4.5);
+    }
+
+    public static EntregaCadastroRequest novaEntrega() {
+        return new EntregaCadastroRequest("Entrega orçamento", 4.0);
+    }
+
+    // Colaborador sem avaliação e sem entregas
+    public String colaborador() {
+        return colaboradorService.cadastrarColaborador(novoColaborador()).toString();
+    }
+
+    // Colaborador com avaliação e a quantidade de entregas informada (no máximo 4)
+    public String colaboradorAvaliado(int entregas) {
+        String matricula = colaborador();
+        avaliacaoComportamentoService.cadastrarAvaliacaoComportamental(matricula, novaAvaliacao());
+        for (int i = 0; i < entregas; i++) {
+            entregaService.cadastrarEntregaColaborador(matricula, novaEntrega());
+        }
+        return matricula;
+    }
+
+    // Colaboradores sem avaliação e sem entregas, cadastrados em lote
+    public List<UUID> colaboradores(int quantidade) {
+        return colaboradorLoteService.cadastrarColaboradores(
+                IntStream.range(0, quantidade).mapToObj(i -> novoColaborador()).toList());
+    }
+}
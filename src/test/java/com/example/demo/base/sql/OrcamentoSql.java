@@ -0,0 +1,71 @@
+package com.example.demo.base.sql;
+
+import com.example.demo.base.infra.MetricasSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+// Orçamento de comandos SQL de um bloco do teste (parâmetro injetado por OrcamentoSqlExtension)
+// Conta os comandos JDBC executados pela thread do teste, inclusive os de services e da requisição do MockMvc,
+// que rodam na mesma thread. O cache de segundo nível é esvaziado antes de cada bloco: o orçamento vale para o
+// pior caso (cache frio), e não depende do que os testes anteriores deixaram em cache
+public final class OrcamentoSql {
+
+    private final MetricasSql metricasSql;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    OrcamentoSql(MetricasSql metricasSql, EntityManagerFactory entityManagerFactory) {
+        this.metricasSql = metricasSql;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Executa o bloco e retorna quantos comandos SQL ele executou
+    public long contar(Executable bloco) {
+        entityManagerFactory.getCache().evictAll();
+        return contarComCache(bloco);
+    }
+
+    // Mesmo que contar(bloco), sem esvaziar o cache de segundo nível (caso comum, com o cache já preenchido)
+    public long contarComCache(Executable bloco) {
+        long antes = metricasSql.executadosNaThread();
+
+        try {
+            bloco.execute();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        return metricasSql.executadosNaThread() - antes;
+    }
+
+    // Executa o bloco e falha se ele executar mais comandos SQL do que o orçamento
+    public void verificar(String descricao, long maximo, Executable bloco) {
+        comparar(descricao, maximo, contar(bloco));
+    }
+
+    // Mesmo que verificar(descricao, maximo, bloco), com o cache de segundo nível preenchido pelo próprio teste
+    public void verificarComCache(String descricao, long maximo, Executable bloco) {
+        comparar(descricao, maximo, contarComCache(bloco));
+    }
+
+    private static void comparar(String descricao, long maximo, long executados) {
+        if (executados > maximo) {
+            throw new AssertionFailedError(descricao + ": " + executados + " comandos SQL, orçamento de " + maximo,
+                    "<= " + maximo, executados);
+        }
+    }
+
+    // Mesmo que verificar(descricao, maximo, bloco), retornando o resultado do bloco
+    public <T> T verificar(String descricao, long maximo, ThrowingSupplier<T> bloco) {
+        Object[] resultado = new Object[1];
+        verificar(descricao, maximo, (Executable) () -> resultado[0] = bloco.get());
+
+        @SuppressWarnings("unchecked")
+        T retorno = (T) resultado[0];
+        return retorno;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.base.sql;
+
+import com.example.demo.base.infra.MetricasSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+// Injeta OrcamentoSql e CenarioOrcamentoSql nos métodos de teste, a partir do contexto Spring do teste
+// (registrada por @TesteOrcamentoSql)
+public class OrcamentoSqlExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        var tipo = parameterContext.getParameter().getType();
+        return tipo == OrcamentoSql.class || tipo == CenarioOrcamentoSql.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        var contexto = SpringExtension.getApplicationContext(extensionContext);
+
+        if (parameterContext.getParameter().getType() == CenarioOrcamentoSql.class) {
+            return new CenarioOrcamentoSql(contexto);
+        }
+        return new OrcamentoSql(contexto.getBean(MetricasSql.class), contexto.getBean(EntityManagerFactory.class));
+    }
+}
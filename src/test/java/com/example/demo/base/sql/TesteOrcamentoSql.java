@@ -0,0 +1,33 @@
+package com.example.demo.base.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Testes de orçamento de comandos SQL: aplicação completa (services, repositories e MockMvc) sobre H2 em memória
+// no modo de compatibilidade com o SQL Server. Todas as classes anotadas compartilham o mesmo contexto e o mesmo
+// banco; por isso os orçamentos não podem depender da quantidade de registros que os outros testes deixaram
+// O orçamento de produção por endpoint (colaborador.orcamento-sql.*) fica no modo estrito: a requisição do MockMvc
+// acima dele falha com 500
+// Uso: parâmetro OrcamentoSql no método de teste e orcamentoSql.verificar("descrição", máximo, () -> ...)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orcamento-sql;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "colaborador.metricas.sql.habilitado=true",
+        "colaborador.orcamento-sql.estrito=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureMockMvc
+@ExtendWith(OrcamentoSqlExtension.class)
+public @interface TesteOrcamentoSql {
+}
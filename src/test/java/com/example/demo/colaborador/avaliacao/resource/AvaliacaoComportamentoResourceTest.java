@@ -96,6 +96,8 @@ class AvaliacaoComportamentoResourceTest {
 
             // Configura o Mock para retornar um objeto do tipo AvaliacaoComportamentoResponse ao executar o método
             // consultaAvaliacaoPorMatricula()
+            when(avaliacaoService.consultarEtagAvaliacao(matricula.toString()))
+                    .thenReturn("\"10.0\"");
             when(avaliacaoService.consultaAvaliacaoPorMatricula(matricula.toString()))
                     .thenReturn(resposta);
 
@@ -104,6 +106,7 @@ class AvaliacaoComportamentoResourceTest {
             mockMvc.perform(get("/api/v1/colaborador/{matricula}/avaliacao", matricula))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"10.0\""))
                     .andExpect(jsonPath("$.notaAvaliacaoComportamental", is(5.0)))
                     .andExpect(jsonPath("$.notaAprendizado", is(4.0)))
                     .andExpect(jsonPath("$.notaTomadaDecisao", is(3.0)))
@@ -113,6 +116,24 @@ class AvaliacaoComportamentoResourceTest {
             // Verifica se o método consultaAvaliacaoPorMatricula() só foi executado uma única vez
             verify(avaliacaoService, times(1)).consultaAvaliacaoPorMatricula(matricula.toString());
         }
+
+        @Test
+        @DisplayName("Deve retornar 304 sem calcular a média quando o If-None-Match for a versão atual")
+        void deveRetornar304QuandoVersaoNaoMudou() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            when(avaliacaoService.consultarEtagAvaliacao(matricula.toString()))
+                    .thenReturn("\"10.2\"");
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}/avaliacao", matricula)
+                            .header("If-None-Match", "\"10.2\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(avaliacaoService, never()).consultaAvaliacaoPorMatricula(anyString());
+        }
     }
 
     @Nested
@@ -155,7 +176,7 @@ class AvaliacaoComportamentoResourceTest {
             ArgumentCaptor<String> matriculaCaptor = ArgumentCaptor.forClass(String.class);
             ArgumentCaptor<AvaliacaoComportamentoAtualizaRequest> dtoCaptor = ArgumentCaptor.forClass(AvaliacaoComportamentoAtualizaRequest.class);
 
-            doNothing().when(avaliacaoService).atualizaAvaliacaoPorMarticula(anyString(), any(AvaliacaoComportamentoAtualizaRequest.class));
+            doNothing().when(avaliacaoService).atualizaAvaliacaoPorMarticula(anyString(), any(AvaliacaoComportamentoAtualizaRequest.class), isNull());
 
             // Act
             // Executa PUT /api/v1/colaborador/{matricula}/avaliacao
@@ -170,7 +191,7 @@ class AvaliacaoComportamentoResourceTest {
 
             // Verifica args repassados ao service
             verify(avaliacaoService, times(1))
-                    .atualizaAvaliacaoPorMarticula(matriculaCaptor.capture(), dtoCaptor.capture());
+                    .atualizaAvaliacaoPorMarticula(matriculaCaptor.capture(), dtoCaptor.capture(), isNull());
             org.junit.jupiter.api.Assertions.assertEquals(matricula.toString(), matriculaCaptor.getValue());
             org.junit.jupiter.api.Assertions.assertEquals(5.0, dtoCaptor.getValue().notaAvaliacaoComportamental());
             org.junit.jupiter.api.Assertions.assertEquals(4.0, dtoCaptor.getValue().notaAprendizado());
@@ -0,0 +1,119 @@
+package com.example.demo.colaborador.avaliacao.service;
+
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoAtualizaRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamentos de comandos SQL de AvaliacaoComportamentoService (ver @TesteOrcamentoSql)
+@TesteOrcamentoSql
+class AvaliacaoComportamentoOrcamentoSqlTest {
+
+    @Autowired
+    private AvaliacaoComportamentoService avaliacaoComportamentoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve cadastrar a avaliação dentro do orçamento")
+    void cadastrarAvaliacaoComportamental(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaborador();
+
+        // Act + Assert
+        orcamentoSql.verificar("cadastrarAvaliacaoComportamental", 5, () -> avaliacaoComportamentoService
+                .cadastrarAvaliacaoComportamental(matricula, CenarioOrcamentoSql.novaAvaliacao()));
+    }
+
+    @Test
+    @DisplayName("Deve consultar a avaliação e a sua ETag dentro do orçamento")
+    void consultarAvaliacao(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(0);
+
+        // Act + Assert
+        orcamentoSql.verificar("consultaAvaliacaoPorMatricula", 2,
+                () -> avaliacaoComportamentoService.consultaAvaliacaoPorMatricula(matricula));
+        orcamentoSql.verificar("consultarEtagAvaliacao", 2, () -> avaliacaoComportamentoService.consultarEtagAvaliacao(matricula));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a avaliação dentro do orçamento")
+    void atualizaAvaliacaoPorMarticula(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(2);
+        var novasNotas = new AvaliacaoComportamentoAtualizaRequest(3.0, null, null, 2.0);
+
+        // Act + Assert
+        // Notas atuais, UPDATE condicional com a versão do colaborador no mesmo round trip e registro de performance
+        // (SELECT + UPDATE)
+        orcamentoSql.verificar("atualizaAvaliacaoPorMarticula", 4,
+                () -> avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula, novasNotas, null));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a avaliação com If-Match dentro do orçamento e rejeitar a ETag anterior")
+    void atualizaAvaliacaoComIfMatch(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(2);
+        String etag = avaliacaoComportamentoService.consultarEtagAvaliacao(matricula);
+        var novasNotas = new AvaliacaoComportamentoAtualizaRequest(4.0, null, null, null);
+
+        // Act + Assert
+        // O If-Match não acrescenta comandos: é verificado sobre a versão lida, que fica no WHERE do UPDATE
+        orcamentoSql.verificar("atualizaAvaliacaoPorMarticula (If-Match)", 4,
+                () -> avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula, novasNotas, "\"outro.1\", " + etag));
+
+        // A versão mudou com a atualização: a mesma ETag não atende mais ao If-Match
+        assertThrows(PreCondicaoFalhouException.class,
+                () -> avaliacaoComportamentoService.atualizaAvaliacaoPorMarticula(matricula, novasNotas, etag));
+    }
+
+    @Test
+    @DisplayName("Deve excluir a avaliação dentro do orçamento")
+    void deletarAvaliacoesPorMatricula(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(2);
+
+        // Act + Assert
+        orcamentoSql.verificar("deletarAvaliacoesPorMatricula", 6,
+                () -> avaliacaoComportamentoService.deletarAvaliacoesPorMatricula(matricula));
+    }
+
+    @Test
+    @DisplayName("Deve responder as escritas da avaliação dentro do orçamento de produção do endpoint (modo estrito)")
+    void avaliacaoResource(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String avaliacao = "/api/v1/colaborador/" + cenario.colaborador() + "/avaliacao";
+
+        // Act + Assert
+        // colaborador.orcamento-sql.endpoints.avaliacao (6) e avaliacao-patch (4): acima deles a requisição falharia com 500
+        // O POST pode incluir a leitura de um novo bloco de ids da sequence (ALOCACAO_IDS)
+        orcamentoSql.verificar("POST " + avaliacao, 6, () -> mockMvc.perform(post(avaliacao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"notaAvaliacaoComportamental": 5.0, "notaAprendizado": 4.0,
+                                 "notaTomadaDecisao": 3.0, "notaAutonomia": 4.5}
+                                """))
+                .andExpect(status().isCreated()));
+        orcamentoSql.verificar("PATCH " + avaliacao, 4, () -> mockMvc.perform(patch(avaliacao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"notaAutonomia\": 2.0}"))
+                .andExpect(status().isNoContent()));
+        orcamentoSql.verificar("DELETE " + avaliacao, 6,
+                () -> mockMvc.perform(delete(avaliacao)).andExpect(status().isNoContent()));
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.demo.colaborador.avaliacao.service;
 
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import org.mockito.Spy;
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoAtualizaRequest;
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoResponse;
 import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
 import com.example.demo.base.exception.ResourceNotFoundException;
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.avaliacao.repository.AvaliacaoComportamentoRepository;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -17,10 +22,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +43,12 @@ class AvaliacaoComportamentoServiceTest {
     @Mock
     private ColaboradorRepository colaboradorRepository;
 
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @Spy
+    private FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
     @InjectMocks
     private AvaliacaoComportamentoService avaliacaoService;
 
@@ -86,6 +99,9 @@ class AvaliacaoComportamentoServiceTest {
 
             // Verifica se o ID retornado é o mesmo gerado pelo save()
             assertEquals(10L, idRetornado);
+
+            // Verifica se o registro de performance recebeu a avaliação salva
+            verify(performanceColaboradorService).registrarAvaliacao(matricula, salvo);
         }
 
         @Test
@@ -233,118 +249,128 @@ class AvaliacaoComportamentoServiceTest {
     @Nested
     class atualizaAvaliacaoPorMarticula {
 
+        // Avaliação como lida do banco antes do UPDATE, com as notas e a versão atuais
+        private AvaliacaoComportamentoEntity avaliacaoAtual(Long versao, Double n1, Double n2, Double n3, Double n4) {
+            var avaliacao = new AvaliacaoComportamentoEntity(200L, n1, n2, n3, n4);
+            avaliacao.setVersao(versao);
+            return avaliacao;
+        }
+
         @Test
-        @DisplayName("Deve atualizar todas as notas quando todas forem informadas")
+        @DisplayName("Deve atualizar as notas em um único round trip e recalcular a performance sem reler a avaliação")
         void deveAtualizarTodasAsNotas() {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaborador = new ColaboradorEntity(matricula, "Dan", LocalDate.of(2024,4,4), "Arquiteto");
-
-            // Cria uma avaliação existente associada ao colaborador
-            var avaliacao = new AvaliacaoComportamentoEntity(200L, 2.0, 2.0, 2.0, 2.0);
-            avaliacao.setColaborador(colaborador);
-            colaborador.setAvaliacaoComportamento(avaliacao);
-
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
-
             // Cria o DTO simulando o input do usuário
             var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, 4.0, 3.0, 5.0);
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<AvaliacaoComportamentoEntity> avaliacaoPassadaSave = ArgumentCaptor.forClass(AvaliacaoComportamentoEntity.class);
+            // Configura o Mock para retornar a avaliação atual e uma linha atualizada pelo UPDATE condicional
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula))
+                    .thenReturn(Optional.of(avaliacaoAtual(1L, 1.0, 1.0, 1.0, 1.0)));
+            when(avaliacaoComportamentoRepository.atualizarParcial(matricula, 200L, 1L, dto)).thenReturn(1);
 
             // Act
             // Executa o método atualizaAvaliacaoPorMarticula() para, de fato, testá-lo
-            avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto);
+            avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, null);
 
             // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Verifica se o colaborador não foi carregado nem a avaliação salva (a atualização é feita direto no banco)
+            verify(colaboradorRepository, never()).findById(any());
+            verify(avaliacaoComportamentoRepository, never()).save(any());
 
-            // Verifica se o método save() do objeto avaliacaoComportamentoRepository foi chamado exatamente uma vez
-            verify(avaliacaoComportamentoRepository).save(avaliacaoPassadaSave.capture());
+            // A avaliação é lida uma única vez e a versão do colaborador segue no mesmo round trip do UPDATE
+            verify(avaliacaoComportamentoRepository, times(1)).findByColaboradorMatricula(matricula);
+            verifyNoInteractions(colaboradorRepository);
 
-            // Verifica se a avaliação teve todas as notas atualizadas
-            AvaliacaoComportamentoEntity salvo = avaliacaoPassadaSave.getValue();
-            assertEquals(5.0, salvo.getNotaAvaliacaoComportamental());
-            assertEquals(4.0, salvo.getNotaAprendizado());
-            assertEquals(3.0, salvo.getNotaTomadaDecisao());
-            assertEquals(5.0, salvo.getNotaAutonomia());
+            // Verifica se o registro de performance foi recalculado com as notas novas
+            var notas = ArgumentCaptor.forClass(AvaliacaoComportamentoEntity.class);
+            verify(performanceColaboradorService).registrarAvaliacao(eq(matricula), notas.capture());
+            assertEquals(List.of(5.0, 4.0, 3.0, 5.0), List.of(notas.getValue().getNotaAvaliacaoComportamental(),
+                    notas.getValue().getNotaAprendizado(), notas.getValue().getNotaTomadaDecisao(),
+                    notas.getValue().getNotaAutonomia()));
         }
 
         @Test
-        @DisplayName("Deve atualizar parcialmente quando apenas algumas notas forem informadas")
-        void deveAtualizarParcialmenteAsNotas() {
+        @DisplayName("Deve completar as notas não informadas com as atuais no registro de performance")
+        void deveCompletarNotasNaoInformadas() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new AvaliacaoComportamentoAtualizaRequest(null, 4.0, null, null);
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaborador = new ColaboradorEntity(matricula, "Eva", LocalDate.of(2024,5,5), "Analista Sr.");
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula))
+                    .thenReturn(Optional.of(avaliacaoAtual(1L, 2.0, 1.0, 3.0, 5.0)));
+            when(avaliacaoComportamentoRepository.atualizarParcial(matricula, 200L, 1L, dto)).thenReturn(1);
 
-            // Cria uma avaliação existente associada ao colaborador
-            var avaliacao = new AvaliacaoComportamentoEntity(300L, 2.0, 3.0, 4.0, 1.0);
-            avaliacao.setColaborador(colaborador);
-            colaborador.setAvaliacaoComportamento(avaliacao);
+            // Act
+            avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, "\"200.1\"");
 
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            // Assert
+            var notas = ArgumentCaptor.forClass(AvaliacaoComportamentoEntity.class);
+            verify(performanceColaboradorService).registrarAvaliacao(eq(matricula), notas.capture());
+            assertEquals(List.of(2.0, 4.0, 3.0, 5.0), List.of(notas.getValue().getNotaAvaliacaoComportamental(),
+                    notas.getValue().getNotaAprendizado(), notas.getValue().getNotaTomadaDecisao(),
+                    notas.getValue().getNotaAutonomia()));
+        }
 
-            // Cria o DTO simulando o input do usuário (atualiza apenas duas notas)
-            var dto = new AvaliacaoComportamentoAtualizaRequest(null, 5.0, null, 4.5);
+        @Test
+        @DisplayName("Deve lançar PreCondicaoFalhouException sem executar o UPDATE quando o If-Match estiver desatualizado")
+        void deveLancarPreCondicaoFalhouQuandoIfMatchDesatualizado() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, null, null, null);
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<AvaliacaoComportamentoEntity> avaliacaoPassadaSave = ArgumentCaptor.forClass(AvaliacaoComportamentoEntity.class);
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula))
+                    .thenReturn(Optional.of(avaliacaoAtual(2L, 2.0, 2.0, 2.0, 2.0)));
 
-            // Act
-            // Executa o método atualizaAvaliacaoPorMarticula() para, de fato, testá-lo
-            avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto);
+            // Act + Assert
+            assertThrows(
+                    PreCondicaoFalhouException.class,
+                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, "\"200.1\"")
+            );
 
-            // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            verify(avaliacaoComportamentoRepository, never()).atualizarParcial(any(), any(), any(), any());
+            verifyNoInteractions(performanceColaboradorService);
+        }
 
-            // Verifica se o método save() do objeto avaliacaoComportamentoRepository foi chamado exatamente uma vez
-            verify(avaliacaoComportamentoRepository).save(avaliacaoPassadaSave.capture());
+        @Test
+        @DisplayName("Deve lançar OptimisticLockingFailureException quando a avaliação mudar entre a leitura e o UPDATE")
+        void deveLancarOptimisticLockingQuandoAvaliacaoAlteradaConcorrentemente() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, null, null, null);
+
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula))
+                    .thenReturn(Optional.of(avaliacaoAtual(1L, 2.0, 2.0, 2.0, 2.0)));
+            when(avaliacaoComportamentoRepository.atualizarParcial(matricula, 200L, 1L, dto)).thenReturn(0);
+
+            // Act + Assert
+            assertThrows(
+                    OptimisticLockingFailureException.class,
+                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, null)
+            );
 
-            // Verifica se apenas as notas informadas foram atualizadas
-            AvaliacaoComportamentoEntity salvo = avaliacaoPassadaSave.getValue();
-            assertEquals(2.0, salvo.getNotaAvaliacaoComportamental()); // preservada
-            assertEquals(5.0, salvo.getNotaAprendizado());             // atualizada
-            assertEquals(4.0, salvo.getNotaTomadaDecisao());           // preservada
-            assertEquals(4.5, salvo.getNotaAutonomia());               // atualizada
+            verifyNoInteractions(performanceColaboradorService);
         }
 
         @Test
         @DisplayName("Deve lançar NegocioException quando colaborador não possuir avaliação cadastrada")
-        void deveLancarNegocioExceptionQuandoSemAvaliacaoParaAtualizar() {
+        void deveLancarNegocioQuandoSemAvaliacao() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new AvaliacaoComportamentoAtualizaRequest(1.0, 1.0, 1.0, 1.0);
 
-            // Simula um colaborador encontrado e vindo do banco de dados sem avaliação
-            var colaborador = new ColaboradorEntity(matricula, "Fred", LocalDate.of(2024,6,6), "Designer");
-            colaborador.setAvaliacaoComportamento(null);
-
-            // Configura o Mock para retornar o colaborador (sem avaliação)
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
-
-            // Cria o DTO simulando o input do usuário
-            var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, 4.0, 3.0, 5.0);
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula)).thenReturn(Optional.empty());
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
 
             // Act + Assert
-            // Tenta atualizar sem avaliação e deve retornar NegocioException
-            NegocioException ex = assertThrows(
+            assertThrows(
                     NegocioException.class,
-                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto)
+                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, null)
             );
 
-            // Verifica a mensagem da exceção
-            assertEquals("O colaborador " + matricula + " não possui uma avaliação comportamental para atualizar", ex.getMessage());
-
-            // Verifica que o save() de avaliações não foi chamado
-            verify(avaliacaoComportamentoRepository, never()).save(any());
+            verify(avaliacaoComportamentoRepository, never()).atualizarParcial(any(), any(), any(), any());
+            verifyNoInteractions(performanceColaboradorService);
         }
 
         @Test
@@ -352,41 +378,35 @@ class AvaliacaoComportamentoServiceTest {
         void deveLancarResourceNotFoundQuandoColaboradorNaoExistir() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new AvaliacaoComportamentoAtualizaRequest(3.0, 3.0, 3.0, 3.0);
 
-            // Configura o Mock para retornar vazio ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
-
-            // Cria o DTO simulando o input do usuário
-            var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, 4.0, 3.0, 5.0);
+            when(avaliacaoComportamentoRepository.findByColaboradorMatricula(matricula)).thenReturn(Optional.empty());
+            when(colaboradorRepository.existsById(matricula)).thenReturn(false);
 
             // Act + Assert
-            // Tenta atualizar notas para matrícula inexistente e deve lançar ResourceNotFoundException
             assertThrows(
                     ResourceNotFoundException.class,
-                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto)
+                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(matricula.toString(), dto, null)
             );
 
-            // Verifica que o save() não foi chamado
-            verify(avaliacaoComportamentoRepository, never()).save(any());
+            verify(avaliacaoComportamentoRepository, never()).atualizarParcial(any(), any(), any(), any());
+            verifyNoInteractions(performanceColaboradorService);
         }
 
         @Test
         @DisplayName("Deve lançar IllegalArgumentException quando UUID for inválido")
         void deveLancarIllegalArgumentExceptionQuandoUuidInvalido() {
             // Arrange
-            String uuidInvalido = "invalid-uuid";
-            var dto = new AvaliacaoComportamentoAtualizaRequest(5.0, 4.0, 3.0, 5.0);
+            String uuidInvalido = "uuid-invalido";
 
             // Act + Assert
-            // Tenta atualizar notas com UUID inválido e deve lançar IllegalArgumentException
             assertThrows(
                     IllegalArgumentException.class,
-                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(uuidInvalido, dto)
+                    () -> avaliacaoService.atualizaAvaliacaoPorMarticula(uuidInvalido,
+                            new AvaliacaoComportamentoAtualizaRequest(1.0, 1.0, 1.0, 1.0), null)
             );
 
-            // Verifica que nenhum repositório foi acessado
-            verify(colaboradorRepository, never()).findById(any());
-            verify(avaliacaoComportamentoRepository, never()).save(any());
+            verifyNoInteractions(colaboradorRepository, avaliacaoComportamentoRepository);
         }
     }
 
@@ -425,6 +445,9 @@ class AvaliacaoComportamentoServiceTest {
             // Verifica se a avaliação foi desvinculada (null), acionando orphanRemoval
             ColaboradorEntity salvo = colaboradorPassadoSave.getValue();
             assertNull(salvo.getAvaliacaoComportamento());
+
+            // Verifica se o registro de performance foi marcado como sem avaliação
+            verify(performanceColaboradorService).registrarAvaliacaoExcluida(matricula);
         }
 
         @Test
@@ -490,4 +513,48 @@ class AvaliacaoComportamentoServiceTest {
             verify(colaboradorRepository, never()).save(any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class consultarEtagAvaliacao {
+
+        @Test
+        @DisplayName("Deve retornar a ETag da avaliação com id e versão")
+        void deveRetornarEtag() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ivo", LocalDate.of(2024,1,1), "Dev");
+            var avaliacao = new AvaliacaoComportamentoEntity(30L, 5.0, 5.0, 5.0, 5.0);
+            avaliacao.setVersao(2L);
+            colaborador.setAvaliacaoComportamento(avaliacao);
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+
+            // Act + Assert
+            assertEquals("\"30.2\"", avaliacaoService.consultarEtagAvaliacao(matricula.toString()));
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o colaborador não tiver avaliação")
+        void deveLancarResourceNotFoundSemAvaliacao() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ivo", LocalDate.of(2024,1,1), "Dev");
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> avaliacaoService.consultarEtagAvaliacao(matricula.toString()));
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o colaborador não existir")
+        void deveLancarResourceNotFoundSemColaborador() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> avaliacaoService.consultarEtagAvaliacao(matricula.toString()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.colaborador.entrega.repository;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class EntregaRepositoryTest {
+
+    @Autowired
+    private EntregaRepository entregaRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private final List<ColaboradorEntity> colaboradores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            var colaborador = new ColaboradorEntity("Colaborador " + i, LocalDate.of(2024, 1, 1), "Dev");
+            testEntityManager.persist(colaborador);
+            colaboradores.add(colaborador);
+        }
+        testEntityManager.flush();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Nested
+    class saveAll {
+
+        @Test
+        @DisplayName("Deve adiar os INSERTs até o flush e enviá-los em lote, sem um round trip por entrega")
+        void deveInserirEntregasEmLote() {
+            // Arrange
+            List<EntregaEntity> entregas = new ArrayList<>();
+            for (ColaboradorEntity colaborador : colaboradores) {
+                for (int i = 1; i <= 4; i++) {
+                    var entrega = new EntregaEntity();
+                    entrega.setDescricao("Entrega " + i);
+                    entrega.setNota((double) i);
+                    entrega.setColaborador(colaborador);
+                    entregas.add(entrega);
+                }
+            }
+
+            // Act
+            entregaRepository.saveAll(entregas);
+
+            // Assert
+            // Os ids já foram atribuídos pela sequence (cada chamada reserva um bloco de 50 ids)...
+            assertTrue(entregas.stream().allMatch(entrega -> entrega.getId() != null));
+            assertEquals(40, entregas.stream().map(EntregaEntity::getId).distinct().count());
+
+            // ...e nenhum INSERT foi executado ainda (com IDENTITY seriam 40 INSERTs imediatos)
+            assertEquals(0, estatisticas.getEntityInsertCount());
+            long statementsAntesDoFlush = estatisticas.getPrepareStatementCount();
+            // O otimizador pooled pode chamar a sequence duas vezes ao inicializar o primeiro bloco
+            assertTrue(statementsAntesDoFlush <= 2, "Apenas chamadas à sequence devem ser executadas antes do flush");
+
+            testEntityManager.flush();
+
+            // Os 40 INSERTs usam um único statement preparado (lote JDBC)
+            assertEquals(40, estatisticas.getEntityInsertCount());
+            assertEquals(statementsAntesDoFlush + 1, estatisticas.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Deve gerar ids de avaliação pela sequence sem executar o INSERT antes do flush")
+        void deveGerarIdsDeAvaliacaoPelaSequence() {
+            // Arrange
+            var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 4.0, 3.0, 5.0);
+            avaliacao.setColaborador(colaboradores.getFirst());
+
+            // Act
+            testEntityManager.persist(avaliacao);
+
+            // Assert
+            assertNotNull(avaliacao.getId());
+            assertEquals(0, estatisticas.getEntityInsertCount());
+        }
+    }
+}
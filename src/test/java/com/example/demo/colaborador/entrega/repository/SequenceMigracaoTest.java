@@ -0,0 +1,94 @@
+package com.example.demo.colaborador.entrega.repository;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Regra de sql/Migracao-Identity-Sequence.sql: a sequence reinicia em MAX(id) + allocationSize, pois o otimizador
+// pooled do Hibernate trata cada valor lido como o fim do bloco de ids
+// Contexto próprio (propriedade exclusiva): nenhum outro teste consumiu blocos das sequences antes da reinicialização
+@DataJpaTest(properties = "colaborador.teste.contexto=sequence-migracao")
+class SequenceMigracaoTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ColaboradorEntity cadastrarColaborador(String nome) {
+        var colaborador = new ColaboradorEntity(nome, LocalDate.of(2024, 1, 1), "Dev");
+        testEntityManager.persist(colaborador);
+        testEntityManager.flush();
+        return colaborador;
+    }
+
+    // Mesmo cálculo do script de migração
+    private void reiniciarSequence(String sequence, String tabela, int alocacaoIds) {
+        long maiorId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabela, Long.class);
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maiorId + alocacaoIds));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids de entrega a partir do maior id migrado, sem repetir os existentes")
+    void deveContinuarAposOMaiorIdDeEntrega() {
+        // Arrange
+        // Entregas gravadas com os ids da antiga coluna IDENTITY
+        var colaborador = cadastrarColaborador("Alice");
+        for (long id = 1; id <= 7; id++) {
+            jdbcTemplate.update("insert into tb_entrega (id, descricao, nota, versao, matricula) values (?, ?, ?, 0, ?)",
+                    id, "Entrega migrada " + id, 4.0, colaborador.getMatricula());
+        }
+        reiniciarSequence("seq_entrega", "tb_entrega", EntregaEntity.ALOCACAO_IDS);
+
+        // Act
+        var primeira = new EntregaEntity();
+        primeira.setDescricao("Nova");
+        primeira.setNota(3.0);
+        primeira.setColaborador(colaborador);
+        testEntityManager.persist(primeira);
+
+        var segunda = new EntregaEntity();
+        segunda.setDescricao("Nova");
+        segunda.setNota(3.0);
+        segunda.setColaborador(colaborador);
+        testEntityManager.persist(segunda);
+        testEntityManager.flush();
+
+        // Assert
+        assertEquals(8L, primeira.getId());
+        assertEquals(9L, segunda.getId());
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids de avaliação positivos e livres em uma tabela com menos linhas que o bloco")
+    void deveContinuarAposOMaiorIdDeAvaliacao() {
+        // Arrange
+        var alice = cadastrarColaborador("Alice");
+        jdbcTemplate.update("""
+                insert into tb_avaliacao_comportamental
+                    (id, nota_ambiente_colaborativo, nota_aprendizado, nota_tomada_decisao, nota_autonomia, versao, matricula)
+                values (3, 5.0, 4.0, 3.0, 5.0, 0, ?)
+                """, alice.getMatricula());
+        reiniciarSequence("seq_avaliacao_comportamental", "tb_avaliacao_comportamental", AvaliacaoComportamentoEntity.ALOCACAO_IDS);
+
+        // Act
+        var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 4.0, 3.0, 5.0);
+        avaliacao.setColaborador(cadastrarColaborador("Bruno"));
+        testEntityManager.persist(avaliacao);
+        testEntityManager.flush();
+
+        // Assert
+        assertEquals(4L, avaliacao.getId());
+    }
+}
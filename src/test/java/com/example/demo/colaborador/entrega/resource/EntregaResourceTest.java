@@ -1,5 +1,8 @@
 package com.example.demo.colaborador.entrega.resource;
 
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.base.exception.ResourceNotFoundException;
 import com.example.demo.colaborador.entrega.service.EntregaService;
 import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest;
 import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
@@ -88,6 +91,47 @@ class EntregaResourceTest {
             org.junit.jupiter.api.Assertions.assertEquals("Relatório Q1", dtoCaptor.getValue().descricao());
             org.junit.jupiter.api.Assertions.assertEquals(4.5, dtoCaptor.getValue().nota());
         }
+
+        @Test
+        @DisplayName("Deve repassar o If-Match recebido ao service")
+        void deveRepassarIfMatch() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            Long id = 88L;
+            var dto = new EntregaAtualizaRequest(null, 4.5);
+
+            // Act
+            mockMvc.perform(
+                            patch("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, id)
+                                    .header("If-Match", "\"88.2\"")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(dto))
+                    )
+                    // Assert
+                    .andExpect(status().isNoContent());
+
+            verify(entregaService, times(1))
+                    .atualizarEntregaPorId(eq(matricula.toString()), eq(id), any(EntregaAtualizaRequest.class), eq("\"88.2\""));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a nota tiver mais de 2 casas decimais")
+        void deveRejeitarNotaComMaisDeDuasCasas() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new EntregaCadastroRequest("Relatório Q1", 4.555);
+
+            // Act
+            mockMvc.perform(
+                            post("/api/v1/colaborador/{matricula}/entrega", matricula)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(dto))
+                    )
+                    // Assert
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(entregaService);
+        }
     }
 
     @Nested
@@ -103,6 +147,8 @@ class EntregaResourceTest {
             var e1 = new EntregaResponse(1L, "Entrega 1", 3.0);
             var e2 = new EntregaResponse(2L, "Entrega 2", 4.0);
 
+            when(entregaService.consultarEtagEntregas(matricula.toString()))
+                    .thenReturn("\"" + matricula + ".2\"");
             when(entregaService.listarEntregasPorColaborador(matricula.toString()))
                     .thenReturn(List.of(e1, e2));
 
@@ -112,6 +158,7 @@ class EntregaResourceTest {
                     // Assert
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"" + matricula + ".2\""))
                     .andExpect(jsonPath("$", hasSize(2)))
                     .andExpect(jsonPath("$[0].id", is(1)))
                     .andExpect(jsonPath("$[0].descricao", is("Entrega 1")))
@@ -137,6 +184,8 @@ class EntregaResourceTest {
 
             var dto = new EntregaResponse(id, "Entrega 77", 5.0);
 
+            when(entregaService.consultarEtagEntrega(matricula.toString(), id))
+                    .thenReturn("\"77.0\"");
             when(entregaService.consultarEntregaPorId(matricula.toString(), id))
                     .thenReturn(dto);
 
@@ -146,12 +195,32 @@ class EntregaResourceTest {
                     // Assert
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"77.0\""))
                     .andExpect(jsonPath("$.id", is(77)))
                     .andExpect(jsonPath("$.descricao", is("Entrega 77")))
                     .andExpect(jsonPath("$.nota", is(5.0)));
 
             verify(entregaService, times(1)).consultarEntregaPorId(matricula.toString(), id);
         }
+
+        @Test
+        @DisplayName("Deve retornar 304 sem montar o DTO quando o If-None-Match for a versão atual")
+        void deveRetornar304QuandoVersaoNaoMudou() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            Long id = 77L;
+
+            when(entregaService.consultarEtagEntrega(matricula.toString(), id))
+                    .thenReturn("\"77.1\"");
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, id)
+                            .header("If-None-Match", "\"77.1\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(entregaService, never()).consultarEntregaPorId(anyString(), anyLong());
+        }
     }
 
     @Nested
@@ -172,7 +241,7 @@ class EntregaResourceTest {
             ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
             ArgumentCaptor<EntregaAtualizaRequest> dtoCaptor = ArgumentCaptor.forClass(EntregaAtualizaRequest.class);
 
-            doNothing().when(entregaService).atualizarEntregaPorId(anyString(), anyLong(), any(EntregaAtualizaRequest.class));
+            doNothing().when(entregaService).atualizarEntregaPorId(anyString(), anyLong(), any(EntregaAtualizaRequest.class), isNull());
 
             // Act
             // Executa PUT /api/v1/colaborador/{matricula}/entrega/{id}
@@ -186,12 +255,74 @@ class EntregaResourceTest {
 
             // Verifica que o service foi chamado com os argumentos corretos
             verify(entregaService, times(1))
-                    .atualizarEntregaPorId(matriculaCaptor.capture(), idCaptor.capture(), dtoCaptor.capture());
+                    .atualizarEntregaPorId(matriculaCaptor.capture(), idCaptor.capture(), dtoCaptor.capture(), isNull());
             org.junit.jupiter.api.Assertions.assertEquals(matricula.toString(), matriculaCaptor.getValue());
             org.junit.jupiter.api.Assertions.assertEquals(id, idCaptor.getValue());
             org.junit.jupiter.api.Assertions.assertEquals("Nova descrição", dtoCaptor.getValue().descricao());
             org.junit.jupiter.api.Assertions.assertEquals(4.5, dtoCaptor.getValue().nota());
         }
+
+        @Test
+        @DisplayName("Deve retornar 404 quando o colaborador ou a entrega não existir")
+        void deveRetornar404QuandoNaoEncontrado() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new EntregaAtualizaRequest("Nova descrição", 4.5);
+
+            doThrow(new ResourceNotFoundException("Colaborador não encontrado"))
+                    .when(entregaService).atualizarEntregaPorId(eq(matricula.toString()), eq(1L), any(EntregaAtualizaRequest.class), isNull());
+            doThrow(new ResourceNotFoundException("A entrega consultada não existe: 2"))
+                    .when(entregaService).atualizarEntregaPorId(eq(matricula.toString()), eq(2L), any(EntregaAtualizaRequest.class), isNull());
+
+            // Act + Assert
+            mockMvc.perform(patch("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, 1L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.erro", is("Colaborador não encontrado")));
+
+            mockMvc.perform(patch("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, 2L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.erro", is("A entrega consultada não existe: 2")));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a entrega pertencer a outro colaborador")
+        void deveRetornar400QuandoEntregaDeOutroColaborador() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new EntregaAtualizaRequest("Nova descrição", null);
+
+            doThrow(new NegocioException("Acesso negado: A entrega 3 não pertence ao colaborador " + matricula))
+                    .when(entregaService).atualizarEntregaPorId(anyString(), anyLong(), any(EntregaAtualizaRequest.class), isNull());
+
+            // Act + Assert
+            mockMvc.perform(patch("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, 3L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.erro", is("Acesso negado: A entrega 3 não pertence ao colaborador " + matricula)));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 412 quando o If-Match estiver desatualizado")
+        void deveRetornar412QuandoIfMatchDesatualizado() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new EntregaAtualizaRequest("Nova descrição", null);
+
+            doThrow(new PreCondicaoFalhouException("A entrega foi alterada desde a última consulta"))
+                    .when(entregaService).atualizarEntregaPorId(anyString(), anyLong(), any(EntregaAtualizaRequest.class), eq("\"4-1\""));
+
+            // Act + Assert
+            mockMvc.perform(patch("/api/v1/colaborador/{matricula}/entrega/{id}", matricula, 4L)
+                            .header("If-Match", "\"4-1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isPreconditionFailed());
+        }
     }
 
     @Nested
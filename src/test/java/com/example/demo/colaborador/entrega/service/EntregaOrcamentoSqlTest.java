@@ -0,0 +1,204 @@
+package com.example.demo.colaborador.entrega.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamentos de comandos SQL de EntregaService (ver @TesteOrcamentoSql)
+@TesteOrcamentoSql
+class EntregaOrcamentoSqlTest {
+
+    @Autowired
+    private EntregaService entregaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve cadastrar a 4ª entrega dentro do orçamento")
+    void cadastrarEntregaColaborador(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(3);
+
+        // Act + Assert
+        // UPDATE condicional da reserva no colaborador, INSERT da entrega e atualização do registro de performance
+        // (SELECT sem bloqueio + UPDATE): o limite é garantido pela reserva, não por um bloqueio da performance
+        orcamentoSql.verificar("cadastrarEntregaColaborador", 4,
+                () -> entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()));
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar a entrega com o registro de performance lido do cache de segundo nível")
+    void cadastrarEntregaColaboradorComCache(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        // O cadastro da 3ª entrega deixa o registro de performance no cache
+        String matricula = cenario.colaboradorAvaliado(2);
+        entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega());
+
+        // Act + Assert
+        // Reserva, INSERT da entrega e UPDATE da performance
+        orcamentoSql.verificarComCache("cadastrarEntregaColaborador (cache)", 3,
+                () -> entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a 5ª entrega de um cadastro concorrente, que aguarda a reserva da 4ª ser confirmada")
+    void cadastrarEntregasConcorrentes(CenarioOrcamentoSql cenario) throws Exception {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(3);
+        var reservada = new CountDownLatch(1);
+        var confirmar = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            // 4ª entrega: reserva a vaga e mantém a transação aberta até a liberação do teste
+            var quarta = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega());
+                reservada.countDown();
+                aguardar(confirmar);
+            }));
+            assertTrue(reservada.await(10, TimeUnit.SECONDS));
+
+            // Act
+            var quinta = executor.submit(() -> entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()));
+
+            // Assert
+            // O segundo cadastro fica bloqueado na linha do colaborador enquanto a 4ª entrega não é confirmada
+            assertThrows(TimeoutException.class, () -> quinta.get(300, TimeUnit.MILLISECONDS));
+            confirmar.countDown();
+            quarta.get(10, TimeUnit.SECONDS);
+
+            // ...e, após o commit, encontra o limite atingido
+            var falha = assertThrows(ExecutionException.class, () -> quinta.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(NegocioException.class, falha.getCause());
+            assertEquals("O colaborador já atingiu o limite de 4 entregas cadastradas", falha.getCause().getMessage());
+        }
+
+        assertEquals(4, entregaService.listarEntregasPorColaborador(matricula).size());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve consultar, listar e calcular as ETags das entregas dentro do orçamento")
+    void consultarEntregas(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(3);
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+
+        // Act + Assert
+        orcamentoSql.verificar("consultarEntregaPorId", 2, () -> entregaService.consultarEntregaPorId(matricula, id));
+        orcamentoSql.verificar("consultarEtagEntrega", 2, () -> entregaService.consultarEtagEntrega(matricula, id));
+        orcamentoSql.verificar("consultarEtagEntregas", 1, () -> entregaService.consultarEtagEntregas(matricula));
+        var entregas = orcamentoSql.verificar("listarEntregasPorColaborador (4)", 2,
+                () -> entregaService.listarEntregasPorColaborador(matricula));
+        assertEquals(4, entregas.size());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a nota da entrega dentro do orçamento")
+    void atualizarEntregaPorId(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(1);
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+
+        // Act + Assert
+        // Leitura da nota anterior, UPDATE da entrega com a versão do colaborador no mesmo round trip e registro de
+        // performance (SELECT + UPDATE)
+        orcamentoSql.verificar("atualizarEntregaPorId", 4, () -> entregaService.atualizarEntregaPorId(matricula, id,
+                new EntregaAtualizaRequest("Entrega revisada", 2.5), null));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a nota da entrega lendo a nota anterior do cache de segundo nível")
+    void atualizarEntregaPorIdComCache(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        // A consulta deixa a entrega e o registro de performance no cache
+        String matricula = cenario.colaboradorAvaliado(1);
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+        entregaService.consultarEntregaPorId(matricula, id);
+
+        // Act + Assert
+        // O UPDATE da entrega (com a versão do colaborador) e o UPDATE da performance
+        orcamentoSql.verificarComCache("atualizarEntregaPorId (cache)", 2, () -> entregaService.atualizarEntregaPorId(matricula,
+                id, new EntregaAtualizaRequest("Entrega revisada", 2.5), null));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar apenas a descrição da entrega dentro do orçamento")
+    void atualizarDescricaoEntregaPorId(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(1);
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+
+        // Act + Assert
+        // Sem nota: UPDATE condicional da entrega com a versão do colaborador no mesmo round trip
+        orcamentoSql.verificar("atualizarDescricaoEntregaPorId", 1, () -> entregaService.atualizarEntregaPorId(matricula, id,
+                new EntregaAtualizaRequest("Entrega revisada", null), null));
+    }
+
+    @Test
+    @DisplayName("Deve excluir a entrega dentro do orçamento")
+    void deletarEntregaColaborador(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(1);
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+
+        // Act + Assert
+        orcamentoSql.verificar("deletarEntregaColaborador", 6, () -> entregaService.deletarEntregaColaborador(matricula, id));
+    }
+
+    @Test
+    @DisplayName("Deve responder as escritas de entregas dentro do orçamento de produção do endpoint (modo estrito)")
+    void entregaResource(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        String matricula = cenario.colaboradorAvaliado(1);
+        String entregas = "/api/v1/colaborador/" + matricula + "/entrega";
+        Long id = entregaService.cadastrarEntregaColaborador(matricula, CenarioOrcamentoSql.novaEntrega()).getId();
+
+        // Act + Assert
+        // colaborador.orcamento-sql.endpoints.entrega (6) e entrega-patch (4): acima deles a requisição falharia com 500
+        orcamentoSql.verificar("POST " + entregas, 4, () -> mockMvc.perform(post(entregas)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"descricao\": \"Entrega orçamento\", \"nota\": 4.0}"))
+                .andExpect(status().isCreated()));
+        orcamentoSql.verificar("GET " + entregas + "/{id}", 4,
+                () -> mockMvc.perform(get(entregas + "/" + id)).andExpect(status().isOk()));
+        orcamentoSql.verificar("PATCH " + entregas + "/{id}", 4, () -> mockMvc.perform(patch(entregas + "/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nota\": 2.5}"))
+                .andExpect(status().isNoContent()));
+        orcamentoSql.verificar("DELETE " + entregas + "/{id}", 6,
+                () -> mockMvc.perform(delete(entregas + "/" + id)).andExpect(status().isNoContent()));
+    }
+}
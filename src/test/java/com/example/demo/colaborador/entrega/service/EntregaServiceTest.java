@@ -5,8 +5,11 @@ import com.example.demo.colaborador.entrega.resource.json.EntregaAtualizaRequest
 import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
 import com.example.demo.colaborador.entrega.resource.json.EntregaResponse;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
 import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.base.http.EtagVersao;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.entrega.model.EntregaEntity;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
 import com.example.demo.colaborador.entrega.repository.EntregaRepository;
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -32,6 +36,9 @@ class EntregaServiceTest {
     @Mock
     private EntregaRepository entregaRepository;
 
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
     @InjectMocks
     private EntregaService entregaService;
 
@@ -44,14 +51,12 @@ class EntregaServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
+            // Referência ao colaborador (sem SELECT)
             var colaborador = new ColaboradorEntity(matricula, "Alice", LocalDate.of(2024,1,1), "Engenheira");
 
-            // Lista de entregas atual (< 4) para permitir novo cadastro
-            colaborador.setEntregas(new ArrayList<>(List.of(new EntregaEntity(), new EntregaEntity(), new EntregaEntity())));
-
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            // Configura o Mock para simular a vaga reservada pelo UPDATE condicional (menos de 4 entregas)
+            when(colaboradorRepository.reservarEntrega(matricula, ColaboradorEntity.LIMITE_ENTREGAS)).thenReturn(1);
+            when(colaboradorRepository.getReferenceById(matricula)).thenReturn(colaborador);
 
             // Cria o DTO simulando o input do usuário
             var dto = new EntregaCadastroRequest("Relatório Q1", 4.5);
@@ -72,8 +77,8 @@ class EntregaServiceTest {
             EntregaEntity retorno = entregaService.cadastrarEntregaColaborador(matricula.toString(), dto);
 
             // Assert
-            // Verifica se o método findById() foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Verifica se o colaborador não foi carregado (nem a sua lista de entregas)
+            verify(colaboradorRepository, never()).findById(any());
 
             // Verifica se o método save() foi chamado exatamente uma vez e captura o argumento
             verify(entregaRepository).save(entregaPassadaSave.capture());
@@ -88,6 +93,9 @@ class EntregaServiceTest {
             assertEquals(10L, retorno.getId());
             assertEquals("Relatório Q1", retorno.getDescricao());
             assertEquals(4.5, retorno.getNota());
+
+            // Verifica se o registro de performance foi atualizado com a nova entrega
+            verify(performanceColaboradorService).registrarEntregaCadastrada(matricula, 4.5);
         }
 
         @Test
@@ -96,8 +104,9 @@ class EntregaServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Configura o Mock para retornar vazio ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+            // Configura o Mock para simular nenhuma vaga reservada e uma matrícula inexistente
+            when(colaboradorRepository.reservarEntrega(matricula, ColaboradorEntity.LIMITE_ENTREGAS)).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(false);
 
             // Cria o DTO simulando o input do usuário
             var dto = new EntregaCadastroRequest("Doc", 3.0);
@@ -119,11 +128,9 @@ class EntregaServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula colaborador com 4 entregas (limite atingido)
-            var colaborador = new ColaboradorEntity(matricula, "Bob", LocalDate.of(2024,2,2), "Analista");
-            colaborador.setEntregas(new ArrayList<>(List.of(new EntregaEntity(), new EntregaEntity(), new EntregaEntity(), new EntregaEntity())));
-
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            // Simula colaborador existente com 4 entregas (o UPDATE condicional não reserva a vaga)
+            when(colaboradorRepository.reservarEntrega(matricula, ColaboradorEntity.LIMITE_ENTREGAS)).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
 
             var dto = new EntregaCadastroRequest("Nova", 4.0);
 
@@ -154,8 +161,7 @@ class EntregaServiceTest {
             );
 
             // Verifica que repositórios não foram acessados
-            verify(colaboradorRepository, never()).findById(any());
-            verify(entregaRepository, never()).save(any());
+            verifyNoInteractions(colaboradorRepository, entregaRepository);
         }
     }
 
@@ -352,6 +358,7 @@ class EntregaServiceTest {
             var colaborador = new ColaboradorEntity(matricula, "Gus", LocalDate.of(2024,7,7), "Dev Sr.");
             var entrega = new EntregaEntity();
             entrega.setId(entregaId);
+            entrega.setNota(3.5);
             entrega.setColaborador(colaborador);
 
             when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
@@ -365,6 +372,10 @@ class EntregaServiceTest {
             verify(colaboradorRepository).findById(matricula);
             verify(entregaRepository).findById(entregaId);
             verify(entregaRepository).deleteById(entregaId);
+            verify(performanceColaboradorService).registrarEntregaExcluida(matricula, 3.5);
+
+            // A vaga da entrega é liberada e a versão (ETag) do colaborador muda no mesmo UPDATE
+            verify(colaboradorRepository).liberarEntrega(matricula);
         }
 
         @Test
@@ -450,158 +461,193 @@ class EntregaServiceTest {
     @Nested
     class atualizarEntregaPorIdEntity {
 
+        // Entrega como lida do cache de segundo nível (findById), com a nota e a versão atuais
+        private EntregaEntity entregaAtual(Long id, UUID matricula, Double nota, Long versao) {
+            var entrega = new EntregaEntity();
+            entrega.setId(id);
+            entrega.setNota(nota);
+            entrega.setVersao(versao);
+            entrega.setColaborador(new ColaboradorEntity(matricula, "Lia", LocalDate.of(2024, 12, 12), "Dev"));
+            return entrega;
+        }
+
         @Test
-        @DisplayName("Deve atualizar descrição e nota quando ambas forem informadas")
+        @DisplayName("Deve atualizar descrição e nota condicionando o UPDATE à versão lida")
         void deveAtualizarDescricaoENota() {
             // Arrange
             UUID matricula = UUID.randomUUID();
             Long entregaId = 70L;
 
-            // Simula colaborador e entrega pertencente
-            var colaborador = new ColaboradorEntity(matricula, "Jade", LocalDate.of(2024,10,10), "Arq");
-            var entrega = new EntregaEntity(); entrega.setId(entregaId); entrega.setDescricao("Antiga"); entrega.setNota(3.0); entrega.setColaborador(colaborador);
-
-            // Configura o Mock para retornar colaborador e entrega
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
-            when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entrega));
-
             // Cria o DTO simulando o input do usuário
             var dto = new EntregaAtualizaRequest("Nova Desc", 4.5);
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<EntregaEntity> entregaPassadaSave = ArgumentCaptor.forClass(EntregaEntity.class);
+            // Configura o Mock para retornar a nota e a versão atuais e uma linha atualizada pelo UPDATE condicional
+            when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entregaAtual(entregaId, matricula, 3.0, 2L)));
+            when(entregaRepository.atualizarParcial(entregaId, matricula, dto, List.of(new EtagVersao.Versao("70", 2L))))
+                    .thenReturn(1);
 
             // Act
             // Executa o método atualizarEntregaPorId() para, de fato, testá-lo
-            entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto);
+            entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, null);
 
             // Assert
-            // Verifica interações
-            verify(colaboradorRepository).findById(matricula);
-            verify(entregaRepository).findById(entregaId);
-            verify(entregaRepository).save(entregaPassadaSave.capture());
+            // Verifica se a entrega não foi salva pelo JPA (a atualização é feita direto no banco) e se a versão do
+            // colaborador não foi incrementada em um comando separado (segue no mesmo round trip do UPDATE)
+            verify(entregaRepository, never()).save(any());
+            verifyNoInteractions(colaboradorRepository);
 
-            // Verifica alterações
-            EntregaEntity salvo = entregaPassadaSave.getValue();
-            assertEquals("Nova Desc", salvo.getDescricao());
-            assertEquals(4.5, salvo.getNota());
+            // Verifica se o registro de performance recebeu a nota anterior e a nova
+            verify(performanceColaboradorService).registrarNotaEntregaAlterada(matricula, 3.0, 4.5);
         }
 
         @Test
-        @DisplayName("Deve atualizar apenas a descrição quando nota for nula")
-        void deveAtualizarApenasDescricao() {
+        @DisplayName("Deve lançar PreCondicaoFalhouException sem alterar a entrega quando o If-Match estiver desatualizado")
+        void deveLancarPreCondicaoFalhouQuandoIfMatchDesatualizado() {
             // Arrange
             UUID matricula = UUID.randomUUID();
             Long entregaId = 71L;
 
-            var colaborador = new ColaboradorEntity(matricula, "Kai", LocalDate.of(2024,11,11), "Eng");
-            var entrega = new EntregaEntity(); entrega.setId(entregaId); entrega.setDescricao("Antiga"); entrega.setNota(2.0); entrega.setColaborador(colaborador);
+            when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entregaAtual(entregaId, matricula, 3.0, 2L)));
 
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
-            when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entrega));
+            var dto = new EntregaAtualizaRequest(null, 5.0);
+
+            // Act + Assert
+            assertThrows(
+                    PreCondicaoFalhouException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, "\"71.1\"")
+            );
+
+            verify(entregaRepository, never()).atualizarParcial(any(), any(), any(), any());
+            verifyNoInteractions(performanceColaboradorService);
+        }
+
+        @Test
+        @DisplayName("Deve atualizar apenas a descrição em um único UPDATE quando nota for nula")
+        void deveAtualizarApenasDescricao() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            Long entregaId = 71L;
 
             var dto = new EntregaAtualizaRequest("Desc Atualizada", null);
 
-            ArgumentCaptor<EntregaEntity> entregaPassadaSave = ArgumentCaptor.forClass(EntregaEntity.class);
+            when(entregaRepository.atualizarParcial(entregaId, matricula, dto, null)).thenReturn(1);
 
             // Act
-            entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto);
+            entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, null);
 
             // Assert
-            verify(entregaRepository).save(entregaPassadaSave.capture());
-            EntregaEntity salvo = entregaPassadaSave.getValue();
-            assertEquals("Desc Atualizada", salvo.getDescricao());
-            assertEquals(2.0, salvo.getNota()); // preservada
+            // Sem nota, a nota anterior não é lida e o registro de performance não muda
+            verify(entregaRepository, never()).findById(anyLong());
+            verifyNoInteractions(colaboradorRepository);
+            verifyNoInteractions(performanceColaboradorService);
         }
 
         @Test
-        @DisplayName("Deve atualizar apenas a nota quando descrição for nula")
-        void deveAtualizarApenasNota() {
+        @DisplayName("Deve lançar PreCondicaoFalhouException quando o UPDATE da descrição não atender ao If-Match")
+        void deveLancarPreCondicaoFalhouQuandoDescricaoComIfMatchDesatualizado() {
             // Arrange
             UUID matricula = UUID.randomUUID();
             Long entregaId = 72L;
 
             var colaborador = new ColaboradorEntity(matricula, "Lia", LocalDate.of(2024,12,12), "Dev");
-            var entrega = new EntregaEntity(); entrega.setId(entregaId); entrega.setDescricao("Keep"); entrega.setNota(1.5); entrega.setColaborador(colaborador);
+            var entrega = new EntregaEntity(); entrega.setId(entregaId); entrega.setColaborador(colaborador);
 
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            var dto = new EntregaAtualizaRequest("Desc", null);
+
+            // Nenhuma linha atualizada, mas colaborador e entrega existem e pertencem
+            when(entregaRepository.atualizarParcial(eq(entregaId), eq(matricula), eq(dto), any())).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
             when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entrega));
 
+            // Act + Assert
+            assertThrows(
+                    PreCondicaoFalhouException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, "\"72.1\"")
+            );
+        }
+
+        @Test
+        @DisplayName("Deve lançar OptimisticLockingFailureException quando a entrega mudar entre a leitura da nota e o UPDATE")
+        void deveLancarOptimisticLockingQuandoEntregaAlteradaConcorrentemente() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            Long entregaId = 73L;
+
             var dto = new EntregaAtualizaRequest(null, 4.0);
 
-            ArgumentCaptor<EntregaEntity> entregaPassadaSave = ArgumentCaptor.forClass(EntregaEntity.class);
+            when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entregaAtual(entregaId, matricula, 1.5, 0L)));
+            when(entregaRepository.atualizarParcial(entregaId, matricula, dto, List.of(new EtagVersao.Versao("73", 0L))))
+                    .thenReturn(0);
 
-            // Act
-            entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto);
+            // Act + Assert
+            assertThrows(
+                    OptimisticLockingFailureException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, null)
+            );
 
-            // Assert
-            verify(entregaRepository).save(entregaPassadaSave.capture());
-            EntregaEntity salvo = entregaPassadaSave.getValue();
-            assertEquals("Keep", salvo.getDescricao()); // preservada
-            assertEquals(4.0, salvo.getNota());         // atualizada
+            verifyNoInteractions(performanceColaboradorService);
         }
 
         @Test
-        @DisplayName("Deve lançar RuntimeException quando colaborador não existir")
-        void deveLancarRuntimeQuandoColaboradorNaoExistir() {
+        @DisplayName("Deve lançar ResourceNotFoundException quando colaborador não existir")
+        void deveLancarNotFoundQuandoColaboradorNaoExistir() {
             // Arrange
             UUID matricula = UUID.randomUUID();
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+            when(entregaRepository.findById(1L)).thenReturn(Optional.empty());
+            when(colaboradorRepository.existsById(matricula)).thenReturn(false);
 
             // Act + Assert
-            RuntimeException ex = assertThrows(
-                    RuntimeException.class,
-                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), 1L, new EntregaAtualizaRequest("x", 2.0))
+            ResourceNotFoundException ex = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), 1L, new EntregaAtualizaRequest("x", 2.0), null)
             );
-            assertTrue(ex.getMessage().contains("Colaborador não encontrado"));
+            assertEquals("Colaborador não encontrado", ex.getMessage());
 
-            verify(entregaRepository, never()).findById(anyLong());
-            verify(entregaRepository, never()).save(any());
+            verify(entregaRepository, never()).atualizarParcial(any(), any(), any(), any());
         }
 
         @Test
-        @DisplayName("Deve lançar RuntimeException quando entrega não existir")
-        void deveLancarRuntimeQuandoEntregaNaoExistir() {
+        @DisplayName("Deve lançar ResourceNotFoundException quando entrega não existir")
+        void deveLancarNotFoundQuandoEntregaNaoExistir() {
             // Arrange
             UUID matricula = UUID.randomUUID();
-            var colaborador = new ColaboradorEntity(matricula, "Meg", LocalDate.of(2024,10,1), "Líder");
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
             when(entregaRepository.findById(9L)).thenReturn(Optional.empty());
 
             // Act + Assert
-            RuntimeException ex = assertThrows(
-                    RuntimeException.class,
-                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), 9L, new EntregaAtualizaRequest("x", 2.0))
+            ResourceNotFoundException ex = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), 9L, new EntregaAtualizaRequest("x", 2.0), null)
             );
-            assertTrue(ex.getMessage().contains("Entrega não encontrada"));
+            assertEquals("A entrega consultada não existe: 9", ex.getMessage());
 
-            verify(entregaRepository, never()).save(any());
+            verify(entregaRepository, never()).atualizarParcial(any(), any(), any(), any());
         }
 
         @Test
-        @DisplayName("Deve lançar RuntimeException quando entrega não pertencer ao colaborador")
-        void deveLancarRuntimeQuandoEntregaDeOutroColaborador() {
+        @DisplayName("Deve lançar NegocioException quando entrega não pertencer ao colaborador")
+        void deveLancarNegocioQuandoEntregaDeOutroColaborador() {
             // Arrange
             UUID matricula = UUID.randomUUID();
             UUID outro = UUID.randomUUID();
             Long entregaId = 80L;
 
-            var colaborador = new ColaboradorEntity(matricula, "Neo", LocalDate.of(2024,9,9), "SE");
             var outroColab = new ColaboradorEntity(outro, "Trin", LocalDate.of(2024,9,1), "SE");
-
             var entrega = new EntregaEntity(); entrega.setId(entregaId); entrega.setColaborador(outroColab);
 
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            var dto = new EntregaAtualizaRequest("x", null);
+
+            // O UPDATE não encontra a entrega com a matrícula informada (posse verificada no WHERE)
+            when(entregaRepository.atualizarParcial(entregaId, matricula, dto, null)).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
             when(entregaRepository.findById(entregaId)).thenReturn(Optional.of(entrega));
 
             // Act + Assert
-            RuntimeException ex = assertThrows(
-                    RuntimeException.class,
-                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, new EntregaAtualizaRequest("x", 2.0))
+            NegocioException ex = assertThrows(
+                    NegocioException.class,
+                    () -> entregaService.atualizarEntregaPorId(matricula.toString(), entregaId, dto, null)
             );
             assertTrue(ex.getMessage().contains("Acesso negado"));
-
-            verify(entregaRepository, never()).save(any());
         }
 
         @Test
@@ -613,12 +659,85 @@ class EntregaServiceTest {
             // Act + Assert
             assertThrows(
                     IllegalArgumentException.class,
-                    () -> entregaService.atualizarEntregaPorId(uuidInvalido, 1L, new EntregaAtualizaRequest("x", 2.0))
+                    () -> entregaService.atualizarEntregaPorId(uuidInvalido, 1L, new EntregaAtualizaRequest("x", 2.0), null)
             );
 
-            verify(colaboradorRepository, never()).findById(any());
-            verify(entregaRepository, never()).findById(anyLong());
-            verify(entregaRepository, never()).save(any());
+            verifyNoInteractions(colaboradorRepository, entregaRepository);
+        }
+    }
+
+    @Nested
+    class consultarEtag {
+
+        @Test
+        @DisplayName("Deve retornar a ETag da entrega com id e versão")
+        void deveRetornarEtagEntrega() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ana", LocalDate.of(2024,1,1), "Dev");
+            var entrega = new EntregaEntity(); entrega.setId(5L); entrega.setColaborador(colaborador);
+            entrega.setVersao(3L);
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            when(entregaRepository.findById(5L)).thenReturn(Optional.of(entrega));
+
+            // Act + Assert
+            assertEquals("\"5.3\"", entregaService.consultarEtagEntrega(matricula.toString(), 5L));
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando a entrega for de outro colaborador")
+        void deveLancarNegocioQuandoEntregaDeOutroColaborador() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ana", LocalDate.of(2024,1,1), "Dev");
+            var outro = new ColaboradorEntity(UUID.randomUUID(), "Bia", LocalDate.of(2024,1,1), "Dev");
+            var entrega = new EntregaEntity(); entrega.setId(5L); entrega.setColaborador(outro);
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            when(entregaRepository.findById(5L)).thenReturn(Optional.of(entrega));
+
+            // Act + Assert
+            assertThrows(NegocioException.class, () -> entregaService.consultarEtagEntrega(matricula.toString(), 5L));
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a entrega não existir")
+        void deveLancarResourceNotFoundQuandoEntregaNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ana", LocalDate.of(2024,1,1), "Dev");
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            when(entregaRepository.findById(5L)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> entregaService.consultarEtagEntrega(matricula.toString(), 5L));
+        }
+
+        @Test
+        @DisplayName("Deve usar a versão do colaborador como ETag da lista de entregas")
+        void deveRetornarEtagListaEntregas() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ana", LocalDate.of(2024,1,1), "Dev");
+            colaborador.setVersao(9L);
+
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+
+            // Act + Assert
+            assertEquals("\"" + matricula + ".9\"", entregaService.consultarEtagEntregas(matricula.toString()));
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException na ETag da lista quando o colaborador não existir")
+        void deveLancarResourceNotFoundNaListaQuandoColaboradorNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> entregaService.consultarEtagEntregas(matricula.toString()));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.example.demo.colaborador.importacao.resource;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoErroResponse;
+import com.example.demo.colaborador.importacao.resource.json.ImportacaoResponse;
+import com.example.demo.colaborador.importacao.service.ImportacaoCsvService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ImportacaoResource.class)
+class ImportacaoResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportacaoCsvService importacaoCsvService;
+
+    private ImportacaoResponse resposta(UUID id, StatusImportacao status) {
+        return new ImportacaoResponse(id, "entregas.csv", status, 0, 0, 0, null, null, null);
+    }
+
+    @Nested
+    class iniciarImportacao {
+
+        @Test
+        @DisplayName("Deve receber o CSV no corpo e retornar 202 com Location")
+        void deveIniciarImportacao() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            ArgumentCaptor<InputStream> conteudo = ArgumentCaptor.forClass(InputStream.class);
+            when(importacaoCsvService.iniciarImportacao(eq("entregas.csv"), conteudo.capture()))
+                    .thenAnswer(invocacao -> {
+                        assertEquals("ENTREGA;x;y;1", new String(
+                                ((InputStream) invocacao.getArgument(1)).readAllBytes(), StandardCharsets.UTF_8));
+                        return resposta(id, StatusImportacao.PENDENTE);
+                    });
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/importacao")
+                            .param("nomeArquivo", "entregas.csv")
+                            .contentType("text/csv")
+                            .content("ENTREGA;x;y;1"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/api/v1/importacao/" + id))
+                    .andExpect(jsonPath("$.status").value("PENDENTE"));
+        }
+    }
+
+    @Nested
+    class consultas {
+
+        @Test
+        @DisplayName("Deve consultar a importação e a página de erros")
+        void deveConsultar() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoCsvService.consultarImportacao(id)).thenReturn(resposta(id, StatusImportacao.CONCLUIDA));
+            when(importacaoCsvService.listarErros(id, 5L)).thenReturn(List.of(new ImportacaoErroResponse(7, "Erro")));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/importacao/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONCLUIDA"));
+
+            mockMvc.perform(get("/api/v1/importacao/{id}/erros", id).param("aposLinha", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].linha").value(7))
+                    .andExpect(jsonPath("$[0].mensagem").value("Erro"));
+        }
+    }
+
+    @Nested
+    class retomarImportacao {
+
+        @Test
+        @DisplayName("Deve retomar a importação e retornar 202")
+        void deveRetomar() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoCsvService.retomarImportacao(id)).thenReturn(resposta(id, StatusImportacao.FALHA));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/importacao/{id}/retomada", id))
+                    .andExpect(status().isAccepted());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a importação já estiver concluída")
+        void deveRetornar400QuandoConcluida() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoCsvService.retomarImportacao(any())).thenThrow(new NegocioException("A importação já foi concluída"));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/importacao/{id}/retomada", id))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.erro").value("A importação já foi concluída"));
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import com.example.demo.colaborador.importacao.model.ImportacaoErroEntity;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.importacao.repository.ImportacaoErroRepository;
+import com.example.demo.colaborador.importacao.repository.ImportacaoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoCsvServiceTest {
+
+    @Mock
+    private ImportacaoRepository importacaoRepository;
+
+    @Mock
+    private ImportacaoErroRepository importacaoErroRepository;
+
+    @Mock
+    private ImportacaoLoteService importacaoLoteService;
+
+    @TempDir
+    private Path diretorio;
+
+    // Lotes recebidos pelo mock de gravação (cópia, pois o Mockito guarda a referência)
+    private final List<LoteImportacao> lotesGravados = new ArrayList<>();
+
+    // Fila de execuções agendadas, executadas manualmente pelo teste
+    private final List<Runnable> agendados = new ArrayList<>();
+
+    private ImportacaoCsvService importacaoCsvService;
+
+    private final UUID matricula = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 linhas
+        importacaoCsvService = servico(agendados::add);
+    }
+
+    private ImportacaoCsvService servico(Executor executor) {
+        var interpretador = new InterpretadorLinhaCsv(Validation.buildDefaultValidatorFactory().getValidator());
+        return new ImportacaoCsvService(importacaoRepository, importacaoErroRepository,
+                importacaoLoteService, interpretador, diretorio, 2, executor);
+    }
+
+    private ImportacaoEntity importacao(UUID id, Path arquivo) {
+        var importacao = new ImportacaoEntity("entregas.csv", arquivo.toString());
+        importacao.setId(id);
+        return importacao;
+    }
+
+    private void executarAgendados() {
+        new ArrayList<>(agendados).forEach(Runnable::run);
+        agendados.clear();
+    }
+
+    private void registrarLotesGravados() {
+        doAnswer(invocacao -> lotesGravados.add(invocacao.getArgument(1)))
+                .when(importacaoLoteService).gravarLote(any(), any());
+    }
+
+    @Nested
+    class iniciarImportacao {
+
+        @Test
+        @DisplayName("Deve copiar o arquivo, registrar a importação e processar em lotes ignorando cabeçalho e linhas em branco")
+        void deveImportarEmLotes() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            String csv = "tipo;matricula;campos\n"
+                    + "ENTREGA;" + matricula + ";Projeto;4\n"
+                    + "\n"
+                    + "ENTREGA;" + matricula + ";Projeto;9\n"
+                    + "AVALIACAO;" + matricula + ";5;5;5;5";
+
+            ArgumentCaptor<ImportacaoEntity> salva = ArgumentCaptor.forClass(ImportacaoEntity.class);
+            when(importacaoRepository.save(salva.capture())).thenAnswer(invocacao -> {
+                ImportacaoEntity entidade = invocacao.getArgument(0);
+                entidade.setId(id);
+                return entidade;
+            });
+            when(importacaoLoteService.iniciarProcessamento(id))
+                    .thenAnswer(invocacao -> importacao(id, Path.of(salva.getValue().getCaminhoArquivo())));
+            registrarLotesGravados();
+
+            // Act
+            var resposta = importacaoCsvService.iniciarImportacao("entregas.csv",
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+            executarAgendados();
+
+            // Assert
+            assertEquals(id, resposta.id());
+            assertEquals(StatusImportacao.PENDENTE, resposta.status());
+            assertEquals(csv, Files.readString(Path.of(salva.getValue().getCaminhoArquivo())));
+
+            // Lotes de 2 linhas do arquivo: [cabeçalho, 2], [em branco, 4], [5]
+            assertEquals(3, lotesGravados.size());
+            assertEquals(List.of(2L), lotesGravados.get(0).linhas().stream().map(LinhaValidada::numero).toList());
+            assertEquals(List.of(4L), lotesGravados.get(1).linhas().stream().map(LinhaValidada::numero).toList());
+            assertEquals("A nota deve ser no máximo 5.0", lotesGravados.get(1).linhas().getFirst().erro());
+            assertEquals(4L, lotesGravados.get(1).ultimaLinha());
+            assertInstanceOf(RegistroImportacao.Avaliacao.class, lotesGravados.get(2).linhas().getFirst().registro());
+            assertEquals(Files.size(Path.of(salva.getValue().getCaminhoArquivo())), lotesGravados.get(2).posicaoFinal());
+
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.CONCLUIDA, null);
+        }
+    }
+
+    @Nested
+    class processar {
+
+        @Test
+        @DisplayName("Deve continuar a partir do checkpoint gravado")
+        void deveContinuarDoCheckpoint() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            String jaImportada = "ENTREGA;" + matricula + ";Projeto;4\n";
+            var arquivo = Files.writeString(diretorio.resolve("retomada.csv"),
+                    jaImportada + "ENTREGA;" + matricula + ";Projeto;5\n");
+
+            var checkpoint = importacao(id, arquivo);
+            checkpoint.setPosicaoArquivo(jaImportada.getBytes(StandardCharsets.UTF_8).length);
+            checkpoint.setLinhasProcessadas(1);
+            when(importacaoLoteService.iniciarProcessamento(id)).thenReturn(checkpoint);
+            registrarLotesGravados();
+
+            // Act
+            importacaoCsvService.processar(id);
+
+            // Assert
+            assertEquals(1, lotesGravados.size());
+            assertEquals(2L, lotesGravados.getFirst().linhas().getFirst().numero());
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.CONCLUIDA, null);
+        }
+
+        @Test
+        @DisplayName("Deve registrar como erro a linha acima do tamanho máximo e importar as demais")
+        void deveRegistrarErroDeLinhaAcimaDoTamanhoMaximo() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var arquivo = Files.writeString(diretorio.resolve("linha-longa.csv"),
+                    "ENTREGA;" + matricula + ";" + "x".repeat(ImportacaoCsvService.TAMANHO_MAXIMO_LINHA) + ";4\n"
+                            + "ENTREGA;" + matricula + ";Projeto;4\n");
+            when(importacaoLoteService.iniciarProcessamento(id)).thenReturn(importacao(id, arquivo));
+            registrarLotesGravados();
+
+            // Act
+            importacaoCsvService.processar(id);
+
+            // Assert
+            var linhas = lotesGravados.getFirst().linhas();
+            assertEquals(2, linhas.size());
+            assertEquals("A linha excede o tamanho máximo de " + ImportacaoCsvService.TAMANHO_MAXIMO_LINHA + " bytes",
+                    linhas.get(0).erro());
+            assertNull(linhas.get(1).erro());
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.CONCLUIDA, null);
+        }
+
+        @Test
+        @DisplayName("Deve marcar a importação como FALHA quando a gravação de um lote falhar")
+        void deveMarcarFalha() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var arquivo = Files.writeString(diretorio.resolve("falha.csv"), "ENTREGA;" + matricula + ";Projeto;4\n");
+            when(importacaoLoteService.iniciarProcessamento(id)).thenReturn(importacao(id, arquivo));
+            doThrow(new IllegalStateException("Conexão perdida")).when(importacaoLoteService).gravarLote(eq(id), any());
+
+            // Act
+            importacaoCsvService.processar(id);
+
+            // Assert
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.FALHA, "Conexão perdida");
+            verify(importacaoLoteService, never()).finalizar(id, StatusImportacao.CONCLUIDA, null);
+        }
+
+        @Test
+        @DisplayName("Deve marcar a importação como FALHA quando o arquivo não existir")
+        void deveMarcarFalhaSemArquivo() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoLoteService.iniciarProcessamento(id)).thenReturn(importacao(id, diretorio.resolve("ausente.csv")));
+
+            // Act
+            importacaoCsvService.processar(id);
+
+            // Assert
+            verify(importacaoLoteService).finalizar(eq(id), eq(StatusImportacao.FALHA), any());
+            verify(importacaoLoteService, never()).gravarLote(any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve parar antes do próximo lote e marcar a importação como FALHA quando a aplicação estiver encerrando")
+        void devePararNoEncerramento() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var arquivo = Files.writeString(diretorio.resolve("encerramento.csv"), "ENTREGA;" + matricula + ";Projeto;4\n");
+            when(importacaoLoteService.iniciarProcessamento(id)).thenReturn(importacao(id, arquivo));
+            importacaoCsvService.encerrar();
+
+            // Act
+            importacaoCsvService.processar(id);
+
+            // Assert
+            verify(importacaoLoteService, never()).gravarLote(any(), any());
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.FALHA, ImportacaoCsvService.MENSAGEM_INTERROMPIDA);
+        }
+    }
+
+    @Nested
+    class retomarImportacao {
+
+        @Test
+        @DisplayName("Deve agendar uma importação interrompida e impedir duas execuções simultâneas")
+        void deveAgendarImportacaoInterrompida() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var importacao = importacao(id, diretorio.resolve("x.csv"));
+            importacao.setStatus(StatusImportacao.FALHA);
+            when(importacaoRepository.findById(id)).thenReturn(Optional.of(importacao));
+
+            // Act
+            var resposta = importacaoCsvService.retomarImportacao(id);
+
+            // Assert
+            assertEquals(StatusImportacao.FALHA, resposta.status());
+            assertEquals(1, agendados.size());
+            var ex = assertThrows(NegocioException.class, () -> importacaoCsvService.retomarImportacao(id));
+            assertEquals("A importação já está em andamento", ex.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando a importação já estiver concluída")
+        void deveLancarExcecaoQuandoConcluida() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var importacao = importacao(id, diretorio.resolve("x.csv"));
+            importacao.setStatus(StatusImportacao.CONCLUIDA);
+            when(importacaoRepository.findById(id)).thenReturn(Optional.of(importacao));
+
+            // Act + Assert
+            var ex = assertThrows(NegocioException.class, () -> importacaoCsvService.retomarImportacao(id));
+            assertEquals("A importação já foi concluída", ex.getMessage());
+            assertTrue(agendados.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve marcar a importação como FALHA e recusar a retomada quando a fila estiver cheia")
+        void deveRecusarComFilaCheia() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var servico = servico(tarefa -> {
+                throw new RejectedExecutionException("fila cheia");
+            });
+            when(importacaoRepository.findById(id)).thenReturn(Optional.of(importacao(id, diretorio.resolve("x.csv"))));
+
+            // Act + Assert
+            assertThrows(RejectedExecutionException.class, () -> servico.retomarImportacao(id));
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.FALHA,
+                    "A fila de importações estava cheia. A importação pode ser retomada");
+        }
+    }
+
+    @Nested
+    class encerrar {
+
+        @Test
+        @DisplayName("Deve marcar como FALHA, sem processar, as importações que aguardavam na fila")
+        void deveInterromperImportacoesDaFila() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoRepository.findById(id)).thenReturn(Optional.of(importacao(id, diretorio.resolve("x.csv"))));
+            importacaoCsvService.retomarImportacao(id);
+
+            // Act
+            importacaoCsvService.encerrar();
+            executarAgendados();
+
+            // Assert
+            verify(importacaoLoteService, never()).iniciarProcessamento(any());
+            verify(importacaoLoteService).finalizar(id, StatusImportacao.FALHA, ImportacaoCsvService.MENSAGEM_INTERROMPIDA);
+        }
+
+        @Test
+        @DisplayName("Deve encerrar o executor")
+        void deveEncerrarExecutor() throws Exception {
+            // Arrange
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            // Act
+            servico(executor).encerrar();
+
+            // Assert
+            assertTrue(executor.isTerminated());
+        }
+    }
+
+    @Nested
+    class consultas {
+
+        @Test
+        @DisplayName("Deve consultar a importação e listar os erros por linha")
+        void deveConsultarImportacaoEErros() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var importacao = importacao(id, diretorio.resolve("x.csv"));
+            importacao.setLinhasComErro(1);
+            when(importacaoRepository.findById(id)).thenReturn(Optional.of(importacao));
+            when(importacaoErroRepository.findByIdImportacaoAndLinhaGreaterThanOrderByLinha(
+                    id, 10L, Limit.of(ImportacaoCsvService.TAMANHO_PAGINA_ERROS)))
+                    .thenReturn(List.of(new ImportacaoErroEntity(id, 12, "Nota inválida: 'x'")));
+
+            // Act
+            var resposta = importacaoCsvService.consultarImportacao(id);
+            var erros = importacaoCsvService.listarErros(id, 10);
+
+            // Assert
+            assertEquals(1, resposta.linhasComErro());
+            assertEquals(1, erros.size());
+            assertEquals(12, erros.getFirst().linha());
+            assertEquals("Nota inválida: 'x'", erros.getFirst().mensagem());
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a importação não existir")
+        void deveLancarExcecaoQuandoNaoExistir() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(importacaoRepository.findById(id)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> importacaoCsvService.consultarImportacao(id));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.avaliacao.resource.json.AvaliacaoComportamentoCadastroRequest;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.entrega.resource.json.EntregaCadastroRequest;
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import com.example.demo.colaborador.importacao.model.ImportacaoErroEntity;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.performance.service.DistribuicaoNotasService;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.performance.service.RankingPerformanceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ImportacaoLoteService.class, PerformanceColaboradorService.class, RankingPerformanceService.class,
+        DistribuicaoNotasService.class, FormulaPerformanceService.class})
+class ImportacaoLoteServiceTest {
+
+    @Autowired
+    private ImportacaoLoteService importacaoLoteService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private UUID cadastrarImportacao() {
+        var importacao = new ImportacaoEntity("entregas.csv", "/tmp/entregas.csv");
+        testEntityManager.persist(importacao);
+        return importacao.getId();
+    }
+
+    private ColaboradorEntity cadastrarColaborador(int entregasExistentes, boolean comAvaliacao) {
+        var colaborador = new ColaboradorEntity("Alice", LocalDate.of(2024, 1, 1), "Dev");
+        testEntityManager.persist(colaborador);
+
+        for (int i = 0; i < entregasExistentes; i++) {
+            var entrega = new EntregaEntity();
+            entrega.setDescricao("Existente " + i);
+            entrega.setNota(5.0);
+            entrega.setColaborador(colaborador);
+            testEntityManager.persist(entrega);
+        }
+
+        // As entregas foram persistidas direto (sem a reserva de EntregaService): acerta a quantidade do colaborador
+        testEntityManager.getEntityManager()
+                .createQuery("update ColaboradorEntity c set c.quantidadeEntregas = :quantidade where c.matricula = :matricula")
+                .setParameter("quantidade", entregasExistentes)
+                .setParameter("matricula", colaborador.getMatricula())
+                .executeUpdate();
+
+        if (comAvaliacao) {
+            var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 5.0, 5.0, 5.0);
+            avaliacao.setColaborador(colaborador);
+            testEntityManager.persist(avaliacao);
+        }
+
+        return colaborador;
+    }
+
+    private LinhaValidada entrega(long numero, UUID matricula, double nota) {
+        return LinhaValidada.valida(numero,
+                new RegistroImportacao.Entrega(matricula, new EntregaCadastroRequest("Entrega da linha " + numero, nota)));
+    }
+
+    private LinhaValidada avaliacao(long numero, UUID matricula) {
+        return LinhaValidada.valida(numero,
+                new RegistroImportacao.Avaliacao(matricula, new AvaliacaoComportamentoCadastroRequest(4.0, 4.0, 4.0, 4.0)));
+    }
+
+    private List<ImportacaoErroEntity> errosGravados(UUID idImportacao) {
+        return testEntityManager.getEntityManager()
+                .createQuery("from ImportacaoErroEntity e where e.idImportacao = :id order by e.linha", ImportacaoErroEntity.class)
+                .setParameter("id", idImportacao)
+                .getResultList();
+    }
+
+    @Nested
+    class gravarLote {
+
+        @Test
+        @DisplayName("Deve aplicar o limite de 4 entregas considerando as já cadastradas e as do próprio lote")
+        void deveAplicarLimiteDeEntregas() {
+            // Arrange
+            var idImportacao = cadastrarImportacao();
+            var matricula = cadastrarColaborador(2, true).getMatricula();
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            var lote = new LoteImportacao(List.of(
+                    entrega(2, matricula, 3.0),
+                    entrega(3, matricula, 4.0),
+                    entrega(4, matricula, 1.0)), 120, 4);
+
+            // Act
+            importacaoLoteService.gravarLote(idImportacao, lote);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Assert
+            var erros = errosGravados(idImportacao);
+            assertEquals(1, erros.size());
+            assertEquals(4, erros.getFirst().getLinha());
+            assertEquals("O colaborador já atingiu o limite de 4 entregas cadastradas", erros.getFirst().getMensagem());
+
+            var importacao = testEntityManager.find(ImportacaoEntity.class, idImportacao);
+            assertEquals(120, importacao.getPosicaoArquivo());
+            assertEquals(4, importacao.getLinhasProcessadas());
+            assertEquals(2, importacao.getLinhasImportadas());
+            assertEquals(1, importacao.getLinhasComErro());
+
+            // Performance recalculada com as entregas importadas: (5 + 5 + 3 + 4) / 4 + 5
+            var performance = testEntityManager.find(PerformanceColaboradorEntity.class, matricula);
+            assertEquals(4, performance.getQuantidadeEntregas());
+            assertEquals(925, performance.getNotaFinal());
+
+            // Quantidade de entregas do colaborador (limite dos cadastros seguintes) recontada após o lote
+            assertEquals(4, testEntityManager.find(ColaboradorEntity.class, matricula).getQuantidadeEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve registrar erro para colaborador inexistente, avaliação repetida e linha inválida")
+        void deveRegistrarErrosPorLinha() {
+            // Arrange
+            var idImportacao = cadastrarImportacao();
+            var semAvaliacao = cadastrarColaborador(0, false).getMatricula();
+            var comAvaliacao = cadastrarColaborador(0, true).getMatricula();
+            var inexistente = UUID.randomUUID();
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            var lote = new LoteImportacao(List.of(
+                    avaliacao(1, semAvaliacao),
+                    avaliacao(2, semAvaliacao),
+                    avaliacao(3, comAvaliacao),
+                    entrega(4, inexistente, 3.0),
+                    LinhaValidada.invalida(5, "Nota inválida: 'x'")), 200, 5);
+
+            // Act
+            importacaoLoteService.gravarLote(idImportacao, lote);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Assert
+            var mensagens = new ArrayList<String>();
+            errosGravados(idImportacao).forEach(erro -> mensagens.add(erro.getLinha() + ": " + erro.getMensagem()));
+            assertEquals(List.of(
+                    "2: O colaborador já possui avaliação comportamental",
+                    "3: O colaborador já possui avaliação comportamental",
+                    "4: Colaborador não encontrado: " + inexistente,
+                    "5: Nota inválida: 'x'"), mensagens);
+
+            var performance = testEntityManager.find(PerformanceColaboradorEntity.class, semAvaliacao);
+            assertTrue(performance.isAvaliacaoRealizada());
+            assertEquals(400, performance.getMediaComportamental());
+        }
+
+        @Test
+        @DisplayName("Deve apenas avançar o checkpoint quando o lote não tiver linhas")
+        void deveAvancarCheckpointSemLinhas() {
+            // Arrange
+            var idImportacao = cadastrarImportacao();
+
+            // Act
+            importacaoLoteService.gravarLote(idImportacao, new LoteImportacao(List.of(), 10, 1));
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Assert
+            var importacao = testEntityManager.find(ImportacaoEntity.class, idImportacao);
+            assertEquals(10, importacao.getPosicaoArquivo());
+            assertEquals(0, importacao.getLinhasImportadas());
+        }
+    }
+
+    @Nested
+    class status {
+
+        @Test
+        @DisplayName("Deve marcar o processamento e registrar a falha com a mensagem")
+        void deveAtualizarStatus() {
+            // Arrange
+            var idImportacao = cadastrarImportacao();
+
+            // Act
+            var emProcessamento = importacaoLoteService.iniciarProcessamento(idImportacao);
+            assertEquals(StatusImportacao.PROCESSANDO, emProcessamento.getStatus());
+            importacaoLoteService.finalizar(idImportacao, StatusImportacao.FALHA, "x".repeat(1200));
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Assert
+            var importacao = testEntityManager.find(ImportacaoEntity.class, idImportacao);
+            assertEquals(StatusImportacao.FALHA, importacao.getStatus());
+            assertEquals(ImportacaoErroEntity.TAMANHO_MAXIMO_MENSAGEM, importacao.getMensagemFalha().length());
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a importação não existir")
+        void deveLancarExcecaoQuandoImportacaoNaoExistir() {
+            assertThrows(ResourceNotFoundException.class, () -> importacaoLoteService.iniciarProcessamento(UUID.randomUUID()));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.colaborador.importacao.service;
+
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.importacao.model.ImportacaoEntity;
+import com.example.demo.colaborador.importacao.model.StatusImportacao;
+import com.example.demo.colaborador.importacao.repository.ImportacaoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Orçamentos de comandos SQL da importação de CSV (ver @TesteOrcamentoSql)
+// O processamento do arquivo roda em segundo plano, em outra thread: o orçamento de cada lote é verificado
+// chamando ImportacaoLoteService diretamente
+@TesteOrcamentoSql
+class ImportacaoOrcamentoSqlTest {
+
+    @Autowired
+    private ImportacaoCsvService importacaoCsvService;
+
+    @Autowired
+    private ImportacaoLoteService importacaoLoteService;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Test
+    @DisplayName("Deve registrar, consultar e listar os erros da importação dentro do orçamento")
+    void importacaoCsvService(OrcamentoSql orcamentoSql) throws IOException {
+        // Arrange
+        var conteudo = new ByteArrayInputStream("tipo;matricula\n".getBytes(StandardCharsets.UTF_8));
+        Path arquivoInterrompido = Files.createTempFile("orcamento", ".csv");
+        UUID idInterrompida = importacaoRepository.save(
+                new ImportacaoEntity("interrompida.csv", arquivoInterrompido.toString())).getId();
+
+        // Act + Assert
+        var importacao = orcamentoSql.verificar("iniciarImportacao", 1,
+                () -> importacaoCsvService.iniciarImportacao("orcamento.csv", conteudo));
+        orcamentoSql.verificar("consultarImportacao", 1, () -> importacaoCsvService.consultarImportacao(importacao.id()));
+        orcamentoSql.verificar("listarErros", 2, () -> importacaoCsvService.listarErros(importacao.id(), 0));
+        orcamentoSql.verificar("retomarImportacao", 1, () -> importacaoCsvService.retomarImportacao(idInterrompida));
+    }
+
+    @Test
+    @DisplayName("Deve gravar um lote de 1000 linhas dentro do orçamento")
+    void gravarLote(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        UUID idImportacao = importacaoRepository.save(new ImportacaoEntity("orcamento.csv", "orcamento.csv")).getId();
+        List<LinhaValidada> linhas = new ArrayList<>();
+        for (UUID matricula : cenario.colaboradores(250)) {
+            linhas.add(LinhaValidada.valida(linhas.size() + 1,
+                    new RegistroImportacao.Avaliacao(matricula, CenarioOrcamentoSql.novaAvaliacao())));
+            linhas.add(LinhaValidada.valida(linhas.size() + 1,
+                    new RegistroImportacao.Entrega(matricula, CenarioOrcamentoSql.novaEntrega())));
+            linhas.add(LinhaValidada.valida(linhas.size() + 1,
+                    new RegistroImportacao.Entrega(matricula, CenarioOrcamentoSql.novaEntrega())));
+            linhas.add(LinhaValidada.invalida(linhas.size() + 1, "Linha inválida"));
+        }
+        var lote = new LoteImportacao(linhas, 1, linhas.size());
+
+        // Act + Assert
+        orcamentoSql.verificar("iniciarProcessamento", 2, () -> importacaoLoteService.iniciarProcessamento(idImportacao));
+        // 3 consultas de regras por lote (com bloqueio dos colaboradores) e a recontagem das entregas; os INSERTs saem em lotes JDBC de hibernate.jdbc.batch_size (50) linhas
+        orcamentoSql.verificar("gravarLote (1000 linhas)", 53, () -> importacaoLoteService.gravarLote(idImportacao, lote));
+        orcamentoSql.verificar("finalizar", 2,
+                () -> importacaoLoteService.finalizar(idImportacao, StatusImportacao.CONCLUIDA, null));
+    }
+}
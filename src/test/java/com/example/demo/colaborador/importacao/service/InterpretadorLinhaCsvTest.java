@@ -0,0 +1,121 @@
+package com.example.demo.colaborador.importacao.service;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterpretadorLinhaCsvTest {
+
+    private final InterpretadorLinhaCsv interpretador =
+            new InterpretadorLinhaCsv(Validation.buildDefaultValidatorFactory().getValidator());
+
+    private final UUID matricula = UUID.randomUUID();
+
+    private LinhaValidada interpretar(String conteudo) {
+        return interpretador.interpretar(new LinhaCsv(7, conteudo, 0));
+    }
+
+    @Nested
+    class interpretar {
+
+        @Test
+        @DisplayName("Deve interpretar uma entrega com descrição entre aspas contendo o separador")
+        void deveInterpretarEntrega() {
+            // Act
+            var resultado = interpretar("entrega;" + matricula + ";\"Projeto \"\"A\"\"; fase 1\";4.5");
+
+            // Assert
+            assertNull(resultado.erro());
+            assertEquals(7, resultado.numero());
+            var entrega = assertInstanceOf(RegistroImportacao.Entrega.class, resultado.registro());
+            assertEquals(matricula, entrega.matricula());
+            assertEquals("Projeto \"A\"; fase 1", entrega.entrega().descricao());
+            assertEquals(4.5, entrega.entrega().nota());
+        }
+
+        @Test
+        @DisplayName("Deve interpretar uma avaliação aceitando vírgula como separador decimal")
+        void deveInterpretarAvaliacao() {
+            // Act
+            var resultado = interpretar("AVALIACAO;" + matricula + ";5;4,5;3;2.5");
+
+            // Assert
+            var avaliacao = assertInstanceOf(RegistroImportacao.Avaliacao.class, resultado.registro());
+            assertEquals(4.5, avaliacao.avaliacao().notaAprendizado());
+            assertEquals(2.5, avaliacao.avaliacao().notaAutonomia());
+        }
+
+        @Test
+        @DisplayName("Deve aplicar as mesmas validações dos DTOs de cadastro")
+        void deveAplicarValidacoesDosDtos() {
+            // Act
+            var entrega = interpretar("ENTREGA;" + matricula + "; ;6");
+            var avaliacao = interpretar("AVALIACAO;" + matricula + ";0;4;;5");
+
+            // Assert
+            assertEquals("A nota deve ser no máximo 5.0; O preenchimento da descrição da entrega é obrigatório", entrega.erro());
+            assertEquals("A nota de avaliação de tomada de decisão é obrigatória; A nota deve ser no mínimo 1.0", avaliacao.erro());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar descrição maior que a coluna do banco")
+        void deveRejeitarDescricaoLonga() {
+            // Act
+            var resultado = interpretar("ENTREGA;" + matricula + ";" + "x".repeat(256) + ";3");
+
+            // Assert
+            assertEquals("A descrição da entrega deve ter no máximo 255 caracteres", resultado.erro());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar a linha descartada pelo leitor com o erro informado por ele")
+        void deveRejeitarLinhaDescartada() {
+            // Act
+            var resultado = interpretador.interpretar(new LinhaCsv(7, "", 0, "A linha excede o tamanho máximo de 8 bytes"));
+
+            // Assert
+            assertEquals(7, resultado.numero());
+            assertEquals("A linha excede o tamanho máximo de 8 bytes", resultado.erro());
+            assertNull(resultado.registro());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar tipo, matrícula, nota e quantidade de campos inválidos")
+        void deveRejeitarLinhasMalFormadas() {
+            assertEquals("Tipo de registro inválido: 'CURSO' (esperado ENTREGA ou AVALIACAO)", interpretar("CURSO;x").erro());
+            assertEquals("Matrícula inválida: '123'", interpretar("ENTREGA;123;Projeto;3").erro());
+            assertEquals("Nota inválida: 'três'", interpretar("ENTREGA;" + matricula + ";Projeto;três").erro());
+            assertEquals("Quantidade de campos inválida para AVALIACAO: esperado 6, encontrado 3",
+                    interpretar("AVALIACAO;" + matricula + ";5").erro());
+            assertEquals("Aspas não fechadas na linha", interpretar("ENTREGA;\"aberta").erro());
+        }
+    }
+
+    @Nested
+    class isCabecalho {
+
+        @Test
+        @DisplayName("Deve reconhecer o cabeçalho apenas na primeira linha")
+        void deveReconhecerCabecalho() {
+            assertTrue(interpretador.isCabecalho(new LinhaCsv(1, "Tipo;matricula;...", 0)));
+            assertFalse(interpretador.isCabecalho(new LinhaCsv(2, "tipo;matricula", 0)));
+            assertFalse(interpretador.isCabecalho(new LinhaCsv(1, "ENTREGA;x;y;1", 0)));
+        }
+    }
+
+    @Nested
+    class dividirCampos {
+
+        @Test
+        @DisplayName("Deve manter campos vazios")
+        void deveManterCamposVazios() {
+            assertEquals(List.of("a", "", "c", ""), InterpretadorLinhaCsv.dividirCampos("a;;c;"));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.colaborador.importacao.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorLinhasCsvTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private Path arquivo(String conteudo) throws IOException {
+        return Files.writeString(diretorio.resolve("entrada.csv"), conteudo, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    class lerLinhas {
+
+        @Test
+        @DisplayName("Deve ler linhas com \\n, \\r\\n e última linha sem quebra, mesmo com buffer menor que a linha")
+        void deveLerLinhasComBufferPequeno() throws IOException {
+            // Arrange
+            // Buffer de 4 bytes força várias leituras do canal e o crescimento do buffer
+            var caminho = arquivo("primeira linha\r\nsegunda çã\n\nterceira");
+
+            // Act
+            List<LinhaCsv> linhas;
+            try (var leitor = new LeitorLinhasCsv(caminho, 0, 0, 4, 1024)) {
+                linhas = leitor.lerLinhas(10);
+            }
+
+            // Assert
+            assertEquals(List.of("primeira linha", "segunda çã", "", "terceira"),
+                    linhas.stream().map(LinhaCsv::conteudo).toList());
+            assertEquals(List.of(1L, 2L, 3L, 4L), linhas.stream().map(LinhaCsv::numero).toList());
+            assertEquals(Files.size(caminho), linhas.getLast().posicaoFinal());
+        }
+
+        @Test
+        @DisplayName("Deve retomar a leitura a partir da posição e do número de linha do checkpoint")
+        void deveRetomarDoCheckpoint() throws IOException {
+            // Arrange
+            var caminho = arquivo("a\nb\nc\nd\n");
+            LinhaCsv checkpoint;
+            try (var leitor = new LeitorLinhasCsv(caminho, 0, 0, 1024, 1024)) {
+                checkpoint = leitor.lerLinhas(2).getLast();
+            }
+
+            // Act
+            List<LinhaCsv> restante;
+            try (var leitor = new LeitorLinhasCsv(caminho, checkpoint.posicaoFinal(), checkpoint.numero(), 1024, 1024)) {
+                restante = leitor.lerLinhas(10);
+            }
+
+            // Assert
+            assertEquals(List.of("c", "d"), restante.stream().map(LinhaCsv::conteudo).toList());
+            assertEquals(3L, restante.getFirst().numero());
+        }
+
+        @Test
+        @DisplayName("Deve descartar a linha acima do tamanho máximo, retorná-la com erro e continuar na próxima")
+        void deveDescartarLinhaAcimaDoTamanhoMaximo() throws IOException {
+            // Arrange
+            // Máximo de 8 bytes e buffer de 4: a linha longa é descartada em várias leituras, sem crescer o buffer
+            var caminho = arquivo("12345678\n" + "x".repeat(30) + "\r\nabc\n" + "y".repeat(9));
+
+            // Act
+            List<LinhaCsv> linhas;
+            try (var leitor = new LeitorLinhasCsv(caminho, 0, 0, 4, 8)) {
+                linhas = leitor.lerLinhas(10);
+            }
+
+            // Assert
+            assertEquals(List.of("12345678", "", "abc", ""), linhas.stream().map(LinhaCsv::conteudo).toList());
+            assertNull(linhas.get(0).erro());
+            assertEquals("A linha excede o tamanho máximo de 8 bytes", linhas.get(1).erro());
+            assertEquals(9L + 32, linhas.get(1).posicaoFinal());
+            assertEquals(3L, linhas.get(2).numero());
+            assertNotNull(linhas.get(3).erro());
+            assertEquals(Files.size(caminho), linhas.get(3).posicaoFinal());
+        }
+
+        @Test
+        @DisplayName("Deve retornar lista vazia no fim do arquivo")
+        void deveRetornarVazioNoFim() throws IOException {
+            // Arrange
+            var caminho = arquivo("a\n");
+
+            // Act + Assert
+            try (var leitor = new LeitorLinhasCsv(caminho, 0, 0, 1024, 1024)) {
+                assertEquals(1, leitor.lerLinhas(5).size());
+                assertTrue(leitor.lerLinhas(5).isEmpty());
+                assertNull(leitor.proximaLinha());
+            }
+        }
+    }
+}
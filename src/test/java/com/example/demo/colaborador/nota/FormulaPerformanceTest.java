@@ -0,0 +1,229 @@
+package com.example.demo.colaborador.nota;
+
+import com.example.demo.base.exception.NegocioException;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Group;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Testes de propriedade (jqwik): a fórmula compilada em centésimos deve produzir o mesmo resultado do cálculo
+// equivalente em BigDecimal, tanto sem peso (regra original) quanto com pesos quaisquer
+class FormulaPerformanceTest {
+
+    private static final FormulaPerformance SEM_PESO = FormulaPerformance.compilar(PesosFormula.SEM_PESO, 1);
+
+    // Notas aceitas pela API: de 1.00 a 5.00 com no máximo 2 casas, como chegam do JSON (double mais próximo)
+    @Provide
+    Arbitrary<Double> notas() {
+        return Arbitraries.integers().between(100, 500).map(centesimos -> BigDecimal.valueOf(centesimos, 2).doubleValue());
+    }
+
+    // Médias já calculadas, em centésimos
+    @Provide
+    Arbitrary<Integer> medias() {
+        return Arbitraries.integers().between(100, 500);
+    }
+
+    // Critérios de 0 a 10 e componentes de 0 a 2 com 2 casas, somando no máximo 2; critérios e componentes com
+    // pelo menos um peso maior que zero
+    @Provide
+    Arbitrary<PesosFormula> pesos() {
+        Arbitrary<BigDecimal> peso = Arbitraries.integers().between(0, 1000).map(centesimos -> BigDecimal.valueOf(centesimos, 2));
+        Arbitrary<BigDecimal> componente = Arbitraries.integers().between(0, 200).map(centesimos -> BigDecimal.valueOf(centesimos, 2));
+
+        return Combinators.combine(peso, peso, peso, peso, componente, componente)
+                .as(PesosFormula::new)
+                .filter(pesos -> pesos.avaliacaoComportamental().add(pesos.aprendizado()).add(pesos.tomadaDecisao())
+                        .add(pesos.autonomia()).signum() > 0)
+                .filter(pesos -> pesos.mediaComportamental().add(pesos.mediaEntregas()).signum() > 0)
+                .filter(pesos -> pesos.mediaComportamental().add(pesos.mediaEntregas())
+                        .compareTo(FormulaPerformance.SOMA_MAXIMA_PESOS_COMPONENTES) <= 0);
+    }
+
+    private static BigDecimal mediaComportamentalBigDecimal(PesosFormula pesos, double n1, double n2, double n3, double n4) {
+        var soma = pesos.avaliacaoComportamental().multiply(BigDecimal.valueOf(n1))
+                .add(pesos.aprendizado().multiply(BigDecimal.valueOf(n2)))
+                .add(pesos.tomadaDecisao().multiply(BigDecimal.valueOf(n3)))
+                .add(pesos.autonomia().multiply(BigDecimal.valueOf(n4)));
+        var somaPesos = pesos.avaliacaoComportamental().add(pesos.aprendizado())
+                .add(pesos.tomadaDecisao()).add(pesos.autonomia());
+
+        return soma.divide(somaPesos, 2, RoundingMode.HALF_UP);
+    }
+
+    @Group
+    class semPeso {
+
+        @Property(tries = 10_000)
+        @Label("Deve calcular a mesma média comportamental do cálculo original em BigDecimal")
+        void deveCalcularMesmaMediaComportamental(@ForAll("notas") double n1, @ForAll("notas") double n2,
+                                                   @ForAll("notas") double n3, @ForAll("notas") double n4) {
+            // Arrange
+            var esperada = BigDecimal.valueOf(n1)
+                    .add(BigDecimal.valueOf(n2))
+                    .add(BigDecimal.valueOf(n3))
+                    .add(BigDecimal.valueOf(n4))
+                    .divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP);
+
+            // Act
+            int media = SEM_PESO.mediaComportamental(n1, n2, n3, n4);
+
+            // Assert
+            assertEquals(esperada, NotaCentesimos.paraBigDecimal(media));
+        }
+
+        @Property(tries = 5_000)
+        @Label("Deve somar as duas médias na nota final")
+        void deveSomarMediasNaNotaFinal(@ForAll("medias") int mediaComportamental, @ForAll("medias") int mediaEntregas) {
+            // Act / Assert
+            assertEquals(mediaComportamental + mediaEntregas, SEM_PESO.notaFinal(mediaComportamental, mediaEntregas));
+        }
+    }
+
+    @Group
+    class ponderada {
+
+        @Property(tries = 10_000)
+        @Label("Deve calcular a mesma média comportamental ponderada do cálculo em BigDecimal")
+        void deveCalcularMediaPonderada(@ForAll("pesos") PesosFormula pesos,
+                                        @ForAll("notas") double n1, @ForAll("notas") double n2,
+                                        @ForAll("notas") double n3, @ForAll("notas") double n4) {
+            // Arrange
+            var formula = FormulaPerformance.compilar(pesos, 2);
+
+            // Act
+            int media = formula.mediaComportamental(n1, n2, n3, n4);
+
+            // Assert
+            assertEquals(mediaComportamentalBigDecimal(pesos, n1, n2, n3, n4), NotaCentesimos.paraBigDecimal(media));
+        }
+
+        @Property(tries = 10_000)
+        @Label("Deve calcular a mesma nota final ponderada do cálculo em BigDecimal")
+        void deveCalcularNotaFinalPonderada(@ForAll("pesos") PesosFormula pesos,
+                                            @ForAll("medias") int mediaComportamental, @ForAll("medias") int mediaEntregas) {
+            // Arrange
+            var formula = FormulaPerformance.compilar(pesos, 2);
+            var esperada = pesos.mediaComportamental().multiply(NotaCentesimos.paraBigDecimal(mediaComportamental))
+                    .add(pesos.mediaEntregas().multiply(NotaCentesimos.paraBigDecimal(mediaEntregas)))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            // Act
+            int notaFinal = formula.notaFinal(mediaComportamental, mediaEntregas);
+
+            // Assert
+            assertEquals(esperada, NotaCentesimos.paraBigDecimal(notaFinal));
+        }
+
+        @Property(tries = 5_000)
+        @Label("Deve manter a nota final entre 0 e a nota final máxima com quaisquer pesos válidos")
+        void deveManterNotaFinalNoIntervalo(@ForAll("pesos") PesosFormula pesos,
+                                            @ForAll("notas") double n1, @ForAll("notas") double n2,
+                                            @ForAll("notas") double n3, @ForAll("notas") double n4,
+                                            @ForAll("medias") int mediaEntregas) {
+            // Arrange
+            var formula = FormulaPerformance.compilar(pesos, 2);
+
+            // Act
+            int notaFinal = formula.notaFinal(formula.mediaComportamental(n1, n2, n3, n4), mediaEntregas);
+
+            // Assert
+            assertTrue(notaFinal >= 0 && notaFinal <= FormulaPerformance.NOTA_FINAL_MAXIMA * 100, "Nota final " + notaFinal);
+        }
+
+        @Example
+        @Label("Deve alcançar a nota final máxima com pesos acima de 1 nas notas máximas")
+        void deveAlcancarNotaFinalMaximaComPesosAcimaDeUm() {
+            // Arrange
+            var formula = FormulaPerformance.compilar(new PesosFormula(new BigDecimal("3"), new BigDecimal("2.5"),
+                    BigDecimal.ONE, BigDecimal.ONE, new BigDecimal("1.5"), new BigDecimal("0.5")), 2);
+
+            // Act
+            int notaFinal = formula.notaFinal(formula.mediaComportamental(5.0, 5.0, 5.0, 5.0), 500);
+
+            // Assert
+            assertEquals(1000, notaFinal);
+        }
+
+        @Example
+        @Label("Deve ignorar os critérios com peso zero")
+        void deveIgnorarCriteriosComPesoZero() {
+            // Arrange
+            var formula = FormulaPerformance.compilar(new PesosFormula(BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO), 2);
+
+            // Act / Assert
+            assertEquals(300, formula.mediaComportamental(5.0, 5.0, 3.0, 5.0));
+            assertEquals(300, formula.notaFinal(300, 500));
+            assertEquals(2, formula.versao());
+        }
+    }
+
+    @Group
+    class validacao {
+
+        private PesosFormula comAutonomia(BigDecimal autonomia) {
+            return new PesosFormula(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, autonomia, BigDecimal.ONE, BigDecimal.ONE);
+        }
+
+        @Example
+        @Label("Deve rejeitar peso nulo, negativo, acima do máximo ou com mais de 2 casas")
+        void deveRejeitarPesosInvalidos() {
+            for (BigDecimal peso : new BigDecimal[]{null, new BigDecimal("-0.01"), new BigDecimal("100.01"), new BigDecimal("0.125")}) {
+                var ex = assertThrows(NegocioException.class, () -> FormulaPerformance.compilar(comAutonomia(peso), 1));
+                assertTrue(ex.getMessage().contains("'autonomia'"));
+            }
+        }
+
+        @Example
+        @Label("Deve rejeitar fórmula sem critério ou sem componente com peso")
+        void deveRejeitarFormulaSemPeso() {
+            var semCriterio = new PesosFormula(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("0.00"),
+                    BigDecimal.ONE, BigDecimal.ONE);
+            var semComponente = new PesosFormula(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+
+            var exCriterio = assertThrows(NegocioException.class, () -> FormulaPerformance.compilar(semCriterio, 1));
+            var exComponente = assertThrows(NegocioException.class, () -> FormulaPerformance.compilar(semComponente, 1));
+
+            assertEquals("Pelo menos um critério da avaliação deve ter peso maior que zero", exCriterio.getMessage());
+            assertEquals("A média comportamental ou a média das entregas deve ter peso maior que zero", exComponente.getMessage());
+        }
+
+        @Example
+        @Label("Deve rejeitar componentes cuja soma ultrapasse a nota final máxima")
+        void deveRejeitarSomaDeComponentesAcimaDoMaximo() {
+            var acima = new PesosFormula(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                    new BigDecimal("1.5"), new BigDecimal("0.51"));
+            var limite = new PesosFormula(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                    new BigDecimal("2"), BigDecimal.ZERO);
+
+            var ex = assertThrows(NegocioException.class, () -> FormulaPerformance.compilar(acima, 1));
+
+            assertEquals("A soma dos pesos da média comportamental e da média das entregas deve ser no máximo 2 (nota final até 10)",
+                    ex.getMessage());
+            assertEquals(1, FormulaPerformance.compilar(limite, 1).versao());
+        }
+
+        @Example
+        @Label("Deve aceitar pesos com zeros à direita além de 2 casas e o peso máximo")
+        void deveAceitarPesosLimite() {
+            for (BigDecimal peso : List.of(new BigDecimal("0.500"), FormulaPerformance.PESO_MAXIMO, BigDecimal.ZERO)) {
+                assertEquals(1, FormulaPerformance.compilar(comAutonomia(peso), 1).versao());
+            }
+        }
+    }
+}
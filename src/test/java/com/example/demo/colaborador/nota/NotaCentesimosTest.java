@@ -0,0 +1,153 @@
+package com.example.demo.colaborador.nota;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.GenerationMode;
+import net.jqwik.api.Group;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Testes de propriedade (jqwik): os cálculos em centésimos devem produzir exatamente o mesmo resultado
+// do cálculo anterior em BigDecimal (BigDecimal.valueOf(nota) + divide(..., 2, HALF_UP)) para qualquer nota válida
+class NotaCentesimosTest {
+
+    // Notas aceitas pela API: de 1.00 a 5.00 com no máximo 2 casas, como chegam do JSON (double mais próximo)
+    @Provide
+    Arbitrary<Double> notas() {
+        return Arbitraries.integers().between(100, 500).map(centesimos -> BigDecimal.valueOf(centesimos, 2).doubleValue());
+    }
+
+    // Notas das entregas de um colaborador elegível (pelo menos 2)
+    @Provide
+    Arbitrary<List<Double>> entregas() {
+        return notas().list().ofMinSize(2).ofMaxSize(60);
+    }
+
+    // Soma em ponto flutuante (como vem do SUM do banco) com o descarte de resíduo usado antes (escala 10)
+    private static BigDecimal mediaEntregasBigDecimal(List<Double> notas) {
+        double soma = 0;
+        for (double nota : notas) {
+            soma += nota;
+        }
+
+        return BigDecimal.valueOf(soma)
+                .setScale(10, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(notas.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    @Group
+    class mediaComportamental {
+
+        // A média depende só da soma das 4 notas: cobrir todas as somas possíveis cobre todas as combinações de notas
+        @Property(generation = GenerationMode.EXHAUSTIVE)
+        @Label("Deve arredondar com HALF_UP todas as somas possíveis de 4 notas")
+        void deveArredondarTodasAsSomas(@ForAll @IntRange(min = 400, max = 2000) int soma) {
+            // Act
+            int media = NotaCentesimos.dividir(soma, 4);
+
+            // Assert
+            assertEquals(BigDecimal.valueOf(soma, 2).divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP),
+                    NotaCentesimos.paraBigDecimal(media));
+        }
+    }
+
+    @Group
+    class mediaEntregas {
+
+        @Property(tries = 5_000)
+        @Label("Deve calcular a mesma média das entregas a partir da soma em ponto flutuante do banco")
+        void deveCalcularMesmaMediaEntregas(@ForAll("entregas") List<Double> notas) {
+            // Arrange
+            double soma = 0;
+            for (double nota : notas) {
+                soma += nota;
+            }
+
+            // Act
+            int media = NotaCentesimos.dividir(NotaCentesimos.converter(soma), notas.size());
+
+            // Assert
+            assertEquals(mediaEntregasBigDecimal(notas), NotaCentesimos.paraBigDecimal(media));
+        }
+
+        @Property(tries = 5_000)
+        @Label("Deve manter a soma incremental exata ao cadastrar, alterar e excluir entregas")
+        void deveManterSomaIncrementalExata(@ForAll("entregas") List<Double> notas,
+                                            @ForAll("notas") double notaAlterada) {
+            // Arrange
+            int soma = 0;
+            BigDecimal somaBigDecimal = BigDecimal.ZERO;
+            for (double nota : notas) {
+                soma += NotaCentesimos.converter(nota);
+                somaBigDecimal = somaBigDecimal.add(BigDecimal.valueOf(nota));
+            }
+
+            // Act
+            // A primeira entrega tem a nota alterada e a última é excluída
+            soma += NotaCentesimos.converter(notaAlterada) - NotaCentesimos.converter(notas.getFirst());
+            soma -= NotaCentesimos.converter(notas.getLast());
+            somaBigDecimal = somaBigDecimal.add(BigDecimal.valueOf(notaAlterada))
+                    .subtract(BigDecimal.valueOf(notas.getFirst()))
+                    .subtract(BigDecimal.valueOf(notas.getLast()));
+
+            int quantidade = notas.size() - 1;
+
+            // Assert
+            assertEquals(0, somaBigDecimal.compareTo(NotaCentesimos.paraBigDecimal(soma)));
+            assertEquals(somaBigDecimal.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_UP),
+                    NotaCentesimos.paraBigDecimal(NotaCentesimos.dividir(soma, quantidade)));
+        }
+    }
+
+    @Group
+    class conversoes {
+
+        @Property(generation = GenerationMode.EXHAUSTIVE)
+        @Label("Deve converter toda nota válida para centésimos e de volta sem perda")
+        void deveConverterSemPerda(@ForAll @IntRange(min = 100, max = 500) int centesimos) {
+            // Arrange
+            double nota = Double.parseDouble(BigDecimal.valueOf(centesimos, 2).toPlainString());
+
+            // Act / Assert
+            assertEquals(centesimos, NotaCentesimos.converter(nota));
+            assertEquals(nota, NotaCentesimos.paraDouble(centesimos));
+            assertEquals(centesimos, NotaCentesimos.deBigDecimal(NotaCentesimos.paraBigDecimal(centesimos)));
+        }
+
+        @Example
+        @Label("Deve arredondar com HALF_UP valores gravados com mais de 2 casas")
+        void deveArredondarValoresComMaisCasas() {
+            assertEquals(101, NotaCentesimos.deBigDecimal(new BigDecimal("1.005")));
+            assertEquals(750, NotaCentesimos.deBigDecimal(new BigDecimal("7.5000000000")));
+            assertEquals(450, NotaCentesimos.converter(1.1 + 1.1 + 1.1 + 1.2));
+        }
+
+        @Example
+        @Label("Deve manter valores nulos nas conversões")
+        void deveManterNulos() {
+            assertNull(NotaCentesimos.paraBigDecimal(null));
+            assertNull(NotaCentesimos.deBigDecimal(null));
+            assertNull(NotaCentesimos.paraDouble(null));
+        }
+
+        @Example
+        @Label("Deve arredondar divisões negativas se afastando do zero e rejeitar quantidade zero")
+        void deveArredondarNegativosERejeitarQuantidadeZero() {
+            assertEquals(-113, NotaCentesimos.dividir(-450, 4));
+            assertEquals(-112, NotaCentesimos.dividir(-449, 4));
+            assertThrows(IllegalArgumentException.class, () -> NotaCentesimos.dividir(100, 0));
+        }
+    }
+}
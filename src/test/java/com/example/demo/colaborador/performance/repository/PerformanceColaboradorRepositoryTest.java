@@ -0,0 +1,167 @@
+package com.example.demo.colaborador.performance.repository;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PerformanceColaboradorRepositoryTest {
+
+    @Autowired
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Cadastra um colaborador com o registro de performance já calculado
+    private ColaboradorEntity cadastrarColaboradorComPerformance(String nome) {
+        var colaborador = new ColaboradorEntity(nome, LocalDate.of(2024, 1, 1), "Dev");
+        testEntityManager.persist(colaborador);
+
+        var registro = new PerformanceColaboradorEntity(colaborador.getMatricula());
+        registro.setAvaliacaoRealizada(true);
+        registro.setMediaComportamental(425);
+        registro.setQuantidadeEntregas(2);
+        registro.setSomaNotasEntregas(750);
+        registro.setMediaEntregas(375);
+        registro.setNotaFinal(800);
+        registro.setElegivel(true);
+        testEntityManager.persist(registro);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return colaborador;
+    }
+
+    @Nested
+    class buscarResumo {
+
+        @Test
+        @DisplayName("Deve retornar o registro com o nome do colaborador em um único statement")
+        void deveRetornarResumoEmUmStatement() {
+            // Arrange
+            var colaborador = cadastrarColaboradorComPerformance("Alice");
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+
+            // Act
+            var resumo = performanceColaboradorRepository.buscarResumo(colaborador.getMatricula()).orElseThrow();
+
+            // Assert
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+            assertEquals("Alice", resumo.nome());
+            assertTrue(resumo.avaliacaoRealizada());
+            assertEquals(2, resumo.quantidadeEntregas());
+            assertEquals(425, resumo.mediaComportamental());
+            assertEquals(375, resumo.mediaEntregas());
+            assertEquals(800, resumo.notaFinal());
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio quando não houver registro para a matrícula")
+        void deveRetornarVazioSemRegistro() {
+            // Act + Assert
+            assertTrue(performanceColaboradorRepository.buscarResumo(UUID.randomUUID()).isEmpty());
+        }
+    }
+
+    @Nested
+    class buscarResumos {
+
+        @Test
+        @DisplayName("Deve retornar os registros das matrículas existentes em um único statement")
+        void deveRetornarResumosEmUmStatement() {
+            // Arrange
+            var alice = cadastrarColaboradorComPerformance("Alice");
+            var bruno = cadastrarColaboradorComPerformance("Bruno");
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+
+            // Act
+            var resumos = performanceColaboradorRepository.buscarResumos(
+                    List.of(alice.getMatricula(), bruno.getMatricula(), UUID.randomUUID()));
+
+            // Assert
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+            assertEquals(Set.of("Alice", "Bruno"),
+                    resumos.stream().map(PerformanceColaboradorResumo::nome).collect(Collectors.toSet()));
+        }
+    }
+
+    @Nested
+    class listarNotas {
+
+        @Test
+        @DisplayName("Deve listar as notas com cargo e avaliação em lotes ordenados por matrícula")
+        void deveListarNotasEmLotes() {
+            // Arrange
+            var alice = cadastrarColaboradorComPerformance("Alice");
+            var bruno = cadastrarColaboradorComPerformance("Bruno");
+
+            var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 4.0, 3.0, 5.0);
+            avaliacao.setColaborador(testEntityManager.find(ColaboradorEntity.class, alice.getMatricula()));
+            testEntityManager.persistAndFlush(avaliacao);
+            testEntityManager.clear();
+
+            // Act
+            var primeiroLote = performanceColaboradorRepository.listarNotas(null, Limit.of(1));
+            var segundoLote = performanceColaboradorRepository.listarNotas(primeiroLote.getFirst().matricula(), Limit.of(1));
+
+            // Assert
+            assertEquals(1, primeiroLote.size());
+            assertEquals(1, segundoLote.size());
+            assertNotEquals(primeiroLote.getFirst().matricula(), segundoLote.getFirst().matricula());
+
+            var notasAlice = (primeiroLote.getFirst().matricula().equals(alice.getMatricula()) ? primeiroLote : segundoLote).getFirst();
+            var notasBruno = (primeiroLote.getFirst().matricula().equals(bruno.getMatricula()) ? primeiroLote : segundoLote).getFirst();
+            assertEquals("Dev", notasAlice.cargo());
+            assertEquals(800, notasAlice.notaFinal());
+            assertEquals(425, notasAlice.mediaComportamental());
+            assertEquals(4.0, notasAlice.notaAprendizado());
+            assertNull(notasBruno.notaAutonomia());
+            assertTrue(performanceColaboradorRepository.listarNotas(segundoLote.getFirst().matricula(), Limit.of(1)).isEmpty());
+        }
+    }
+
+    @Nested
+    class excluirOrfaos {
+
+        @Test
+        @DisplayName("Deve excluir somente registros cujo colaborador não existe mais")
+        void deveExcluirSomenteOrfaos() {
+            // Arrange
+            var colaborador = cadastrarColaboradorComPerformance("Bruno");
+            testEntityManager.persist(new PerformanceColaboradorEntity(UUID.randomUUID()));
+            testEntityManager.flush();
+
+            // Act
+            int excluidos = performanceColaboradorRepository.excluirOrfaos();
+
+            // Assert
+            assertEquals(1, excluidos);
+            assertEquals(1, performanceColaboradorRepository.count());
+            assertTrue(performanceColaboradorRepository.findById(colaborador.getMatricula()).isPresent());
+        }
+    }
+}
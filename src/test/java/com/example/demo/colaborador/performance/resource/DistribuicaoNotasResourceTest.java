@@ -0,0 +1,45 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.performance.resource.json.DistribuicaoGrupoResponse;
+import com.example.demo.colaborador.performance.resource.json.DistribuicaoNotasResponse;
+import com.example.demo.colaborador.performance.resource.json.PercentisResponse;
+import com.example.demo.colaborador.performance.service.DistribuicaoNotasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = DistribuicaoNotasResource.class)
+class DistribuicaoNotasResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DistribuicaoNotasService distribuicaoNotasService;
+
+    @Test
+    @DisplayName("Deve retornar 200 com os percentis gerais e do cargo informado")
+    void deveRetornarDistribuicao() throws Exception {
+        // Arrange
+        var percentis = new PercentisResponse(3, new BigDecimal("6.00"), new BigDecimal("8.00"), new BigDecimal("9.50"));
+        var grupo = new DistribuicaoGrupoResponse(3, percentis, percentis, percentis, percentis, percentis, percentis);
+        when(distribuicaoNotasService.consultar("Dev")).thenReturn(new DistribuicaoNotasResponse(grupo, Map.of("Dev", grupo)));
+
+        // Act + Assert
+        mockMvc.perform(get("/api/v1/colaborador/distribuicao").param("cargo", "Dev"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.geral.totalColaboradores").value(3))
+                .andExpect(jsonPath("$.geral.notaFinal.p90").value(9.5))
+                .andExpect(jsonPath("$.porCargo.Dev.notaAprendizado.p10").value(6.0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.resource.json.FormulaPerformanceResponse;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FormulaPerformanceEndpointTest {
+
+    @Spy
+    private FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @InjectMocks
+    private FormulaPerformanceEndpoint formulaPerformanceEndpoint;
+
+    @Test
+    @DisplayName("Deve retornar a versão e os pesos em uso")
+    void deveConsultarFormula() {
+        // Act
+        var resultado = formulaPerformanceEndpoint.consultar();
+
+        // Assert
+        assertEquals(new FormulaPerformanceResponse(1, PesosFormula.SEM_PESO), resultado);
+    }
+
+    @Test
+    @DisplayName("Deve trocar a fórmula e agendar a reconstrução dos registros na nova versão")
+    void deveTrocarFormulaEAgendarReconstrucao() {
+        // Arrange
+        var pesos = new PesosFormula(new BigDecimal("2"), BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                new BigDecimal("0.6"), new BigDecimal("0.4"));
+
+        // Act
+        var resposta = formulaPerformanceEndpoint.substituir(new BigDecimal("2"), BigDecimal.ONE, BigDecimal.ONE,
+                BigDecimal.ONE, new BigDecimal("0.6"), new BigDecimal("0.4"));
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_OK, resposta.getStatus());
+        assertEquals(new FormulaPerformanceResponse(2, pesos), resposta.getBody());
+        verify(performanceColaboradorService, times(1)).reconstruirAposTrocaFormula(2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 sem trocar a fórmula nem reconstruir quando os pesos forem inválidos")
+    void deveRetornar400QuandoPesosInvalidos() {
+        // Act
+        var resposta = formulaPerformanceEndpoint.substituir(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE);
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, resposta.getStatus());
+        assertEquals(Map.of("erro", "Pelo menos um critério da avaliação deve ter peso maior que zero"), resposta.getBody());
+        assertEquals(1, formulaPerformanceService.formulaAtual().versao());
+        verify(performanceColaboradorService, never()).reconstruirAposTrocaFormula(anyLong());
+    }
+}
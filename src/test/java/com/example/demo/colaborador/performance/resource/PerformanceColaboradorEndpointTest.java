@@ -0,0 +1,38 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceColaboradorEndpointTest {
+
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @InjectMocks
+    private PerformanceColaboradorEndpoint performanceColaboradorEndpoint;
+
+    @Test
+    @DisplayName("Deve reconstruir os registros de performance e retornar a quantidade reconstruída")
+    void deveReconstruirRegistros() {
+        // Arrange
+        when(performanceColaboradorService.reconstruirTodos()).thenReturn(42);
+
+        // Act
+        var resultado = performanceColaboradorEndpoint.reconstruir();
+
+        // Assert
+        assertEquals(Map.of("registrosReconstruidos", 42), resultado);
+        verify(performanceColaboradorService, times(1)).reconstruirTodos();
+    }
+}
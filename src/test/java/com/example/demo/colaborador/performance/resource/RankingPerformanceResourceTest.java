@@ -0,0 +1,99 @@
+package com.example.demo.colaborador.performance.resource;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.performance.resource.json.PosicaoRankingResponse;
+import com.example.demo.colaborador.performance.resource.json.RankingResponse;
+import com.example.demo.colaborador.performance.service.RankingPerformanceService;
+import com.example.demo.colaborador.resource.ColaboradorResource;
+import com.example.demo.colaborador.service.ColaboradorLoteService;
+import com.example.demo.colaborador.service.ColaboradorPerformanceLoteService;
+import com.example.demo.colaborador.service.ColaboradorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// ColaboradorResource também é carregado: /ranking não pode ser tratado como /{matricula}
+@WebMvcTest(controllers = {RankingPerformanceResource.class, ColaboradorResource.class})
+class RankingPerformanceResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RankingPerformanceService rankingPerformanceService;
+
+    @MockitoBean
+    private ColaboradorService colaboradorService;
+
+    @MockitoBean
+    private ColaboradorLoteService colaboradorLoteService;
+
+    @MockitoBean
+    private ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    @Nested
+    class consultarRanking {
+
+        @Test
+        @DisplayName("Deve retornar 200 com os primeiros colaboradores do ranking")
+        void deveRetornarRanking() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(rankingPerformanceService.consultarTop(50)).thenReturn(new RankingResponse(120,
+                    List.of(new PosicaoRankingResponse(1, matricula, new BigDecimal("9.75")))));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/ranking").param("top", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalColaboradores").value(120))
+                    .andExpect(jsonPath("$.colaboradores[0].posicao").value(1))
+                    .andExpect(jsonPath("$.colaboradores[0].matricula").value(matricula.toString()))
+                    .andExpect(jsonPath("$.colaboradores[0].notaFinal").value(9.75));
+
+            verifyNoInteractions(colaboradorService);
+        }
+    }
+
+    @Nested
+    class consultarPosicao {
+
+        @Test
+        @DisplayName("Deve retornar 200 com a posição do colaborador")
+        void deveRetornarPosicao() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(rankingPerformanceService.consultarPosicao(matricula.toString()))
+                    .thenReturn(new PosicaoRankingResponse(3, matricula, new BigDecimal("8.00")));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}/rank", matricula))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.posicao").value(3));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 quando o colaborador não estiver no ranking")
+        void deveRetornar404() throws Exception {
+            // Arrange
+            String matricula = UUID.randomUUID().toString();
+            when(rankingPerformanceService.consultarPosicao(matricula))
+                    .thenThrow(new ResourceNotFoundException("Colaborador não encontrado no ranking"));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}/rank", matricula))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.NotasColaboradorProjection;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.repository.PerformanceColaboradorProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DistribuicaoNotasServiceTest {
+
+    @Mock
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    @InjectMocks
+    private DistribuicaoNotasService distribuicaoNotasService;
+
+    private NotasColaboradorProjection notas(String cargo, Integer notaFinal, Double aprendizado) {
+        return new NotasColaboradorProjection(UUID.randomUUID(), cargo,
+                notaFinal, notaFinal == null ? null : 400,
+                aprendizado, aprendizado, aprendizado, aprendizado);
+    }
+
+    @Nested
+    class reconstruir {
+
+        @Test
+        @DisplayName("Deve montar as distribuições geral e por cargo lendo todos os lotes")
+        void deveReconstruirEmLotes() {
+            // Arrange
+            // Primeiro lote cheio (força a busca do próximo) e segundo lote com um colaborador
+            List<NotasColaboradorProjection> primeiroLote = new ArrayList<>();
+            IntStream.range(0, DistribuicaoNotasService.TAMANHO_LOTE_RECONSTRUCAO)
+                    .forEach(i -> primeiroLote.add(notas("Dev", 800, 4.0)));
+            var ultima = primeiroLote.getLast().matricula();
+
+            when(performanceColaboradorRepository.listarNotas(isNull(), any(Limit.class))).thenReturn(primeiroLote);
+            when(performanceColaboradorRepository.listarNotas(eq(ultima), any(Limit.class)))
+                    .thenReturn(List.of(notas("Analista", null, null)));
+
+            // Act
+            distribuicaoNotasService.reconstruir();
+            var distribuicao = distribuicaoNotasService.consultar(null);
+
+            // Assert
+            assertEquals(DistribuicaoNotasService.TAMANHO_LOTE_RECONSTRUCAO + 1, distribuicao.geral().totalColaboradores());
+            assertEquals(DistribuicaoNotasService.TAMANHO_LOTE_RECONSTRUCAO, distribuicao.geral().notaFinal().quantidade());
+            assertEquals(new BigDecimal("8.00"), distribuicao.geral().notaFinal().p50());
+            assertEquals(List.of("Analista", "Dev"), List.copyOf(distribuicao.porCargo().keySet()));
+            assertNull(distribuicao.porCargo().get("Analista").notaFinal().p90());
+        }
+
+        @Test
+        @DisplayName("Deve manter as escritas aplicadas durante a varredura sobre as notas lidas")
+        void deveManterEscritasDuranteVarredura() {
+            // Arrange
+            UUID alice = UUID.randomUUID();
+            UUID bruno = UUID.randomUUID();
+            UUID carla = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(alice, "Dev", bruno, "Dev"));
+
+            when(performanceColaboradorRepository.listarNotas(isNull(), any(Limit.class))).thenAnswer(invocacao -> {
+                // Escritas confirmadas depois da leitura do lote, antes da troca
+                distribuicaoNotasService.registrarPerformance(alice, 425, 900);
+                distribuicaoNotasService.remover(bruno);
+                distribuicaoNotasService.registrarColaboradores(Map.of(carla, "QA"));
+                return List.of(
+                        new NotasColaboradorProjection(alice, "Dev", 500, 400, 4.0, 4.0, 4.0, 4.0),
+                        new NotasColaboradorProjection(bruno, "Dev", 700, 400, 2.0, 2.0, 2.0, 2.0));
+            });
+
+            // Act
+            distribuicaoNotasService.reconstruir();
+            var distribuicao = distribuicaoNotasService.consultar(null);
+
+            // Assert
+            assertEquals(2, distribuicao.geral().totalColaboradores());
+            assertEquals(List.of("Dev", "QA"), List.copyOf(distribuicao.porCargo().keySet()));
+            var dev = distribuicao.porCargo().get("Dev");
+            assertEquals(1, dev.notaFinal().quantidade());
+            assertEquals(new BigDecimal("9.00"), dev.notaFinal().p50());
+            assertEquals(new BigDecimal("4.00"), dev.notaAprendizado().p50());
+        }
+    }
+
+    @Nested
+    class registrar {
+
+        @Test
+        @DisplayName("Deve substituir a contribuição anterior do colaborador a cada escrita")
+        void deveSubstituirContribuicaoAnterior() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(matricula, "Dev"));
+
+            // Act
+            distribuicaoNotasService.registrarAvaliacao(matricula, new AvaliacaoComportamentoEntity(1L, 5.0, 4.0, 3.0, 5.0));
+            distribuicaoNotasService.registrarPerformance(matricula, 425, 900);
+            distribuicaoNotasService.registrarPerformance(matricula, 425, 750);
+
+            // Assert
+            var dev = distribuicaoNotasService.consultar("Dev").porCargo().get("Dev");
+            assertEquals(1, dev.totalColaboradores());
+            assertEquals(1, dev.notaFinal().quantidade());
+            assertEquals(new BigDecimal("7.50"), dev.notaFinal().p90());
+            assertEquals(new BigDecimal("3.00"), dev.notaTomadaDecisao().p50());
+
+            // O cargo vem das notas em memória, sem consulta ao banco
+            verifyNoInteractions(performanceColaboradorRepository);
+        }
+
+        @Test
+        @DisplayName("Deve mover o colaborador de cargo e remover o cargo que ficar sem colaboradores")
+        void deveMoverColaboradorDeCargo() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var performance = new PerformanceColaboradorProjection(matricula, "Alice", "Dev", 1L,
+                    5.0, 4.0, 3.0, 5.0, 2L, 18.0);
+            var registro = new PerformanceColaboradorEntity(matricula);
+            registro.setMediaComportamental(425);
+            registro.setNotaFinal(1325);
+            distribuicaoNotasService.registrar(performance, registro);
+
+            // Act
+            distribuicaoNotasService.registrarCargo(matricula, "Gerente");
+            distribuicaoNotasService.registrarCargo(UUID.randomUUID(), "Gerente");
+
+            // Assert
+            var distribuicao = distribuicaoNotasService.consultar(null);
+            assertEquals(List.of("Gerente"), List.copyOf(distribuicao.porCargo().keySet()));
+            assertEquals(new BigDecimal("10.00"), distribuicao.geral().notaFinal().p50());
+        }
+
+        @Test
+        @DisplayName("Deve retirar as notas do colaborador removido e da avaliação excluída")
+        void deveRetirarNotas() {
+            // Arrange
+            UUID alice = UUID.randomUUID();
+            UUID bruno = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(alice, "Dev", bruno, "Dev"));
+            distribuicaoNotasService.registrarAvaliacao(alice, new AvaliacaoComportamentoEntity(1L, 5.0, 4.0, 3.0, 5.0));
+            distribuicaoNotasService.registrarAvaliacao(bruno, new AvaliacaoComportamentoEntity(2L, 1.0, 1.0, 1.0, 1.0));
+
+            // Act
+            distribuicaoNotasService.registrarAvaliacao(alice, null);
+            distribuicaoNotasService.remover(bruno);
+            distribuicaoNotasService.remover(UUID.randomUUID());
+
+            // Assert
+            var geral = distribuicaoNotasService.consultar(null).geral();
+            assertEquals(1, geral.totalColaboradores());
+            assertEquals(0, geral.notaAutonomia().quantidade());
+        }
+
+        @Test
+        @DisplayName("Não deve alterar as distribuições quando o cargo do colaborador não for conhecido")
+        void naoDeveAlterarSemColaborador() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            // Act
+            distribuicaoNotasService.registrarPerformance(matricula, 100, 1000);
+
+            // Assert
+            assertEquals(0, distribuicaoNotasService.consultar(null).geral().totalColaboradores());
+        }
+
+        @Test
+        @DisplayName("Deve aplicar a alteração somente após o commit da transação")
+        void deveAplicarAposCommit() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(matricula, "Dev"));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                distribuicaoNotasService.registrarPerformance(matricula, 425, 900);
+
+                // Assert
+                assertEquals(0, distribuicaoNotasService.consultar(null).geral().notaFinal().quantidade());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertEquals(1, distribuicaoNotasService.consultar(null).geral().notaFinal().quantidade());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve descartar a escrita de um commit anterior que chega depois da mais nova")
+        void deveDescartarEscritaAtrasada() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(matricula, "Dev"));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                distribuicaoNotasService.registrarPerformance(matricula, 425, 600);
+                var anterior = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.initSynchronization();
+                distribuicaoNotasService.registrarPerformance(matricula, 425, 800);
+                distribuicaoNotasService.registrarAvaliacao(matricula, new AvaliacaoComportamentoEntity(1L, 5.0, 4.0, 3.0, 5.0));
+
+                // Act
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                anterior.forEach(TransactionSynchronization::afterCommit);
+
+                // Assert
+                var dev = distribuicaoNotasService.consultar("Dev").porCargo().get("Dev");
+                assertEquals(1, dev.notaFinal().quantidade());
+                assertEquals(new BigDecimal("8.00"), dev.notaFinal().p50());
+                assertEquals(new BigDecimal("3.00"), dev.notaTomadaDecisao().p50());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Não deve devolver às distribuições o colaborador removido por uma escrita atrasada")
+        void naoDeveDevolverColaboradorRemovido() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            distribuicaoNotasService.registrarColaboradores(Map.of(matricula, "Dev"));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                distribuicaoNotasService.registrarPerformance(matricula, 425, 600);
+                var anterior = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.initSynchronization();
+                distribuicaoNotasService.remover(matricula);
+
+                // Act
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                anterior.forEach(TransactionSynchronization::afterCommit);
+
+                // Assert
+                assertEquals(0, distribuicaoNotasService.consultar(null).geral().totalColaboradores());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    class consultar {
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o cargo não tiver colaboradores")
+        void deveLancarExcecaoParaCargoInexistente() {
+            // Act + Assert
+            var excecao = assertThrows(ResourceNotFoundException.class, () -> distribuicaoNotasService.consultar("Diretor"));
+            assertEquals("Cargo não encontrado na distribuição de notas", excecao.getMessage());
+        }
+    }
+}
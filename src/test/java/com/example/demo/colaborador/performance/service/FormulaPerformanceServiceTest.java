@@ -0,0 +1,64 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.nota.PesosFormula;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaPerformanceServiceTest {
+
+    private final PesosFormula ponderada = new PesosFormula(new BigDecimal("2"), BigDecimal.ONE, BigDecimal.ONE,
+            BigDecimal.ONE, new BigDecimal("0.6"), new BigDecimal("0.4"));
+
+    @Nested
+    class substituir {
+
+        @Test
+        @DisplayName("Deve publicar os novos pesos com a próxima versão")
+        void devePublicarNovaVersao() {
+            // Arrange
+            var service = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
+            // Act
+            var nova = service.substituir(ponderada);
+
+            // Assert
+            assertEquals(2, nova.versao());
+            assertSame(nova, service.formulaAtual());
+            assertEquals(ponderada, service.formulaAtual().pesos());
+            // (2*5 + 4 + 3 + 2) / 5 = 3.80
+            assertEquals(380, service.formulaAtual().mediaComportamental(5.0, 4.0, 3.0, 2.0));
+        }
+
+        @Test
+        @DisplayName("Deve manter a fórmula atual quando os novos pesos forem inválidos")
+        void deveManterFormulaQuandoPesosInvalidos() {
+            // Arrange
+            var service = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+            var atual = service.formulaAtual();
+            var invalidos = new PesosFormula(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                    new BigDecimal("-1"), BigDecimal.ONE);
+
+            // Act + Assert
+            assertThrows(NegocioException.class, () -> service.substituir(invalidos));
+            assertSame(atual, service.formulaAtual());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compilar os pesos configurados na versão 1")
+    void deveCompilarPesosConfigurados() {
+        // Act
+        var service = new FormulaPerformanceService(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                BigDecimal.ONE, BigDecimal.ONE);
+
+        // Assert
+        assertEquals(1, service.formulaAtual().versao());
+        assertEquals(PesosFormula.SEM_PESO, service.formulaAtual().pesos());
+    }
+}
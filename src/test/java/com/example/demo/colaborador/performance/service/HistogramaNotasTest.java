@@ -0,0 +1,116 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.NotaCentesimos;
+import com.example.demo.colaborador.nota.PesosFormula;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramaNotasTest {
+
+    private final HistogramaNotas histograma = new HistogramaNotas();
+
+    @Nested
+    class quantil {
+
+        @Test
+        @DisplayName("Deve retornar os mesmos percentis da ordenação completa das notas")
+        void deveRetornarPercentisExatos() {
+            // Arrange
+            var aleatorio = new Random(7);
+            double[] notas = new double[1_001];
+            for (int i = 0; i < notas.length; i++) {
+                notas[i] = (100 + aleatorio.nextInt(901)) / 100.0;
+                histograma.adicionar(notas[i]);
+            }
+            Arrays.sort(notas);
+
+            // Act + Assert
+            for (double quantil : new double[]{0.10, 0.50, 0.90}) {
+                double esperado = notas[(int) Math.ceil(quantil * notas.length) - 1];
+                assertEquals(BigDecimal.valueOf(esperado).setScale(2), histograma.quantil(quantil));
+            }
+            assertEquals(notas.length, histograma.getTotal());
+        }
+
+        @Test
+        @DisplayName("Deve retornar nulo quando o histograma estiver vazio")
+        void deveRetornarNuloSemNotas() {
+            // Act + Assert
+            assertNull(histograma.quantil(0.5));
+        }
+
+        @Test
+        @DisplayName("Deve manter exatas as notas finais de uma fórmula com pesos acima de 1")
+        void deveManterNotasFinaisComPesosAcimaDeUm() {
+            // Arrange
+            // Componentes 1.5 e 0.5: as notas finais chegam a 10.00 sem passar do intervalo do histograma
+            var formula = FormulaPerformance.compilar(new PesosFormula(new BigDecimal("2"), BigDecimal.ONE, BigDecimal.ONE,
+                    BigDecimal.ONE, new BigDecimal("1.5"), new BigDecimal("0.5")), 2);
+            int maxima = formula.notaFinal(formula.mediaComportamental(5.0, 5.0, 5.0, 5.0), 500);
+            int quaseMaxima = formula.notaFinal(formula.mediaComportamental(5.0, 5.0, 5.0, 4.0), 500);
+            histograma.adicionar(NotaCentesimos.paraBigDecimal(quaseMaxima).doubleValue());
+            histograma.adicionar(NotaCentesimos.paraBigDecimal(maxima).doubleValue());
+
+            // Act + Assert
+            assertEquals(new BigDecimal("9.70"), histograma.quantil(0.50));
+            assertEquals(new BigDecimal("10.00"), histograma.quantil(0.90));
+        }
+
+        @Test
+        @DisplayName("Deve manter notas fora do intervalo nas faixas das extremidades")
+        void deveLimitarNotasForaDoIntervalo() {
+            // Arrange
+            histograma.adicionar(-3.0);
+            histograma.adicionar(42.0);
+
+            // Act + Assert
+            assertEquals(new BigDecimal("0.00"), histograma.quantil(0.10));
+            assertEquals(new BigDecimal("10.00"), histograma.quantil(0.90));
+        }
+    }
+
+    @Nested
+    class removerEMesclar {
+
+        @Test
+        @DisplayName("Deve retirar a nota removida e ignorar a remoção de nota inexistente")
+        void deveRemoverNota() {
+            // Arrange
+            histograma.adicionar(2.0);
+            histograma.adicionar(9.0);
+
+            // Act
+            histograma.remover(9.0);
+            histograma.remover(5.0);
+
+            // Assert
+            assertEquals(1, histograma.getTotal());
+            assertEquals(new BigDecimal("2.00"), histograma.quantil(0.90));
+        }
+
+        @Test
+        @DisplayName("Deve somar as contagens de outro histograma")
+        void deveMesclarHistogramas() {
+            // Arrange
+            var outro = new HistogramaNotas();
+            histograma.adicionar(3.0);
+            outro.adicionar(7.0);
+            outro.adicionar(8.0);
+
+            // Act
+            histograma.mesclar(outro);
+
+            // Assert
+            assertEquals(3, histograma.getTotal());
+            assertEquals(new BigDecimal("7.00"), histograma.quantil(0.50));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.performance.resource.json.PosicaoRankingResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceRankingTest {
+
+    private final IndiceRanking indice = new IndiceRanking();
+
+    @Nested
+    class consultarTop {
+
+        @Test
+        @DisplayName("Deve listar da maior para a menor nota, com a mesma posição para notas iguais")
+        void deveListarComPosicaoDeCompeticao() {
+            // Arrange
+            UUID primeiro = UUID.randomUUID();
+            UUID empatadoA = new UUID(0, 1);
+            UUID empatadoB = new UUID(0, 2);
+            UUID ultimo = UUID.randomUUID();
+            indice.atualizar(ultimo, new BigDecimal("6.00"));
+            indice.atualizar(empatadoB, new BigDecimal("8.50"));
+            indice.atualizar(primeiro, new BigDecimal("9.75"));
+            indice.atualizar(empatadoA, new BigDecimal("8.5"));
+
+            // Act
+            var top = indice.consultarTop(10);
+
+            // Assert
+            assertEquals(List.of(
+                    new PosicaoRankingResponse(1, primeiro, new BigDecimal("9.75")),
+                    new PosicaoRankingResponse(2, empatadoA, new BigDecimal("8.5")),
+                    new PosicaoRankingResponse(2, empatadoB, new BigDecimal("8.50")),
+                    new PosicaoRankingResponse(4, ultimo, new BigDecimal("6.00"))), top);
+            assertEquals(1, indice.consultarTop(1).size());
+        }
+    }
+
+    @Nested
+    class atualizar {
+
+        @Test
+        @DisplayName("Deve reposicionar o colaborador quando a nota mudar e retirá-lo quando a nota for nula")
+        void deveReposicionarERemover() {
+            // Arrange
+            UUID alice = UUID.randomUUID();
+            UUID bruno = UUID.randomUUID();
+            indice.atualizar(alice, new BigDecimal("9.00"));
+            indice.atualizar(bruno, new BigDecimal("7.00"));
+
+            // Act
+            indice.atualizar(bruno, new BigDecimal("9.50"));
+
+            // Assert
+            assertEquals(1, indice.consultarPosicao(bruno).orElseThrow().posicao());
+            assertEquals(2, indice.consultarPosicao(alice).orElseThrow().posicao());
+            assertEquals(2, indice.tamanho());
+
+            // Act
+            indice.atualizar(bruno, null);
+            indice.remover(UUID.randomUUID());
+
+            // Assert
+            assertTrue(indice.consultarPosicao(bruno).isEmpty());
+            assertEquals(1, indice.consultarPosicao(alice).orElseThrow().posicao());
+            assertEquals(1, indice.tamanho());
+        }
+
+        @Test
+        @DisplayName("Deve manter posições iguais às de uma ordenação completa após muitas alterações aleatórias")
+        void deveManterPosicoesConsistentes() {
+            // Arrange
+            var aleatorio = new Random(42);
+            List<UUID> matriculas = Stream.generate(UUID::randomUUID).limit(300).toList();
+            Map<UUID, BigDecimal> esperado = new HashMap<>();
+
+            // Act
+            for (int i = 0; i < 5_000; i++) {
+                UUID matricula = matriculas.get(aleatorio.nextInt(matriculas.size()));
+                BigDecimal nota = aleatorio.nextInt(5) == 0 ? null : BigDecimal.valueOf(aleatorio.nextInt(200), 1);
+                indice.atualizar(matricula, nota);
+
+                if (nota == null) {
+                    esperado.remove(matricula);
+                } else {
+                    esperado.put(matricula, nota);
+                }
+            }
+
+            // Assert
+            var ordenado = esperado.entrySet().stream()
+                    .sorted(Map.Entry.<UUID, BigDecimal>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                    .toList();
+            var top = indice.consultarTop(ordenado.size());
+
+            assertEquals(ordenado.size(), indice.tamanho());
+            for (int i = 0; i < ordenado.size(); i++) {
+                var nota = ordenado.get(i).getValue();
+                long maiores = esperado.values().stream().filter(outra -> outra.compareTo(nota) > 0).count();
+
+                assertEquals(ordenado.get(i).getKey(), top.get(i).matricula());
+                assertEquals(maiores + 1, top.get(i).posicao());
+                assertEquals(maiores + 1, indice.consultarPosicao(ordenado.get(i).getKey()).orElseThrow().posicao());
+            }
+        }
+    }
+
+    @Nested
+    class substituirTodos {
+
+        @Test
+        @DisplayName("Deve descartar o conteúdo anterior do índice")
+        void deveSubstituirConteudo() {
+            // Arrange
+            UUID antigo = UUID.randomUUID();
+            UUID novo = UUID.randomUUID();
+            indice.atualizar(antigo, new BigDecimal("9.00"));
+
+            // Act
+            indice.substituirTodos(() -> Map.of(novo, new BigDecimal("7.00")));
+
+            // Assert
+            assertTrue(indice.consultarPosicao(antigo).isEmpty());
+            assertEquals(new PosicaoRankingResponse(1, novo, new BigDecimal("7.00")), indice.consultarPosicao(novo).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Deve manter as escritas aplicadas durante a carga sobre as notas lidas")
+        void deveManterEscritasDuranteCarga() {
+            // Arrange
+            UUID alterado = UUID.randomUUID();
+            UUID removido = UUID.randomUUID();
+            UUID incluido = UUID.randomUUID();
+            UUID lido = UUID.randomUUID();
+
+            // Act
+            indice.substituirTodos(() -> {
+                // Escritas confirmadas depois da leitura do banco, antes da troca
+                indice.atualizar(alterado, new BigDecimal("9.50"));
+                indice.remover(removido);
+                indice.atualizar(incluido, new BigDecimal("8.00"));
+                return Map.of(alterado, new BigDecimal("5.00"), removido, new BigDecimal("6.00"),
+                        lido, new BigDecimal("7.00"));
+            });
+
+            // Assert
+            assertEquals(3, indice.tamanho());
+            assertEquals(new PosicaoRankingResponse(1, alterado, new BigDecimal("9.50")), indice.consultarPosicao(alterado).orElseThrow());
+            assertEquals(new PosicaoRankingResponse(2, incluido, new BigDecimal("8.00")), indice.consultarPosicao(incluido).orElseThrow());
+            assertEquals(new PosicaoRankingResponse(3, lido, new BigDecimal("7.00")), indice.consultarPosicao(lido).orElseThrow());
+            assertTrue(indice.consultarPosicao(removido).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve usar as notas lidas para as escritas aplicadas antes da carga")
+        void deveUsarNotasLidasAposCarga() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            indice.atualizar(matricula, new BigDecimal("9.00"));
+            indice.substituirTodos(() -> Map.of(matricula, new BigDecimal("4.00")));
+
+            // Act
+            indice.substituirTodos(() -> Map.of(matricula, new BigDecimal("3.00")));
+
+            // Assert
+            assertEquals(new BigDecimal("3.00"), indice.consultarPosicao(matricula).orElseThrow().notaFinal());
+        }
+    }
+
+    @Nested
+    class ordem {
+
+        @Test
+        @DisplayName("Deve descartar a escrita mais antiga que chega depois da mais nova")
+        void deveDescartarEscritaAtrasada() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            long primeira = indice.proximaOrdem();
+            long segunda = indice.proximaOrdem();
+            indice.atualizar(matricula, new BigDecimal("8.00"), segunda);
+
+            // Act
+            indice.atualizar(matricula, new BigDecimal("6.00"), primeira);
+
+            // Assert
+            assertEquals(new BigDecimal("8.00"), indice.consultarPosicao(matricula).orElseThrow().notaFinal());
+        }
+
+        @Test
+        @DisplayName("Deve descartar a nota atrasada de um colaborador já removido")
+        void deveManterRemocao() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            long inclusao = indice.proximaOrdem();
+            indice.remover(matricula, indice.proximaOrdem());
+
+            // Act
+            indice.atualizar(matricula, new BigDecimal("6.00"), inclusao);
+
+            // Assert
+            assertTrue(indice.consultarPosicao(matricula).isEmpty());
+            assertEquals(0, indice.tamanho());
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.colaborador.nota.PesosFormula;
+import org.mockito.Spy;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.performance.model.PerformanceColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.repository.PerformanceColaboradorProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceColaboradorServiceTest {
+
+    @Mock
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RankingPerformanceService rankingPerformanceService;
+
+    @Mock
+    private DistribuicaoNotasService distribuicaoNotasService;
+
+    @Spy
+    private FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
+    @InjectMocks
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    // Simula a linha agregada das tabelas de origem
+    private PerformanceColaboradorProjection projecao(UUID matricula, Long idAvaliacao, long quantidadeEntregas, Double somaEntregas) {
+        return new PerformanceColaboradorProjection(matricula, "Alice", "Analista", idAvaliacao,
+                idAvaliacao == null ? null : 9.0, idAvaliacao == null ? null : 8.0,
+                idAvaliacao == null ? null : 7.0, idAvaliacao == null ? null : 9.0,
+                quantidadeEntregas, somaEntregas);
+    }
+
+    // Simula um registro materializado já existente (avaliação 8.25 e entregas com soma/quantidade informadas, em centésimos)
+    private PerformanceColaboradorEntity registro(UUID matricula, boolean avaliacaoRealizada, int quantidade, int soma) {
+        var registro = new PerformanceColaboradorEntity(matricula);
+        registro.setAvaliacaoRealizada(avaliacaoRealizada);
+        registro.setMediaComportamental(avaliacaoRealizada ? 825 : null);
+        registro.setQuantidadeEntregas(quantidade);
+        registro.setSomaNotasEntregas(soma);
+        return registro;
+    }
+
+    @Nested
+    class consultarPerformance {
+
+        @Test
+        @DisplayName("Deve retornar o registro materializado sem consultar as tabelas de origem")
+        void deveRetornarRegistroMaterializado() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var resumo = new PerformanceColaboradorResumo(matricula, "Alice", true, 2,
+                    825, 900, 1725);
+            when(performanceColaboradorRepository.buscarResumo(matricula)).thenReturn(Optional.of(resumo));
+
+            // Act
+            var resultado = performanceColaboradorService.consultarPerformance(matricula);
+
+            // Assert
+            assertEquals(Optional.of(resumo), resultado);
+            verifyNoInteractions(colaboradorRepository);
+        }
+
+        @Test
+        @DisplayName("Deve calcular a partir das tabelas de origem quando o registro não existir")
+        void deveCalcularQuandoRegistroNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(performanceColaboradorRepository.buscarResumo(matricula)).thenReturn(Optional.empty());
+            when(colaboradorRepository.buscarPerformanceColaborador(matricula))
+                    .thenReturn(Optional.of(projecao(matricula, 1L, 2, 18.0)));
+
+            // Act
+            var resultado = performanceColaboradorService.consultarPerformance(matricula).orElseThrow();
+
+            // Assert
+            assertEquals("Alice", resultado.nome());
+            assertTrue(resultado.avaliacaoRealizada());
+            assertEquals(2, resultado.quantidadeEntregas());
+            assertEquals(825, resultado.mediaComportamental());
+            assertEquals(900, resultado.mediaEntregas());
+            assertEquals(1725, resultado.notaFinal());
+
+            // O cálculo de fallback não grava nada
+            verify(performanceColaboradorRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve descartar o resíduo de ponto flutuante da soma feita no banco antes de arredondar")
+        void deveDescartarResiduoDaSomaEmPontoFlutuante() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            // 1.1 + 1.1 + 1.1 + 1.2 em double resulta em 4.500000000000001 (em BigDecimal seria 4.5 exato)
+            double somaEmPontoFlutuante = 1.1 + 1.1 + 1.1 + 1.2;
+            when(performanceColaboradorRepository.buscarResumo(matricula)).thenReturn(Optional.empty());
+            when(colaboradorRepository.buscarPerformanceColaborador(matricula))
+                    .thenReturn(Optional.of(projecao(matricula, 1L, 4, somaEmPontoFlutuante)));
+
+            // Act
+            var resultado = performanceColaboradorService.consultarPerformance(matricula).orElseThrow();
+
+            // Assert
+            // 4.5 / 4 = 1.125 -> 1.13 (HALF_UP), o mesmo resultado da soma exata em BigDecimal
+            assertEquals(113, resultado.mediaEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio quando o colaborador não existir")
+        void deveRetornarVazioQuandoColaboradorNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(performanceColaboradorRepository.buscarResumo(matricula)).thenReturn(Optional.empty());
+            when(colaboradorRepository.buscarPerformanceColaborador(matricula)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertTrue(performanceColaboradorService.consultarPerformance(matricula).isEmpty());
+        }
+    }
+
+    @Nested
+    class consultarPerformances {
+
+        @Test
+        @DisplayName("Deve consultar as tabelas de origem somente para as matrículas sem registro materializado")
+        void deveCalcularSomenteMatriculasSemRegistro() {
+            // Arrange
+            UUID comRegistro = UUID.randomUUID();
+            UUID semRegistro = UUID.randomUUID();
+            UUID inexistente = UUID.randomUUID();
+            var resumo = new PerformanceColaboradorResumo(comRegistro, "Bruno", true, 2, 825, 900, 1725);
+            var matriculas = List.of(comRegistro, semRegistro, inexistente);
+
+            when(performanceColaboradorRepository.buscarResumos(matriculas)).thenReturn(List.of(resumo));
+            when(colaboradorRepository.buscarPerformanceColaboradores(List.of(semRegistro, inexistente)))
+                    .thenReturn(List.of(projecao(semRegistro, 1L, 2, 18.0)));
+
+            // Act
+            var resultado = performanceColaboradorService.consultarPerformances(matriculas);
+
+            // Assert
+            assertEquals(2, resultado.size());
+            assertEquals(resumo, resultado.get(comRegistro));
+            assertEquals("Alice", resultado.get(semRegistro).nome());
+            assertEquals(1725, resultado.get(semRegistro).notaFinal());
+            assertFalse(resultado.containsKey(inexistente));
+        }
+
+        @Test
+        @DisplayName("Deve usar somente os registros materializados quando todos existirem")
+        void deveUsarSomenteRegistrosMaterializados() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var resumo = new PerformanceColaboradorResumo(matricula, "Alice", false, 0, null, null, null);
+            when(performanceColaboradorRepository.buscarResumos(List.of(matricula))).thenReturn(List.of(resumo));
+
+            // Act
+            var resultado = performanceColaboradorService.consultarPerformances(List.of(matricula));
+
+            // Assert
+            assertEquals(Map.of(matricula, resumo), resultado);
+            verifyNoInteractions(colaboradorRepository);
+        }
+    }
+
+    @Nested
+    class inicializar {
+
+        @Test
+        @DisplayName("Deve criar registro sem avaliação, sem entregas e não elegível")
+        void deveCriarRegistroVazio() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            ArgumentCaptor<PerformanceColaboradorEntity> registroSalvo = ArgumentCaptor.forClass(PerformanceColaboradorEntity.class);
+
+            // Act
+            performanceColaboradorService.inicializar(matricula, "Dev");
+
+            // Assert
+            verify(performanceColaboradorRepository).save(registroSalvo.capture());
+            var registro = registroSalvo.getValue();
+            assertEquals(matricula, registro.getMatricula());
+            assertTrue(registro.isNew(), "O registro novo deve ser inserido sem SELECT prévio");
+            assertFalse(registro.isAvaliacaoRealizada());
+            assertEquals(0, registro.getQuantidadeEntregas());
+            assertEquals(0, registro.getSomaNotasEntregas());
+            assertNull(registro.getMediaEntregas());
+            assertNull(registro.getNotaFinal());
+            assertFalse(registro.isElegivel());
+            verify(distribuicaoNotasService).registrarColaboradores(Map.of(matricula, "Dev"));
+        }
+    }
+
+    @Nested
+    class registrarEntregas {
+
+        @Test
+        @DisplayName("Deve somar a nova entrega e tornar o colaborador elegível a partir da segunda entrega")
+        void deveSomarEntregaCadastrada() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var registro = registro(matricula, true, 1, 1000);
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.of(registro));
+
+            // Act
+            performanceColaboradorService.registrarEntregaCadastrada(matricula, 8.0);
+
+            // Assert
+            assertEquals(2, registro.getQuantidadeEntregas());
+            assertEquals(1800, registro.getSomaNotasEntregas());
+            assertEquals(900, registro.getMediaEntregas());
+            assertEquals(1725, registro.getNotaFinal());
+            assertTrue(registro.isElegivel());
+            verify(rankingPerformanceService).registrar(matricula, 1725);
+        }
+
+        @Test
+        @DisplayName("Deve substituir a nota anterior pela nova na soma acumulada")
+        void deveSubstituirNotaAlterada() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var registro = registro(matricula, true, 2, 1800);
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.of(registro));
+
+            // Act
+            performanceColaboradorService.registrarNotaEntregaAlterada(matricula, 8.0, 4.5);
+
+            // Assert
+            assertEquals(2, registro.getQuantidadeEntregas());
+            assertEquals(1450, registro.getSomaNotasEntregas());
+            assertEquals(725, registro.getMediaEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve retirar a entrega excluída e deixar o colaborador não elegível")
+        void deveRetirarEntregaExcluida() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var registro = registro(matricula, true, 2, 1800);
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.of(registro));
+
+            // Act
+            performanceColaboradorService.registrarEntregaExcluida(matricula, 8.0);
+
+            // Assert
+            assertEquals(1, registro.getQuantidadeEntregas());
+            assertEquals(1000, registro.getMediaEntregas());
+            assertFalse(registro.isElegivel());
+            assertNull(registro.getNotaFinal());
+
+            // Sem nota final o colaborador sai do ranking
+            verify(rankingPerformanceService).registrar(matricula, null);
+        }
+
+        @Test
+        @DisplayName("Deve reconstruir a partir das tabelas de origem quando o registro não existir")
+        void deveReconstruirQuandoRegistroNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+
+            // As tabelas de origem já contêm a nova entrega (a alteração é gravada antes)
+            when(colaboradorRepository.buscarPerformanceColaborador(matricula))
+                    .thenReturn(Optional.of(projecao(matricula, 1L, 2, 18.0)));
+            ArgumentCaptor<PerformanceColaboradorEntity> registroSalvo = ArgumentCaptor.forClass(PerformanceColaboradorEntity.class);
+
+            // Act
+            performanceColaboradorService.registrarEntregaCadastrada(matricula, 8.0);
+
+            // Assert
+            // A nova entrega não pode ser somada duas vezes
+            verify(performanceColaboradorRepository).save(registroSalvo.capture());
+            assertEquals(2, registroSalvo.getValue().getQuantidadeEntregas());
+            assertEquals(900, registroSalvo.getValue().getMediaEntregas());
+            verify(rankingPerformanceService).registrar(matricula, 1725);
+        }
+    }
+
+    @Nested
+    class registrarAvaliacao {
+
+        @Test
+        @DisplayName("Deve calcular a média comportamental e a nota final com a avaliação cadastrada")
+        void deveRegistrarAvaliacao() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var registro = registro(matricula, false, 2, 1800);
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.of(registro));
+
+            // Act
+            performanceColaboradorService.registrarAvaliacao(matricula, new AvaliacaoComportamentoEntity(1L, 5.0, 4.0, 3.0, 5.0));
+
+            // Assert
+            assertTrue(registro.isAvaliacaoRealizada());
+            assertEquals(425, registro.getMediaComportamental());
+            assertEquals(1325, registro.getNotaFinal());
+            assertTrue(registro.isElegivel());
+        }
+
+        @Test
+        @DisplayName("Deve remover a média comportamental quando a avaliação for excluída")
+        void deveRegistrarAvaliacaoExcluida() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var registro = registro(matricula, true, 2, 1800);
+            when(performanceColaboradorRepository.findById(matricula)).thenReturn(Optional.of(registro));
+
+            // Act
+            performanceColaboradorService.registrarAvaliacaoExcluida(matricula);
+
+            // Assert
+            assertFalse(registro.isAvaliacaoRealizada());
+            assertNull(registro.getMediaComportamental());
+            assertNull(registro.getNotaFinal());
+            assertFalse(registro.isElegivel());
+        }
+    }
+
+    @Nested
+    class excluir {
+
+        @Test
+        @DisplayName("Deve excluir o registro de performance pela matrícula")
+        void deveExcluirRegistro() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            // Act
+            performanceColaboradorService.excluir(matricula);
+
+            // Assert
+            verify(performanceColaboradorRepository).excluirPorMatricula(matricula);
+            verify(rankingPerformanceService).remover(matricula);
+        }
+    }
+
+    @Nested
+    class reconstruirTodos {
+
+        @Test
+        @DisplayName("Deve reconstruir todos os registros em lotes, atualizando os existentes e criando os ausentes")
+        @SuppressWarnings("unchecked")
+        void deveReconstruirEmLotes() {
+            // Arrange
+            // Executa cada callback diretamente, simulando a transação
+            when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                    ((TransactionCallback<Object>) invocacao.getArgument(0)).doInTransaction(null));
+            when(performanceColaboradorRepository.excluirOrfaos()).thenReturn(1);
+
+            // Primeiro lote cheio (força a busca do próximo) e segundo lote com um colaborador
+            List<PerformanceColaboradorProjection> primeiroLote = new ArrayList<>();
+            IntStream.range(0, PerformanceColaboradorService.TAMANHO_LOTE_RECONSTRUCAO)
+                    .forEach(i -> primeiroLote.add(projecao(UUID.randomUUID(), null, 0, null)));
+            var ultimaDoPrimeiroLote = primeiroLote.getLast().matricula();
+
+            UUID matriculaExistente = UUID.randomUUID();
+            var existente = registro(matriculaExistente, false, 0, 0);
+
+            when(colaboradorRepository.listarPerformanceColaboradores(isNull(), anyInt())).thenReturn(primeiroLote);
+            when(colaboradorRepository.listarPerformanceColaboradores(eq(ultimaDoPrimeiroLote), anyInt()))
+                    .thenReturn(List.of(projecao(matriculaExistente, 1L, 2, 18.0)));
+            when(performanceColaboradorRepository.findAllById(any()))
+                    .thenReturn(List.of())
+                    .thenReturn(List.of(existente));
+
+            // Act
+            int total = performanceColaboradorService.reconstruirTodos();
+
+            // Assert
+            assertEquals(PerformanceColaboradorService.TAMANHO_LOTE_RECONSTRUCAO + 1, total);
+            verify(performanceColaboradorRepository).excluirOrfaos();
+            verify(performanceColaboradorRepository, times(total)).save(any());
+
+            // O registro existente foi corrigido com os valores das tabelas de origem
+            assertTrue(existente.isAvaliacaoRealizada());
+            assertEquals(2, existente.getQuantidadeEntregas());
+            assertEquals(1725, existente.getNotaFinal());
+
+            // O ranking é recarregado inteiro ao final
+            verify(rankingPerformanceService).carregar();
+        }
+    }
+
+    @Nested
+    class reconstruirAposTrocaFormula {
+
+        @Test
+        @DisplayName("Deve recalcular os registros com os pesos da fórmula trocada")
+        @SuppressWarnings("unchecked")
+        void deveReconstruirComNovaFormula() {
+            // Arrange
+            // Critério avaliação comportamental com peso 3 e nota final = 0.6 * comportamental + 0.4 * entregas
+            formulaPerformanceService.substituir(new PesosFormula(new BigDecimal("3"), BigDecimal.ONE, BigDecimal.ONE,
+                    BigDecimal.ONE, new BigDecimal("0.6"), new BigDecimal("0.4")));
+            when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                    ((TransactionCallback<Object>) invocacao.getArgument(0)).doInTransaction(null));
+
+            UUID matricula = UUID.randomUUID();
+            var existente = registro(matricula, true, 2, 1800);
+            when(colaboradorRepository.listarPerformanceColaboradores(isNull(), anyInt()))
+                    .thenReturn(List.of(projecao(matricula, 1L, 2, 18.0)));
+            when(performanceColaboradorRepository.findAllById(any())).thenReturn(List.of(existente));
+
+            // Act
+            performanceColaboradorService.reconstruirAposTrocaFormula(2);
+
+            // Assert
+            // (3 * 9 + 8 + 7 + 9) / 6 = 8.50; 0.6 * 8.50 + 0.4 * 9.00 = 8.70
+            assertEquals(850, existente.getMediaComportamental());
+            assertEquals(870, existente.getNotaFinal());
+            verify(rankingPerformanceService).registrar(matricula, 870);
+            verify(rankingPerformanceService).carregar();
+            verify(distribuicaoNotasService).reconstruir();
+        }
+
+        @Test
+        @DisplayName("Deve descartar a reconstrução de uma versão já substituída por outra mais nova")
+        void deveDescartarVersaoAntiga() {
+            // Arrange
+            formulaPerformanceService.substituir(PesosFormula.SEM_PESO);
+            formulaPerformanceService.substituir(PesosFormula.SEM_PESO);
+
+            // Act
+            performanceColaboradorService.reconstruirAposTrocaFormula(2);
+
+            // Assert
+            verifyNoInteractions(transactionTemplate, colaboradorRepository, rankingPerformanceService);
+        }
+    }
+
+    @Nested
+    class reconstruir {
+
+        @Test
+        @DisplayName("Deve recalcular somente os colaboradores informados a partir das tabelas de origem")
+        void deveReconstruirColaboradoresInformados() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(colaboradorRepository.buscarPerformanceColaboradores(List.of(matricula)))
+                    .thenReturn(List.of(projecao(matricula, 1L, 2, 18.0)));
+            when(performanceColaboradorRepository.findAllById(any())).thenReturn(List.of());
+            ArgumentCaptor<PerformanceColaboradorEntity> salvo = ArgumentCaptor.forClass(PerformanceColaboradorEntity.class);
+
+            // Act
+            performanceColaboradorService.reconstruir(List.of(matricula));
+
+            // Assert
+            verify(performanceColaboradorRepository).save(salvo.capture());
+            assertEquals(matricula, salvo.getValue().getMatricula());
+            assertEquals(1725, salvo.getValue().getNotaFinal());
+        }
+
+        @Test
+        @DisplayName("Não deve consultar o banco quando nenhuma matrícula for informada")
+        void naoDeveConsultarSemMatriculas() {
+            // Act
+            performanceColaboradorService.reconstruir(List.of());
+
+            // Assert
+            verifyNoInteractions(colaboradorRepository, performanceColaboradorRepository);
+        }
+    }
+}
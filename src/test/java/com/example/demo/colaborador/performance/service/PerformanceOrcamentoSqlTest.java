@@ -0,0 +1,144 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Orçamentos de comandos SQL dos services de performance (ver @TesteOrcamentoSql)
+// Ranking, distribuição e fórmula respondem da memória: o orçamento das consultas é zero
+@TesteOrcamentoSql
+class PerformanceOrcamentoSqlTest {
+
+    @Autowired
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @Autowired
+    private RankingPerformanceService rankingPerformanceService;
+
+    @Autowired
+    private DistribuicaoNotasService distribuicaoNotasService;
+
+    @Autowired
+    private FormulaPerformanceService formulaPerformanceService;
+
+    @Autowired
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    // Lotes lidos por uma reconstrução completa, com os registros que existirem ao final (a tabela só cresce nos testes)
+    private long lotes(int tamanhoLote) {
+        return performanceColaboradorRepository.count() / tamanhoLote + 1;
+    }
+
+    @Nested
+    class performanceColaboradorService {
+
+        @Test
+        @DisplayName("Deve consultar a performance de um e de 100 colaboradores dentro do orçamento")
+        void consultarPerformance(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            var matricula = UUID.fromString(cenario.colaboradorAvaliado(2));
+            var matriculas = cenario.colaboradores(100);
+
+            // Act + Assert
+            assertTrue(orcamentoSql.verificar("consultarPerformance", 1,
+                    () -> performanceColaboradorService.consultarPerformance(matricula)).isPresent());
+            assertEquals(100, orcamentoSql.verificar("consultarPerformances (100)", 1,
+                    () -> performanceColaboradorService.consultarPerformances(matriculas)).size());
+        }
+
+        @Test
+        @DisplayName("Deve manter o registro materializado dentro do orçamento a cada escrita")
+        void registrarEscritas(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            var matricula = UUID.fromString(cenario.colaborador());
+            var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 4.0, 3.0, 5.0);
+
+            // Act + Assert
+            orcamentoSql.verificar("excluir", 1, () -> performanceColaboradorService.excluir(matricula));
+            orcamentoSql.verificar("inicializar", 1, () -> performanceColaboradorService.inicializar(matricula, "Dev"));
+            orcamentoSql.verificar("registrarEntregaCadastrada", 3,
+                    () -> performanceColaboradorService.registrarEntregaCadastrada(matricula, 4.0));
+            orcamentoSql.verificar("registrarNotaEntregaAlterada", 2,
+                    () -> performanceColaboradorService.registrarNotaEntregaAlterada(matricula, 4.0, 3.0));
+            orcamentoSql.verificar("registrarEntregaExcluida", 2,
+                    () -> performanceColaboradorService.registrarEntregaExcluida(matricula, 3.0));
+            orcamentoSql.verificar("registrarAvaliacao", 2,
+                    () -> performanceColaboradorService.registrarAvaliacao(matricula, avaliacao));
+            orcamentoSql.verificar("registrarAvaliacaoExcluida", 2,
+                    () -> performanceColaboradorService.registrarAvaliacaoExcluida(matricula));
+            orcamentoSql.verificar("registrarCargo", 0,
+                    () -> performanceColaboradorService.registrarCargo(matricula, CenarioOrcamentoSql.CARGO));
+        }
+
+        @Test
+        @DisplayName("Deve reconstruir 100 registros dentro do orçamento")
+        void reconstruir(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            var matriculas = cenario.colaboradores(100);
+
+            // Act + Assert
+            orcamentoSql.verificar("reconstruir (100)", 2, () -> performanceColaboradorService.reconstruir(matriculas));
+        }
+
+        @Test
+        @DisplayName("Deve reconstruir todos os registros com um orçamento fixo por lote")
+        void reconstruirTodos(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            cenario.colaboradores(1200);
+
+            // Act
+            long executados = orcamentoSql.contar(performanceColaboradorService::reconstruirTodos);
+
+            // Assert
+            // Órfãos e ranking: 1 comando cada; por lote: leitura e registros existentes (nada muda, sem UPDATE);
+            // distribuição: 1 leitura por lote dela
+            long orcamento = 2 + 2 * lotes(PerformanceColaboradorService.TAMANHO_LOTE_RECONSTRUCAO)
+                    + lotes(DistribuicaoNotasService.TAMANHO_LOTE_RECONSTRUCAO);
+            assertTrue(executados <= orcamento, "reconstruirTodos: " + executados + " comandos SQL, orçamento de " + orcamento);
+        }
+    }
+
+    @Nested
+    class rankingEDistribuicao {
+
+        @Test
+        @DisplayName("Deve consultar ranking, posição e distribuição sem comandos SQL")
+        void consultarDaMemoria(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(2);
+
+            // Act + Assert
+            orcamentoSql.verificar("consultarTop", 0, () -> rankingPerformanceService.consultarTop(100));
+            orcamentoSql.verificar("consultarPosicao", 0, () -> rankingPerformanceService.consultarPosicao(matricula));
+            orcamentoSql.verificar("consultar distribuição", 0, () -> distribuicaoNotasService.consultar(CenarioOrcamentoSql.CARGO));
+            orcamentoSql.verificar("formulaAtual", 0, () -> formulaPerformanceService.formulaAtual());
+            orcamentoSql.verificar("substituir fórmula", 0, () -> formulaPerformanceService.substituir(PesosFormula.SEM_PESO));
+        }
+
+        @Test
+        @DisplayName("Deve recarregar o ranking e a distribuição dentro do orçamento")
+        void recarregar(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            cenario.colaboradores(600);
+
+            // Act
+            orcamentoSql.verificar("carregar ranking", 1, () -> rankingPerformanceService.carregar());
+            long executados = orcamentoSql.contar(() -> distribuicaoNotasService.reconstruir());
+
+            // Assert
+            long orcamento = lotes(DistribuicaoNotasService.TAMANHO_LOTE_RECONSTRUCAO);
+            assertTrue(executados <= orcamento, "reconstruir distribuição: " + executados + " comandos SQL, orçamento de " + orcamento);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.colaborador.performance.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.performance.repository.NotaFinalColaborador;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingPerformanceServiceTest {
+
+    @Mock
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    @InjectMocks
+    private RankingPerformanceService rankingPerformanceService;
+
+    @Nested
+    class carregar {
+
+        @Test
+        @DisplayName("Deve carregar as notas finais e responder o ranking sem novas consultas ao banco")
+        void deveCarregarNotasFinais() {
+            // Arrange
+            UUID alice = UUID.randomUUID();
+            UUID bruno = UUID.randomUUID();
+            when(performanceColaboradorRepository.listarNotasFinais()).thenReturn(List.of(
+                    new NotaFinalColaborador(alice, 800),
+                    new NotaFinalColaborador(bruno, 900)));
+
+            // Act
+            rankingPerformanceService.carregar();
+            var ranking = rankingPerformanceService.consultarTop(null);
+            var posicaoAlice = rankingPerformanceService.consultarPosicao(alice.toString());
+
+            // Assert
+            assertEquals(2, ranking.totalColaboradores());
+            assertEquals(bruno, ranking.colaboradores().getFirst().matricula());
+            assertEquals(2, posicaoAlice.posicao());
+            verify(performanceColaboradorRepository, times(1)).listarNotasFinais();
+        }
+
+        @Test
+        @DisplayName("Deve manter a nota registrada enquanto as notas finais são lidas")
+        void deveManterNotaRegistradaDuranteCarga() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(performanceColaboradorRepository.listarNotasFinais()).thenAnswer(invocacao -> {
+                rankingPerformanceService.registrar(matricula, 900);
+                return List.of(new NotaFinalColaborador(matricula, 600));
+            });
+
+            // Act
+            rankingPerformanceService.carregar();
+
+            // Assert
+            assertEquals(new BigDecimal("9.00"), rankingPerformanceService.consultarPosicao(matricula.toString()).notaFinal());
+        }
+    }
+
+    @Nested
+    class registrar {
+
+        @Test
+        @DisplayName("Deve atualizar o ranking imediatamente quando não houver transação")
+        void deveAtualizarSemTransacao() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            // Act
+            rankingPerformanceService.registrar(matricula, 750);
+
+            // Assert
+            assertEquals(new BigDecimal("7.50"), rankingPerformanceService.consultarPosicao(matricula.toString()).notaFinal());
+        }
+
+        @Test
+        @DisplayName("Deve atualizar o ranking somente após o commit da transação")
+        void deveAtualizarAposCommit() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            rankingPerformanceService.registrar(matricula, 750);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                rankingPerformanceService.remover(matricula);
+
+                // Assert
+                assertEquals(1, rankingPerformanceService.consultarTop(1).totalColaboradores());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertEquals(0, rankingPerformanceService.consultarTop(1).totalColaboradores());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve descartar a nota de um commit anterior que chega depois da mais nova")
+        void deveDescartarNotaAtrasada() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                rankingPerformanceService.registrar(matricula, 600);
+                var anterior = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.initSynchronization();
+                rankingPerformanceService.registrar(matricula, 800);
+
+                // Act
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                anterior.forEach(TransactionSynchronization::afterCommit);
+
+                // Assert
+                assertEquals(new BigDecimal("8.00"), rankingPerformanceService.consultarPosicao(matricula.toString()).notaFinal());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    class consultar {
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando a quantidade do ranking estiver fora do limite")
+        void deveRejeitarQuantidadeForaDoLimite() {
+            // Act + Assert
+            assertThrows(NegocioException.class, () -> rankingPerformanceService.consultarTop(0));
+            assertThrows(NegocioException.class,
+                    () -> rankingPerformanceService.consultarTop(RankingPerformanceService.TOP_MAXIMO + 1));
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o colaborador não estiver no ranking")
+        void deveLancarExcecaoQuandoForaDoRanking() {
+            // Act + Assert
+            var excecao = assertThrows(ResourceNotFoundException.class,
+                    () -> rankingPerformanceService.consultarPosicao(UUID.randomUUID().toString()));
+            assertEquals("Colaborador não encontrado no ranking", excecao.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.colaborador.relatorio.resource;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.resource.json.RelatorioPerformanceResponse;
+import com.example.demo.colaborador.relatorio.service.RelatorioPerformanceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = RelatorioPerformanceResource.class)
+class RelatorioPerformanceResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RelatorioPerformanceService relatorioPerformanceService;
+
+    @TempDir
+    private Path diretorio;
+
+    private RelatorioPerformanceResponse resposta(UUID id, StatusRelatorio status, LocalDateTime previsaoTermino) {
+        return new RelatorioPerformanceResponse(id, "Dev", status, 1000, 250, previsaoTermino, null, null, null, null);
+    }
+
+    @Nested
+    class solicitarRelatorio {
+
+        @Test
+        @DisplayName("Deve solicitar o relatório do cargo e retornar 202 com Location")
+        void deveSolicitarRelatorio() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(relatorioPerformanceService.solicitarRelatorio("Dev")).thenReturn(resposta(id, StatusRelatorio.PENDENTE, null));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/relatorio/performance")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"cargo\": \"Dev\"}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/api/v1/relatorio/performance/" + id))
+                    .andExpect(jsonPath("$.status").value("PENDENTE"));
+        }
+
+        @Test
+        @DisplayName("Deve solicitar o relatório de todos os colaboradores quando o corpo não for enviado")
+        void deveSolicitarRelatorioSemCorpo() throws Exception {
+            // Arrange
+            when(relatorioPerformanceService.solicitarRelatorio(null))
+                    .thenReturn(resposta(UUID.randomUUID(), StatusRelatorio.PENDENTE, null));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/relatorio/performance"))
+                    .andExpect(status().isAccepted());
+
+            verify(relatorioPerformanceService).solicitarRelatorio(null);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 503 quando a fila de relatórios estiver cheia")
+        void deveRetornar503ComFilaCheia() throws Exception {
+            // Arrange
+            when(relatorioPerformanceService.solicitarRelatorio(null)).thenThrow(new RejectedExecutionException());
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/relatorio/performance"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.erro").exists());
+        }
+    }
+
+    @Nested
+    class consultarRelatorio {
+
+        @Test
+        @DisplayName("Deve retornar 200 com o progresso e a previsão de término")
+        void deveRetornarProgresso() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(relatorioPerformanceService.consultarRelatorio(id))
+                    .thenReturn(resposta(id, StatusRelatorio.PROCESSANDO, LocalDateTime.of(2025, 1, 1, 12, 0, 35)));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/relatorio/performance/" + id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalColaboradores").value(1000))
+                    .andExpect(jsonPath("$.colaboradoresProcessados").value(250))
+                    .andExpect(jsonPath("$.previsaoTermino").value("2025-01-01T12:00:35"));
+        }
+    }
+
+    @Nested
+    class baixarRelatorio {
+
+        @Test
+        @DisplayName("Deve baixar o arquivo NDJSON do relatório concluído")
+        void deveBaixarArquivo() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var arquivo = Files.writeString(diretorio.resolve("r.ndjson"), "{\"status\":200}\n");
+            when(relatorioPerformanceService.consultarArquivo(id)).thenReturn(arquivo);
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/relatorio/performance/" + id + "/arquivo"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(header().string("Content-Disposition",
+                            "attachment; filename=\"relatorio-performance-" + id + ".ndjson\""))
+                    .andExpect(content().string("{\"status\":200}\n"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando o relatório ainda não estiver concluído")
+        void deveRetornar400QuandoNaoConcluido() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(relatorioPerformanceService.consultarArquivo(id))
+                    .thenThrow(new NegocioException("O relatório ainda não foi concluído"));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/relatorio/performance/" + id + "/arquivo"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.erro").value("O relatório ainda não foi concluído"));
+        }
+    }
+}
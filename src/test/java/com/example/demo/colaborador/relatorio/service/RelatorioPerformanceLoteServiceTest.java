@@ -0,0 +1,137 @@
+package com.example.demo.colaborador.relatorio.service;
+
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.repository.RelatorioPerformanceRepository;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatorioPerformanceLoteServiceTest {
+
+    @Mock
+    private RelatorioPerformanceRepository relatorioPerformanceRepository;
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    @InjectMocks
+    private RelatorioPerformanceLoteService relatorioPerformanceLoteService;
+
+    private RelatorioPerformanceEntity cadastrar(UUID id, String cargo) {
+        var relatorio = new RelatorioPerformanceEntity(cargo, "cargo=" + cargo, "/tmp/" + id + ".ndjson");
+        relatorio.setId(id);
+        when(relatorioPerformanceRepository.findById(id)).thenReturn(Optional.of(relatorio));
+        return relatorio;
+    }
+
+    @Nested
+    class iniciarProcessamento {
+
+        @Test
+        @DisplayName("Deve contar o total de colaboradores do cargo na primeira execução")
+        void deveContarTotalNaPrimeiraExecucao() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            cadastrar(id, "Dev");
+            when(colaboradorRepository.contarColaboradores("Dev")).thenReturn(42L);
+
+            // Act
+            var relatorio = relatorioPerformanceLoteService.iniciarProcessamento(id);
+
+            // Assert
+            assertEquals(StatusRelatorio.PROCESSANDO, relatorio.getStatus());
+            assertEquals(42, relatorio.getTotalColaboradores());
+            assertEquals(0, relatorio.getProcessadosInicioExecucao());
+            assertNotNull(relatorio.getDataInicioExecucao());
+        }
+
+        @Test
+        @DisplayName("Deve manter o total e o progresso ao retomar a partir do checkpoint")
+        void deveManterProgressoNaRetomada() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var existente = cadastrar(id, null);
+            existente.setTotalColaboradores(10);
+            existente.setColaboradoresProcessados(4);
+            existente.setUltimaMatricula(UUID.randomUUID());
+            existente.setMensagemFalha("anterior");
+
+            // Act
+            var relatorio = relatorioPerformanceLoteService.iniciarProcessamento(id);
+
+            // Assert
+            assertEquals(10, relatorio.getTotalColaboradores());
+            assertEquals(4, relatorio.getProcessadosInicioExecucao());
+            assertNull(relatorio.getMensagemFalha());
+            verifyNoInteractions(colaboradorRepository);
+        }
+    }
+
+    @Nested
+    class registrarLoteEFinalizar {
+
+        @Test
+        @DisplayName("Deve avançar o checkpoint e, ao concluir, igualar o total aos colaboradores processados")
+        void deveAvancarCheckpointEConcluir() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            UUID ultima = UUID.randomUUID();
+            var relatorio = cadastrar(id, null);
+            relatorio.setTotalColaboradores(5);
+
+            // Act
+            relatorioPerformanceLoteService.registrarLote(id, ultima, 3, 300);
+            relatorioPerformanceLoteService.finalizar(id, StatusRelatorio.CONCLUIDO, null);
+
+            // Assert
+            assertEquals(ultima, relatorio.getUltimaMatricula());
+            assertEquals(300, relatorio.getTamanhoArquivo());
+            assertEquals(3, relatorio.getColaboradoresProcessados());
+            assertEquals(3, relatorio.getTotalColaboradores());
+            assertEquals(StatusRelatorio.CONCLUIDO, relatorio.getStatus());
+            assertNotNull(relatorio.getDataConclusao());
+        }
+
+        @Test
+        @DisplayName("Deve truncar a mensagem de falha no tamanho da coluna")
+        void deveTruncarMensagemDeFalha() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var relatorio = cadastrar(id, null);
+
+            // Act
+            relatorioPerformanceLoteService.finalizar(id, StatusRelatorio.FALHA, "x".repeat(1500));
+
+            // Assert
+            assertEquals(StatusRelatorio.FALHA, relatorio.getStatus());
+            assertEquals(RelatorioPerformanceLoteService.TAMANHO_MAXIMO_MENSAGEM, relatorio.getMensagemFalha().length());
+            assertNull(relatorio.getDataConclusao());
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o relatório não existir")
+        void deveLancarExcecaoQuandoNaoExistir() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(relatorioPerformanceRepository.findById(id)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class,
+                    () -> relatorioPerformanceLoteService.finalizar(id, StatusRelatorio.FALHA, null));
+        }
+    }
+}
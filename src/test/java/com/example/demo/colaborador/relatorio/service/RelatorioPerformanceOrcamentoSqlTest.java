@@ -0,0 +1,61 @@
+package com.example.demo.colaborador.relatorio.service;
+
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.repository.RelatorioPerformanceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Orçamentos de comandos SQL do relatório de performance (ver @TesteOrcamentoSql)
+// A geração roda em segundo plano, em outra thread: o orçamento do checkpoint de cada lote é verificado
+// chamando RelatorioPerformanceLoteService diretamente
+@TesteOrcamentoSql
+class RelatorioPerformanceOrcamentoSqlTest {
+
+    @Autowired
+    private RelatorioPerformanceService relatorioPerformanceService;
+
+    @Autowired
+    private RelatorioPerformanceLoteService relatorioPerformanceLoteService;
+
+    @Autowired
+    private RelatorioPerformanceRepository relatorioPerformanceRepository;
+
+    @Test
+    @DisplayName("Deve solicitar, reaproveitar e consultar o relatório dentro do orçamento")
+    void relatorioPerformanceService(OrcamentoSql orcamentoSql) {
+        // Arrange
+        String cargo = "Orçamento " + UUID.randomUUID();
+
+        // Act + Assert
+        var relatorio = orcamentoSql.verificar("solicitarRelatorio", 2, () -> relatorioPerformanceService.solicitarRelatorio(cargo));
+        var reaproveitado = orcamentoSql.verificar("solicitarRelatorio (reaproveitado)", 1,
+                () -> relatorioPerformanceService.solicitarRelatorio(cargo));
+        orcamentoSql.verificar("consultarRelatorio", 1, () -> relatorioPerformanceService.consultarRelatorio(relatorio.id()));
+        assertEquals(relatorio.id(), reaproveitado.id());
+    }
+
+    @Test
+    @DisplayName("Deve iniciar, registrar cada lote e finalizar o relatório dentro do orçamento")
+    void relatorioPerformanceLoteService(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+        // Arrange
+        UUID ultimaMatricula = cenario.colaboradores(1).getFirst();
+        UUID idRelatorio = relatorioPerformanceRepository.save(
+                new RelatorioPerformanceEntity(CenarioOrcamentoSql.CARGO, "orcamento-" + UUID.randomUUID(), "orcamento.ndjson")).getId();
+
+        // Act + Assert
+        orcamentoSql.verificar("iniciarProcessamento", 3, () -> relatorioPerformanceLoteService.iniciarProcessamento(idRelatorio));
+        orcamentoSql.verificar("registrarLote", 2,
+                () -> relatorioPerformanceLoteService.registrarLote(idRelatorio, ultimaMatricula, 1000, 4096));
+        orcamentoSql.verificar("finalizar", 2,
+                () -> relatorioPerformanceLoteService.finalizar(idRelatorio, StatusRelatorio.CONCLUIDO, null));
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.demo.colaborador.relatorio.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.relatorio.model.RelatorioPerformanceEntity;
+import com.example.demo.colaborador.relatorio.model.StatusRelatorio;
+import com.example.demo.colaborador.relatorio.repository.RelatorioPerformanceRepository;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorPerformanceLoteItemResponse;
+import com.example.demo.colaborador.service.ColaboradorPerformanceLoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatorioPerformanceServiceTest {
+
+    @Mock
+    private RelatorioPerformanceRepository relatorioPerformanceRepository;
+
+    @Mock
+    private RelatorioPerformanceLoteService relatorioPerformanceLoteService;
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    @Mock
+    private ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    @TempDir
+    private Path diretorio;
+
+    // Fila de execuções agendadas, executadas manualmente pelo teste
+    private final List<Runnable> agendados = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RelatorioPerformanceService relatorioPerformanceService;
+
+    private final String chaveTodos = "cargo=null;pesos=" + PesosFormula.SEM_PESO;
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 colaboradores e validade de 15 minutos
+        relatorioPerformanceService = servico(agendados::add);
+    }
+
+    private RelatorioPerformanceEntity relatorio(UUID id, Path arquivo) {
+        var relatorio = new RelatorioPerformanceEntity(null, chaveTodos, arquivo.toString());
+        relatorio.setId(id);
+        return relatorio;
+    }
+
+    private ColaboradorPerformanceLoteItemResponse resultado(UUID matricula) {
+        return new ColaboradorPerformanceLoteItemResponse(matricula.toString(), 404, null, "Colaborador não encontrado");
+    }
+
+    private RelatorioPerformanceService servico(Executor executor) {
+        return new RelatorioPerformanceService(relatorioPerformanceRepository, relatorioPerformanceLoteService,
+                colaboradorRepository, colaboradorPerformanceLoteService,
+                new FormulaPerformanceService(PesosFormula.SEM_PESO), objectMapper, diretorio, 2,
+                Duration.ofMinutes(15), executor);
+    }
+
+    private void executarAgendados() {
+        new ArrayList<>(agendados).forEach(Runnable::run);
+        agendados.clear();
+    }
+
+    @Nested
+    class solicitarRelatorio {
+
+        @Test
+        @DisplayName("Deve registrar o relatório com a chave do filtro e dos pesos e agendar a geração")
+        void deveRegistrarEAgendar() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            ArgumentCaptor<RelatorioPerformanceEntity> salvo = ArgumentCaptor.forClass(RelatorioPerformanceEntity.class);
+            when(relatorioPerformanceRepository.findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+                    eq("cargo=Dev;pesos=" + PesosFormula.SEM_PESO), any(), any())).thenReturn(Optional.empty());
+            when(relatorioPerformanceRepository.save(salvo.capture())).thenAnswer(invocacao -> {
+                RelatorioPerformanceEntity entidade = invocacao.getArgument(0);
+                entidade.setId(id);
+                return entidade;
+            });
+
+            // Act
+            var resposta = relatorioPerformanceService.solicitarRelatorio("  Dev ");
+
+            // Assert
+            assertEquals(id, resposta.id());
+            assertEquals("Dev", resposta.cargo());
+            assertEquals(StatusRelatorio.PENDENTE, resposta.status());
+            assertTrue(Path.of(salvo.getValue().getCaminhoArquivo()).startsWith(diretorio));
+            assertEquals(1, agendados.size());
+        }
+
+        @Test
+        @DisplayName("Deve reaproveitar um relatório recente de uma solicitação idêntica sem agendar outro")
+        void deveReaproveitarRelatorioRecente() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var existente = relatorio(id, Files.writeString(diretorio.resolve("pronto.ndjson"), ""));
+            existente.setStatus(StatusRelatorio.CONCLUIDO);
+            when(relatorioPerformanceRepository.findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+                    eq(chaveTodos), any(), any())).thenReturn(Optional.of(existente));
+
+            // Act
+            var resposta = relatorioPerformanceService.solicitarRelatorio(" ");
+
+            // Assert
+            assertEquals(id, resposta.id());
+            assertEquals(StatusRelatorio.CONCLUIDO, resposta.status());
+            verify(relatorioPerformanceRepository, never()).save(any());
+            assertTrue(agendados.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve gerar outro relatório quando o arquivo do relatório concluído não existir mais")
+        void deveGerarOutroQuandoArquivoRemovido() {
+            // Arrange
+            var existente = relatorio(UUID.randomUUID(), diretorio.resolve("removido.ndjson"));
+            existente.setStatus(StatusRelatorio.CONCLUIDO);
+            when(relatorioPerformanceRepository.findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+                    eq(chaveTodos), any(), any())).thenReturn(Optional.of(existente));
+            when(relatorioPerformanceRepository.save(any())).thenAnswer(invocacao -> {
+                RelatorioPerformanceEntity entidade = invocacao.getArgument(0);
+                entidade.setId(UUID.randomUUID());
+                return entidade;
+            });
+
+            // Act
+            relatorioPerformanceService.solicitarRelatorio(null);
+
+            // Assert
+            verify(relatorioPerformanceRepository).save(any());
+            assertEquals(1, agendados.size());
+        }
+
+        @Test
+        @DisplayName("Deve marcar o relatório como FALHA e recusar a solicitação quando a fila estiver cheia")
+        void deveRecusarComFilaCheia() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var servico = servico(tarefa -> {
+                throw new RejectedExecutionException("fila cheia");
+            });
+            when(relatorioPerformanceRepository.findFirstByChaveAndStatusInAndDataCriacaoAfterOrderByDataCriacaoDesc(
+                    eq(chaveTodos), any(), any())).thenReturn(Optional.empty());
+            when(relatorioPerformanceRepository.save(any())).thenAnswer(invocacao -> {
+                RelatorioPerformanceEntity entidade = invocacao.getArgument(0);
+                entidade.setId(id);
+                return entidade;
+            });
+
+            // Act + Assert
+            assertThrows(RejectedExecutionException.class, () -> servico.solicitarRelatorio(null));
+            verify(relatorioPerformanceLoteService).finalizar(id, StatusRelatorio.FALHA,
+                    "A fila de relatórios estava cheia. Solicite o relatório novamente");
+        }
+    }
+
+    @Nested
+    class processar {
+
+        @Test
+        @DisplayName("Deve escrever uma linha por colaborador e avançar o checkpoint a cada lote")
+        void deveEscreverEmLotes() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            Path arquivo = diretorio.resolve("relatorios").resolve("novo.ndjson");
+            UUID m1 = UUID.randomUUID();
+            UUID m2 = UUID.randomUUID();
+            UUID m3 = UUID.randomUUID();
+
+            when(relatorioPerformanceLoteService.iniciarProcessamento(id)).thenReturn(relatorio(id, arquivo));
+            when(colaboradorRepository.listarMatriculas(null, null, Limit.of(2))).thenReturn(List.of(m1, m2));
+            when(colaboradorRepository.listarMatriculas(null, m2, Limit.of(2))).thenReturn(List.of(m3));
+            when(colaboradorRepository.listarMatriculas(null, m3, Limit.of(2))).thenReturn(List.of());
+            when(colaboradorPerformanceLoteService.consultarLote(List.of(m1, m2))).thenReturn(List.of(resultado(m1), resultado(m2)));
+            when(colaboradorPerformanceLoteService.consultarLote(List.of(m3))).thenReturn(List.of(resultado(m3)));
+
+            // Act
+            relatorioPerformanceService.processar(id);
+
+            // Assert
+            List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+            assertEquals(3, linhas.size());
+            assertEquals(resultado(m3), objectMapper.readValue(linhas.get(2), ColaboradorPerformanceLoteItemResponse.class));
+
+            long tamanhoPrimeiroLote = (linhas.get(0) + "\n" + linhas.get(1) + "\n").getBytes(StandardCharsets.UTF_8).length;
+            verify(relatorioPerformanceLoteService).registrarLote(id, m2, 2, tamanhoPrimeiroLote);
+            verify(relatorioPerformanceLoteService).registrarLote(id, m3, 1, Files.size(arquivo));
+            verify(relatorioPerformanceLoteService).finalizar(id, StatusRelatorio.CONCLUIDO, null);
+        }
+
+        @Test
+        @DisplayName("Deve descartar o que foi escrito depois do checkpoint e continuar da última matrícula gravada")
+        void deveContinuarDoCheckpoint() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            UUID gravada = UUID.randomUUID();
+            UUID proxima = UUID.randomUUID();
+            String confirmado = "{\"linha\":1}\n";
+            Path arquivo = Files.writeString(diretorio.resolve("retomada.ndjson"), confirmado + "{\"linha\":2}\n");
+
+            var checkpoint = relatorio(id, arquivo);
+            checkpoint.setUltimaMatricula(gravada);
+            checkpoint.setColaboradoresProcessados(1);
+            checkpoint.setTamanhoArquivo(confirmado.length());
+            when(relatorioPerformanceLoteService.iniciarProcessamento(id)).thenReturn(checkpoint);
+            when(colaboradorRepository.listarMatriculas(null, gravada, Limit.of(2))).thenReturn(List.of(proxima));
+            when(colaboradorRepository.listarMatriculas(null, proxima, Limit.of(2))).thenReturn(List.of());
+            when(colaboradorPerformanceLoteService.consultarLote(List.of(proxima))).thenReturn(List.of(resultado(proxima)));
+
+            // Act
+            relatorioPerformanceService.processar(id);
+
+            // Assert
+            List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+            assertEquals(2, linhas.size());
+            assertEquals("{\"linha\":1}", linhas.get(0));
+            assertTrue(linhas.get(1).contains(proxima.toString()));
+            verify(relatorioPerformanceLoteService).finalizar(id, StatusRelatorio.CONCLUIDO, null);
+        }
+
+        @Test
+        @DisplayName("Deve marcar o relatório como FALHA quando o arquivo estiver menor que o checkpoint")
+        void deveMarcarFalhaComArquivoIncompleto() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var checkpoint = relatorio(id, diretorio.resolve("ausente.ndjson"));
+            checkpoint.setUltimaMatricula(UUID.randomUUID());
+            checkpoint.setTamanhoArquivo(100);
+            when(relatorioPerformanceLoteService.iniciarProcessamento(id)).thenReturn(checkpoint);
+
+            // Act
+            relatorioPerformanceService.processar(id);
+
+            // Assert
+            verify(relatorioPerformanceLoteService).finalizar(id, StatusRelatorio.FALHA,
+                    "O arquivo do relatório está menor que o último lote gravado");
+            verify(relatorioPerformanceLoteService, never()).registrarLote(any(), any(), anyInt(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve parar depois do lote em andamento sem finalizar o relatório quando a aplicação estiver encerrando")
+        void devePararNoEncerramento() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            UUID m1 = UUID.randomUUID();
+            UUID m2 = UUID.randomUUID();
+            when(relatorioPerformanceLoteService.iniciarProcessamento(id)).thenReturn(relatorio(id, diretorio.resolve("e.ndjson")));
+            when(colaboradorRepository.listarMatriculas(null, null, Limit.of(2))).thenReturn(List.of(m1, m2));
+            when(colaboradorPerformanceLoteService.consultarLote(List.of(m1, m2))).thenReturn(List.of(resultado(m1), resultado(m2)));
+            relatorioPerformanceService.encerrar();
+
+            // Act
+            relatorioPerformanceService.processar(id);
+
+            // Assert
+            // O checkpoint do lote gravado permanece e o relatório continua PROCESSANDO para ser retomado
+            verify(relatorioPerformanceLoteService).registrarLote(eq(id), eq(m2), eq(2), anyLong());
+            verify(colaboradorRepository, never()).listarMatriculas(null, m2, Limit.of(2));
+            verify(relatorioPerformanceLoteService, never()).finalizar(any(), any(), any());
+        }
+    }
+
+    @Nested
+    class retomarRelatoriosInterrompidos {
+
+        @Test
+        @DisplayName("Deve agendar uma única vez os relatórios pendentes ou em processamento")
+        void deveAgendarRelatoriosInterrompidos() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            var interrompido = relatorio(id, diretorio.resolve("x.ndjson"));
+            interrompido.setStatus(StatusRelatorio.PROCESSANDO);
+            when(relatorioPerformanceRepository.findByStatusIn(any())).thenReturn(List.of(interrompido));
+            when(relatorioPerformanceLoteService.iniciarProcessamento(id)).thenReturn(interrompido);
+
+            // Act
+            relatorioPerformanceService.retomarRelatoriosInterrompidos();
+            relatorioPerformanceService.retomarRelatoriosInterrompidos();
+
+            // Assert
+            assertEquals(1, agendados.size());
+
+            // Terminada a execução, o relatório pode ser agendado de novo
+            executarAgendados();
+            verify(relatorioPerformanceLoteService).finalizar(id, StatusRelatorio.CONCLUIDO, null);
+            relatorioPerformanceService.retomarRelatoriosInterrompidos();
+            assertEquals(1, agendados.size());
+        }
+    }
+
+    @Nested
+    class encerrar {
+
+        @Test
+        @DisplayName("Deve não iniciar os relatórios que aguardavam na fila")
+        void deveDescartarRelatoriosDaFila() throws Exception {
+            // Arrange
+            var interrompido = relatorio(UUID.randomUUID(), diretorio.resolve("x.ndjson"));
+            when(relatorioPerformanceRepository.findByStatusIn(any())).thenReturn(List.of(interrompido));
+            relatorioPerformanceService.retomarRelatoriosInterrompidos();
+
+            // Act
+            relatorioPerformanceService.encerrar();
+            executarAgendados();
+
+            // Assert
+            verifyNoInteractions(relatorioPerformanceLoteService);
+        }
+
+        @Test
+        @DisplayName("Deve encerrar o executor e recusar novos relatórios")
+        void deveEncerrarExecutor() throws Exception {
+            // Arrange
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            var servico = servico(executor);
+            var interrompido = relatorio(UUID.randomUUID(), diretorio.resolve("x.ndjson"));
+            when(relatorioPerformanceRepository.findByStatusIn(any())).thenReturn(List.of(interrompido));
+
+            // Act
+            servico.encerrar();
+            servico.retomarRelatoriosInterrompidos();
+
+            // Assert
+            // O relatório recusado no encerramento não é marcado como FALHA: continua para a próxima inicialização
+            assertTrue(executor.isTerminated());
+            verifyNoInteractions(relatorioPerformanceLoteService);
+        }
+    }
+
+    @Nested
+    class consultas {
+
+        @Test
+        @DisplayName("Deve retornar o arquivo somente do relatório concluído")
+        void deveRetornarArquivoDoRelatorioConcluido() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            Path arquivo = diretorio.resolve("r.ndjson");
+            var relatorio = relatorio(id, arquivo);
+            when(relatorioPerformanceRepository.findById(id)).thenReturn(Optional.of(relatorio));
+
+            // Act + Assert
+            var ex = assertThrows(NegocioException.class, () -> relatorioPerformanceService.consultarArquivo(id));
+            assertEquals("O relatório ainda não foi concluído", ex.getMessage());
+
+            relatorio.setStatus(StatusRelatorio.CONCLUIDO);
+            assertEquals(arquivo, relatorioPerformanceService.consultarArquivo(id));
+            assertEquals(StatusRelatorio.CONCLUIDO, relatorioPerformanceService.consultarRelatorio(id).status());
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o relatório não existir")
+        void deveLancarExcecaoQuandoNaoExistir() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(relatorioPerformanceRepository.findById(id)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertThrows(ResourceNotFoundException.class, () -> relatorioPerformanceService.consultarRelatorio(id));
+        }
+    }
+
+    @Nested
+    class estimarTermino {
+
+        @Test
+        @DisplayName("Deve estimar o término pela velocidade da execução atual")
+        void deveEstimarPelaVelocidadeDaExecucaoAtual() {
+            // Arrange
+            // Retomado com 100 processados; nesta execução, 200 colaboradores em 10s -> 700 restantes em 35s
+            var agora = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+            var relatorio = relatorio(UUID.randomUUID(), diretorio.resolve("x.ndjson"));
+            relatorio.setStatus(StatusRelatorio.PROCESSANDO);
+            relatorio.setTotalColaboradores(1000);
+            relatorio.setProcessadosInicioExecucao(100);
+            relatorio.setColaboradoresProcessados(300);
+            relatorio.setDataInicioExecucao(agora.minusSeconds(10));
+
+            // Act + Assert
+            assertEquals(agora.plusSeconds(35), RelatorioPerformanceService.estimarTermino(relatorio, agora));
+        }
+
+        @Test
+        @DisplayName("Deve retornar nulo antes do primeiro lote da execução ou fora do processamento")
+        void deveRetornarNuloSemVelocidade() {
+            // Arrange
+            var agora = LocalDateTime.now();
+            var relatorio = relatorio(UUID.randomUUID(), diretorio.resolve("x.ndjson"));
+            relatorio.setStatus(StatusRelatorio.PROCESSANDO);
+            relatorio.setTotalColaboradores(10);
+            relatorio.setDataInicioExecucao(agora);
+
+            // Act + Assert
+            assertNull(RelatorioPerformanceService.estimarTermino(relatorio, agora));
+
+            relatorio.setColaboradoresProcessados(10);
+            relatorio.setStatus(StatusRelatorio.CONCLUIDO);
+            assertNull(RelatorioPerformanceService.estimarTermino(relatorio, agora));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ColaboradorLoteRepository.class)
+class ColaboradorLoteRepositoryTest {
+
+    @Autowired
+    private ColaboradorLoteRepository colaboradorLoteRepository;
+
+    @Autowired
+    private PerformanceColaboradorRepository performanceColaboradorRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Nested
+    class inserirEmLote {
+
+        @Test
+        @DisplayName("Deve inserir colaboradores e registros de performance em vários lotes")
+        void deveInserirEmVariosLotes() {
+            // Arrange
+            // 5 colaboradores em lotes de 2 (o último lote fica incompleto)
+            List<UUID> matriculas = new ArrayList<>();
+            List<ColaboradorCadastroRequest> colaboradores = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                matriculas.add(UUID.randomUUID());
+                colaboradores.add(new ColaboradorCadastroRequest("Colaborador " + i, LocalDate.of(2024, 1, i + 1), "Dev"));
+            }
+
+            // Act
+            colaboradorLoteRepository.inserirEmLote(matriculas, colaboradores, 2);
+            testEntityManager.clear();
+
+            // Assert
+            for (int i = 0; i < 5; i++) {
+                var colaborador = testEntityManager.find(ColaboradorEntity.class, matriculas.get(i));
+                assertNotNull(colaborador, "Todos os colaboradores devem ser inseridos");
+                assertEquals("Colaborador " + i, colaborador.getNome());
+                assertEquals(LocalDate.of(2024, 1, i + 1), colaborador.getDataAdmissao());
+
+                var performance = performanceColaboradorRepository.buscarResumo(matriculas.get(i)).orElseThrow();
+                assertFalse(performance.avaliacaoRealizada());
+                assertEquals(0, performance.quantidadeEntregas());
+                assertNull(performance.notaFinal());
+            }
+        }
+    }
+}
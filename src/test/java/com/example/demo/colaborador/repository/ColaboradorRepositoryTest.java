@@ -0,0 +1,468 @@
+package com.example.demo.colaborador.repository;
+
+import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
+import com.example.demo.colaborador.entrega.model.EntregaEntity;
+import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.nota.FormulaPerformance;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.resource.json.ColaboradorResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ColaboradorRepositoryTest {
+
+    private static final FormulaPerformance SEM_PESO = FormulaPerformance.compilar(PesosFormula.SEM_PESO, 1);
+
+    @Autowired
+    private ColaboradorRepository colaboradorRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Cadastra um colaborador com avaliação (opcional) e a quantidade de entregas informada
+    private ColaboradorEntity cadastrarColaborador(String nome, boolean comAvaliacao, int quantidadeEntregas) {
+        var colaborador = new ColaboradorEntity(nome, LocalDate.of(2024, 1, 1), "Dev");
+        testEntityManager.persist(colaborador);
+
+        if (comAvaliacao) {
+            var avaliacao = new AvaliacaoComportamentoEntity(null, 5.0, 4.0, 3.0, 5.0);
+            avaliacao.setColaborador(colaborador);
+            testEntityManager.persist(avaliacao);
+        }
+
+        for (int i = 1; i <= quantidadeEntregas; i++) {
+            var entrega = new EntregaEntity();
+            entrega.setDescricao(nome + " - entrega " + i);
+            entrega.setNota((double) i);
+            entrega.setColaborador(colaborador);
+            testEntityManager.persist(entrega);
+        }
+
+        return colaborador;
+    }
+
+    // Executa a listagem com o contexto de persistência limpo e retorna quantos statements foram preparados
+    private long contarStatementsDaListagem(CursorColaborador cursor) {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        colaboradorRepository.listarPaginaColaboradoresResponse(OrdenacaoColaborador.MATRICULA, cursor, 10, SEM_PESO);
+
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private CursorColaborador cursorDe(ColaboradorResponse colaborador) {
+        return new CursorColaborador(colaborador.nome(), colaborador.matricula());
+    }
+
+    @Nested
+    class listarPaginaColaboradoresResponse {
+
+        @Test
+        @DisplayName("Deve montar colaboradores com/sem avaliação e com/sem entregas")
+        void deveMontarCombinacoesDeDados() {
+            // Arrange
+            var alice = cadastrarColaborador("Alice", true, 0);
+            var bruno = cadastrarColaborador("Bruno", false, 2);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Act
+            List<ColaboradorResponse> resultado = colaboradorRepository
+                    .listarPaginaColaboradoresResponse(OrdenacaoColaborador.MATRICULA, null, 10, SEM_PESO);
+
+            // Assert
+            assertEquals(2, resultado.size());
+
+            var r1 = resultado.stream().filter(c -> c.matricula().equals(alice.getMatricula())).findFirst().orElseThrow();
+            assertEquals("Alice", r1.nome());
+            assertNotNull(r1.avaliacaoComportamento(), "Avaliação deve existir");
+            assertEquals(new BigDecimal("4.25"), r1.avaliacaoComportamento().mediaNotas());
+            assertTrue(r1.entregas().isEmpty(), "Entregas devem estar vazias");
+
+            var r2 = resultado.stream().filter(c -> c.matricula().equals(bruno.getMatricula())).findFirst().orElseThrow();
+            assertEquals("Bruno", r2.nome());
+            assertNull(r2.avaliacaoComportamento(), "Avaliação deve ser nula");
+            assertEquals(2, r2.entregas().size());
+            assertEquals("Bruno - entrega 1", r2.entregas().getFirst().descricao());
+            assertEquals(2.0, r2.entregas().get(1).nota());
+        }
+
+        @Test
+        @DisplayName("Não deve aumentar a quantidade de statements conforme a quantidade de colaboradores")
+        void naoDeveAumentarStatementsComQuantidadeDeLinhas() {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                cadastrarColaborador("Poucos " + i, i % 2 == 0, i);
+            }
+            long statementsComPoucasLinhas = contarStatementsDaListagem(null);
+
+            for (int i = 0; i < 40; i++) {
+                cadastrarColaborador("Muitos " + i, i % 2 == 0, i % 5);
+            }
+
+            // Act
+            long statementsComMuitasLinhas = contarStatementsDaListagem(null);
+
+            // Assert
+            assertEquals(statementsComPoucasLinhas, statementsComMuitasLinhas,
+                    "A quantidade de statements não pode depender da quantidade de colaboradores");
+            assertTrue(statementsComMuitasLinhas <= 2, "A listagem deve usar no máximo 2 statements");
+        }
+    
+        @Test
+        @DisplayName("Deve percorrer todas as páginas ordenadas por nome sem repetir nem pular colaboradores")
+        void devePercorrerPaginasOrdenadasPorNome() {
+            // Arrange
+            cadastrarColaborador("Carla", false, 0);
+            cadastrarColaborador("Ana", false, 0);
+            cadastrarColaborador("Bruno", false, 0);
+            cadastrarColaborador("Ana", false, 0);
+            cadastrarColaborador("Daniel", false, 0);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Act
+            var primeiraPagina = colaboradorRepository.listarPaginaColaboradoresResponse(OrdenacaoColaborador.NOME, null, 2, SEM_PESO);
+            var segundaPagina = colaboradorRepository.listarPaginaColaboradoresResponse(
+                    OrdenacaoColaborador.NOME, cursorDe(primeiraPagina.getLast()), 2, SEM_PESO);
+            var terceiraPagina = colaboradorRepository.listarPaginaColaboradoresResponse(
+                    OrdenacaoColaborador.NOME, cursorDe(segundaPagina.getLast()), 2, SEM_PESO);
+
+            // Assert
+            assertEquals(List.of("Ana", "Ana"), primeiraPagina.stream().map(ColaboradorResponse::nome).toList());
+            assertEquals(List.of("Bruno", "Carla"), segundaPagina.stream().map(ColaboradorResponse::nome).toList());
+            assertEquals(List.of("Daniel"), terceiraPagina.stream().map(ColaboradorResponse::nome).toList());
+        }
+
+        @Test
+        @DisplayName("Deve percorrer todas as páginas ordenadas por matrícula")
+        void devePercorrerPaginasOrdenadasPorMatricula() {
+            // Arrange
+            for (int i = 0; i < 7; i++) {
+                cadastrarColaborador("Colaborador " + i, false, 0);
+            }
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Act
+            List<ColaboradorResponse> todos = new ArrayList<>();
+            CursorColaborador cursor = null;
+            List<ColaboradorResponse> pagina;
+            do {
+                pagina = colaboradorRepository.listarPaginaColaboradoresResponse(OrdenacaoColaborador.MATRICULA, cursor, 3, SEM_PESO);
+                todos.addAll(pagina);
+                cursor = pagina.isEmpty() ? null : cursorDe(pagina.getLast());
+            } while (pagina.size() == 3);
+
+            // Assert
+            var matriculas = todos.stream().map(ColaboradorResponse::matricula).toList();
+            assertEquals(7, matriculas.size());
+            assertEquals(7, new HashSet<>(matriculas).size(), "Nenhum colaborador pode se repetir entre páginas");
+        }
+
+        @Test
+        @DisplayName("Deve consultar uma página profunda com a mesma quantidade de statements da primeira")
+        void deveConsultarPaginaProfundaComMesmoCusto() {
+            // Arrange
+            for (int i = 0; i < 30; i++) {
+                cadastrarColaborador("Colaborador " + i, i % 2 == 0, i % 3);
+            }
+            testEntityManager.flush();
+            testEntityManager.clear();
+            var penultimaPagina = colaboradorRepository.listarPaginaColaboradoresResponse(OrdenacaoColaborador.MATRICULA, null, 25, SEM_PESO);
+
+            // Act
+            long statementsPrimeiraPagina = contarStatementsDaListagem(null);
+            long statementsPaginaProfunda = contarStatementsDaListagem(cursorDe(penultimaPagina.getLast()));
+
+            // Assert
+            assertEquals(statementsPrimeiraPagina, statementsPaginaProfunda);
+        }
+    }
+
+    @Nested
+    class buscarPerformanceColaborador {
+
+        @Test
+        @DisplayName("Deve retornar notas da avaliação, quantidade e soma das entregas em um único statement")
+        void deveAgregarEmUmUnicoStatement() {
+            // Arrange
+            var colaborador = cadastrarColaborador("Alice", true, 3);
+            testEntityManager.flush();
+            testEntityManager.clear();
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+
+            // Act
+            var resultado = colaboradorRepository.buscarPerformanceColaborador(colaborador.getMatricula()).orElseThrow();
+
+            // Assert
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+            assertEquals("Alice", resultado.nome());
+            assertNotNull(resultado.idAvaliacao());
+            assertEquals(5.0, resultado.notaAvaliacaoComportamental());
+            assertEquals(4.0, resultado.notaAprendizado());
+            assertEquals(3.0, resultado.notaTomadaDecisao());
+            assertEquals(5.0, resultado.notaAutonomia());
+            assertEquals(3L, resultado.quantidadeEntregas());
+            assertEquals(6.0, resultado.somaNotasEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve retornar avaliação nula e nenhuma entrega quando não houver registros associados")
+        void deveRetornarSemAvaliacaoESemEntregas() {
+            // Arrange
+            var colaborador = cadastrarColaborador("Bruno", false, 0);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Act
+            var resultado = colaboradorRepository.buscarPerformanceColaborador(colaborador.getMatricula()).orElseThrow();
+
+            // Assert
+            assertNull(resultado.idAvaliacao());
+            assertEquals(0L, resultado.quantidadeEntregas());
+            assertNull(resultado.somaNotasEntregas());
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio quando a matrícula não existir")
+        void deveRetornarVazioQuandoMatriculaNaoExistir() {
+            // Act + Assert
+            assertTrue(colaboradorRepository.buscarPerformanceColaborador(UUID.randomUUID()).isEmpty());
+        }
+    }
+
+    @Nested
+    class agruparPerformance {
+
+        // Alice e Bruno elegíveis, Carla sem avaliação e Davi sem entregas
+        private void cadastrarGrupos() {
+            alterarCargoEAdmissao(cadastrarColaborador("Alice", true, 3), "Dev", LocalDate.of(2023, 2, 10));
+            alterarCargoEAdmissao(cadastrarColaborador("Bruno", true, 2), "Dev", LocalDate.of(2023, 5, 1));
+            alterarCargoEAdmissao(cadastrarColaborador("Carla", false, 1), "Dev", LocalDate.of(2024, 1, 15));
+            alterarCargoEAdmissao(cadastrarColaborador("Davi", true, 0), "Analista", LocalDate.of(2023, 3, 30));
+            testEntityManager.flush();
+            testEntityManager.clear();
+        }
+
+        private void alterarCargoEAdmissao(ColaboradorEntity colaborador, String cargo, LocalDate dataAdmissao) {
+            colaborador.setCargo(cargo);
+            colaborador.setDataAdmissao(dataAdmissao);
+        }
+
+        @Test
+        @DisplayName("Deve agregar por cargo em um único statement, com médias somente dos colaboradores elegíveis")
+        void deveAgruparPorCargo() {
+            // Arrange
+            cadastrarGrupos();
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+
+            // Act
+            var grupos = colaboradorRepository.agruparPerformance(AgrupamentoAnalise.CARGO, SEM_PESO);
+
+            // Assert
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+            assertEquals(0, estatisticas.getEntityLoadCount());
+            assertEquals(2, grupos.size());
+
+            var analista = grupos.get(0);
+            assertEquals("Analista", analista.grupo());
+            assertEquals(1L, analista.totalColaboradores());
+            assertEquals(0L, analista.colaboradoresElegiveis());
+            assertEquals(4.25, analista.mediaComportamental(), 0.0001);
+            assertNull(analista.mediaEntregas());
+            assertNull(analista.mediaNotaFinal());
+
+            // Entregas: Alice 1,2,3 (média 2.0), Bruno 1,2 (1.5) e Carla 1 (1.0); avaliação 4.25 para Alice e Bruno
+            var dev = grupos.get(1);
+            assertEquals("Dev", dev.grupo());
+            assertEquals(3L, dev.totalColaboradores());
+            assertEquals(2L, dev.colaboradoresAvaliados());
+            assertEquals(2L, dev.colaboradoresElegiveis());
+            assertEquals(1.5, dev.mediaEntregas(), 0.0001);
+            assertEquals(6.0, dev.mediaNotaFinal(), 0.0001);
+            assertEquals(5.75, dev.menorNotaFinal(), 0.0001);
+            assertEquals(6.25, dev.maiorNotaFinal(), 0.0001);
+        }
+
+        @Test
+        @DisplayName("Deve aplicar os pesos da fórmula na média comportamental e na nota final")
+        void deveAplicarPesosDaFormula() {
+            // Arrange
+            cadastrarGrupos();
+            // Avaliação 5, 4, 3, 5 com pesos 3, 1, 0, 0: (15 + 4) / 4 = 4.75
+            // Nota final 0.5 * 4.75 + 1.5 * média das entregas: Alice 2.375 + 3.0 e Bruno 2.375 + 2.25
+            var formula = FormulaPerformance.compilar(new PesosFormula(new BigDecimal("3"), BigDecimal.ONE, BigDecimal.ZERO,
+                    BigDecimal.ZERO, new BigDecimal("0.5"), new BigDecimal("1.5")), 2);
+
+            // Act
+            var grupos = colaboradorRepository.agruparPerformance(AgrupamentoAnalise.CARGO, formula);
+
+            // Assert
+            var dev = grupos.get(1);
+            assertEquals(4.75, dev.mediaComportamental(), 0.0001);
+            assertEquals(5.0, dev.mediaNotaFinal(), 0.0001);
+            assertEquals(4.625, dev.menorNotaFinal(), 0.0001);
+            assertEquals(5.375, dev.maiorNotaFinal(), 0.0001);
+        }
+
+        @Test
+        @DisplayName("Deve agregar por ano e por trimestre de admissão em ordem cronológica")
+        void deveAgruparPorAdmissao() {
+            // Arrange
+            cadastrarGrupos();
+
+            // Act
+            var porAno = colaboradorRepository.agruparPerformance(AgrupamentoAnalise.ANO_ADMISSAO, SEM_PESO);
+            var porTrimestre = colaboradorRepository.agruparPerformance(AgrupamentoAnalise.TRIMESTRE_ADMISSAO, SEM_PESO);
+
+            // Assert
+            assertEquals(List.of("2023", "2024"), porAno.stream().map(AnaliseGrupoProjection::grupo).toList());
+            assertEquals(3L, porAno.get(0).totalColaboradores());
+            assertEquals(List.of("2023-T1", "2023-T2", "2024-T1"),
+                    porTrimestre.stream().map(AnaliseGrupoProjection::grupo).toList());
+            assertEquals(2L, porTrimestre.get(0).totalColaboradores());
+            assertEquals(1L, porTrimestre.get(0).colaboradoresElegiveis());
+        }
+    }
+
+    @Nested
+    class exportarColaboradores {
+
+        @Test
+        @DisplayName("Deve retornar uma linha por entrega, agrupadas por matrícula, sem carregar entidades")
+        void deveRetornarLinhasAgrupadasPorMatricula() {
+            // Arrange
+            cadastrarColaborador("Alice", true, 2);
+            cadastrarColaborador("Bruno", false, 0);
+            cadastrarColaborador("Carla", false, 3);
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // Act
+            List<ColaboradorExportacaoProjection> linhas;
+            try (var stream = colaboradorRepository.exportarColaboradores()) {
+                linhas = stream.toList();
+            }
+
+            // Assert
+            assertEquals(6, linhas.size(), "2 + 1 (sem entregas) + 3 linhas");
+            var matriculas = linhas.stream().map(ColaboradorExportacaoProjection::matricula).distinct().toList();
+            assertEquals(3, matriculas.size());
+            for (UUID matricula : matriculas) {
+                var indices = IntStream.range(0, linhas.size())
+                        .filter(i -> linhas.get(i).matricula().equals(matricula)).toArray();
+                assertEquals(indices.length - 1, indices[indices.length - 1] - indices[0],
+                        "As linhas do mesmo colaborador devem ser consecutivas");
+            }
+            assertTrue(linhas.stream().filter(l -> l.nome().equals("Bruno")).allMatch(l -> l.idEntrega() == null));
+            assertEquals(0, testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount(),
+                    "A exportação não deve gerenciar entidades");
+        }
+    }
+
+    @Nested
+    class listarMatriculas {
+
+        @Test
+        @DisplayName("Deve percorrer as matrículas do cargo em lotes ordenados a partir da última matrícula")
+        void devePercorrerMatriculasEmLotes() {
+            // Arrange
+            cadastrarColaborador("Alice", false, 0);
+            cadastrarColaborador("Bruno", false, 0);
+            cadastrarColaborador("Carla", false, 0);
+            testEntityManager.persist(new ColaboradorEntity("Diego", LocalDate.of(2024, 1, 1), "QA"));
+            testEntityManager.flush();
+
+            // Act
+            var primeiroLote = colaboradorRepository.listarMatriculas("Dev", null, Limit.of(2));
+            var segundoLote = colaboradorRepository.listarMatriculas("Dev", primeiroLote.getLast(), Limit.of(2));
+            var terceiroLote = colaboradorRepository.listarMatriculas("Dev", segundoLote.getLast(), Limit.of(2));
+
+            // Assert
+            assertEquals(2, primeiroLote.size());
+            assertEquals(1, segundoLote.size());
+            assertTrue(terceiroLote.isEmpty());
+            assertFalse(primeiroLote.contains(segundoLote.getFirst()));
+            assertEquals(3, colaboradorRepository.contarColaboradores("Dev"));
+            assertEquals(4, colaboradorRepository.contarColaboradores(null));
+            assertEquals(4, colaboradorRepository.listarMatriculas(null, null, Limit.of(10)).size());
+        }
+    }
+
+    @Nested
+    class quantidadeEntregas {
+
+        @Test
+        @DisplayName("Deve reservar vagas até o limite de entregas e recusar a próxima em um UPDATE condicional")
+        void deveReservarAteOLimite() {
+            // Arrange
+            var matricula = cadastrarColaborador("Alice", false, 0).getMatricula();
+            testEntityManager.flush();
+
+            // Act
+            var reservas = IntStream.range(0, ColaboradorEntity.LIMITE_ENTREGAS + 1)
+                    .map(i -> colaboradorRepository.reservarEntrega(matricula, ColaboradorEntity.LIMITE_ENTREGAS))
+                    .boxed()
+                    .toList();
+
+            // Assert
+            assertEquals(List.of(1, 1, 1, 1, 0), reservas);
+            assertEquals(0, colaboradorRepository.reservarEntrega(UUID.randomUUID(), ColaboradorEntity.LIMITE_ENTREGAS));
+
+            // Cada reserva também incrementa a versão (ETag) do colaborador
+            testEntityManager.clear();
+            var colaborador = testEntityManager.find(ColaboradorEntity.class, matricula);
+            assertEquals(4, colaborador.getQuantidadeEntregas());
+            assertEquals(4L, colaborador.getVersao());
+        }
+
+        @Test
+        @DisplayName("Deve recontar a quantidade a partir das entregas, liberar vagas e ler a quantidade bloqueada")
+        void deveRecontarELiberarEntregas() {
+            // Arrange
+            var matricula = cadastrarColaborador("Alice", false, 3).getMatricula();
+            testEntityManager.flush();
+
+            // Act
+            colaboradorRepository.recontarEntregas(List.of(matricula));
+            colaboradorRepository.liberarEntrega(matricula);
+            var quantidades = colaboradorRepository.bloquearQuantidadesEntregas(List.of(matricula, UUID.randomUUID()));
+
+            // Assert
+            // Apenas os colaboradores existentes são retornados
+            assertEquals(1, quantidades.size());
+            assertEquals(matricula, quantidades.getFirst().matricula());
+            assertEquals(2L, quantidades.getFirst().quantidade());
+        }
+    }
+}
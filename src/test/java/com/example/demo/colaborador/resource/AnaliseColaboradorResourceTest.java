@@ -0,0 +1,67 @@
+package com.example.demo.colaborador.resource;
+
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+import com.example.demo.colaborador.resource.json.AnaliseGrupoResponse;
+import com.example.demo.colaborador.resource.json.AnalisePerformanceResponse;
+import com.example.demo.colaborador.service.AnaliseColaboradorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AnaliseColaboradorResource.class)
+class AnaliseColaboradorResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AnaliseColaboradorService analiseColaboradorService;
+
+    @Nested
+    class analisarPerformance {
+
+        @Test
+        @DisplayName("Deve agrupar por cargo quando o agrupamento não for informado")
+        void deveAgruparPorCargoPorPadrao() throws Exception {
+            // Arrange
+            var grupo = new AnaliseGrupoResponse("Dev", 3, 2, 2, new BigDecimal("4.25"), new BigDecimal("1.50"),
+                    new BigDecimal("6.00"), new BigDecimal("5.75"), new BigDecimal("6.25"));
+            when(analiseColaboradorService.analisarPerformance(AgrupamentoAnalise.CARGO))
+                    .thenReturn(new AnalisePerformanceResponse(AgrupamentoAnalise.CARGO, List.of(grupo)));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/analise"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.agrupamento").value("CARGO"))
+                    .andExpect(jsonPath("$.grupos[0].grupo").value("Dev"))
+                    .andExpect(jsonPath("$.grupos[0].colaboradoresElegiveis").value(2))
+                    .andExpect(jsonPath("$.grupos[0].maiorNotaFinal").value(6.25));
+        }
+
+        @Test
+        @DisplayName("Deve repassar o agrupamento por trimestre de admissão")
+        void deveAgruparPorTrimestre() throws Exception {
+            // Arrange
+            when(analiseColaboradorService.analisarPerformance(AgrupamentoAnalise.TRIMESTRE_ADMISSAO))
+                    .thenReturn(new AnalisePerformanceResponse(AgrupamentoAnalise.TRIMESTRE_ADMISSAO, List.of()));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/analise").param("agrupamento", "TRIMESTRE_ADMISSAO"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.grupos").isEmpty());
+
+            verify(analiseColaboradorService).analisarPerformance(AgrupamentoAnalise.TRIMESTRE_ADMISSAO);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.colaborador.resource;
+
+import com.example.demo.colaborador.service.ColaboradorExportacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ColaboradorExportacaoResource.class)
+class ColaboradorExportacaoResourceTest {
+
+    private static final String NDJSON = "{\"nome\":\"Alice\"}\n{\"nome\":\"Bruno\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ColaboradorExportacaoService colaboradorExportacaoService;
+
+    // Simula o service escrevendo duas linhas na saída recebida
+    private void configurarExportacao() throws Exception {
+        doAnswer(invocacao -> {
+            OutputStream saida = invocacao.getArgument(0);
+            saida.write(NDJSON.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(colaboradorExportacaoService).exportarColaboradores(any(OutputStream.class));
+    }
+
+    @Nested
+    class exportarColaboradores {
+
+        @Test
+        @DisplayName("Deve transmitir NDJSON sem compressão quando o cliente não aceitar gzip")
+        void deveTransmitirSemCompressao() throws Exception {
+            // Arrange
+            configurarExportacao();
+
+            // Act
+            MvcResult inicio = mockMvc.perform(get("/api/v1/colaborador/exportacao"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(inicio))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().string(NDJSON));
+        }
+
+        @Test
+        @DisplayName("Deve comprimir com gzip quando o cliente aceitar")
+        void deveComprimirComGzip() throws Exception {
+            // Arrange
+            configurarExportacao();
+
+            // Act
+            MvcResult inicio = mockMvc.perform(get("/api/v1/colaborador/exportacao")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andReturn();
+
+            // Assert
+            try (var gzip = new GZIPInputStream(new ByteArrayInputStream(resultado.getResponse().getContentAsByteArray()))) {
+                assertEquals(NDJSON, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Nested
+    class aceitaGzip {
+
+        @Test
+        @DisplayName("Deve identificar se o Accept-Encoding permite gzip")
+        void deveInterpretarAcceptEncoding() {
+            assertTrue(ColaboradorExportacaoResource.aceitaGzip("gzip"));
+            assertTrue(ColaboradorExportacaoResource.aceitaGzip("br, GZIP;q=0.5"));
+            assertFalse(ColaboradorExportacaoResource.aceitaGzip(null));
+            assertFalse(ColaboradorExportacaoResource.aceitaGzip("deflate, br"));
+            assertFalse(ColaboradorExportacaoResource.aceitaGzip("gzip;q=0"));
+        }
+    }
+}
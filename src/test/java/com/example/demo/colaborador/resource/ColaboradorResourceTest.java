@@ -1,6 +1,11 @@
 package com.example.demo.colaborador.resource;
 
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
+import com.example.demo.colaborador.repository.OrdenacaoColaborador;
 import com.example.demo.colaborador.resource.json.*;
+import com.example.demo.colaborador.service.ColaboradorLoteService;
+import com.example.demo.colaborador.service.ColaboradorPerformanceLoteService;
 import com.example.demo.colaborador.service.ColaboradorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +26,8 @@ import java.util.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -35,6 +42,12 @@ class ColaboradorResourceTest {
     @MockitoBean
     private ColaboradorService colaboradorService;
 
+    @MockitoBean
+    private ColaboradorLoteService colaboradorLoteService;
+
+    @MockitoBean
+    private ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -97,7 +110,9 @@ class ColaboradorResourceTest {
                     List.of()
             );
 
-            // Configura o Mock para retornar Optional.of(dto)
+            // Configura o Mock para retornar a ETag e Optional.of(dto)
+            when(colaboradorService.consultarEtagColaborador(matricula.toString()))
+                    .thenReturn(Optional.of("\"" + matricula + ".3\""));
             when(colaboradorService.consultarColaboradorPorMatricula(matricula.toString()))
                     .thenReturn(Optional.of(dto));
 
@@ -108,6 +123,8 @@ class ColaboradorResourceTest {
                     // Verifica 200 e campos do JSON
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"" + matricula + ".3\""))
+                    .andExpect(header().string("Cache-Control", "no-cache"))
                     .andExpect(jsonPath("$.matricula").value(matricula.toString()))
                     .andExpect(jsonPath("$.nome").value("Bob"))
                     .andExpect(jsonPath("$.cargo").value("Analista"))
@@ -124,14 +141,148 @@ class ColaboradorResourceTest {
             UUID matricula = UUID.randomUUID();
 
             // Configura o Mock para retornar Optional.empty()
-            when(colaboradorService.consultarColaboradorPorMatricula(matricula.toString()))
+            when(colaboradorService.consultarEtagColaborador(matricula.toString()))
                     .thenReturn(Optional.empty());
 
             // Act + Assert
             mockMvc.perform(get("/api/v1/colaborador/{matricula}", matricula))
                     .andExpect(status().isNotFound());
 
-            verify(colaboradorService, times(1)).consultarColaboradorPorMatricula(matricula.toString());
+            verify(colaboradorService, never()).consultarColaboradorPorMatricula(anyString());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 304 sem montar o DTO quando o If-None-Match for a versão atual")
+        void deveRetornar304QuandoVersaoNaoMudou() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            String etag = "\"" + matricula + ".3\"";
+
+            when(colaboradorService.consultarEtagColaborador(matricula.toString()))
+                    .thenReturn(Optional.of(etag));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}", matricula).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""));
+
+            // O DTO com avaliação e entregas não é montado
+            verify(colaboradorService, never()).consultarColaboradorPorMatricula(anyString());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 200 quando o If-None-Match for de uma versão anterior")
+        void deveRetornar200QuandoVersaoMudou() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new ColaboradorResponse(matricula, "Bob", LocalDate.of(2024,2,2), "Analista", null, List.of());
+
+            when(colaboradorService.consultarEtagColaborador(matricula.toString()))
+                    .thenReturn(Optional.of("\"" + matricula + ".4\""));
+            when(colaboradorService.consultarColaboradorPorMatricula(matricula.toString()))
+                    .thenReturn(Optional.of(dto));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador/{matricula}", matricula)
+                            .header("If-None-Match", "\"" + matricula + ".3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + matricula + ".4\""))
+                    .andExpect(jsonPath("$.nome").value("Bob"));
+        }
+    }
+
+    @Nested
+    class cadastrarColaboradoresEmLote {
+
+        @Test
+        @DisplayName("Deve cadastrar o lote e retornar 201 com as matrículas na ordem da requisição")
+        void deveCadastrarLote() throws Exception {
+            // Arrange
+            var dtos = List.of(
+                    new ColaboradorCadastroRequest("Alice", LocalDate.of(2024, 1, 1), "Engenheira"),
+                    new ColaboradorCadastroRequest("Bruno", LocalDate.of(2024, 2, 2), "Analista"));
+            UUID m1 = UUID.randomUUID();
+            UUID m2 = UUID.randomUUID();
+
+            when(colaboradorLoteService.cadastrarColaboradores(dtos)).thenReturn(List.of(m1, m2));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/colaborador/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dtos)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.matriculas", hasSize(2)))
+                    .andExpect(jsonPath("$.matriculas[0]").value(m1.toString()))
+                    .andExpect(jsonPath("$.matriculas[1]").value(m2.toString()));
+
+            verify(colaboradorLoteService, times(1)).cadastrarColaboradores(dtos);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 indicando a posição do colaborador inválido no lote")
+        void deveRetornar400QuandoItemInvalido() throws Exception {
+            // Arrange
+            // Segundo colaborador sem nome
+            String json = """
+                    [
+                      {"nome": "Alice", "dataAdmissao": "2024-01-01", "cargo": "Engenheira"},
+                      {"nome": "", "dataAdmissao": "2024-02-02", "cargo": "Analista"}
+                    ]
+                    """;
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/colaborador/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(json))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$['[1].nome']").value("O preenchimento do nome é obrigatório"));
+
+            verifyNoInteractions(colaboradorLoteService);
+        }
+    }
+
+    @Nested
+    class calcularPerformancesFinais {
+
+        @Test
+        @DisplayName("Deve retornar 200 com o resultado de cada matrícula na ordem da requisição")
+        void deveRetornarResultadosDoLote() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var performance = new ColaboradorPerformanceResponse(matricula, "Ana",
+                    new ColaboradorMediaPerformanceResponse(new BigDecimal("4.00"), new BigDecimal("3.50"), new BigDecimal("7.50")));
+            var matriculas = List.of(matricula.toString(), "invalida");
+
+            when(colaboradorPerformanceLoteService.calcularPerformancesFinais(matriculas)).thenReturn(List.of(
+                    new ColaboradorPerformanceLoteItemResponse(matricula.toString(), 200, performance, null),
+                    new ColaboradorPerformanceLoteItemResponse("invalida", 400, null, "Matrícula inválida")));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/colaborador/performance:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(matriculas)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.resultados", hasSize(2)))
+                    .andExpect(jsonPath("$.resultados[0].status").value(200))
+                    .andExpect(jsonPath("$.resultados[0].performance.performance.notaFinal").value(7.50))
+                    .andExpect(jsonPath("$.resultados[1].status").value(400))
+                    .andExpect(jsonPath("$.resultados[1].erro").value("Matrícula inválida"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a lista de matrículas for rejeitada pelo service")
+        void deveRetornar400QuandoListaVazia() throws Exception {
+            // Arrange
+            when(colaboradorPerformanceLoteService.calcularPerformancesFinais(List.of()))
+                    .thenThrow(new NegocioException("Informe pelo menos uma matrícula para a consulta de performance em lote"));
+
+            // Act + Assert
+            mockMvc.perform(post("/api/v1/colaborador/performance:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.erro").value("Informe pelo menos uma matrícula para a consulta de performance em lote"));
         }
     }
 
@@ -145,18 +296,51 @@ class ColaboradorResourceTest {
             var c1 = new ColaboradorResponse(UUID.randomUUID(),"Ana", LocalDate.of(2024,1,1), "Dev", null, List.of());
             var c2 = new ColaboradorResponse(UUID.randomUUID(),"Caio", LocalDate.of(2024,1,2), "QA", null, List.of());
 
-            // Configura o Mock para retornar a lista
-            when(colaboradorService.listarColaboradores()).thenReturn(List.of(c1, c2));
+            // Configura o Mock para retornar a página
+            when(colaboradorService.listarColaboradores(null, null, OrdenacaoColaborador.MATRICULA))
+                    .thenReturn(new ColaboradorPaginaResponse(List.of(c1, c2), "proximo"));
 
             // Act + Assert
             mockMvc.perform(get("/api/v1/colaborador"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].nome").value("Ana"))
-                    .andExpect(jsonPath("$[1].nome").value("Caio"));
+                    .andExpect(jsonPath("$.colaboradores", hasSize(2)))
+                    .andExpect(jsonPath("$.colaboradores[0].nome").value("Ana"))
+                    .andExpect(jsonPath("$.colaboradores[1].nome").value("Caio"))
+                    .andExpect(jsonPath("$.proximoCursor").value("proximo"));
 
-            verify(colaboradorService, times(1)).listarColaboradores();
+            verify(colaboradorService, times(1)).listarColaboradores(null, null, OrdenacaoColaborador.MATRICULA);
+        }
+
+        @Test
+        @DisplayName("Deve repassar tamanho, cursor e ordenação informados")
+        void deveRepassarParametrosDePaginacao() throws Exception {
+            // Arrange
+            when(colaboradorService.listarColaboradores(5, "abc", OrdenacaoColaborador.NOME))
+                    .thenReturn(new ColaboradorPaginaResponse(List.of(), null));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador")
+                            .param("tamanho", "5")
+                            .param("cursor", "abc")
+                            .param("ordenacao", "NOME"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.colaboradores", hasSize(0)))
+                    .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+            verify(colaboradorService, times(1)).listarColaboradores(5, "abc", OrdenacaoColaborador.NOME);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando o tamanho da página for inválido")
+        void deveRetornar400QuandoTamanhoInvalido() throws Exception {
+            // Arrange
+            when(colaboradorService.listarColaboradores(500, null, OrdenacaoColaborador.MATRICULA))
+                    .thenThrow(new NegocioException("O tamanho da página deve estar entre 1 e 100"));
+
+            // Act + Assert
+            mockMvc.perform(get("/api/v1/colaborador").param("tamanho", "500"))
+                    .andExpect(status().isBadRequest());
         }
     }
 
@@ -230,7 +414,7 @@ class ColaboradorResourceTest {
             ArgumentCaptor<String> matriculaCaptor = ArgumentCaptor.forClass(String.class);
             ArgumentCaptor<ColaboradorAtualizaRequest> dtoCaptor = ArgumentCaptor.forClass(ColaboradorAtualizaRequest.class);
 
-            doNothing().when(colaboradorService).atualizaColaboradorPorMatricula(anyString(), any(ColaboradorAtualizaRequest.class));
+            doNothing().when(colaboradorService).atualizaColaboradorPorMatricula(anyString(), any(ColaboradorAtualizaRequest.class), isNull());
 
             // Act
             // Executa PATCH /api/v1/colaborador/{matricula} com JSON
@@ -246,12 +430,34 @@ class ColaboradorResourceTest {
 
             // Verifica que o service foi chamado com os parâmetros corretos
             verify(colaboradorService, times(1))
-                    .atualizaColaboradorPorMatricula(matriculaCaptor.capture(), dtoCaptor.capture());
+                    .atualizaColaboradorPorMatricula(matriculaCaptor.capture(), dtoCaptor.capture(), isNull());
 
             assertEquals(matricula.toString(), matriculaCaptor.getValue());
             assertEquals("Novo Nome", dtoCaptor.getValue().nome());
             assertEquals(LocalDate.of(2023, 1, 1), dtoCaptor.getValue().dataAdmissao());
             assertEquals("Novo Cargo", dtoCaptor.getValue().cargo());
         }
+
+        @Test
+        @DisplayName("Deve repassar o If-Match e retornar 412 quando a versão estiver desatualizada")
+        void deveRetornar412QuandoIfMatchDesatualizado() throws Exception {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            var dto = new ColaboradorAtualizaRequest("Novo Nome", null, null);
+
+            doThrow(new PreCondicaoFalhouException("O colaborador foi alterado desde a última consulta"))
+                    .when(colaboradorService)
+                    .atualizaColaboradorPorMatricula(eq(matricula.toString()), any(ColaboradorAtualizaRequest.class), eq("\"x.1\""));
+
+            // Act + Assert
+            mockMvc.perform(
+                            patch("/api/v1/colaborador/{matricula}", matricula)
+                                    .header("If-Match", "\"x.1\"")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(dto))
+                    )
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.erro").value("O colaborador foi alterado desde a última consulta"));
+        }
     }
 }
\ No newline at end of file
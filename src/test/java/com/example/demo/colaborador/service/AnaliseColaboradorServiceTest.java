@@ -0,0 +1,70 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import org.mockito.Spy;
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+import com.example.demo.colaborador.repository.AnaliseGrupoProjection;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnaliseColaboradorServiceTest {
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    @Spy
+    private FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
+    @InjectMocks
+    private AnaliseColaboradorService analiseColaboradorService;
+
+    @Nested
+    class analisarPerformance {
+
+        @Test
+        @DisplayName("Deve arredondar as médias com 2 casas e manter nulas as notas inexistentes no grupo")
+        void deveFormatarGrupos() {
+            // Arrange
+            when(colaboradorRepository.agruparPerformance(AgrupamentoAnalise.CARGO, formulaPerformanceService.formulaAtual())).thenReturn(List.of(
+                    new AnaliseGrupoProjection("Analista", 1L, 1L, 0L, 4.25, null, null, null, null),
+                    new AnaliseGrupoProjection("Dev", 3L, 2L, 2L, 4.125, 1.3333333333, 6.005, 5.75, 6.25)));
+
+            // Act
+            var analise = analiseColaboradorService.analisarPerformance(AgrupamentoAnalise.CARGO);
+
+            // Assert
+            assertEquals(AgrupamentoAnalise.CARGO, analise.agrupamento());
+            assertEquals(2, analise.grupos().size());
+
+            var analista = analise.grupos().get(0);
+            assertEquals("Analista", analista.grupo());
+            assertEquals(new BigDecimal("4.25"), analista.mediaComportamental());
+            assertNull(analista.mediaEntregas());
+            assertNull(analista.mediaNotaFinal());
+
+            var dev = analise.grupos().get(1);
+            assertEquals(3, dev.totalColaboradores());
+            assertEquals(2, dev.colaboradoresAvaliados());
+            assertEquals(2, dev.colaboradoresElegiveis());
+            assertEquals(new BigDecimal("4.13"), dev.mediaComportamental());
+            assertEquals(new BigDecimal("1.33"), dev.mediaEntregas());
+            assertEquals(new BigDecimal("6.01"), dev.mediaNotaFinal());
+            assertEquals(new BigDecimal("5.75"), dev.menorNotaFinal());
+            assertEquals(new BigDecimal("6.25"), dev.maiorNotaFinal());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.repository.ColaboradorExportacaoProjection;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColaboradorExportacaoServiceTest {
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
+    private ColaboradorExportacaoService colaboradorExportacaoService;
+
+    @BeforeEach
+    void setUp() {
+        colaboradorExportacaoService = new ColaboradorExportacaoService(colaboradorRepository, objectMapper,
+                formulaPerformanceService);
+    }
+
+    private ColaboradorExportacaoProjection linha(UUID matricula, String nome, boolean comAvaliacao,
+                                                  Long idEntrega, Double notaEntrega) {
+        return new ColaboradorExportacaoProjection(
+                matricula, nome, LocalDate.of(2024, 1, 1), "Dev",
+                comAvaliacao ? 1L : null,
+                comAvaliacao ? 5.0 : null, comAvaliacao ? 4.0 : null, comAvaliacao ? 3.0 : null, comAvaliacao ? 5.0 : null,
+                idEntrega, idEntrega == null ? null : "Entrega " + idEntrega, notaEntrega);
+    }
+
+    private String[] exportar() throws IOException {
+        var saida = new ByteArrayOutputStream();
+        colaboradorExportacaoService.exportarColaboradores(saida);
+        return saida.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Nested
+    class exportarColaboradores {
+
+        @Test
+        @DisplayName("Deve escrever um colaborador por linha agrupando as entregas consecutivas")
+        void deveEscreverUmColaboradorPorLinha() throws IOException {
+            // Arrange
+            var alice = UUID.randomUUID();
+            var bruno = UUID.randomUUID();
+            when(colaboradorRepository.exportarColaboradores()).thenReturn(Stream.of(
+                    linha(alice, "Alice", true, 1L, 4.0),
+                    linha(alice, "Alice", true, 2L, 5.0),
+                    linha(bruno, "Bruno", false, null, null)));
+
+            // Act
+            String[] linhas = exportar();
+
+            // Assert
+            assertEquals(2, linhas.length);
+
+            JsonNode primeira = objectMapper.readTree(linhas[0]);
+            assertEquals(alice.toString(), primeira.get("matricula").asText());
+            assertEquals("2024-01-01", primeira.get("dataAdmissao").asText());
+            assertEquals(4.25, primeira.get("avaliacaoComportamento").get("mediaNotas").asDouble());
+            assertEquals(2, primeira.get("entregas").size());
+            assertEquals("Entrega 2", primeira.get("entregas").get(1).get("descricao").asText());
+
+            JsonNode segunda = objectMapper.readTree(linhas[1]);
+            assertEquals("Bruno", segunda.get("nome").asText());
+            assertTrue(segunda.get("avaliacaoComportamento").isNull());
+            assertTrue(segunda.get("entregas").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve calcular a média da avaliação com os pesos da fórmula em uso")
+        void deveCalcularMediaComFormulaAtual() throws IOException {
+            // Arrange
+            // Notas 5, 4, 3 e 5 com pesos 3, 1, 1 e 0: (15 + 4 + 3) / 5 = 4.40 (a média simples seria 4.25)
+            formulaPerformanceService.substituir(new PesosFormula(BigDecimal.valueOf(3), BigDecimal.ONE, BigDecimal.ONE,
+                    BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE));
+            when(colaboradorRepository.exportarColaboradores()).thenReturn(Stream.of(
+                    linha(UUID.randomUUID(), "Alice", true, null, null)));
+
+            // Act
+            String[] linhas = exportar();
+
+            // Assert
+            JsonNode avaliacao = objectMapper.readTree(linhas[0]).get("avaliacaoComportamento");
+            assertEquals(4.4, avaliacao.get("mediaNotas").asDouble());
+        }
+
+        @Test
+        @DisplayName("Deve retornar a quantidade exportada e fechar o stream do repositório")
+        void deveFecharStreamDoRepositorio() throws IOException {
+            // Arrange
+            var fechado = new AtomicBoolean(false);
+            var linhas = IntStream.range(0, 250)
+                    .mapToObj(i -> linha(UUID.randomUUID(), "Colaborador " + i, false, null, null))
+                    .onClose(() -> fechado.set(true));
+            when(colaboradorRepository.exportarColaboradores()).thenReturn(linhas);
+
+            // Act
+            long exportados = colaboradorExportacaoService.exportarColaboradores(new ByteArrayOutputStream());
+
+            // Assert
+            assertEquals(250, exportados);
+            assertTrue(fechado.get(), "O cursor do banco deve ser liberado ao final da exportação");
+        }
+
+        @Test
+        @DisplayName("Deve escrever nada quando não houver colaboradores")
+        void deveEscreverNadaSemColaboradores() throws IOException {
+            // Arrange
+            when(colaboradorRepository.exportarColaboradores()).thenReturn(Stream.empty());
+            var saida = new ByteArrayOutputStream();
+
+            // Act
+            long exportados = colaboradorExportacaoService.exportarColaboradores(saida);
+
+            // Assert
+            assertEquals(0, exportados);
+            assertEquals(0, saida.size());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.repository.ColaboradorLoteRepository;
+import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColaboradorLoteServiceTest {
+
+    @Mock
+    private ColaboradorLoteRepository colaboradorLoteRepository;
+
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    private ColaboradorLoteService colaboradorLoteService;
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 e no máximo 3 colaboradores por requisição
+        colaboradorLoteService = new ColaboradorLoteService(colaboradorLoteRepository, performanceColaboradorService, 2, 3);
+    }
+
+    private ColaboradorCadastroRequest colaborador(String nome) {
+        return new ColaboradorCadastroRequest(nome, LocalDate.of(2024, 1, 1), "Dev");
+    }
+
+    @Nested
+    class cadastrarColaboradores {
+
+        @Test
+        @DisplayName("Deve gerar uma matrícula por colaborador e inserir com o tamanho de lote configurado")
+        @SuppressWarnings("unchecked")
+        void deveInserirComTamanhoDeLoteConfigurado() {
+            // Arrange
+            var colaboradores = List.of(colaborador("Alice"), colaborador("Bruno"), colaborador("Carla"));
+            ArgumentCaptor<List<UUID>> matriculasInseridas = ArgumentCaptor.forClass(List.class);
+
+            // Act
+            List<UUID> matriculas = colaboradorLoteService.cadastrarColaboradores(colaboradores);
+
+            // Assert
+            verify(colaboradorLoteRepository).inserirEmLote(matriculasInseridas.capture(), eq(colaboradores), eq(2));
+
+            // As matrículas retornadas são as mesmas inseridas, na mesma ordem
+            assertEquals(matriculasInseridas.getValue(), matriculas);
+            assertEquals(3, new HashSet<>(matriculas).size(), "As matrículas devem ser únicas");
+
+            // Os colaboradores entram nas distribuições de notas com o cargo informado, sem consulta ao banco
+            verify(performanceColaboradorService).registrarCadastroLote(
+                    Map.of(matriculas.get(0), "Dev", matriculas.get(1), "Dev", matriculas.get(2), "Dev"));
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando o lote estiver vazio")
+        void deveLancarQuandoLoteVazio() {
+            // Act + Assert
+            NegocioException ex = assertThrows(NegocioException.class,
+                    () -> colaboradorLoteService.cadastrarColaboradores(Collections.emptyList()));
+
+            assertEquals("Informe pelo menos um colaborador para o cadastro em lote", ex.getMessage());
+            verify(colaboradorLoteRepository, never()).inserirEmLote(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando o lote ultrapassar a quantidade máxima")
+        void deveLancarQuandoLoteAcimaDoMaximo() {
+            // Arrange
+            var colaboradores = List.of(colaborador("A"), colaborador("B"), colaborador("C"), colaborador("D"));
+
+            // Act + Assert
+            NegocioException ex = assertThrows(NegocioException.class,
+                    () -> colaboradorLoteService.cadastrarColaboradores(colaboradores));
+
+            assertEquals("O cadastro em lote aceita no máximo 3 colaboradores por requisição", ex.getMessage());
+            verifyNoInteractions(colaboradorLoteRepository);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.base.sql.CenarioOrcamentoSql;
+import com.example.demo.base.sql.OrcamentoSql;
+import com.example.demo.base.sql.TesteOrcamentoSql;
+import com.example.demo.colaborador.repository.AgrupamentoAnalise;
+import com.example.demo.colaborador.repository.OrdenacaoColaborador;
+import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamentos de comandos SQL dos services de colaborador (ver @TesteOrcamentoSql)
+// Os orçamentos não crescem com a quantidade de registros: um N+1 estoura o orçamento com 1000 colaboradores
+@TesteOrcamentoSql
+class ColaboradorOrcamentoSqlTest {
+
+    @Autowired
+    private ColaboradorService colaboradorService;
+
+    @Autowired
+    private ColaboradorLoteService colaboradorLoteService;
+
+    @Autowired
+    private ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    @Autowired
+    private AnaliseColaboradorService analiseColaboradorService;
+
+    @Autowired
+    private ColaboradorExportacaoService colaboradorExportacaoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Nested
+    class colaboradorService {
+
+        @Test
+        @DisplayName("Deve cadastrar o colaborador dentro do orçamento")
+        void cadastrarColaborador(OrcamentoSql orcamentoSql) {
+            orcamentoSql.verificar("cadastrarColaborador", 2,
+                    () -> colaboradorService.cadastrarColaborador(CenarioOrcamentoSql.novoColaborador()));
+        }
+
+        @Test
+        @DisplayName("Deve consultar o colaborador com avaliação e 4 entregas dentro do orçamento")
+        void consultarColaboradorPorMatricula(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(4);
+
+            // Act + Assert
+            var colaborador = orcamentoSql.verificar("consultarColaboradorPorMatricula", 3,
+                    () -> colaboradorService.consultarColaboradorPorMatricula(matricula));
+            assertTrue(colaborador.isPresent());
+        }
+
+        @Test
+        @DisplayName("Deve consultar a ETag do colaborador dentro do orçamento")
+        void consultarEtagColaborador(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(2);
+
+            // Act + Assert
+            orcamentoSql.verificar("consultarEtagColaborador", 1, () -> colaboradorService.consultarEtagColaborador(matricula));
+        }
+
+        @Test
+        @DisplayName("Deve listar as páginas de 100 de 1000 colaboradores dentro do orçamento por página")
+        void listarColaboradores(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            cenario.colaboradores(1000);
+            for (int i = 0; i < 20; i++) {
+                cenario.colaboradorAvaliado(4);
+            }
+
+            // Act + Assert
+            String cursor = null;
+            for (int pagina = 0; pagina < 10; pagina++) {
+                final String cursorAtual = cursor;
+                var resposta = orcamentoSql.verificar("listarColaboradores (página de 100)", 2,
+                        () -> colaboradorService.listarColaboradores(100, cursorAtual, OrdenacaoColaborador.NOME));
+                assertEquals(100, resposta.colaboradores().size());
+                cursor = resposta.proximoCursor();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve atualizar o colaborador dentro do orçamento")
+        void atualizaColaboradorPorMatricula(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(2);
+            var atualizacao = new ColaboradorAtualizaRequest("Novo nome", null, "Novo cargo");
+
+            // Act + Assert
+            // Um único UPDATE condicional (colunas informadas, existência e If-Match no WHERE)
+            orcamentoSql.verificar("atualizaColaboradorPorMatricula", 1,
+                    () -> colaboradorService.atualizaColaboradorPorMatricula(matricula, atualizacao, null));
+        }
+
+        @Test
+        @DisplayName("Deve excluir o colaborador com avaliação e 4 entregas dentro do orçamento")
+        void deletarColaboradorPorMatricula(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(4);
+
+            // Act + Assert
+            orcamentoSql.verificar("deletarColaboradorPorMatricula", 7,
+                    () -> colaboradorService.deletarColaboradorPorMatricula(matricula));
+        }
+
+        @Test
+        @DisplayName("Deve calcular a performance final dentro do orçamento")
+        void calcularPerformanceFinal(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(4);
+
+            // Act + Assert
+            orcamentoSql.verificar("calcularPerformanceFinal", 1, () -> colaboradorService.calcularPerformanceFinal(matricula));
+        }
+    }
+
+    @Nested
+    class servicesEmLote {
+
+        @Test
+        @DisplayName("Deve cadastrar 1000 colaboradores em lote dentro do orçamento")
+        void cadastrarColaboradores(OrcamentoSql orcamentoSql) {
+            // Arrange
+            var colaboradores = Collections.nCopies(1000, CenarioOrcamentoSql.novoColaborador());
+
+            // Act + Assert
+            orcamentoSql.verificar("cadastrarColaboradores (1000)", 4, () -> colaboradorLoteService.cadastrarColaboradores(colaboradores));
+        }
+
+        @Test
+        @DisplayName("Deve calcular a performance de 1000 matrículas em lote dentro do orçamento")
+        void calcularPerformancesFinais(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            List<String> matriculas = new ArrayList<>(cenario.colaboradores(990).stream().map(UUID::toString).toList());
+            for (int i = 0; i < 10; i++) {
+                matriculas.add(cenario.colaboradorAvaliado(2));
+            }
+
+            // Act + Assert
+            var resultados = orcamentoSql.verificar("calcularPerformancesFinais (1000)", 1,
+                    () -> colaboradorPerformanceLoteService.calcularPerformancesFinais(matriculas));
+            assertEquals(1000, resultados.size());
+        }
+
+        @Test
+        @DisplayName("Deve consultar um lote de 1000 matrículas dentro do orçamento")
+        void consultarLote(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            var matriculas = cenario.colaboradores(1000);
+
+            // Act + Assert
+            orcamentoSql.verificar("consultarLote (1000)", 1, () -> colaboradorPerformanceLoteService.consultarLote(matriculas));
+        }
+
+        @Test
+        @DisplayName("Deve analisar a performance por grupo dentro do orçamento")
+        void analisarPerformance(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            cenario.colaboradorAvaliado(2);
+
+            // Act + Assert
+            for (AgrupamentoAnalise agrupamento : AgrupamentoAnalise.values()) {
+                orcamentoSql.verificar("analisarPerformance " + agrupamento, 1,
+                        () -> analiseColaboradorService.analisarPerformance(agrupamento));
+            }
+        }
+
+        @Test
+        @DisplayName("Deve exportar todos os colaboradores dentro do orçamento")
+        void exportarColaboradores(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            cenario.colaboradores(1000);
+            cenario.colaboradorAvaliado(4);
+
+            // Act + Assert
+            long exportados = orcamentoSql.verificar("exportarColaboradores", 1,
+                    () -> colaboradorExportacaoService.exportarColaboradores(new ByteArrayOutputStream()));
+            assertTrue(exportados >= 1001);
+        }
+    }
+
+    @Nested
+    class colaboradorResource {
+
+        @Test
+        @DisplayName("Deve responder a listagem, a consulta e a performance dentro do orçamento")
+        void deveResponderDentroDoOrcamento(OrcamentoSql orcamentoSql, CenarioOrcamentoSql cenario) {
+            // Arrange
+            String matricula = cenario.colaboradorAvaliado(4);
+
+            // Act + Assert
+            orcamentoSql.verificar("GET /api/v1/colaborador?tamanho=100", 2, () ->
+                    mockMvc.perform(get("/api/v1/colaborador").param("tamanho", "100")).andExpect(status().isOk()));
+            orcamentoSql.verificar("GET /api/v1/colaborador/{matricula}", 3, () ->
+                    mockMvc.perform(get("/api/v1/colaborador/" + matricula)).andExpect(status().isOk()));
+            orcamentoSql.verificar("GET /api/v1/colaborador/{matricula}/performance", 1, () ->
+                    mockMvc.perform(get("/api/v1/colaborador/" + matricula + "/performance")).andExpect(status().isOk()));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.colaborador.service;
+
+import com.example.demo.base.exception.NegocioException;
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
+import com.example.demo.colaborador.repository.ColaboradorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColaboradorPerformanceLoteServiceTest {
+
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @Mock
+    private ColaboradorRepository colaboradorRepository;
+
+    private ColaboradorPerformanceLoteService colaboradorPerformanceLoteService;
+
+    @BeforeEach
+    void setUp() {
+        // ColaboradorService real: o lote deve aplicar exatamente as regras da consulta individual
+        var colaboradorService = new ColaboradorService(colaboradorRepository, performanceColaboradorService,
+                new FormulaPerformanceService(PesosFormula.SEM_PESO));
+
+        // Lotes de 2 e no máximo 5 matrículas por requisição
+        colaboradorPerformanceLoteService = new ColaboradorPerformanceLoteService(performanceColaboradorService,
+                colaboradorService, 2, 5);
+    }
+
+    @Nested
+    class calcularPerformancesFinais {
+
+        @Test
+        @DisplayName("Deve retornar a performance ou o erro da consulta individual para cada matrícula, na ordem recebida")
+        void deveRetornarResultadoPorMatricula() {
+            // Arrange
+            UUID elegivel = UUID.randomUUID();
+            UUID semAvaliacao = UUID.randomUUID();
+            UUID poucasEntregas = UUID.randomUUID();
+            UUID inexistente = UUID.randomUUID();
+
+            when(performanceColaboradorService.consultarPerformances(List.of(elegivel, semAvaliacao))).thenReturn(Map.of(
+                    elegivel, new PerformanceColaboradorResumo(elegivel, "Alice", true, 2, 425, 375, 800),
+                    semAvaliacao, new PerformanceColaboradorResumo(semAvaliacao, "Bruno", false, 3, null, 400, null)));
+            when(performanceColaboradorService.consultarPerformances(List.of(poucasEntregas, inexistente))).thenReturn(Map.of(
+                    poucasEntregas, new PerformanceColaboradorResumo(poucasEntregas, "Carla", true, 1, 425, 500, null)));
+
+            // Act
+            var resultados = colaboradorPerformanceLoteService.calcularPerformancesFinais(List.of(
+                    elegivel.toString(), semAvaliacao.toString(), "invalida",
+                    poucasEntregas.toString(), inexistente.toString()));
+
+            // Assert
+            assertEquals(5, resultados.size());
+
+            assertEquals(200, resultados.get(0).status());
+            assertEquals("Alice", resultados.get(0).performance().nome());
+            assertEquals(new BigDecimal("8.00"), resultados.get(0).performance().performance().notaFinal());
+            assertNull(resultados.get(0).erro());
+
+            assertEquals(400, resultados.get(1).status());
+            assertEquals("Avaliação comportamental não foi realizada.", resultados.get(1).erro());
+            assertNull(resultados.get(1).performance());
+
+            assertEquals(400, resultados.get(2).status());
+            assertEquals("invalida", resultados.get(2).matricula());
+            assertEquals("Matrícula inválida", resultados.get(2).erro());
+
+            assertEquals(400, resultados.get(3).status());
+            assertEquals("Colaborador deve ter no minimo 2 entregas cadastradas.", resultados.get(3).erro());
+
+            assertEquals(404, resultados.get(4).status());
+            assertEquals("Colaborador não encontrado", resultados.get(4).erro());
+
+            // 4 matrículas válidas em lotes de 2
+            verify(performanceColaboradorService, times(2)).consultarPerformances(any());
+        }
+
+        @Test
+        @DisplayName("Deve consultar uma única vez a matrícula repetida e repetir o resultado na resposta")
+        void deveConsultarMatriculaRepetidaUmaVez() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(performanceColaboradorService.consultarPerformances(List.of(matricula))).thenReturn(Map.of(
+                    matricula, new PerformanceColaboradorResumo(matricula, "Alice", true, 2, 425, 375, 800)));
+
+            // Act
+            var resultados = colaboradorPerformanceLoteService.calcularPerformancesFinais(
+                    List.of(matricula.toString(), matricula.toString()));
+
+            // Assert
+            assertEquals(2, resultados.size());
+            assertEquals(resultados.get(0), resultados.get(1));
+            verify(performanceColaboradorService, times(1)).consultarPerformances(List.of(matricula));
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando a lista estiver vazia")
+        void deveLancarExcecaoQuandoListaVazia() {
+            // Act
+            var ex = assertThrows(NegocioException.class,
+                    () -> colaboradorPerformanceLoteService.calcularPerformancesFinais(List.of()));
+
+            // Assert
+            assertEquals("Informe pelo menos uma matrícula para a consulta de performance em lote", ex.getMessage());
+            verifyNoInteractions(performanceColaboradorService);
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando a lista exceder a quantidade máxima")
+        void deveLancarExcecaoQuandoExcederMaximo() {
+            // Act
+            var ex = assertThrows(NegocioException.class,
+                    () -> colaboradorPerformanceLoteService.calcularPerformancesFinais(Collections.nCopies(6, "x")));
+
+            // Assert
+            assertEquals("A consulta de performance em lote aceita no máximo 5 matrículas por requisição", ex.getMessage());
+            verifyNoInteractions(performanceColaboradorService);
+        }
+
+        @Test
+        @DisplayName("Deve consultar um lote de matrículas já validadas com uma única consulta de performance")
+        void deveConsultarLoteValidado() {
+            // Arrange
+            UUID elegivel = UUID.randomUUID();
+            UUID excluida = UUID.randomUUID();
+            when(performanceColaboradorService.consultarPerformances(List.of(elegivel, excluida))).thenReturn(Map.of(
+                    elegivel, new PerformanceColaboradorResumo(elegivel, "Alice", true, 2, 425, 375, 800)));
+
+            // Act
+            var resultados = colaboradorPerformanceLoteService.consultarLote(List.of(elegivel, excluida));
+
+            // Assert
+            assertEquals(2, resultados.size());
+            assertEquals(elegivel.toString(), resultados.get(0).matricula());
+            assertEquals(200, resultados.get(0).status());
+            assertEquals(404, resultados.get(1).status());
+        }
+    }
+}
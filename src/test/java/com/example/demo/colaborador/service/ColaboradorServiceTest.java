@@ -1,14 +1,24 @@
 package com.example.demo.colaborador.service;
 
+import com.example.demo.colaborador.nota.PesosFormula;
+import com.example.demo.colaborador.performance.service.FormulaPerformanceService;
+import org.mockito.Spy;
 import com.example.demo.colaborador.model.ColaboradorEntity;
+import com.example.demo.colaborador.performance.repository.PerformanceColaboradorResumo;
+import com.example.demo.colaborador.performance.service.PerformanceColaboradorService;
 import com.example.demo.colaborador.resource.json.ColaboradorAtualizaRequest;
 import com.example.demo.colaborador.resource.json.ColaboradorCadastroRequest;
 import com.example.demo.colaborador.resource.json.ColaboradorResponse;
 import com.example.demo.base.exception.NegocioException;
+import com.example.demo.base.exception.PreCondicaoFalhouException;
 import com.example.demo.base.exception.ResourceNotFoundException;
+import com.example.demo.base.http.EtagVersao;
 import com.example.demo.colaborador.avaliacao.model.AvaliacaoComportamentoEntity;
 import com.example.demo.colaborador.entrega.model.EntregaEntity;
 import com.example.demo.colaborador.repository.ColaboradorRepository;
+import com.example.demo.colaborador.repository.CursorColaborador;
+import com.example.demo.colaborador.repository.OrdenacaoColaborador;
+import com.example.demo.colaborador.resource.json.ColaboradorPaginaResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -29,6 +39,10 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +57,12 @@ class ColaboradorServiceTest {
     @Mock
     private ColaboradorRepository colaboradorRepository;
 
+    @Mock
+    private PerformanceColaboradorService performanceColaboradorService;
+
+    @Spy
+    private FormulaPerformanceService formulaPerformanceService = new FormulaPerformanceService(PesosFormula.SEM_PESO);
+
     @InjectMocks
     private ColaboradorService colaboradorService;
 
@@ -102,6 +122,9 @@ class ColaboradorServiceTest {
             // Verifica se a matrícula retornada pela service é a mesma simulada pelo repositório
             assertNotNull(matriculaRetornada, "A matrícula retornada não deve ser nula");
             assertEquals(matriculaEsperada, matriculaRetornada, "A matrícula retornada deve ser a mesma gerada pelo save");
+
+            // Verifica se o registro de performance do novo colaborador foi criado
+            verify(performanceColaboradorService).inicializar(matriculaEsperada, colaboradorDTO.cargo());
         }
 
         @Test
@@ -298,121 +321,104 @@ class ColaboradorServiceTest {
     @Nested
     class listarColaboradores {
 
+        private ColaboradorResponse colaborador(String nome) {
+            return new ColaboradorResponse(UUID.randomUUID(), nome, LocalDate.of(2024, 1, 1), "Dev", null, List.of());
+        }
+
         @Test
-        @DisplayName("Deve retornar lista vazia quando repositório não possuir registros")
+        @DisplayName("Deve retornar página vazia quando repositório não possuir registros")
         void deveRetornarListaVaziaQuandoRepositorioVazio() {
             // Arrange
             // Configura o Mock para retornar uma lista vazia em caso do BD não possuir colaboradores cadastrados
-            when(colaboradorRepository.findAll()).thenReturn(Collections.emptyList());
+            when(colaboradorRepository.listarPaginaColaboradoresResponse(any(), any(), anyInt(), any()))
+                    .thenReturn(Collections.emptyList());
 
             // Act
             // Executa o método listarColaboradores() para, de fato, testá-lo
-            List<ColaboradorResponse> resultado = colaboradorService.listarColaboradores();
+            ColaboradorPaginaResponse resultado = colaboradorService.listarColaboradores(null, null, OrdenacaoColaborador.MATRICULA);
 
             // Assert
-            // Verifica quantas vezes o método findAll() foi executado
-            verify(colaboradorRepository, times(1)).findAll();
+            // Verifica que foi pedida uma linha a mais que o tamanho padrão (para detectar a próxima página)
+            verify(colaboradorRepository, times(1)).listarPaginaColaboradoresResponse(
+                    OrdenacaoColaborador.MATRICULA, null, ColaboradorService.TAMANHO_PADRAO_PAGINA + 1,
+                    formulaPerformanceService.formulaAtual());
 
             //Verifica se a lista é nula ou se está vazia (correto)
-            assertNotNull(resultado, "A lista não deve ser nula");
-            assertTrue(resultado.isEmpty(), "A lista deve estar vazia");
+            assertNotNull(resultado.colaboradores(), "A lista não deve ser nula");
+            assertTrue(resultado.colaboradores().isEmpty(), "A lista deve estar vazia");
+            assertNull(resultado.proximoCursor(), "Não deve existir próxima página");
         }
 
         @Test
-        @DisplayName("Deve listar corretamente colaboradores com/sem avaliação e com/sem entregas")
-        void deveListarCorretamenteColaboradoresCombinacoesDeDados() {
+        @DisplayName("Deve listar pela projeção do repositório sem carregar entidades")
+        void deveListarPelaProjecaoSemCarregarEntidades() {
             // Arrange
-            UUID m1 = UUID.randomUUID();
-            UUID m2 = UUID.randomUUID();
-            UUID m3 = UUID.randomUUID();
-
-            // Simula um colaboradores encontrados e vindos do banco de dados
-            // Com avaliação e sem entregas
-            ColaboradorEntity c1 = new ColaboradorEntity(m1, "Alice", LocalDate.of(2024, 1, 1), "Engenheira");
-            AvaliacaoComportamentoEntity av1 = new AvaliacaoComportamentoEntity();
-            av1.setNotaAvaliacaoComportamental(5.0);
-            av1.setNotaAprendizado(4.0);
-            av1.setNotaTomadaDecisao(3.0);
-            av1.setNotaAutonomia(5.0);
-            c1.setAvaliacaoComportamento(av1);
-            c1.setEntregas(Collections.emptyList());
-
-            // Sem avaliação e com entregas
-            ColaboradorEntity c2 = new ColaboradorEntity(m2, "Bruno", LocalDate.of(2024, 2, 2), "Analista");
-            c2.setAvaliacaoComportamento(null);
-            EntregaEntity e21 = new EntregaEntity();
-            e21.setId(101L);
-            e21.setDescricao("Entrega 101");
-            e21.setNota(8.5);
-            EntregaEntity e22 = new EntregaEntity();
-            e22.setId(102L);
-            e22.setDescricao("Entrega 102");
-            e22.setNota(7.0);
-            c2.setEntregas(List.of(e21, e22));
-
-            // Com avaliação e com entregas
-            ColaboradorEntity c3 = new ColaboradorEntity(m3, "Carla", LocalDate.of(2024, 3, 3), "Dev");
-            AvaliacaoComportamentoEntity av3 = new AvaliacaoComportamentoEntity();
-            av3.setNotaAvaliacaoComportamental(9.0);
-            av3.setNotaAprendizado(8.0);
-            av3.setNotaTomadaDecisao(7.0);
-            av3.setNotaAutonomia(9.0);
-            c3.setAvaliacaoComportamento(av3);
-            EntregaEntity e31 = new EntregaEntity();
-            e31.setId(201L);
-            e31.setDescricao("Entrega 201");
-            e31.setNota(10.0);
-            c3.setEntregas(List.of(e31));
-
-            // Configura o Mock para retornar uma lista de colaboradores a partir do método findAll()
-            when(colaboradorRepository.findAll()).thenReturn(List.of(c1, c2, c3));
+            var c1 = colaborador("Alice");
+            var c2 = colaborador("Bruno");
+
+            // Configura o Mock para retornar os DTOs já montados pela projeção
+            when(colaboradorRepository.listarPaginaColaboradoresResponse(any(), any(), anyInt(), any())).thenReturn(List.of(c1, c2));
 
             // Act
-            // Executa o método listarColaboradores() para, de fato, testá-lo
-            List<ColaboradorResponse> resultado = colaboradorService.listarColaboradores();
+            ColaboradorPaginaResponse resultado = colaboradorService.listarColaboradores(5, null, OrdenacaoColaborador.MATRICULA);
 
             // Assert
-            // Verifica se o método findAll() só foi executado uma única vez
-            verify(colaboradorRepository, times(1)).findAll();
-
-            // Verifica se o resultado é nulo
-            assertNotNull(resultado);
-
-            // Verifica se o retorno foi de 3 colaboradores
-            assertEquals(3, resultado.size(), "A quantidade de itens deve refletir o repositório");
-
-            // Valida os dados do colaborador c1 (avaliação presente, entregas vazias)
-            ColaboradorResponse r1 = resultado.getFirst();
-            assertEquals(m1, r1.matricula());
-            assertEquals("Alice", r1.nome());
-            assertNotNull(r1.avaliacaoComportamento(), "Avaliação deve existir");
-            BigDecimal mediaEsperadaC1 = BigDecimal.valueOf((5.0 + 4.0 + 3.0 + 5.0) / 4.0).setScale(2, RoundingMode.HALF_UP);
-            assertEquals(mediaEsperadaC1, r1.avaliacaoComportamento().mediaNotas());
-            assertNotNull(r1.entregas());
-            assertTrue(r1.entregas().isEmpty(), "Entregas devem estar vazias");
-
-            // Valida os dados do colaborador c2 (avaliação nula, entregas preenchidas)
-            ColaboradorResponse r2 = resultado.get(1);
-            assertEquals(m2, r2.matricula());
-            assertEquals("Bruno", r2.nome());
-            assertNull(r2.avaliacaoComportamento(), "Avaliação deve ser nula");
-            assertNotNull(r2.entregas());
-            assertEquals(2, r2.entregas().size());
-            assertEquals(101L, r2.entregas().getFirst().id());
-            assertEquals("Entrega 101", r2.entregas().getFirst().descricao());
-            assertEquals(8.5, r2.entregas().getFirst().nota());
-
-            // Valida os dados do colaborador c3 (avaliação e entregas presentes)
-            ColaboradorResponse r3 = resultado.get(2);
-            assertEquals(m3, r3.matricula());
-            assertEquals("Carla", r3.nome());
-            assertNotNull(r3.avaliacaoComportamento());
-            BigDecimal mediaEsperadaC3 = BigDecimal.valueOf((9.0 + 8.0 + 7.0 + 9.0) / 4.0).setScale(2, RoundingMode.HALF_UP);
-            assertEquals(mediaEsperadaC3, r3.avaliacaoComportamento().mediaNotas());
-            assertEquals(1, r3.entregas().size());
-            assertEquals(201L, r3.entregas().getFirst().id());
-            assertEquals("Entrega 201", r3.entregas().getFirst().descricao());
-            assertEquals(10.0, r3.entregas().getFirst().nota());
+            // Verifica que a listagem não passou pelo findAll() (origem do N+1)
+            verify(colaboradorRepository, never()).findAll();
+            assertEquals(List.of(c1, c2), resultado.colaboradores());
+            assertNull(resultado.proximoCursor());
+        }
+
+        @Test
+        @DisplayName("Deve gerar cursor da próxima página a partir do último colaborador retornado")
+        void deveGerarCursorDaProximaPagina() {
+            // Arrange
+            var c1 = colaborador("Alice");
+            var c2 = colaborador("Bruno");
+            var c3 = colaborador("Carla");
+            when(colaboradorRepository.listarPaginaColaboradoresResponse(eq(OrdenacaoColaborador.NOME), isNull(), eq(3), any()))
+                    .thenReturn(List.of(c1, c2, c3));
+            when(colaboradorRepository.listarPaginaColaboradoresResponse(eq(OrdenacaoColaborador.NOME), notNull(), eq(3), any()))
+                    .thenReturn(List.of(c3));
+
+            // Act
+            ColaboradorPaginaResponse primeiraPagina = colaboradorService.listarColaboradores(2, null, OrdenacaoColaborador.NOME);
+            ColaboradorPaginaResponse segundaPagina = colaboradorService.listarColaboradores(
+                    2, primeiraPagina.proximoCursor(), OrdenacaoColaborador.NOME);
+
+            // Assert
+            assertEquals(List.of(c1, c2), primeiraPagina.colaboradores());
+            assertNotNull(primeiraPagina.proximoCursor());
+            assertEquals(List.of(c3), segundaPagina.colaboradores());
+            assertNull(segundaPagina.proximoCursor());
+
+            // Verifica que o cursor devolvido aponta exatamente para o último colaborador da primeira página
+            verify(colaboradorRepository).listarPaginaColaboradoresResponse(
+                    OrdenacaoColaborador.NOME, new CursorColaborador("Bruno", c2.matricula()), 3,
+                    formulaPerformanceService.formulaAtual());
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando o tamanho da página ultrapassar o máximo")
+        void deveLancarQuandoTamanhoAcimaDoMaximo() {
+            // Act + Assert
+            NegocioException ex = assertThrows(NegocioException.class,
+                    () -> colaboradorService.listarColaboradores(ColaboradorService.TAMANHO_MAXIMO_PAGINA + 1, null,
+                            OrdenacaoColaborador.MATRICULA));
+
+            assertEquals("O tamanho da página deve estar entre 1 e " + ColaboradorService.TAMANHO_MAXIMO_PAGINA, ex.getMessage());
+            verifyNoInteractions(colaboradorRepository);
+        }
+
+        @Test
+        @DisplayName("Deve lançar NegocioException quando o cursor for inválido")
+        void deveLancarQuandoCursorInvalido() {
+            // Act + Assert
+            NegocioException ex = assertThrows(NegocioException.class,
+                    () -> colaboradorService.listarColaboradores(10, "cursor-invalido", OrdenacaoColaborador.MATRICULA));
+
+            assertEquals("Cursor de paginação inválido", ex.getMessage());
+            verifyNoInteractions(colaboradorRepository);
         }
     }
 
@@ -443,6 +449,9 @@ class ColaboradorServiceTest {
             // Verifica se o método delete() só foi executado uma única vez
             verify(colaboradorRepository, times(1)).delete(colaborador);
 
+            // Verifica se o registro de performance foi removido junto com o colaborador
+            verify(performanceColaboradorService).excluir(matricula);
+
             // Garante que não houve mais nenhuma chamada a colaboradorRepository
             verifyNoMoreInteractions(colaboradorRepository);
         }
@@ -502,299 +511,221 @@ class ColaboradorServiceTest {
     class atualizaColaboradorPorMatriculaEntity {
 
         @Test
-        @DisplayName("Deve atualizar nome e cargo quando ambos forem informados")
+        @DisplayName("Deve atualizar em um único UPDATE quando nome, data e cargo forem informados")
         void deveAtualizarNomeDataECargo() {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaboradorExistente = new ColaboradorEntity(matricula, "Antigo Nome", LocalDate.of(2024,1,1), "Antigo Cargo");
-
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaboradorExistente));
-
             // Cria o DTO simulando o input do usuário
-            var novaData = LocalDate.of(2024, 5, 10);
-            var dto = new ColaboradorAtualizaRequest("Novo Nome", novaData, "Novo Cargo");
+            var dto = new ColaboradorAtualizaRequest("Novo Nome", LocalDate.of(2024, 5, 10), "Novo Cargo");
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<ColaboradorEntity> colaboradorPassadoSave = ArgumentCaptor.forClass(ColaboradorEntity.class);
+            // Configura o Mock para simular uma linha atualizada pelo UPDATE condicional
+            when(colaboradorRepository.atualizarParcial(matricula, dto, null)).thenReturn(1);
 
             // Act
             // Executa o método atualizaColaboradorPorMatricula() para, de fato, testá-lo
-            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto);
+            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, null);
 
             // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository, times(1)).findById(matricula);
-
-            // Verifica se o método save() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository, times(1)).save(colaboradorPassadoSave.capture());
+            // Verifica se o colaborador não foi carregado nem salvo (a atualização é feita direto no banco)
+            verify(colaboradorRepository, never()).findById(any());
+            verify(colaboradorRepository, never()).save(any());
 
-            // Verifica se o objeto colaborador salvo teve o nome e cargo atualizados
-            ColaboradorEntity salvo = colaboradorPassadoSave.getValue();
-            assertEquals("Novo Nome", salvo.getNome());
-            assertEquals(novaData, salvo.getDataAdmissao());
-            assertEquals("Novo Cargo", salvo.getCargo());
+            // Verifica se o novo cargo foi repassado para a distribuição de notas por cargo
+            verify(performanceColaboradorService).registrarCargo(matricula, "Novo Cargo");
         }
 
         @Test
-        @DisplayName("Deve atualizar apenas o nome quando cargo for nulo")
+        @DisplayName("Deve atualizar apenas o nome sem alterar a distribuição por cargo quando cargo for nulo")
         void deveAtualizarApenasNome() {
             // Arrange
             UUID matricula = UUID.randomUUID();
-
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaboradorExistente = new ColaboradorEntity(matricula, "Nome Antigo", LocalDate.of(2024,2,2), "Cargo Mantido");
-
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaboradorExistente));
-
-            // Cria o DTO simulando o input do usuário
             var dto = new ColaboradorAtualizaRequest("Nome Atualizado", null, null);
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<ColaboradorEntity> colaboradorPassadoSave = ArgumentCaptor.forClass(ColaboradorEntity.class);
+            when(colaboradorRepository.atualizarParcial(matricula, dto, null)).thenReturn(1);
 
             // Act
-            // Executa o método atualizaColaboradorPorMatricula() para, de fato, testá-lo
-            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto);
+            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, null);
 
             // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
-
-            // Verifica se o método save() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).save(colaboradorPassadoSave.capture());
-
-            // Verifica se o objeto colaborador salvo só teve o nome atualizado
-            ColaboradorEntity salvo = colaboradorPassadoSave.getValue();
-            assertEquals("Nome Atualizado", salvo.getNome());
-            assertEquals(LocalDate.of(2024,2,2), salvo.getDataAdmissao());
-            assertEquals("Cargo Mantido", salvo.getCargo());
+            verify(colaboradorRepository).atualizarParcial(matricula, dto, null);
+            verify(performanceColaboradorService, never()).registrarCargo(any(), any());
         }
 
         @Test
-        @DisplayName("Deve atualizar apenas o cargo quando nome for nulo")
-        void deveAtualizarApenasCargo() {
+        @DisplayName("Deve lançar ResourceNotFoundException quando matrícula não existir")
+        void deveLancarResourceNotFoundQuandoMatriculaNaoExistir() {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var existente = new ColaboradorEntity(matricula, "Nome Mantido", LocalDate.of(2024,3,3), "Cargo Antigo");
+            // Cria o DTO simulando o input do usuário
+            var dto = new ColaboradorAtualizaRequest("Qualquer", LocalDate.now(), "Qualquer");
 
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(existente));
+            // Configura o Mock para simular nenhuma linha atualizada e uma matrícula inexistente no banco de dados
+            when(colaboradorRepository.atualizarParcial(matricula, dto, null)).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(false);
 
-            // Cria o DTO simulando o input do usuário
-            var dto = new ColaboradorAtualizaRequest(null, null, "Cargo Atualizado");
+            // Act + Assert
+            // Tenta atualizar um colaborador passando uma matrícula inexistente e deve retornar uma ResourceNotFoundException
+            assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, null)
+            );
 
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<ColaboradorEntity> colaboradorPassadoSave = ArgumentCaptor.forClass(ColaboradorEntity.class);
+            // Verifica se o cargo não foi repassado para a distribuição de notas
+            verify(performanceColaboradorService, never()).registrarCargo(any(), any());
+        }
 
-            // Act
-            // Executa o método atualizaColaboradorPorMatricula() para, de fato, testá-lo
-            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto);
+        @Test
+        @DisplayName("Deve lançar IllegalArgumentException quando UUID for inválido")
+        void deveLancarIllegalArgumentExceptionQuandoUuidInvalido() {
+            // Arrange
+            // Cria uma matrícula inválida
+            String uuidInvalido = "invalido";
 
-            // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Cria o DTO simulando o input do usuário
+            var dto = new ColaboradorAtualizaRequest("Nome", LocalDate.now(), "Cargo");
 
-            // Verifica se o método save() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).save(colaboradorPassadoSave.capture());
+            // Act + Assert
+            // Tenta atualizar um colaborador passando uma matrícula incorreta e deve retornar uma IllegalArgumentException
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> colaboradorService.atualizaColaboradorPorMatricula(uuidInvalido, dto, null)
+            );
 
-            // Verifica se o objeto colaborador salvo só teve o cargo atualizado
-            ColaboradorEntity salvo = colaboradorPassadoSave.getValue();
-            assertEquals("Nome Mantido", salvo.getNome());
-            assertEquals(LocalDate.of(2024,3,3), salvo.getDataAdmissao());
-            assertEquals("Cargo Atualizado", salvo.getCargo());
+            // Verifica se nenhum comando foi enviado ao banco de dados
+            verifyNoInteractions(colaboradorRepository);
         }
 
         @Test
-        @DisplayName("Deve atualizar apenas a dataAdmissao quando nome e cargo forem nulos")
-        void deveAtualizarApenasDataAdmissao() {
+        @DisplayName("Deve condicionar o UPDATE às versões do If-Match deste colaborador")
+        void deveCondicionarUpdateAoIfMatch() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new ColaboradorAtualizaRequest("Novo Nome", null, null);
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var existente = new ColaboradorEntity(matricula, "Nome Mantido", LocalDate.of(2023,1,1), "Cargo Mantido");
+            // ETag fraca, de outro recurso e fora do formato também presentes no cabeçalho
+            var ifMatch = "\"" + matricula + ".3\", W/\"" + matricula + ".4\", \"outro.5\", \"" + matricula + ".x\"";
 
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(existente));
-
-            // Cria o DTO simulando o input do usuário
-            var novaData = LocalDate.of(2024, 12, 31);
-            var dto = new ColaboradorAtualizaRequest(null, novaData, null);
-
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<ColaboradorEntity> captor = ArgumentCaptor.forClass(ColaboradorEntity.class);
+            when(colaboradorRepository.atualizarParcial(eq(matricula), eq(dto), any())).thenReturn(1);
 
             // Act
-            // Executa o método atualizaColaboradorPorMatricula() para, de fato, testá-lo
-            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto);
+            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, ifMatch);
 
             // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
-
-            // Verifica se o método save() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).save(captor.capture());
+            // Verifica se foram repassadas somente as ETags fortes no formato "<id>.<versao>"
+            ArgumentCaptor<List<EtagVersao.Versao>> versoes = ArgumentCaptor.forClass(List.class);
+            verify(colaboradorRepository).atualizarParcial(eq(matricula), eq(dto), versoes.capture());
 
-            // Verifica se o objeto colaborador salvo só teve a data de admissão atualizada
-            ColaboradorEntity salvo = captor.getValue();
-            assertEquals("Nome Mantido", salvo.getNome());
-            assertEquals(novaData, salvo.getDataAdmissao());
-            assertEquals("Cargo Mantido", salvo.getCargo());
+            assertEquals(List.of(new EtagVersao.Versao(matricula.toString(), 3L), new EtagVersao.Versao("outro", 5L)),
+                    versoes.getValue());
+            assertEquals(List.of(3L), EtagVersao.versoesDe(versoes.getValue(), matricula));
         }
 
         @Test
-        @DisplayName("Deve manter dados quando ambos campos do DTO forem nulos")
-        void deveManterDadosQuandoDtoNulo() {
+        @DisplayName("Deve atualizar sem condição de versão quando o If-Match for \"*\"")
+        void deveAtualizarSemCondicaoQuandoIfMatchCuringa() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new ColaboradorAtualizaRequest("Novo Nome", null, null);
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var existente = new ColaboradorEntity(matricula, "Nome Original", LocalDate.of(2024,4,4), "Cargo Original");
-
-            // Configura o Mock para retornar um colaborador (ou vazio) ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(existente));
-
-            // Cria o DTO simulando o input do usuário
-            var dto = new ColaboradorAtualizaRequest(null, null, null);
-
-            // Verifica qual objeto foi passado para o método save()
-            ArgumentCaptor<ColaboradorEntity> colaboradorPassadoSave = ArgumentCaptor.forClass(ColaboradorEntity.class);
+            when(colaboradorRepository.atualizarParcial(matricula, dto, null)).thenReturn(1);
 
             // Act
-            // Executa o método atualizaColaboradorPorMatricula() para, de fato, testá-lo
-            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto);
+            colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, "*");
 
             // Assert
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
-
-            // Verifica se o método save() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository).save(colaboradorPassadoSave.capture());
-
-            // Verifica se o objeto colaborador salvo não teve nada atualizado
-            ColaboradorEntity salvo = colaboradorPassadoSave.getValue();
-            assertEquals("Nome Original", salvo.getNome());
-            assertEquals(LocalDate.of(2024,4,4), salvo.getDataAdmissao());
-            assertEquals("Cargo Original", salvo.getCargo());
+            verify(colaboradorRepository).atualizarParcial(matricula, dto, null);
         }
 
         @Test
-        @DisplayName("Deve lançar ResourceNotFoundException quando matrícula não existir")
-        void deveLancarResourceNotFoundQuandoMatriculaNaoExistir() {
+        @DisplayName("Deve lançar PreCondicaoFalhouException quando o If-Match estiver desatualizado")
+        void deveLancarPreCondicaoFalhouQuandoIfMatchDesatualizado() {
             // Arrange
             UUID matricula = UUID.randomUUID();
+            var dto = new ColaboradorAtualizaRequest(null, null, "Novo Cargo");
 
-            // Configura o Mock para retornar um vazio em caso da matrícula não existir no banco de dados
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
-
-            // Cria o DTO simulando o input do usuário
-            var dto = new ColaboradorAtualizaRequest("Qualquer", LocalDate.now(), "Qualquer");
+            // Nenhuma linha atualizada (versão diferente), mas o colaborador existe
+            when(colaboradorRepository.atualizarParcial(eq(matricula), eq(dto), any())).thenReturn(0);
+            when(colaboradorRepository.existsById(matricula)).thenReturn(true);
 
             // Act + Assert
-            // Tenta atualizar um colaborador passando uma matrícula inexistente e deve retornar uma ResourceNotFoundException
             assertThrows(
-                    ResourceNotFoundException.class,
-                    () -> colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto)
+                    PreCondicaoFalhouException.class,
+                    () -> colaboradorService.atualizaColaboradorPorMatricula(matricula.toString(), dto, "\"" + matricula + ".3\"")
             );
 
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository, times(1)).findById(matricula);
-
-            // Verifica se o método save() de fato não foi executado
-            verify(colaboradorRepository, never()).save(any());
+            verify(performanceColaboradorService, never()).registrarCargo(any(), any());
         }
+    }
+
+    @Nested
+    class consultarEtagColaborador {
 
         @Test
-        @DisplayName("Deve lançar IllegalArgumentException quando UUID for inválido")
-        void deveLancarIllegalArgumentExceptionQuandoUuidInvalido() {
+        @DisplayName("Deve retornar a ETag com matrícula e versão sem montar o DTO")
+        void deveRetornarEtag() {
             // Arrange
-            // Cria uma matrícula inválida
-            String uuidInvalido = "invalido";
+            UUID matricula = UUID.randomUUID();
+            var colaborador = new ColaboradorEntity(matricula, "Ana", LocalDate.of(2024,1,1), "Dev");
+            colaborador.setVersao(7L);
 
-            // Cria o DTO simulando o input do usuário
-            var dto = new ColaboradorAtualizaRequest("Nome", LocalDate.now(), "Cargo");
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
 
-            // Act + Assert
-            // Tenta atualizar um colaborador passando uma matrícula incorreta e deve retornar uma IllegalArgumentException
-            assertThrows(
-                    IllegalArgumentException.class,
-                    () -> colaboradorService.atualizaColaboradorPorMatricula(uuidInvalido, dto)
-            );
+            // Act
+            Optional<String> etag = colaboradorService.consultarEtagColaborador(matricula.toString());
 
-            // Verifica se o método findById() do objeto colaboradorRepository foi chamado exatamente uma vez
-            verify(colaboradorRepository, never()).findById(any());
+            // Assert
+            assertEquals(Optional.of("\"" + matricula + ".7\""), etag);
+        }
 
-            // Verifica se o método save() de fato não foi executado
-            verify(colaboradorRepository, never()).save(any());
+        @Test
+        @DisplayName("Deve retornar Optional vazio quando o colaborador não existir")
+        void deveRetornarVazioQuandoNaoExistir() {
+            // Arrange
+            UUID matricula = UUID.randomUUID();
+            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+
+            // Act + Assert
+            assertTrue(colaboradorService.consultarEtagColaborador(matricula.toString()).isEmpty());
         }
     }
 
     @Nested
     class calcularPerformanceFinal {
 
+        // Simula o registro materializado de performance
+        private PerformanceColaboradorResumo performance(UUID matricula, String nome, boolean avaliacaoRealizada,
+                                                         int quantidadeEntregas) {
+            return new PerformanceColaboradorResumo(matricula, nome, avaliacaoRealizada, quantidadeEntregas,
+                    825, 900, 1725);
+        }
+
         @Test
-        @DisplayName("Deve calcular performance final com avaliação e pelo menos 2 entregas")
+        @DisplayName("Deve retornar a performance final do registro materializado com avaliação e pelo menos 2 entregas")
         void deveCalcularPerformanceFinalComSucesso() {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaborador = new ColaboradorEntity(matricula, "Alice", LocalDate.of(2024,1,1), "Engenheira");
-
-            // Cria avaliação comportamental (todas as notas preenchidas)
-            var avaliacao = new AvaliacaoComportamentoEntity();
-            avaliacao.setNotaAvaliacaoComportamental(9.0);
-            avaliacao.setNotaAprendizado(8.0);
-            avaliacao.setNotaTomadaDecisao(7.0);
-            avaliacao.setNotaAutonomia(9.0);
-            colaborador.setAvaliacaoComportamento(avaliacao);
-
-            // Cria duas entregas (regra mínima exigida)
-            var entrega1 = new EntregaEntity();
-            entrega1.setId(1L);
-            entrega1.setDescricao("Entrega 1");
-            entrega1.setNota(10.0);
-
-            var entrega2 = new EntregaEntity();
-            entrega2.setId(2L);
-            entrega2.setDescricao("Entrega 2");
-            entrega2.setNota(8.0);
-
-            colaborador.setEntregas(List.of(entrega1, entrega2));
-
-            // Configura o Mock para retornar o colaborador ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
-
-            // Calcula as médias esperadas (reproduzindo a mesma lógica da service)
-            var mediaComportamentalEsperada = BigDecimal.valueOf(9.0)
-                    .add(BigDecimal.valueOf(8.0))
-                    .add(BigDecimal.valueOf(7.0))
-                    .add(BigDecimal.valueOf(9.0))
-                    .divide(new BigDecimal("4"), 2, RoundingMode.HALF_UP);
-            var mediaEntregasEsperada = BigDecimal.valueOf(10.0)
-                    .add(BigDecimal.valueOf(8.0))
-                    .divide(new BigDecimal("2"), 2, RoundingMode.HALF_UP);
-            var notaFinalEsperada = mediaComportamentalEsperada.add(mediaEntregasEsperada);
+            // Configura o Mock para retornar o registro de performance do colaborador
+            when(performanceColaboradorService.consultarPerformance(matricula))
+                    .thenReturn(Optional.of(performance(matricula, "Alice", true, 2)));
 
             // Act
             // Executa o método calcularPerformanceFinal() para, de fato, testá-lo
             var resultado = colaboradorService.calcularPerformanceFinal(matricula.toString());
 
             // Assert
-            // Verifica se o método findById() foi chamado exatamente uma vez
-            verify(colaboradorRepository, times(1)).findById(matricula);
+            // Verifica se o registro foi consultado exatamente uma vez e se nenhuma entidade foi carregada
+            verify(performanceColaboradorService, times(1)).consultarPerformance(matricula);
+            verifyNoInteractions(colaboradorRepository);
 
             // Verifica se as informações retornadas estão corretas
             assertEquals(matricula, resultado.matricula());
             assertEquals("Alice", resultado.nome());
-            assertEquals(mediaComportamentalEsperada, resultado.performance().mediaComportamental());
-            assertEquals(mediaEntregasEsperada, resultado.performance().mediaEntregas());
-            assertEquals(notaFinalEsperada, resultado.performance().notaFinal());
+            assertEquals(new BigDecimal("8.25"), resultado.performance().mediaComportamental());
+            assertEquals(new BigDecimal("9.00"), resultado.performance().mediaEntregas());
+            assertEquals(new BigDecimal("17.25"), resultado.performance().notaFinal());
         }
 
         @Test
@@ -803,21 +734,9 @@ class ColaboradorServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador encontrado e vindo do banco de dados
-            var colaborador = new ColaboradorEntity(matricula, "Bob", LocalDate.of(2024,2,2), "Analista");
-
-            // Cria duas entregas válidas
-            var entrega1 = new EntregaEntity();
-            entrega1.setNota(7.0);
-            var entrega2 = new EntregaEntity();
-            entrega2.setNota(9.0);
-            colaborador.setEntregas(List.of(entrega1, entrega2));
-
-            // Remove a avaliação para forçar a exceção
-            colaborador.setAvaliacaoComportamento(null);
-
-            // Configura o Mock para retornar o colaborador
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            // Simula um colaborador com duas entregas e sem avaliação
+            when(performanceColaboradorService.consultarPerformance(matricula))
+                    .thenReturn(Optional.of(performance(matricula, "Bob", false, 2)));
 
             // Act + Assert
             // Tenta calcular a performance sem avaliação e deve retornar uma NegocioException
@@ -829,8 +748,8 @@ class ColaboradorServiceTest {
             // Verifica a mensagem da exceção
             assertEquals("Avaliação comportamental não foi realizada.", ex.getMessage());
 
-            // Verifica se o método findById() foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Verifica se o registro foi consultado exatamente uma vez
+            verify(performanceColaboradorService).consultarPerformance(matricula);
         }
 
         @Test
@@ -839,23 +758,9 @@ class ColaboradorServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Simula um colaborador com avaliação válida
-            var colaborador = new ColaboradorEntity(matricula, "Carol", LocalDate.of(2024,3,3), "Desenvolvedora");
-
-            var avaliacao = new AvaliacaoComportamentoEntity();
-            avaliacao.setNotaAvaliacaoComportamental(8.0);
-            avaliacao.setNotaAprendizado(8.0);
-            avaliacao.setNotaTomadaDecisao(8.0);
-            avaliacao.setNotaAutonomia(8.0);
-            colaborador.setAvaliacaoComportamento(avaliacao);
-
-            // Cria apenas uma entrega (regra violada)
-            var entrega1 = new EntregaEntity();
-            entrega1.setNota(9.0);
-            colaborador.setEntregas(List.of(entrega1));
-
-            // Configura o Mock para retornar o colaborador
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.of(colaborador));
+            // Simula um colaborador com avaliação válida e apenas uma entrega (regra violada)
+            when(performanceColaboradorService.consultarPerformance(matricula))
+                    .thenReturn(Optional.of(performance(matricula, "Carol", true, 1)));
 
             // Act + Assert
             // Tenta calcular a performance com menos de 2 entregas e deve retornar uma NegocioException
@@ -867,8 +772,8 @@ class ColaboradorServiceTest {
             // Verifica a mensagem da exceção
             assertEquals("Colaborador deve ter no minimo 2 entregas cadastradas.", ex.getMessage());
 
-            // Verifica se o método findById() foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Verifica se o registro foi consultado exatamente uma vez
+            verify(performanceColaboradorService).consultarPerformance(matricula);
         }
 
         @Test
@@ -877,8 +782,8 @@ class ColaboradorServiceTest {
             // Arrange
             UUID matricula = UUID.randomUUID();
 
-            // Configura o Mock para retornar vazio ao executar o método findById()
-            when(colaboradorRepository.findById(matricula)).thenReturn(Optional.empty());
+            // Configura o Mock para retornar vazio ao consultar a performance
+            when(performanceColaboradorService.consultarPerformance(matricula)).thenReturn(Optional.empty());
 
             // Act + Assert
             // Tenta calcular a performance de uma matrícula inexistente e deve retornar uma ResourceNotFoundException
@@ -887,8 +792,8 @@ class ColaboradorServiceTest {
                     () -> colaboradorService.calcularPerformanceFinal(matricula.toString())
             );
 
-            // Verifica se o método findById() foi chamado exatamente uma vez
-            verify(colaboradorRepository).findById(matricula);
+            // Verifica se o registro foi consultado exatamente uma vez
+            verify(performanceColaboradorService).consultarPerformance(matricula);
         }
 
         @Test
@@ -905,8 +810,8 @@ class ColaboradorServiceTest {
                     () -> colaboradorService.calcularPerformanceFinal(uuidInvalido)
             );
 
-            // Verifica se o método findById() não foi chamado
-            verify(colaboradorRepository, never()).findById(any());
+            // Verifica se o registro não foi consultado
+            verify(performanceColaboradorService, never()).consultarPerformance(any());
         }
     }
-}
\ No newline at end of file
+}